@@ -0,0 +1,119 @@
+package com.devji.account_book.loadtest;
+
+import com.devji.account_book.loadtest.compare.StackCompareSettings;
+import com.devji.account_book.loadtest.compare.StackComparison;
+import com.devji.account_book.loadtest.generator.GeneratorSettings;
+import com.devji.account_book.loadtest.generator.LedgerDataGenerator;
+import com.devji.account_book.loadtest.harness.LoadRunner;
+import com.devji.account_book.loadtest.harness.LoadSettings;
+import com.devji.account_book.loadtest.shard.ShardBenchSettings;
+import com.devji.account_book.loadtest.shard.ShardBenchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * 합성 데이터 생성 + 부하 테스트
+ *
+ * ./gradlew :loadtest:run --args='generate --jdbc-url=jdbc:postgresql://localhost:5432/account_book --db-user=... --db-password=...'
+ *     --users=1000 --tx-per-user=300 --months=24 --alpha=1.5 --seed=42 --email-prefix=load --password=loadtest123 [--reset]
+ * ./gradlew :loadtest:run --args='run --base-url=http://localhost:8080'
+ *     --concurrency=50 --warmup=30s --duration=2m --think-time=0s --mix=70,15,15 (list,create,update) --report-dir=build/loadtest
+ * ./gradlew :loadtest:run --args='local'
+ *     Testcontainers(PostgreSQL, Redis) + 같은 JVM의 애플리케이션(--port=18080, --profile=prod)에 generate -> run
+ * ./gradlew :loadtest:run --args='shard-bench --shards=1,2,4'
+ *     --users-per-shard=200 --writers-per-shard=16 --cpus-per-shard=2 --warmup=10s --duration=30s
+ *     샤드 수별 쓰기 처리량 비교 (샤드마다 PostgreSQL 컨테이너, --jdbc-urls=url1,url2,...를 주면 그 DB들을 사용)
+ * ./gradlew :loadtest:run --args='compare --mvc-url=http://localhost:8080 --reactive-url=http://localhost:8081'
+ *     --concurrency-levels=50,200,800 --sample-interval=1s --cooldown=10s (+ run 명령의 옵션)
+ *     MVC와 WebFlux 버전에 같은 부하를 걸어 처리량, p99, 서버 메모리/스레드 비교 (먼저 generate로 두 서버가 쓰는 DB에 데이터 생성)
+ *
+ * docker-compose 환경: docker compose --profile reactive up -d 후 generate(5432 포트) -> run(8080, WebFlux 버전은 8081) 또는 compare
+ * 옵션은 LOADTEST_USERS 처럼 환경 변수로도 줄 수 있다.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("usage: (generate | run | local | shard-bench | compare) [--option=value ...]");
+            System.exit(2);
+        }
+        LoadTestOptions options = new LoadTestOptions(args);
+        switch (args[0]) {
+            case "generate" -> generate(options, options.get("jdbc-url", "jdbc:postgresql://localhost:5432/account_book"),
+                    options.get("db-user", "postgres"), options.get("db-password", "postgres"));
+            case "run" -> new LoadRunner(loadSettings(options)).run();
+            case "local" -> runLocal(options);
+            case "shard-bench" -> new ShardBenchmark(shardBenchSettings(options)).run();
+            case "compare" -> new StackComparison(stackCompareSettings(options), loadSettings(options)).run();
+            default -> {
+                System.err.println("unknown command: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+
+    private static void runLocal(LoadTestOptions options) throws Exception {
+        int port = options.getInt("port", 18080);
+        try (LocalEnvironment environment = new LocalEnvironment()) {
+            environment.start(port, options.get("profile", "prod"));
+            generate(options, environment.jdbcUrl(), environment.dbUser(), environment.dbPassword());
+            options.set("base-url", "http://localhost:" + port);
+            new LoadRunner(loadSettings(options)).run();
+        }
+    }
+
+    private static void generate(LoadTestOptions options, String jdbcUrl, String dbUser, String dbPassword) throws Exception {
+        new LedgerDataGenerator(jdbcUrl, dbUser, dbPassword).generate(new GeneratorSettings(
+                options.getInt("users", 1000),
+                options.getInt("tx-per-user", 300),
+                options.getInt("months", 24),
+                options.getDouble("alpha", 1.5),
+                options.getLong("seed", 42),
+                options.get("email-prefix", "load"),
+                options.get("password", "loadtest123"),
+                options.getBoolean("reset")));
+    }
+
+    private static ShardBenchSettings shardBenchSettings(LoadTestOptions options) {
+        String urls = options.get("jdbc-urls", "");
+        return new ShardBenchSettings(
+                Arrays.stream(options.get("shards", "1,2,4").split(",")).map(String::trim).map(Integer::parseInt).toList(),
+                urls.isBlank() ? List.of() : Arrays.stream(urls.split(",")).map(String::trim).toList(),
+                options.get("db-user", "postgres"),
+                options.get("db-password", "postgres"),
+                options.getInt("users-per-shard", 200),
+                options.getInt("writers-per-shard", 16),
+                options.getDouble("cpus-per-shard", 2),
+                options.getDuration("warmup", Duration.ofSeconds(10)),
+                options.getDuration("duration", Duration.ofSeconds(30)));
+    }
+
+    private static StackCompareSettings stackCompareSettings(LoadTestOptions options) {
+        return new StackCompareSettings(
+                options.get("mvc-url", "http://localhost:8080"),
+                options.get("reactive-url", "http://localhost:8081"),
+                Arrays.stream(options.get("concurrency-levels", "50,200,800").split(",")).map(String::trim).map(Integer::parseInt).toList(),
+                options.getDuration("sample-interval", Duration.ofSeconds(1)),
+                options.getDuration("cooldown", Duration.ofSeconds(10)));
+    }
+
+    private static LoadSettings loadSettings(LoadTestOptions options) {
+        String[] mix = options.get("mix", "70,15,15").split(",");
+        return new LoadSettings(
+                options.get("base-url", "http://localhost:8080"),
+                options.getInt("users", 1000),
+                options.get("email-prefix", "load"),
+                options.get("password", "loadtest123"),
+                options.getInt("concurrency", 50),
+                options.getDuration("warmup", Duration.ofSeconds(30)),
+                options.getDuration("duration", Duration.ofMinutes(2)),
+                options.getDuration("think-time", Duration.ZERO),
+                Integer.parseInt(mix[0].trim()),
+                Integer.parseInt(mix[1].trim()),
+                Integer.parseInt(mix[2].trim()),
+                options.getLong("seed", 42),
+                options.get("report-dir", null));
+    }
+}
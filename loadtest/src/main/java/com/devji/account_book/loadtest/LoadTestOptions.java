@@ -0,0 +1,74 @@
+package com.devji.account_book.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// --key=value 형식 옵션 (없으면 같은 이름의 환경 변수 LOADTEST_KEY, 그것도 없으면 기본값)
+public class LoadTestOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+    }
+
+    public void set(String key, String value) {
+        values.put(key, value);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            value = System.getenv("LOADTEST_" + key.toUpperCase().replace('-', '_'));
+        }
+        return value == null ? defaultValue : value;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, Integer.toString(defaultValue)));
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return Long.parseLong(get(key, Long.toString(defaultValue)));
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return Double.parseDouble(get(key, Double.toString(defaultValue)));
+    }
+
+    public boolean getBoolean(String key) {
+        return Boolean.parseBoolean(get(key, "false"));
+    }
+
+    // 500ms, 30s, 5m, PT1M 형식
+    public Duration getDuration(String key, Duration defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("지원하지 않는 시간 형식입니다: " + value);
+        };
+    }
+}
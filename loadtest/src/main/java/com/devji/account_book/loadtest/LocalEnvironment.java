@@ -0,0 +1,62 @@
+package com.devji.account_book.loadtest;
+
+import com.devji.account_book.AccountBookApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/*
+ * 외부 서비스 없이 부하 테스트를 돌리기 위한 환경
+ * Testcontainers로 PostgreSQL/Redis를 띄우고 애플리케이션은 같은 JVM에서 기동한다.
+ * 부하 생성기와 서버가 CPU를 나눠 쓰므로 절대 수치보다는 변경 전후 비교용 (실측은 docker-compose 환경 권장)
+ */
+class LocalEnvironment implements AutoCloseable {
+
+    private static final String JWT_SECRET = "loadtest-access-secret-loadtest-access-secret-0000";
+    private static final String JWT_REFRESH_SECRET = "loadtest-refresh-secret-loadtest-refresh-secret-00";
+
+    private final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("account_book");
+    private final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+    private ConfigurableApplicationContext application;
+
+    void start(int port, String profile) {
+        postgres.start();
+        redis.start();
+        application = SpringApplication.run(AccountBookApplication.class,
+                "--server.port=" + port,
+                "--spring.profiles.active=" + profile,
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getMappedPort(6379),
+                "--jwt.secret=" + JWT_SECRET,
+                "--jwt.refresh.secret=" + JWT_REFRESH_SECRET,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.show_sql=false",
+                "--logging.level.org.hibernate.orm.jdbc.bind=info");
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl();
+    }
+
+    String dbUser() {
+        return postgres.getUsername();
+    }
+
+    String dbPassword() {
+        return postgres.getPassword();
+    }
+
+    @Override
+    public void close() {
+        if (application != null) {
+            application.close();
+        }
+        redis.stop();
+        postgres.stop();
+    }
+}
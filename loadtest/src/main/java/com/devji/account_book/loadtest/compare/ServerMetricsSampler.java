@@ -0,0 +1,126 @@
+package com.devji.account_book.loadtest.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 부하를 거는 동안 서버의 JVM 메모리/스레드를 actuator metrics로 읽어 최댓값을 기록
+ * - jvm.memory.used (area=heap, 전체), jvm.threads.live
+ * - metrics 엔드포인트는 로그인이 필요하므로 생성기 사용자 하나로 로그인해서 쿠키로 조회 (토큰이 만료되면 다시 로그인)
+ * 힙 사용량은 GC 시점에 따라 출렁이므로 최댓값은 "그 부하에서 필요한 힙"의 대략적인 상한으로만 본다.
+ */
+class ServerMetricsSampler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerMetricsSampler.class);
+    private static final double MB = 1024 * 1024;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+            .build();
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "metrics-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile double peakHeapMb;
+    private volatile double peakTotalMb;
+    private volatile int peakThreads;
+    private volatile int failures;
+
+    ServerMetricsSampler(String baseUrl, String email, String password, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.objectMapper = objectMapper;
+    }
+
+    void start(Duration interval) throws IOException, InterruptedException {
+        login();
+        scheduler.scheduleAtFixedRate(this::sample, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    double peakHeapMb() {
+        return peakHeapMb;
+    }
+
+    double peakTotalMb() {
+        return peakTotalMb;
+    }
+
+    int peakThreads() {
+        return peakThreads;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (failures > 0) {
+            log.warn("{} metric samples from {} failed", failures, baseUrl);
+        }
+    }
+
+    private void sample() {
+        try {
+            peakHeapMb = Math.max(peakHeapMb, metric("jvm.memory.used?tag=area:heap") / MB);
+            peakTotalMb = Math.max(peakTotalMb, metric("jvm.memory.used") / MB);
+            peakThreads = Math.max(peakThreads, (int) metric("jvm.threads.live"));
+        } catch (IOException e) {
+            failures++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double metric(String query) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = get(query);
+        if (response.statusCode() == 401 || response.statusCode() == 403) {
+            login();
+            response = get(query);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("GET /actuator/metrics/" + query + " -> " + response.statusCode());
+        }
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? 0 : measurements.get(0).path("value").asDouble();
+    }
+
+    private HttpResponse<byte[]> get(String query) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + query))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void login() throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(objectMapper.createObjectNode().put("email", email).put("password", password));
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IOException("metrics login to " + baseUrl + " failed: " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.devji.account_book.loadtest.compare;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * mvcUrl, reactiveUrl: 같은 DB/Redis를 쓰는 두 애플리케이션 (docker-compose 기본값은 8080, 8081)
+ * concurrencyLevels: 동시 사용자 수 단계 (단계마다 MVC -> WebFlux 순으로 같은 부하를 건다)
+ * sampleInterval: 서버의 /actuator/metrics(JVM 메모리, 스레드)를 읽는 간격
+ * cooldown: 한 번의 측정이 끝나고 다음 측정 전 대기 (GC, 커넥션 정리)
+ */
+public record StackCompareSettings(String mvcUrl,
+                                   String reactiveUrl,
+                                   List<Integer> concurrencyLevels,
+                                   Duration sampleInterval,
+                                   Duration cooldown) {
+}
@@ -0,0 +1,103 @@
+package com.devji.account_book.loadtest.compare;
+
+import com.devji.account_book.loadtest.generator.LedgerDataGenerator;
+import com.devji.account_book.loadtest.harness.LatencyReport;
+import com.devji.account_book.loadtest.harness.LoadRunner;
+import com.devji.account_book.loadtest.harness.LoadSettings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * MVC(스레드 풀 + JDBC)와 WebFlux(이벤트 루프 + R2DBC) 버전을 같은 부하로 비교
+ * 동시 사용자 단계마다 두 서버에 차례로 같은 작업 비율(list/create/update)의 닫힌 모델 부하를 걸고
+ * 처리량(req/s), p99 지연(전체, 작업별), 오류 수, 서버 JVM의 힙/전체 메모리와 스레드 수 최댓값을 표로 출력한다.
+ * 두 서버는 같은 DB를 쓰므로 DB가 먼저 한계에 닿으면 차이가 줄어든다 (DB 커넥션 풀 크기도 두 설정을 맞출 것).
+ * 부하 생성기도 가상 사용자마다 스레드를 쓰므로, 높은 동시성에서는 서버와 다른 호스트에서 실행해야 수치가 의미 있다.
+ */
+public class StackComparison {
+
+    private static final List<String> OPERATIONS = List.of("list", "create", "update");
+
+    private final StackCompareSettings settings;
+    private final LoadSettings load;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public StackComparison(StackCompareSettings settings, LoadSettings load) {
+        this.settings = settings;
+        this.load = load;
+    }
+
+    public void run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (int concurrency : settings.concurrencyLevels()) {
+            results.add(measure("mvc", settings.mvcUrl(), concurrency));
+            Thread.sleep(settings.cooldown().toMillis());
+            results.add(measure("reactive", settings.reactiveUrl(), concurrency));
+            Thread.sleep(settings.cooldown().toMillis());
+        }
+
+        System.out.println();
+        print(System.out, results);
+        if (load.reportDirectory() != null) {
+            Path directory = Path.of(load.reportDirectory());
+            Files.createDirectories(directory);
+            writeCsv(directory.resolve("stack-comparison.csv"), results);
+        }
+    }
+
+    private Result measure(String stack, String baseUrl, int concurrency) throws Exception {
+        System.out.printf("%n== %s (%s), concurrency=%d%n", stack, baseUrl, concurrency);
+        String reportDirectory = load.reportDirectory() == null ? null
+                : Path.of(load.reportDirectory(), stack + "-" + concurrency).toString();
+        LoadRunner runner = new LoadRunner(load.withTarget(baseUrl, concurrency, reportDirectory));
+
+        try (ServerMetricsSampler sampler = new ServerMetricsSampler(baseUrl,
+                LedgerDataGenerator.email(load.emailPrefix(), 0), load.password(), objectMapper)) {
+            sampler.start(settings.sampleInterval());
+            LatencyReport report = runner.run();
+            double seconds = runner.measuredSeconds();
+            List<Double> operationP99 = new ArrayList<>();
+            for (String operation : OPERATIONS) {
+                operationP99.add(report.percentileMillis(operation, 99));
+            }
+            return new Result(stack, concurrency, report.totalCount() / seconds, report.overallPercentileMillis(99),
+                    operationP99, report.errorCount(), sampler.peakHeapMb(), sampler.peakTotalMb(), sampler.peakThreads());
+        }
+    }
+
+    private static void print(PrintStream out, List<Result> results) {
+        out.printf("%11s %-9s %10s %9s %10s %11s %11s %8s %10s %10s %8s%n", "concurrency", "stack", "req/s", "p99(ms)",
+                "list p99", "create p99", "update p99", "errors", "heap(MB)", "jvm(MB)", "threads");
+        for (Result result : results) {
+            out.printf("%11d %-9s %10.1f %9.2f %10.2f %11.2f %11.2f %8d %10.1f %10.1f %8d%n", result.concurrency(),
+                    result.stack(), result.requestsPerSecond(), result.p99Millis(), result.operationP99().get(0),
+                    result.operationP99().get(1), result.operationP99().get(2), result.errors(), result.peakHeapMb(),
+                    result.peakTotalMb(), result.peakThreads());
+        }
+        out.println("heap/jvm/threads: 측정 구간 중 서버 JVM의 최댓값 (actuator metrics)");
+    }
+
+    private static void writeCsv(Path file, List<Result> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("concurrency,stack,requests_per_second,p99_ms,list_p99_ms,create_p99_ms,update_p99_ms,errors,"
+                + "peak_heap_mb,peak_jvm_mb,peak_threads");
+        for (Result result : results) {
+            lines.add(String.format(Locale.ROOT, "%d,%s,%.1f,%.2f,%.2f,%.2f,%.2f,%d,%.1f,%.1f,%d", result.concurrency(),
+                    result.stack(), result.requestsPerSecond(), result.p99Millis(), result.operationP99().get(0),
+                    result.operationP99().get(1), result.operationP99().get(2), result.errors(), result.peakHeapMb(),
+                    result.peakTotalMb(), result.peakThreads()));
+        }
+        Files.write(file, lines);
+    }
+
+    private record Result(String stack, int concurrency, double requestsPerSecond, double p99Millis,
+                          List<Double> operationP99, long errors, double peakHeapMb, double peakTotalMb, int peakThreads) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.devji.account_book.loadtest.generator;
+
+// users: 생성할 사용자 수, txPerUser: 사용자당 평균 지출 건수 (급여 행 제외), months: 오늘부터 거슬러 올라갈 기간
+public record GeneratorSettings(
+        int users,
+        int txPerUser,
+        int months,
+        double paretoAlpha,
+        long seed,
+        String emailPrefix,
+        String password,
+        boolean reset
+) {
+}
@@ -0,0 +1,432 @@
+package com.devji.account_book.loadtest.generator;
+
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionFingerprint;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+ * 합성 가계부 데이터를 PostgreSQL COPY로 바로 적재
+ * - 사용자: {email-prefix}{i}@example.com, 모두 같은 비밀번호 (BCrypt 해시는 한 번만 계산)
+ * - 사용자별 거래 수: 파레토 분포 (소수의 헤비 유저가 전체 거래의 큰 비중을 차지), 평균 tx-per-user
+ * - 지출: 카테고리별 가중치 + 로그정규 금액, 월별 계절성(연말/명절 증가, 2월 감소)과 주말 가중치
+ * - 수입: 매월 25일 급여 (사용자별 고정 수준) + 가끔 부수입
+ * - change_seq는 사용자별 1..n, users.change_version = n (애플리케이션의 동기화/ETag 규칙과 같게)
+ * 스키마는 애플리케이션의 Flyway 마이그레이션이 만든 상태를 전제로 한다.
+ */
+public class LedgerDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerDataGenerator.class);
+
+    private static final int COPY_BUFFER_BYTES = 1 << 20;
+    // 1월 ~ 12월 지출 가중치
+    private static final double[] MONTH_WEIGHT = {1.10, 0.85, 0.95, 0.95, 1.05, 0.95, 1.00, 1.05, 1.10, 1.00, 1.00, 1.30};
+    private static final double WEEKEND_WEIGHT = 1.4;
+    private static final double MAX_DAY_WEIGHT = 1.30 * WEEKEND_WEIGHT;
+
+    private static final List<SpendingCategory> EXPENSES = List.of(
+            new SpendingCategory("식비", 0.28, 12_000, 0.6, List.of("점심", "저녁 식사", "배달 음식", "편의점", "마트 장보기")),
+            new SpendingCategory("카페", 0.12, 5_500, 0.3, List.of("커피", "디저트", "카페")),
+            new SpendingCategory("교통", 0.15, 2_500, 0.6, List.of("지하철", "버스", "택시", "주유")),
+            new SpendingCategory("쇼핑", 0.12, 45_000, 1.0, List.of("온라인 쇼핑", "의류", "생활용품", "전자제품")),
+            new SpendingCategory("생활", 0.10, 30_000, 0.8, List.of("관리비", "통신비", "공과금", "세탁")),
+            new SpendingCategory("문화", 0.08, 20_000, 0.7, List.of("영화", "공연", "도서", "구독 서비스")),
+            new SpendingCategory("의료", 0.04, 25_000, 0.9, List.of("병원", "약국")),
+            new SpendingCategory("경조사", 0.03, 70_000, 0.5, List.of("축의금", "부의금", "선물")),
+            new SpendingCategory("주거", 0.02, 550_000, 0.3, List.of("월세")),
+            new SpendingCategory("여행", 0.06, 150_000, 1.1, List.of("숙박", "항공권", "여행 경비")));
+    private static final double EXPENSE_WEIGHT_SUM = EXPENSES.stream().mapToDouble(SpendingCategory::weight).sum();
+    private static final String SALARY = "급여";
+    private static final String SIDE_INCOME = "부수입";
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+
+    public LedgerDataGenerator(String jdbcUrl, String dbUser, String dbPassword) {
+        this.jdbcUrl = jdbcUrl;
+        this.dbUser = dbUser;
+        this.dbPassword = dbPassword;
+    }
+
+    public void generate(GeneratorSettings settings) throws SQLException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        LocalDate end = LocalDate.now();
+        LocalDate start = end.minusMonths(settings.months()).withDayOfMonth(1);
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword)) {
+            connection.setAutoCommit(false);
+            prepare(connection, settings);
+            Map<String, Integer> categoryIds = ensureGlobalCategories(connection);
+            ensurePartitions(connection, YearMonth.from(start), YearMonth.from(end));
+
+            // 사용자별 지출 건수를 먼저 정해서 change_version을 users COPY에 같이 넣는다
+            int[] expenseCounts = new int[settings.users()];
+            int salaryMonths = (int) (settings.months() + 1);
+            long totalRows = 0;
+            for (int i = 0; i < settings.users(); i++) {
+                expenseCounts[i] = heavyTailCount(random, settings.txPerUser(), settings.paretoAlpha());
+                totalRows += expenseCounts[i] + salaryMonths;
+            }
+
+            long startedAt = System.nanoTime();
+            long[] userIds = copyUsers(connection, settings, expenseCounts, salaryMonths);
+            long[] ledgerIds = createPersonalLedgers(connection, settings, userIds);
+            registerDirectory(connection, settings);
+            long rows = copyTransactions(connection, random, userIds, ledgerIds, expenseCounts, categoryIds, start, end);
+            backfillBalances(connection, settings);
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute("ANALYZE users");
+                statement.execute("ANALYZE transactions");
+            }
+            log.info("Generated {} users / {} transactions (expected ~{}) in {} ms",
+                    userIds.length, rows, totalRows, (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    private void prepare(Connection connection, GeneratorSettings settings) throws SQLException {
+        String pattern = settings.emailPrefix() + "%@example.com";
+        try (PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email LIKE ?")) {
+            select.setString(1, pattern);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                long existing = rs.getLong(1);
+                if (existing == 0) {
+                    return;
+                }
+                if (!settings.reset()) {
+                    throw new IllegalStateException(existing + " users with prefix '" + settings.emailPrefix()
+                            + "' already exist (use --reset to replace them)");
+                }
+            }
+        }
+        List<String> deletes = List.of(
+                "DELETE FROM transactions WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM categories WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM balance_days WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM balance_checkpoints WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM user_balances WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM ledger_members WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM ledgers WHERE owner_user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "DELETE FROM shard_directory WHERE email LIKE ?",
+                "DELETE FROM users WHERE email LIKE ?");
+        for (String sql : deletes) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, pattern);
+                statement.executeUpdate();
+            }
+        }
+        log.info("Removed previous '{}' users", settings.emailPrefix());
+    }
+
+    private Map<String, Integer> ensureGlobalCategories(Connection connection) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO categories (user_id, name) VALUES (NULL, ?) ON CONFLICT (name) WHERE user_id IS NULL DO NOTHING");
+             PreparedStatement select = connection.prepareStatement("SELECT id FROM categories WHERE user_id IS NULL AND name = ?")) {
+            List<String> names = new ArrayList<>(EXPENSES.stream().map(SpendingCategory::name).toList());
+            names.add(SALARY);
+            names.add(SIDE_INCOME);
+            for (String name : names) {
+                insert.setString(1, name);
+                insert.executeUpdate();
+                select.setString(1, name);
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    ids.put(name, rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    // 생성 범위의 월 파티션이 없으면 만든다 (없으면 default 파티션에 쌓임)
+    // default 파티션에 이미 그 달의 행이 있으면 애플리케이션의 TransactionPartitionManager가 옮기도록 그대로 둔다
+    private void ensurePartitions(Connection connection, YearMonth from, YearMonth to) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+                String name = String.format("transactions_%04d%02d", month.getYear(), month.getMonthValue());
+                try (ResultSet rs = statement.executeQuery("SELECT to_regclass('" + name + "') IS NOT NULL "
+                        + "OR EXISTS (SELECT 1 FROM transactions_default WHERE transaction_date >= '" + month.atDay(1)
+                        + "' AND transaction_date < '" + month.plusMonths(1).atDay(1) + "')")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        continue;
+                    }
+                }
+                statement.execute("CREATE TABLE " + name + " PARTITION OF transactions FOR VALUES FROM ('"
+                        + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            }
+        }
+    }
+
+    private long[] copyUsers(Connection connection, GeneratorSettings settings, int[] expenseCounts, int salaryMonths)
+            throws SQLException {
+        String passwordHash = new BCryptPasswordEncoder().encode(settings.password());
+        LocalDateTime createdAt = LocalDateTime.now().minusMonths(settings.months());
+
+        CopyWriter writer = new CopyWriter(connection,
+                "COPY users (email, password, name, created_at, role, change_version) FROM STDIN WITH (FORMAT csv)");
+        for (int i = 0; i < settings.users(); i++) {
+            writer.row(email(settings.emailPrefix(), i), passwordHash, "부하테스트" + i, createdAt.toString(), "USER",
+                    Long.toString(expenseCounts[i] + salaryMonths));
+        }
+        writer.finish();
+
+        long[] ids = new long[settings.users()];
+        try (PreparedStatement select = connection.prepareStatement("SELECT id, email FROM users WHERE email LIKE ?")) {
+            select.setString(1, settings.emailPrefix() + "%@example.com");
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    String email = rs.getString("email");
+                    int index = Integer.parseInt(email.substring(settings.emailPrefix().length(), email.indexOf('@')));
+                    ids[index] = rs.getLong("id");
+                }
+            }
+        }
+        return ids;
+    }
+
+    // 사용자마다 개인 장부 (userIds와 같은 순서의 ledger id), 거래 COPY에 ledger_id를 같이 넣어서 backfill이 필요 없도록
+    private long[] createPersonalLedgers(Connection connection, GeneratorSettings settings, long[] userIds)
+            throws SQLException {
+        String generatedUsers = "FROM users WHERE email LIKE ?";
+        List<String> statements = List.of(
+                "INSERT INTO ledgers (name, personal, owner_user_id, created_at) SELECT '내 가계부', TRUE, id, now() "
+                        + generatedUsers,
+                "INSERT INTO ledger_members (ledger_id, user_id, role, joined_at) "
+                        + "SELECT l.id, l.owner_user_id, 'OWNER', now() FROM ledgers l "
+                        + "WHERE l.personal AND l.owner_user_id IN (SELECT id " + generatedUsers + ")");
+        for (String sql : statements) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, settings.emailPrefix() + "%@example.com");
+                statement.executeUpdate();
+            }
+        }
+
+        Map<Long, Integer> indexByUser = new HashMap<>(userIds.length * 2);
+        for (int i = 0; i < userIds.length; i++) {
+            indexByUser.put(userIds[i], i);
+        }
+        long[] ledgerIds = new long[userIds.length];
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT owner_user_id, id FROM ledgers WHERE personal AND owner_user_id IN (SELECT id " + generatedUsers + ")")) {
+            select.setString(1, settings.emailPrefix() + "%@example.com");
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ledgerIds[indexByUser.get(rs.getLong(1))] = rs.getLong(2);
+                }
+            }
+        }
+        return ledgerIds;
+    }
+
+    // 샤딩(DIRECTORY)을 켠 애플리케이션이 이메일로 찾을 수 있도록 shard 0 사용자로 등록
+    private void registerDirectory(Connection connection, GeneratorSettings settings) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO shard_directory (user_id, email, shard_id, updated_at) "
+                        + "SELECT id, email, 0, now() FROM users WHERE email LIKE ?")) {
+            statement.setString(1, settings.emailPrefix() + "%@example.com");
+            statement.executeUpdate();
+        }
+    }
+
+    private long copyTransactions(Connection connection, SplittableRandom random, long[] userIds, long[] ledgerIds,
+                                  int[] expenseCounts, Map<String, Integer> categoryIds, LocalDate start, LocalDate end)
+            throws SQLException {
+        CopyWriter writer = new CopyWriter(connection,
+                "COPY transactions (user_id, ledger_id, type, category_id, amount, description, transaction_date, created_at, updated_at, "
+                        + "change_seq, deleted, version, dedup_hash) FROM STDIN WITH (FORMAT csv)");
+        long days = end.toEpochDay() - start.toEpochDay() + 1;
+        long rows = 0;
+
+        for (int u = 0; u < userIds.length; u++) {
+            String userId = Long.toString(userIds[u]);
+            String ledgerId = Long.toString(ledgerIds[u]);
+            long changeSeq = 0;
+            // 사용자별 급여 수준 (중앙값 320만 원)
+            double salary = logNormal(random, 3_200_000, 0.35);
+
+            for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+                LocalDate payday = month.atDay(Math.min(25, month.lengthOfMonth()));
+                if (payday.isAfter(end)) {
+                    payday = end;
+                }
+                changeSeq++;
+                String createdAt = timestamp(random, payday);
+                transactionRow(writer, userId, ledgerId, TransactionType.INCOME, categoryIds.get(SALARY),
+                        amount(salary * (0.97 + random.nextDouble() * 0.06)), "월급", payday, createdAt, changeSeq);
+                rows++;
+            }
+
+            for (int i = 0; i < expenseCounts[u]; i++) {
+                LocalDate date = seasonalDate(random, start, days);
+                changeSeq++;
+                String createdAt = timestamp(random, date);
+                if (random.nextDouble() < 0.03) {
+                    transactionRow(writer, userId, ledgerId, TransactionType.INCOME, categoryIds.get(SIDE_INCOME),
+                            amount(logNormal(random, 150_000, 0.9)), "부수입", date, createdAt, changeSeq);
+                } else {
+                    SpendingCategory category = pickCategory(random);
+                    transactionRow(writer, userId, ledgerId, TransactionType.EXPENSE, categoryIds.get(category.name()),
+                            amount(logNormal(random, category.medianAmount(), category.sigma())),
+                            category.descriptions().get(random.nextInt(category.descriptions().size())),
+                            date, createdAt, changeSeq);
+                }
+                rows++;
+            }
+        }
+        writer.finish();
+        return rows;
+    }
+
+    // COPY는 애플리케이션의 잔액 갱신을 거치지 않으므로 db/migration/V8과 같은 방식으로 한 번에 채운다
+    private void backfillBalances(Connection connection, GeneratorSettings settings) throws SQLException {
+        String generatedUsers = "user_id IN (SELECT id FROM users WHERE email LIKE ?)";
+        List<String> statements = List.of(
+                "INSERT INTO balance_days (user_id, balance_date, net_amount) "
+                        + "SELECT user_id, transaction_date, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) "
+                        + "FROM transactions WHERE " + generatedUsers + " GROUP BY user_id, transaction_date",
+                "INSERT INTO balance_checkpoints (user_id, checkpoint_month, closing_balance) "
+                        + "SELECT user_id, date_trunc('month', balance_date)::date, "
+                        + "SUM(SUM(net_amount)) OVER (PARTITION BY user_id ORDER BY date_trunc('month', balance_date)) "
+                        + "FROM balance_days WHERE " + generatedUsers + " GROUP BY user_id, date_trunc('month', balance_date)",
+                "INSERT INTO user_balances (user_id, balance, updated_at) "
+                        + "SELECT user_id, SUM(net_amount), now() FROM balance_days WHERE " + generatedUsers + " GROUP BY user_id");
+        for (String sql : statements) {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, settings.emailPrefix() + "%@example.com");
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    // 애플리케이션과 같은 dedup_hash를 채워서 명세서 가져오기의 중복 판별 대상이 되도록
+    private static void transactionRow(CopyWriter writer, String userId, String ledgerId, TransactionType type, Integer categoryId,
+                                       BigDecimal amount, String description, LocalDate date, String createdAt,
+                                       long changeSeq) throws SQLException {
+        byte[] hash = TransactionFingerprint.of(type, amount, date, description);
+        writer.row(userId, ledgerId, type.name(), categoryId.toString(), amount.toPlainString(), description, date.toString(),
+                createdAt, createdAt, Long.toString(changeSeq), "false", "0", "\\x" + HexFormat.of().formatHex(hash));
+    }
+
+    // 평균이 mean인 파레토 분포 (x_m = 1), 너무 큰 값은 평균의 50배로 제한
+    static int heavyTailCount(SplittableRandom random, int mean, double alpha) {
+        double pareto = Math.pow(1.0 - random.nextDouble(), -1.0 / alpha);
+        double scaled = pareto * mean * (alpha - 1) / alpha;
+        return (int) Math.min(Math.round(scaled), (long) mean * 50);
+    }
+
+    // 월별/요일 가중치를 적용한 날짜 (rejection sampling)
+    private static LocalDate seasonalDate(SplittableRandom random, LocalDate start, long days) {
+        while (true) {
+            LocalDate date = start.plusDays(random.nextLong(days));
+            double weight = MONTH_WEIGHT[date.getMonthValue() - 1];
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                weight *= WEEKEND_WEIGHT;
+            }
+            if (random.nextDouble() * MAX_DAY_WEIGHT < weight) {
+                return date;
+            }
+        }
+    }
+
+    private static SpendingCategory pickCategory(SplittableRandom random) {
+        double target = random.nextDouble() * EXPENSE_WEIGHT_SUM;
+        for (SpendingCategory category : EXPENSES) {
+            target -= category.weight();
+            if (target <= 0) {
+                return category;
+            }
+        }
+        return EXPENSES.get(EXPENSES.size() - 1);
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        // Box-Muller
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return median * Math.exp(sigma * gaussian);
+    }
+
+    // 원 단위 금액 (10원 단위 반올림, 최소 100원)
+    private static BigDecimal amount(double value) {
+        return BigDecimal.valueOf(Math.max(100, value)).setScale(-1, RoundingMode.HALF_UP).setScale(2);
+    }
+
+    private static String timestamp(SplittableRandom random, LocalDate date) {
+        return date.atTime(7, 0).plusSeconds(random.nextInt(16 * 60 * 60)).toString();
+    }
+
+    public static String email(String prefix, int index) {
+        return prefix + index + "@example.com";
+    }
+
+    // CSV 행을 버퍼에 모아 COPY 스트림으로 전송
+    private static class CopyWriter {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_BYTES);
+
+        CopyWriter(Connection connection, String sql) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        }
+
+        void row(String... columns) throws SQLException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                String column = columns[i];
+                if (column.indexOf(',') >= 0 || column.indexOf('"') >= 0) {
+                    buffer.append('"').append(column.replace("\"", "\"\"")).append('"');
+                } else {
+                    buffer.append(column);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_BYTES / 2) {
+                flush();
+            }
+        }
+
+        void finish() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    private record SpendingCategory(String name, double weight, double medianAmount, double sigma, List<String> descriptions) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.devji.account_book.loadtest.harness;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 작업별 지연 시간 (HdrHistogram, 1µs ~ 60s, 유효 숫자 3자리) + 상태 코드별 오류 수
+ * Recorder는 여러 스레드가 동시에 기록해도 잠금이 없다.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> totals = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String operation, long elapsedNanos, int status) {
+        long micros = Math.min(Math.max(1, elapsedNanos / 1_000), HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(operation, key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3)).recordValue(micros);
+        if (status >= 400 || status < 0) {
+            errors.computeIfAbsent(operation + " " + (status < 0 ? "IO" : Integer.toString(status)), key -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    // 지금까지 기록된 값을 누적 히스토그램으로 옮긴다 (워밍업 구간을 버릴 때는 reset 후 다시 시작)
+    public synchronized void collect() {
+        recorders.forEach((operation, recorder) -> totals
+                .computeIfAbsent(operation, key -> new Histogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .add(recorder.getIntervalHistogram()));
+    }
+
+    public synchronized void reset() {
+        recorders.values().forEach(Recorder::reset);
+        totals.clear();
+        errors.clear();
+    }
+
+    public synchronized void print(PrintStream out, double elapsedSeconds) {
+        collect();
+        out.printf("%-10s %9s %9s %9s %9s %9s %9s %9s%n", "operation", "count", "req/s", "p50(ms)", "p90(ms)", "p99(ms)",
+                "p99.9(ms)", "max(ms)");
+        long total = 0;
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(totals).entrySet()) {
+            Histogram histogram = entry.getValue();
+            total += histogram.getTotalCount();
+            out.printf("%-10s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), histogram.getTotalCount(),
+                    histogram.getTotalCount() / elapsedSeconds,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+        out.printf("total: %d requests, %.1f req/s in %.1fs%n", total, total / elapsedSeconds, elapsedSeconds);
+        if (!errors.isEmpty()) {
+            out.println("errors:");
+            new TreeMap<>(errors).forEach((key, count) -> out.printf("  %s: %d%n", key, count.sum()));
+        }
+    }
+
+    // HdrHistogram 백분위 분포 파일 (작업별, HistogramPlotter 등으로 그래프 작성 가능)
+    public synchronized void writePercentiles(Path directory) throws IOException {
+        collect();
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : totals.entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // 작업 하나의 백분위 지연 시간 (기록이 없으면 0)
+    public synchronized double percentileMillis(String operation, double percentile) {
+        collect();
+        Histogram histogram = totals.get(operation);
+        return histogram == null ? 0 : millis(histogram.getValueAtPercentile(percentile));
+    }
+
+    // 모든 작업을 합친 백분위 지연 시간
+    public synchronized double overallPercentileMillis(double percentile) {
+        collect();
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        totals.values().forEach(merged::add);
+        return merged.getTotalCount() == 0 ? 0 : millis(merged.getValueAtPercentile(percentile));
+    }
+
+    public synchronized long totalCount() {
+        collect();
+        return totals.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    public synchronized long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.devji.account_book.loadtest.harness;
+
+import com.devji.account_book.loadtest.generator.LedgerDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 닫힌 모델(closed-loop) 부하: concurrency개의 가상 사용자가 각자 로그인 후 duration 동안 작업을 반복
+ * 작업 비율은 list/create/update 가중치, 워밍업 구간의 기록은 결과에서 제외한다.
+ */
+public class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+
+    private final LoadSettings settings;
+    private final LatencyReport report = new LatencyReport();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private double measuredSeconds;
+
+    public LoadRunner(LoadSettings settings) {
+        this.settings = settings;
+    }
+
+    public LatencyReport run() throws InterruptedException, IOException {
+        long warmupEnd = System.nanoTime() + settings.warmup().toNanos();
+        long end = warmupEnd + settings.duration().toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            String email = LedgerDataGenerator.email(settings.emailPrefix(), i % settings.users());
+            users.add(new VirtualUser(settings.baseUrl(), email, settings.password(), objectMapper, report, settings.seed() + i));
+        }
+
+        log.info("Running {} virtual users against {} (warmup {}, duration {})",
+                settings.concurrency(), settings.baseUrl(), settings.warmup(), settings.duration());
+        for (VirtualUser user : users) {
+            executor.submit(() -> loop(user, end));
+        }
+
+        Thread.sleep(Math.max(0, (warmupEnd - System.nanoTime()) / 1_000_000));
+        report.reset();
+        long measuredFrom = System.nanoTime();
+
+        executor.shutdown();
+        executor.awaitTermination(settings.duration().toSeconds() + 60, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+        measuredSeconds = elapsedSeconds;
+
+        report.print(System.out, elapsedSeconds);
+        if (settings.reportDirectory() != null) {
+            report.writePercentiles(Path.of(settings.reportDirectory()));
+            log.info("Percentile distributions written to {}", settings.reportDirectory());
+        }
+        return report;
+    }
+
+    // 워밍업을 뺀 측정 구간 길이 (run이 끝난 뒤에만 의미 있음)
+    public double measuredSeconds() {
+        return measuredSeconds;
+    }
+
+    private void loop(VirtualUser user, long end) {
+        SplittableRandom random = new SplittableRandom(settings.seed() ^ System.identityHashCode(user));
+        int totalWeight = settings.listWeight() + settings.createWeight() + settings.updateWeight();
+        try {
+            user.login();
+            while (System.nanoTime() < end) {
+                int pick = random.nextInt(totalWeight);
+                try {
+                    if (pick < settings.listWeight()) {
+                        user.list();
+                    } else if (pick < settings.listWeight() + settings.createWeight()) {
+                        user.create();
+                    } else {
+                        user.update();
+                    }
+                } catch (IOException e) {
+                    // 이미 오류로 기록됨, 연결 문제가 계속되면 잠깐 쉬었다가 계속
+                    Thread.sleep(100);
+                }
+                if (!settings.thinkTime().isZero()) {
+                    Thread.sleep(settings.thinkTime().toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Virtual user stopped: {}", e.getMessage());
+        }
+    }
+}
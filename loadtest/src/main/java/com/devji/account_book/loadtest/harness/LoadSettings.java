@@ -0,0 +1,27 @@
+package com.devji.account_book.loadtest.harness;
+
+import java.time.Duration;
+
+// 가상 사용자 i는 생성기의 사용자 (i % users)로 로그인한다. reportDirectory가 null이면 .hgrm 파일을 쓰지 않음
+public record LoadSettings(
+        String baseUrl,
+        int users,
+        String emailPrefix,
+        String password,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int listWeight,
+        int createWeight,
+        int updateWeight,
+        long seed,
+        String reportDirectory
+) {
+
+    // 대상 서버와 동시 사용자 수만 바꾼 설정 (스택 비교용)
+    public LoadSettings withTarget(String baseUrl, int concurrency, String reportDirectory) {
+        return new LoadSettings(baseUrl, users, emailPrefix, password, concurrency, warmup, duration, thinkTime,
+                listWeight, createWeight, updateWeight, seed, reportDirectory);
+    }
+}
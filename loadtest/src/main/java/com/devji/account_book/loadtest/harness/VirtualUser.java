@@ -0,0 +1,151 @@
+package com.devji.account_book.loadtest.harness;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/*
+ * 브라우저 한 개를 흉내내는 가상 사용자
+ * - accessToken 쿠키는 CookieManager가 보관 (애플리케이션과 같은 쿠키 흐름)
+ * - 401이 오면 /api/auth/refresh로 재발급 후 한 번 다시 요청, 그래도 안 되면 다시 로그인
+ * - 목록 조회는 직전 ETag를 If-None-Match로 보낸다
+ */
+class VirtualUser {
+
+    private static final List<String> CATEGORIES = List.of("식비", "카페", "교통", "쇼핑", "생활");
+    private static final int RECENT_LIMIT = 20;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final SplittableRandom random;
+    // 이 사용자가 만든 거래 (id, version), 수정 대상
+    private final Deque<long[]> recent = new ArrayDeque<>();
+    private String listEtag;
+
+    VirtualUser(String baseUrl, String email, String password, ObjectMapper objectMapper, LatencyReport report, long seed) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+                .build();
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.objectMapper = objectMapper;
+        this.report = report;
+        this.random = new SplittableRandom(seed);
+    }
+
+    void login() throws IOException, InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode().put("email", email).put("password", password);
+        send("login", HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))), false);
+    }
+
+    void list() throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/transactions?page=0&size=20")).GET();
+        if (listEtag != null) {
+            request.header("If-None-Match", listEtag);
+        }
+        HttpResponse<byte[]> response = send("list", request, true);
+        if (response.statusCode() == 200 || response.statusCode() == 304) {
+            listEtag = response.headers().firstValue("ETag").orElse(listEtag);
+        }
+    }
+
+    void create() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("create", HttpRequest.newBuilder(uri("/api/transactions"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(transactionBody(null))), true);
+        if (response.statusCode() == 201) {
+            remember(objectMapper.readTree(response.body()));
+        }
+    }
+
+    // 최근에 만든 거래 하나를 수정 (없으면 생성)
+    void update() throws IOException, InterruptedException {
+        long[] target = recent.pollFirst();
+        if (target == null) {
+            create();
+            return;
+        }
+        HttpResponse<byte[]> response = send("update", HttpRequest.newBuilder(uri("/api/transactions/" + target[0]))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(transactionBody(target[1]))), true);
+        if (response.statusCode() == 200) {
+            remember(objectMapper.readTree(response.body()));
+        }
+    }
+
+    private HttpResponse<byte[]> send(String operation, HttpRequest.Builder request, boolean retryOnUnauthorized)
+            throws IOException, InterruptedException {
+        request.timeout(Duration.ofSeconds(30));
+        HttpResponse<byte[]> response = timed(operation, request.build());
+        if (response.statusCode() == 401 && retryOnUnauthorized) {
+            HttpResponse<byte[]> refreshed = timed("refresh", HttpRequest.newBuilder(uri("/api/auth/refresh"))
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build());
+            if (refreshed.statusCode() != 200) {
+                login();
+            }
+            response = timed(operation, request.build());
+        }
+        return response;
+    }
+
+    private HttpResponse<byte[]> timed(String operation, HttpRequest request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            report.record(operation, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            report.record(operation, System.nanoTime() - start, -1);
+            throw e;
+        }
+    }
+
+    private byte[] transactionBody(Long version) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("type", random.nextInt(20) == 0 ? "INCOME" : "EXPENSE")
+                .put("category", CATEGORIES.get(random.nextInt(CATEGORIES.size())))
+                .put("amount", 1_000 + random.nextInt(100_000))
+                .put("description", "부하 테스트")
+                .put("transactionDate", LocalDate.now().minusDays(random.nextInt(30)).toString());
+        if (version != null) {
+            body.put("version", version);
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private void remember(JsonNode transaction) {
+        recent.addLast(new long[]{transaction.path("id").asLong(), transaction.path("version").asLong()});
+        if (recent.size() > RECENT_LIMIT) {
+            recent.pollFirst();
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+}
@@ -0,0 +1,21 @@
+package com.devji.account_book.loadtest.shard;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * shardCounts: 비교할 샤드 수 (예: 1,2,4)
+ * jdbcUrls: 비어 있으면 샤드마다 PostgreSQL 컨테이너를 띄우고, 있으면 앞에서부터 샤드 수만큼 사용 (별도 호스트의 DB로 측정할 때)
+ * writersPerShard: 샤드 하나에 붙는 쓰기 스레드 수 (샤드를 늘리면 부하도 같은 비율로 늘린다)
+ * cpusPerShard: 컨테이너 하나의 CPU 상한 (0이면 제한 없음)
+ */
+public record ShardBenchSettings(List<Integer> shardCounts,
+                                 List<String> jdbcUrls,
+                                 String dbUser,
+                                 String dbPassword,
+                                 int usersPerShard,
+                                 int writersPerShard,
+                                 double cpusPerShard,
+                                 Duration warmup,
+                                 Duration duration) {
+}
@@ -0,0 +1,247 @@
+package com.devji.account_book.loadtest.shard;
+
+import com.devji.account_book.loadtest.harness.LatencyReport;
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 샤드 수에 따른 쓰기 처리량 비교
+ * 샤드마다 같은 마이그레이션(Flyway)을 적용하고 사용자를 나눠 넣은 뒤, 애플리케이션의 거래 생성과 같은 트랜잭션을 JDBC로 반복한다.
+ *   users.change_version 증가(사용자별 행 잠금) -> transactions INSERT -> balance_days UPSERT -> user_balances UPDATE -> COMMIT
+ * 한 사용자의 쓰기는 한 샤드에서 끝나므로, 샤드끼리 자원을 나눠 쓰지 않으면 처리량은 샤드 수에 거의 비례해야 한다.
+ * 컨테이너는 한 호스트의 디스크/CPU를 나눠 쓰므로 (cpus-per-shard로 CPU만 나눔) 디스크 fsync가 먼저 한계에 닿으면 비례하지 않는다.
+ * 실제 확장성은 --jdbc-urls로 샤드마다 다른 호스트의 DB를 주고 측정할 것.
+ */
+public class ShardBenchmark {
+
+    private static final String BUMP_SQL =
+            "UPDATE users SET change_version = change_version + 1 WHERE id = ? AND NOT moved_out RETURNING change_version";
+    private static final String INSERT_SQL = "INSERT INTO transactions (user_id, ledger_id, type, category_id, amount, description, " +
+            "transaction_date, created_at, updated_at, change_seq, deleted, version) " +
+            "VALUES (?, ?, 'EXPENSE', ?, ?, '샤드 벤치마크', ?, ?, ?, ?, FALSE, 0)";
+    private static final String BALANCE_DAY_SQL = "INSERT INTO balance_days (user_id, balance_date, net_amount) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id, balance_date) DO UPDATE SET net_amount = balance_days.net_amount + EXCLUDED.net_amount";
+    private static final String BALANCE_SQL = "UPDATE user_balances SET balance = balance + ?, updated_at = now() WHERE user_id = ?";
+
+    private final ShardBenchSettings settings;
+
+    public ShardBenchmark(ShardBenchSettings settings) {
+        this.settings = settings;
+    }
+
+    public void run() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (int shardCount : settings.shardCounts()) {
+            results.add(runWith(shardCount));
+        }
+
+        double baseline = results.get(0).writesPerSecond() / results.get(0).shards();
+        System.out.println();
+        System.out.printf("%6s %8s %12s %14s %10s %9s %9s%n",
+                "shards", "writers", "writes/s", "writes/s/shard", "scaling", "p50(ms)", "p99(ms)");
+        for (Result result : results) {
+            // 샤드 하나일 때의 샤드당 처리량 x 샤드 수 대비 비율 (1.0이면 완전 선형)
+            System.out.printf("%6d %8d %12.1f %14.1f %10.2f %9.2f %9.2f%n",
+                    result.shards(), result.writers(), result.writesPerSecond(),
+                    result.writesPerSecond() / result.shards(),
+                    result.writesPerSecond() / (baseline * result.shards()),
+                    result.p50Millis(), result.p99Millis());
+        }
+    }
+
+    private Result runWith(int shardCount) throws Exception {
+        List<PostgreSQLContainer<?>> containers = new ArrayList<>();
+        try {
+            List<String> urls = new ArrayList<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                if (settings.jdbcUrls().isEmpty()) {
+                    PostgreSQLContainer<?> container = container();
+                    container.start();
+                    containers.add(container);
+                    urls.add(container.getJdbcUrl());
+                } else {
+                    urls.add(settings.jdbcUrls().get(shard));
+                }
+            }
+            String user = containers.isEmpty() ? settings.dbUser() : containers.get(0).getUsername();
+            String password = containers.isEmpty() ? settings.dbPassword() : containers.get(0).getPassword();
+
+            List<ShardUsers> shards = new ArrayList<>();
+            for (String url : urls) {
+                Flyway.configure().dataSource(url, user, password).locations("classpath:db/migration")
+                        .baselineOnMigrate(true).baselineVersion("0").load().migrate();
+                shards.add(seed(url, user, password));
+            }
+            System.out.printf("shards=%d: %d users per shard, %d writers per shard%n",
+                    shardCount, settings.usersPerShard(), settings.writersPerShard());
+            return measure(shards, user, password);
+        } finally {
+            containers.forEach(PostgreSQLContainer::stop);
+        }
+    }
+
+    private PostgreSQLContainer<?> container() {
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine").withDatabaseName("account_book");
+        if (settings.cpusPerShard() > 0) {
+            long nanoCpus = (long) (settings.cpusPerShard() * 1_000_000_000L);
+            container.withCreateContainerCmdModifier(cmd -> cmd.getHostConfig().withNanoCPUs(nanoCpus));
+        }
+        return container;
+    }
+
+    private Result measure(List<ShardUsers> shards, String user, String password) throws Exception {
+        int writerCount = shards.size() * settings.writersPerShard();
+        LatencyReport report = new LatencyReport();
+        LongAdder writes = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < writerCount; i++) {
+            // 쓰기 스레드마다 샤드 하나의 커넥션 하나 (애플리케이션에서 샤드별 풀의 커넥션 하나에 해당)
+            ShardUsers shard = shards.get(i % shards.size());
+            writers.add(executor.submit(() -> {
+                write(shard, user, password, running, report, writes);
+                return null;
+            }));
+        }
+        try {
+            Thread.sleep(settings.warmup().toMillis());
+            report.reset();
+            writes.reset();
+            long started = System.nanoTime();
+            Thread.sleep(settings.duration().toMillis());
+            double elapsed = (System.nanoTime() - started) / 1e9;
+            long count = writes.sum();
+            running.set(false);
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            report.print(System.out, elapsed);
+            return new Result(shards.size(), writerCount, count / elapsed, report.percentileMillis("write", 50),
+                    report.percentileMillis("write", 99));
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+
+    private void write(ShardUsers shard, String user, String password, AtomicBoolean running, LatencyReport report,
+                       LongAdder writes) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (Connection connection = DriverManager.getConnection(shard.url(), user, password);
+             PreparedStatement bump = connection.prepareStatement(BUMP_SQL);
+             PreparedStatement insert = connection.prepareStatement(INSERT_SQL);
+             PreparedStatement balanceDay = connection.prepareStatement(BALANCE_DAY_SQL);
+             PreparedStatement balance = connection.prepareStatement(BALANCE_SQL)) {
+            connection.setAutoCommit(false);
+            while (running.get()) {
+                int index = random.nextInt(shard.userIds().length);
+                long userId = shard.userIds()[index];
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 100) * 100L);
+                LocalDate date = LocalDate.now().minusDays(random.nextInt(60));
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                long started = System.nanoTime();
+                try {
+                    bump.setLong(1, userId);
+                    long changeSeq;
+                    try (ResultSet rs = bump.executeQuery()) {
+                        rs.next();
+                        changeSeq = rs.getLong(1);
+                    }
+                    insert.setLong(1, userId);
+                    insert.setLong(2, shard.ledgerIds()[index]);
+                    insert.setInt(3, shard.categoryId());
+                    insert.setBigDecimal(4, amount);
+                    insert.setObject(5, date);
+                    insert.setTimestamp(6, now);
+                    insert.setTimestamp(7, now);
+                    insert.setLong(8, changeSeq);
+                    insert.executeUpdate();
+                    balanceDay.setLong(1, userId);
+                    balanceDay.setObject(2, date);
+                    balanceDay.setBigDecimal(3, amount.negate());
+                    balanceDay.executeUpdate();
+                    balance.setBigDecimal(1, amount.negate());
+                    balance.setLong(2, userId);
+                    balance.executeUpdate();
+                    connection.commit();
+                    writes.increment();
+                    report.record("write", System.nanoTime() - started, 200);
+                } catch (SQLException e) {
+                    connection.rollback();
+                    report.record("write", System.nanoTime() - started, -1);
+                }
+            }
+        }
+    }
+
+    // 사용자, 개인 장부, 잔액 행
+    private ShardUsers seed(String url, String user, String password) throws SQLException {
+        long[] userIds = new long[settings.usersPerShard()];
+        long[] ledgerIds = new long[settings.usersPerShard()];
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            int categoryId;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id FROM categories WHERE user_id IS NULL AND name = '식비'");
+                 ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                categoryId = rs.getInt(1);
+            }
+            try (PreparedStatement insertUser = connection.prepareStatement(
+                    "INSERT INTO users (email, password, name, created_at, role, change_version) " +
+                            "VALUES (?, 'x', '샤드벤치', now(), 'USER', 0) RETURNING id");
+                 PreparedStatement insertLedger = connection.prepareStatement(
+                         "INSERT INTO ledgers (name, personal, owner_user_id, created_at) VALUES ('내 가계부', TRUE, ?, now()) RETURNING id");
+                 PreparedStatement insertMember = connection.prepareStatement(
+                         "INSERT INTO ledger_members (ledger_id, user_id, role, joined_at) VALUES (?, ?, 'OWNER', now())");
+                 PreparedStatement insertBalance = connection.prepareStatement(
+                         "INSERT INTO user_balances (user_id, balance, updated_at) VALUES (?, 0, now())")) {
+                for (int i = 0; i < userIds.length; i++) {
+                    insertUser.setString(1, "shard-bench-" + System.nanoTime() + "-" + i + "@loadtest.local");
+                    userIds[i] = returningId(insertUser);
+                    insertLedger.setLong(1, userIds[i]);
+                    ledgerIds[i] = returningId(insertLedger);
+                    insertMember.setLong(1, ledgerIds[i]);
+                    insertMember.setLong(2, userIds[i]);
+                    insertMember.executeUpdate();
+                    insertBalance.setLong(1, userIds[i]);
+                    insertBalance.executeUpdate();
+                }
+            }
+            connection.commit();
+            return new ShardUsers(url, userIds, ledgerIds, categoryId);
+        }
+    }
+
+    private static long returningId(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private record ShardUsers(String url, long[] userIds, long[] ledgerIds, int categoryId) {
+    }
+
+    private record Result(int shards, int writers, double writesPerSecond, double p50Millis, double p99Millis) {
+    }
+}
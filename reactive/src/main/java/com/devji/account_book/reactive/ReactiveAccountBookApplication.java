@@ -0,0 +1,20 @@
+package com.devji.account_book.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+
+/*
+ * WebFlux + R2DBC + reactive Redis 버전
+ * MVC 애플리케이션과 같은 DB/Redis를 쓰며 /api/auth, /api/transactions 계약(경로, JSON, 쿠키, 상태 코드)이 같다.
+ * 스키마 마이그레이션은 MVC 애플리케이션(Flyway)이 담당한다.
+ */
+@EnableR2dbcAuditing
+@SpringBootApplication
+public class ReactiveAccountBookApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveAccountBookApplication.class, args);
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.devji.account_book.reactive.auth.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+
+// 연결 팩토리와 ReactiveStringRedisTemplate은 자동 설정(spring.data.redis.*)을 그대로 사용
+@Configuration
+public class RedisConfig {
+
+    // 거래 변경 이벤트 pub/sub 구독용
+    @Bean(destroyMethod = "destroy")
+    public ReactiveRedisMessageListenerContainer reactiveRedisMessageListenerContainer(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
+}
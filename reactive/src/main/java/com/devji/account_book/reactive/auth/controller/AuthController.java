@@ -0,0 +1,69 @@
+package com.devji.account_book.reactive.auth.controller;
+
+import com.devji.account_book.reactive.auth.dto.LoginRequest;
+import com.devji.account_book.reactive.auth.dto.MessageResponse;
+import com.devji.account_book.reactive.auth.dto.SignupRequest;
+import com.devji.account_book.reactive.auth.entity.User;
+import com.devji.account_book.reactive.auth.service.AuthService;
+import com.devji.account_book.reactive.auth.util.JwtUtil;
+import jakarta.validation.Valid;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthService authService;
+    private final JwtUtil jwtUtil;
+
+    @PostMapping("/signup")
+    public Mono<ResponseEntity<MessageResponse>> signup(@RequestBody @Valid SignupRequest signupRequestDto) {
+        return authService.signup(signupRequestDto)
+                .thenReturn(ResponseEntity.ok(new MessageResponse("회원가입이 완료되었습니다")));
+    }
+
+    // MVC 버전의 JwtAuthenticationFilter(/api/auth/login)에 해당: 실패 시 본문 없는 401
+    @PostMapping("/login")
+    public Mono<ResponseEntity<Map<String, Object>>> login(@RequestBody LoginRequest loginRequest) {
+        return authService.authenticate(loginRequest)
+                .flatMap(user -> authService.issueTokens(user)
+                        .map(cookie -> ResponseEntity.ok()
+                                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                                .body(loginResponse(user))))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.info("유효하지 않은 ID or 비밀번호: {}", loginRequest.getEmail());
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                }));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<Void>> refreshToken(ServerHttpRequest request) {
+        return authService.refresh(jwtUtil.getAccessTokenFromCookie(request))
+                .map(cookie -> ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, cookie.toString()).build());
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(ServerHttpRequest request) {
+        return authService.logout(jwtUtil.getAccessTokenFromCookie(request))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, jwtUtil.deleteCookie().toString())
+                        .build()));
+    }
+
+    private static Map<String, Object> loginResponse(User user) {
+        return Map.of("user", Map.of(
+                "id", user.getId(),
+                "email", user.getEmail(),
+                "name", user.getName()));
+    }
+}
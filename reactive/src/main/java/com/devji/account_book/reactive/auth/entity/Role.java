@@ -0,0 +1,5 @@
+package com.devji.account_book.reactive.auth.entity;
+
+public enum Role {
+    USER, ADMIN
+}
@@ -0,0 +1,37 @@
+package com.devji.account_book.reactive.auth.entity;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("users")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class User {
+    @Id
+    private Long id;
+
+    private String email;
+
+    private String password;
+
+    private String name;
+
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Builder.Default
+    private Role role = Role.USER;
+
+    // 거래가 바뀔 때마다 증가하는 버전 (목록 ETag, 동기화 순번)
+    @Builder.Default
+    private Long changeVersion = 0L;
+}
@@ -0,0 +1,83 @@
+package com.devji.account_book.reactive.auth.filter;
+
+import com.devji.account_book.reactive.auth.repository.UserRepository;
+import com.devji.account_book.reactive.auth.security.PrincipalDetails;
+import com.devji.account_book.reactive.auth.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/*
+ * 쿠키의 access token 검증 후 인증 정보를 Reactor Context에 등록 (MVC의 JwtAuthorizationFilter에 해당)
+ * - 토큰이 없으면 그대로 통과 (인가 규칙에서 거부)
+ * - 만료/위조 토큰은 401 + MVC 버전과 같은 JSON 본문
+ */
+@Slf4j(topic = "JWT 검증 및 인가")
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final byte[] INVALID_TOKEN_BODY = unauthorizedBody("유효하지 않은 토큰입니다.");
+    private static final byte[] EXPIRED_TOKEN_BODY = unauthorizedBody("토큰이 만료되었습니다.");
+    private static final byte[] AUTHENTICATION_ERROR_BODY = unauthorizedBody("인증 처리 중 오류가 발생했습니다.");
+
+    private final JwtUtil jwtUtil;
+    private final UserRepository userRepository;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().value().startsWith("/api/auth/")) {
+            return chain.filter(exchange);
+        }
+        String jwt = jwtUtil.getAccessTokenFromCookie(exchange.getRequest());
+        if (jwt == null) {
+            return chain.filter(exchange);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtil.parseAccessToken(jwt);
+        } catch (ExpiredJwtException e) {
+            log.debug("토큰이 만료되었습니다: {}", exchange.getRequest().getPath());
+            return sendUnauthorized(exchange.getResponse(), EXPIRED_TOKEN_BODY);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("유효하지 않은 토큰입니다: {}", exchange.getRequest().getPath());
+            return sendUnauthorized(exchange.getResponse(), INVALID_TOKEN_BODY);
+        }
+
+        // chain.filter()는 값 없이 완료되므로 switchIfEmpty를 체인 뒤에 두면 안 됨 -> Optional로 사용자 유무를 먼저 판별
+        return userRepository.findByEmail(claims.getSubject())
+                .map(user -> Optional.of(new PrincipalDetails(user)))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(principal -> principal
+                        .map(details -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()))))
+                        .orElseGet(() -> sendUnauthorized(exchange.getResponse(), AUTHENTICATION_ERROR_BODY)));
+    }
+
+    private static Mono<Void> sendUnauthorized(ServerHttpResponse response, byte[] body) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    private static byte[] unauthorizedBody(String message) {
+        return ("{\"error\":\"" + message + "\",\"code\":\"UNAUTHORIZED\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devji.account_book.reactive.auth.repository;
+
+import com.devji.account_book.reactive.auth.entity.User;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+public interface UserRepository extends R2dbcRepository<User, Long> {
+    Mono<User> findByEmail(String email);
+    Mono<Boolean> existsByEmail(String email);
+
+    // 증가와 조회를 한 문장으로 (같은 사용자의 동시 쓰기는 이 UPDATE의 행 잠금으로 순서가 정해진다)
+    @Query("UPDATE users SET change_version = change_version + 1 WHERE id = :id RETURNING change_version")
+    Mono<Long> incrementChangeVersion(@Param("id") Long id);
+}
@@ -0,0 +1,33 @@
+package com.devji.account_book.reactive.auth.security;
+
+import com.devji.account_book.reactive.auth.entity.User;
+import java.util.Collection;
+import java.util.Collections;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+// 컨트롤러에서 @AuthenticationPrincipal로 받는 인증 사용자 (MVC 버전과 동일)
+@Getter
+@RequiredArgsConstructor
+public class PrincipalDetails implements UserDetails {
+
+    private final User user;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return user.getPassword();
+    }
+
+    @Override
+    public String getUsername() {
+        return user.getEmail();
+    }
+}
@@ -0,0 +1,96 @@
+package com.devji.account_book.reactive.auth.service;
+
+import com.devji.account_book.reactive.auth.dto.LoginRequest;
+import com.devji.account_book.reactive.auth.dto.SignupRequest;
+import com.devji.account_book.reactive.auth.entity.User;
+import com.devji.account_book.reactive.auth.repository.UserRepository;
+import com.devji.account_book.reactive.auth.util.JwtUtil;
+import com.devji.account_book.reactive.auth.util.RedisUtil;
+import com.devji.account_book.reactive.expense.exception.ConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Slf4j(topic = "Auth Service")
+@Service
+@RequiredArgsConstructor
+public class AuthService {
+
+    private final JwtUtil jwtUtil;
+    private final RedisUtil redisUtil;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public Mono<Void> signup(SignupRequest signupRequest) {
+        return userRepository.existsByEmail(signupRequest.getEmail())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.error(new ConflictException("이미 존재하는 이메일입니다"));
+                    }
+                    // BCrypt는 CPU를 오래 쓰므로 이벤트 루프 밖에서 실행
+                    return Mono.fromCallable(() -> passwordEncoder.encode(signupRequest.getPassword()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(encoded -> userRepository.save(User.builder()
+                                    .email(signupRequest.getEmail())
+                                    .password(encoded)
+                                    .name(signupRequest.getName())
+                                    .build()));
+                })
+                .then();
+    }
+
+    // 로그인 성공 시 사용자, 실패 시 빈 Mono
+    public Mono<User> authenticate(LoginRequest loginRequest) {
+        return userRepository.findByEmail(loginRequest.getEmail())
+                .filterWhen(user -> Mono.fromCallable(() -> passwordEncoder.matches(loginRequest.getPassword(), user.getPassword()))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    // access token 발급 + refresh token 저장
+    public Mono<ResponseCookie> issueTokens(User user) {
+        String accessToken = jwtUtil.createAccessToken(user.getEmail());
+        String refreshToken = jwtUtil.createRefreshToken(user.getEmail());
+        return redisUtil.setRefreshToken(user.getEmail(), refreshToken, JwtUtil.REFRESH_TOKEN_TIME)
+                .thenReturn(jwtUtil.accessTokenCookie(accessToken));
+    }
+
+    public Mono<ResponseCookie> refresh(String accessToken) {
+        if (accessToken == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "엑세스 토큰이 없습니다."));
+        }
+        String email;
+        try {
+            email = jwtUtil.extractUsername(accessToken);
+        } catch (RuntimeException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "토큰 재발급 중 오류가 발생했습니다."));
+        }
+
+        return redisUtil.getRefreshToken(email)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 존재하지 않습니다.")))
+                .flatMap(storedRefreshToken -> {
+                    if (!jwtUtil.isValidRefreshToken(storedRefreshToken)) {
+                        return redisUtil.deleteRefreshToken(email)
+                                .then(Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 유효하지 않습니다.")));
+                    }
+                    return Mono.just(jwtUtil.accessTokenCookie(jwtUtil.createAccessToken(email)));
+                })
+                .onErrorMap(DataAccessException.class, e -> {
+                    log.error("Redis 장애", e);
+                    return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류");
+                });
+    }
+
+    public Mono<Void> logout(String accessToken) {
+        if (accessToken == null) {
+            return Mono.empty();
+        }
+        return redisUtil.deleteRefreshToken(jwtUtil.extractUsername(accessToken)).then();
+    }
+}
@@ -0,0 +1,109 @@
+package com.devji.account_book.reactive.auth.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import javax.crypto.SecretKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+// MVC 버전과 같은 키/클레임/쿠키 형식 (두 스택이 같은 토큰을 주고받을 수 있음)
+@Component
+@Slf4j
+public class JwtUtil {
+    public static final String ACCESS_TOKEN_COOKIE_NAME = "accessToken";
+
+    // Access Token 만료시간 (5분)
+    private static final long ACCESS_TOKEN_TIME = 5 * 60 * 1000L;
+    // Refresh Token 만료시간 (7일)
+    public static final long REFRESH_TOKEN_TIME = 7 * 24 * 60 * 60 * 1000L;
+
+    private final SecretKey signingKey;
+    private final SecretKey refreshSigningKey;
+    // 파서는 스레드 안전하므로 한 번만 생성
+    private final JwtParser accessTokenParser;
+    private final JwtParser refreshTokenParser;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.refresh.secret}") String refreshSecret) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.refreshSigningKey = Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
+        this.accessTokenParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.refreshTokenParser = Jwts.parserBuilder().setSigningKey(refreshSigningKey).build();
+    }
+
+    public String createAccessToken(String email) {
+        return createToken(email, ACCESS_TOKEN_TIME, signingKey);
+    }
+
+    public String createRefreshToken(String email) {
+        return createToken(email, REFRESH_TOKEN_TIME, refreshSigningKey);
+    }
+
+    public ResponseCookie accessTokenCookie(String accessToken) {
+        return ResponseCookie.from(ACCESS_TOKEN_COOKIE_NAME, accessToken)
+                .httpOnly(true)
+                .path("/")
+                .maxAge(Duration.ofMillis(REFRESH_TOKEN_TIME)) // 쿠키유효시간은 리프레시 토큰 유효시간과 같게 유지
+                .sameSite("Strict")
+                .build();
+    }
+
+    public ResponseCookie deleteCookie() {
+        return ResponseCookie.from(ACCESS_TOKEN_COOKIE_NAME, "")
+                .httpOnly(true)
+                .path("/")
+                .maxAge(0)
+                .build();
+    }
+
+    public String getAccessTokenFromCookie(ServerHttpRequest request) {
+        HttpCookie cookie = request.getCookies().getFirst(ACCESS_TOKEN_COOKIE_NAME);
+        return cookie == null ? null : cookie.getValue();
+    }
+
+    // 서명/만료를 검증하고 클레임 반환 (만료 시 ExpiredJwtException, 위조 등은 JwtException)
+    public Claims parseAccessToken(String token) {
+        return accessTokenParser.parseClaimsJws(token).getBody();
+    }
+
+    // 만료된 토큰에서도 사용자 이름 추출 (토큰 재발급용)
+    public String extractUsername(String token) {
+        try {
+            return parseAccessToken(token).getSubject();
+        } catch (ExpiredJwtException e) {
+            return e.getClaims().getSubject();
+        }
+    }
+
+    public boolean isValidRefreshToken(String token) {
+        try {
+            refreshTokenParser.parseClaimsJws(token);
+            return true;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid refresh token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String createToken(String email, long validityMs, SecretKey key) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(email)
+                .claim("email", email)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMs))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,34 @@
+package com.devji.account_book.reactive.auth.util;
+
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// MVC 버전과 같은 키(RT:{email})와 값 형식("{쓴 시각(ms)}:{토큰}")을 사용
+@Component
+@RequiredArgsConstructor
+public class RedisUtil {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public Mono<Boolean> setRefreshToken(String email, String refreshToken, long expirationMs) {
+        return Mono.defer(() -> redisTemplate.opsForValue().set("RT:" + email,
+                System.currentTimeMillis() + ":" + refreshToken, Duration.ofMillis(expirationMs)));
+    }
+
+    public Mono<String> getRefreshToken(String email) {
+        return redisTemplate.opsForValue().get("RT:" + email).map(RedisUtil::tokenOf);
+    }
+
+    public Mono<Long> deleteRefreshToken(String email) {
+        return redisTemplate.delete("RT:" + email);
+    }
+
+    // 시각이 없는 값(형식 변경 전)은 그대로
+    private static String tokenOf(String stored) {
+        int separator = stored.indexOf(':');
+        return separator < 0 ? stored : stored.substring(separator + 1);
+    }
+}
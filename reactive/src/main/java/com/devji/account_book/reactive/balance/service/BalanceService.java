@@ -0,0 +1,71 @@
+package com.devji.account_book.reactive.balance.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * MVC 버전 BalanceService.apply와 같은 잔액 갱신 (user_balances, balance_days, balance_checkpoints)
+ * 같은 테이블을 두 애플리케이션이 함께 쓰므로 SQL과 순서를 그대로 맞춘다.
+ * 거래 쓰기와 같은 리액티브 트랜잭션 안에서, incrementChangeVersion이 users 행을 잠근 뒤에 호출해야 한다.
+ * 잔액 조회, 재계산, 검증은 MVC 애플리케이션만 제공한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceService {
+
+    private static final String UPSERT_BALANCE_SQL = "INSERT INTO user_balances (user_id, balance, updated_at) " +
+            "VALUES (:userId, :amount, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET balance = user_balances.balance + EXCLUDED.balance, updated_at = EXCLUDED.updated_at";
+    private static final String UPSERT_DAY_SQL = "INSERT INTO balance_days (user_id, balance_date, net_amount) " +
+            "VALUES (:userId, :date, :amount) " +
+            "ON CONFLICT (user_id, balance_date) DO UPDATE SET net_amount = balance_days.net_amount + EXCLUDED.net_amount";
+    private static final String ENSURE_CHECKPOINT_SQL = "INSERT INTO balance_checkpoints (user_id, checkpoint_month, closing_balance) " +
+            "SELECT CAST(:userId AS bigint), CAST(:month AS date), COALESCE((SELECT closing_balance FROM balance_checkpoints " +
+            "WHERE user_id = :userId AND checkpoint_month < :month ORDER BY checkpoint_month DESC LIMIT 1), 0) " +
+            "ON CONFLICT (user_id, checkpoint_month) DO NOTHING";
+    private static final String SHIFT_CHECKPOINTS_SQL = "UPDATE balance_checkpoints SET closing_balance = closing_balance + :amount " +
+            "WHERE user_id = :userId AND checkpoint_month >= :month";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Void> apply(long userId, BalanceDelta delta) {
+        if (delta.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<LocalDate, BigDecimal> months = new TreeMap<>();
+        delta.byDate().forEach((date, amount) -> months.merge(date.withDayOfMonth(1), amount, BigDecimal::add));
+
+        // 체크포인트를 모두 만든 뒤에 더한다 (새 체크포인트가 이번 증감이 더해지기 전의 직전 값을 복사하도록)
+        return databaseClient.sql(UPSERT_BALANCE_SQL)
+                .bind("userId", userId)
+                .bind("amount", delta.total())
+                .then()
+                .thenMany(Flux.fromIterable(delta.byDate().entrySet())
+                        .concatMap(day -> databaseClient.sql(UPSERT_DAY_SQL)
+                                .bind("userId", userId)
+                                .bind("date", day.getKey())
+                                .bind("amount", day.getValue())
+                                .then()))
+                .thenMany(Flux.fromIterable(months.keySet())
+                        .concatMap(month -> databaseClient.sql(ENSURE_CHECKPOINT_SQL)
+                                .bind("userId", userId)
+                                .bind("month", month)
+                                .then()))
+                .thenMany(Flux.fromIterable(months.entrySet())
+                        .filter(month -> month.getValue().signum() != 0)
+                        .concatMap(month -> databaseClient.sql(SHIFT_CHECKPOINTS_SQL)
+                                .bind("amount", month.getValue())
+                                .bind("userId", userId)
+                                .bind("month", month.getKey())
+                                .then()))
+                .then();
+    }
+}
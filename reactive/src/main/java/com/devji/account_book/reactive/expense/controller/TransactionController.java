@@ -0,0 +1,108 @@
+package com.devji.account_book.reactive.expense.controller;
+
+import com.devji.account_book.reactive.auth.security.PrincipalDetails;
+import com.devji.account_book.reactive.expense.dto.TransactionDto;
+import com.devji.account_book.reactive.expense.service.TransactionService;
+import com.devji.account_book.reactive.expense.service.TransactionStreamService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import java.time.LocalDate;
+
+// MVC 버전 TransactionController와 같은 경로/응답 (Idempotency-Key, 내보내기는 MVC 애플리케이션만 지원)
+@RestController
+@RequestMapping("/api/transactions")
+@RequiredArgsConstructor
+@Validated
+@Slf4j
+public class TransactionController {
+
+    // 브라우저가 캐시는 하되 매번 ETag로 재검증하도록
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final TransactionService transactionService;
+    private final TransactionStreamService transactionStreamService;
+
+    // 거래 생성
+    @PostMapping
+    public Mono<ResponseEntity<TransactionDto>> createTransaction(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @Valid @RequestBody TransactionDto transactionDto) {
+        log.info("Creating new transaction: {}", transactionDto);
+        return transactionService.createTransaction(principalDetails.getUser().getId(), transactionDto)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    // 거래 수정
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TransactionDto>> updateTransaction(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id,
+            @Valid @RequestBody TransactionDto transactionDto) {
+        log.info("Updating transaction {}: {}", id, transactionDto);
+        return transactionService.updateTransaction(principalDetails.getUser().getId(), id, transactionDto)
+                .map(ResponseEntity::ok);
+    }
+
+    // 거래 삭제
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTransaction(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id,
+            @RequestParam(required = false) Long version) {
+        log.info("Deleting transaction: {}", id);
+        return transactionService.deleteTransaction(principalDetails.getUser().getId(), id, version)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    // 거래 변경 실시간 스트림 (SSE), 재접속 시 브라우저가 Last-Event-ID를 보내면 놓친 이벤트부터 전송
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamTransactions(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return transactionStreamService.connect(principalDetails.getUser().getId(), lastEventId);
+    }
+
+    // 거래 목록 조회 (페이징)
+    // 변경 버전이 같으면 (If-None-Match 일치) 거래 테이블을 조회하지 않고 304 응답
+    @GetMapping
+    public Mono<ResponseEntity<Page<TransactionDto>>> getTransactions(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) int size,
+            ServerWebExchange exchange) {
+        String etag = "W/\"v" + principalDetails.getUser().getChangeVersion() + "-" + page + "-" + size + "\"";
+        if (exchange.checkNotModified(etag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(LIST_CACHE_CONTROL).build());
+        }
+        return transactionService.getTransactions(principalDetails.getUser().getId(), page, size)
+                .map(transactions -> ResponseEntity.ok().eTag(etag).cacheControl(LIST_CACHE_CONTROL).body(transactions));
+    }
+
+    // 기간별 거래 조회
+    @GetMapping("/date-range")
+    public Mono<ResponseEntity<Page<TransactionDto>>> getTransactionsByDateRange(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) int size) {
+        return transactionService.getTransactionsByDateRange(principalDetails.getUser().getId(), startDate, endDate, page, size)
+                .map(ResponseEntity::ok);
+    }
+}
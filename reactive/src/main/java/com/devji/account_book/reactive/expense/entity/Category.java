@@ -0,0 +1,26 @@
+package com.devji.account_book.reactive.expense.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// 거래 카테고리 사전 (user_id가 null이면 전역 카테고리)
+@Table("categories")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Category {
+
+    @Id
+    private Integer id;
+
+    private Long userId;
+
+    private String name;
+}
@@ -0,0 +1,59 @@
+package com.devji.account_book.reactive.expense.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// MVC 버전의 Transaction과 같은 테이블 (월별 파티션, db/migration 참고)
+// R2DBC에는 @SQLRestriction이 없으므로 삭제 표시 행은 리포지토리 쿼리에서 직접 제외한다.
+@Table("transactions")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Transaction {
+
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    // 거래가 속한 장부 (ledgers.id), 이 모듈에서는 항상 작성자의 개인 장부
+    private Long ledgerId;
+
+    private TransactionType type; // INCOME, EXPENSE
+
+    // categories.id (이름은 CategoryDictionary로 변환)
+    private Integer categoryId;
+
+    private BigDecimal amount;
+
+    private String description;
+
+    private LocalDate transactionDate;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    // 마지막으로 바뀐 시점의 users.change_version
+    private Long changeSeq;
+
+    @Builder.Default
+    private boolean deleted = false;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,5 @@
+package com.devji.account_book.reactive.expense.entity;
+
+public enum TransactionType {
+    INCOME, EXPENSE
+}
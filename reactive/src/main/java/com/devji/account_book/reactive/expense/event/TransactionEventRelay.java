@@ -0,0 +1,58 @@
+package com.devji.account_book.reactive.expense.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveListOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/*
+ * 커밋된 거래 변경 이벤트를 Redis로 전달 (MVC 버전과 같은 replay 버퍼 키, pub/sub 채널)
+ * 트랜잭션 커밋 뒤에 호출해야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEventRelay {
+
+    public static final String CHANNEL = "transaction-events";
+    public static final String REPLAY_KEY_PREFIX = "TXE:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.stream.replay-size:100}")
+    private int replaySize;
+
+    @Value("${app.stream.replay-ttl:1h}")
+    private Duration replayTtl;
+
+    public Mono<Void> relay(TransactionChangedEvent event) {
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize transaction event of user {}: {}", event.userId(), e.getMessage());
+            return Mono.empty();
+        }
+
+        String key = REPLAY_KEY_PREFIX + event.userId();
+        ReactiveListOperations<String, String> list = redisTemplate.opsForList();
+        return list.leftPush(key, message)
+                .then(list.trim(key, 0, replaySize - 1))
+                .then(redisTemplate.expire(key, replayTtl))
+                .then(redisTemplate.convertAndSend(CHANNEL, message))
+                .then()
+                // 이벤트 전달 실패가 이미 커밋된 쓰기를 실패로 만들지 않도록 기록만 남김
+                .onErrorResume(e -> {
+                    log.warn("Failed to relay transaction event of user {}: {}", event.userId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,5 @@
+package com.devji.account_book.reactive.expense.event;
+
+public enum TransactionEventType {
+    CREATED, UPDATED, DELETED
+}
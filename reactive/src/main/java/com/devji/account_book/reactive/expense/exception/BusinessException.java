@@ -0,0 +1,20 @@
+package com.devji.account_book.reactive.expense.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/*
+ * 예상 가능한 요청 오류 (없는 거래, 충돌, 처리할 수 없는 요청 등)의 공통 부모
+ * 클라이언트 잘못으로 자주 발생하고 원인 위치도 뻔하므로 스택 트레이스를 만들지 않는다 (writableStackTrace=false).
+ * 서버 내부 오류에는 쓰지 말 것 (그런 경우는 일반 예외로 던져서 스택 트레이스를 남긴다)
+ */
+@Getter
+public abstract class BusinessException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    protected BusinessException(HttpStatus status, String message) {
+        super(message, null, false, false);
+        this.status = status;
+    }
+}
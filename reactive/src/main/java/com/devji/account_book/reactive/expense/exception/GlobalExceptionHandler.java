@@ -0,0 +1,95 @@
+package com.devji.account_book.reactive.expense.exception;
+
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponseException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 오류 응답은 MVC 버전과 같은 RFC 7807 ProblemDetail
+ * - 4xx(클라이언트 오류)는 스택 트레이스 없이 debug/info 로그만 남긴다
+ * - 5xx(서버 오류)만 error 로그 + 스택 트레이스
+ */
+@RestControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final String VALIDATION_FAILED = "입력값이 유효하지 않습니다.";
+
+    @ExceptionHandler(BusinessException.class)
+    public ProblemDetail handleBusinessException(BusinessException e) {
+        log.debug("{}: {}", e.getClass().getSimpleName(), e.getMessage());
+        return ProblemDetail.forStatusAndDetail(e.getStatus(), e.getMessage());
+    }
+
+    // 다른 기기에서 먼저 수정/삭제한 거래를 이전 버전 기준으로 수정하려는 경우
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        log.info("Optimistic locking conflict: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "다른 곳에서 먼저 변경된 거래입니다. 새로고침 후 다시 시도해주세요.");
+    }
+
+    // @Validated 컨트롤러의 @RequestParam 제약 위반 (@Min 등)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ProblemDetail handleConstraintViolation(ConstraintViolationException e) {
+        log.debug("Constraint violation: {}", e.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, VALIDATION_FAILED);
+        Map<String, String> errors = new LinkedHashMap<>();
+        e.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        problem.setProperty("errors", errors);
+        return problem;
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleGenericException(Exception e) {
+        log.error("Unexpected exception occurred: ", e);
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류가 발생했습니다.");
+    }
+
+    // @Valid @RequestBody 검증 실패
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex, HttpHeaders headers,
+                                                                          HttpStatusCode status, ServerWebExchange exchange) {
+        log.debug("Validation failed: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.badRequest().headers(headers).body(validationProblem(ex.getFieldErrors())));
+    }
+
+    // ResponseStatusException 등 상태 코드를 직접 가진 예외
+    @Override
+    protected Mono<ResponseEntity<Object>> handleErrorResponseException(ErrorResponseException ex, HttpHeaders headers,
+                                                                        HttpStatusCode status, ServerWebExchange exchange) {
+        if (status.is5xxServerError()) {
+            log.error("Server error: ", ex);
+        } else {
+            log.debug("Error response {}: {}", status.value(), ex.getMessage());
+        }
+        return super.handleErrorResponseException(ex, headers, status, exchange);
+    }
+
+    private static ProblemDetail validationProblem(List<FieldError> fieldErrors) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, VALIDATION_FAILED);
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (FieldError error : fieldErrors) {
+            errors.putIfAbsent(error.getField(), error.getDefaultMessage());
+        }
+        problem.setProperty("errors", errors);
+        return problem;
+    }
+}
@@ -0,0 +1,11 @@
+package com.devji.account_book.reactive.expense.exception;
+
+import org.springframework.http.HttpStatus;
+
+// 404 - 없거나 다른 사용자의 리소스
+public class NotFoundException extends BusinessException {
+
+    public NotFoundException(String message) {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.devji.account_book.reactive.expense.exception;
+
+import org.springframework.http.HttpStatus;
+
+// 422 - 형식은 맞지만 처리할 수 없는 요청 (잘못된 동기화 token 등)
+public class UnprocessableRequestException extends BusinessException {
+
+    public UnprocessableRequestException(String message) {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.devji.account_book.reactive.expense.repository;
+
+import com.devji.account_book.reactive.expense.entity.Category;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CategoryRepository extends R2dbcRepository<Category, Integer> {
+
+    // 사용자 전용 카테고리 조회
+    Mono<Category> findByUserIdAndName(Long userId, String name);
+
+    // 전역 카테고리 조회
+    Mono<Category> findByUserIdIsNullAndName(String name);
+
+    Flux<Category> findByUserIdIsNull();
+
+    // 동시에 같은 카테고리를 생성해도 한 행만 남도록 충돌 시 무시
+    @Modifying
+    @Query("INSERT INTO categories (user_id, name) VALUES (:userId, :name) ON CONFLICT (user_id, name) DO NOTHING")
+    Mono<Integer> insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+}
@@ -0,0 +1,25 @@
+package com.devji.account_book.reactive.expense.repository;
+
+import com.devji.account_book.reactive.expense.entity.Transaction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+public interface TransactionRepository extends R2dbcRepository<Transaction, Long> {
+
+    Mono<Transaction> findByIdAndUserIdAndDeletedFalse(Long id, Long userId);
+
+    // 사용자별 거래 목록 (최신순)
+    Flux<Transaction> findByUserIdAndDeletedFalseOrderByTransactionDateDescCreatedAtDesc(Long userId, Pageable pageable);
+
+    Mono<Long> countByUserIdAndDeletedFalse(Long userId);
+
+    // 기간별 거래 조회 (transaction_date 조건으로 해당 월 파티션만 조회)
+    Flux<Transaction> findByUserIdAndTransactionDateBetweenAndDeletedFalseOrderByTransactionDateDescCreatedAtDesc(
+            Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    Mono<Long> countByUserIdAndTransactionDateBetweenAndDeletedFalse(Long userId, LocalDate startDate, LocalDate endDate);
+}
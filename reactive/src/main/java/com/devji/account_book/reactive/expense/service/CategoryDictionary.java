@@ -0,0 +1,99 @@
+package com.devji.account_book.reactive.expense.service;
+
+import com.devji.account_book.reactive.expense.entity.Category;
+import com.devji.account_book.reactive.expense.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * 카테고리 이름 <-> id 양방향 사전 (MVC 버전의 CategoryDictionary와 같은 규칙)
+ * 캐시에 있으면 DB를 거치지 않고 바로 값을 돌려준다.
+ * 새 카테고리 생성은 호출하는 쪽의 트랜잭션 밖에서 실행해야 한다 (MVC 버전의 REQUIRES_NEW에 해당)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryDictionary {
+
+    // 전역 카테고리를 캐시 키에서 구분하기 위한 값 (users.id는 1부터 시작)
+    private static final long GLOBAL_OWNER = 0L;
+
+    private final CategoryRepository categoryRepository;
+
+    private final ConcurrentMap<Integer, String> idToName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CategoryKey, Integer> nameToId = new ConcurrentHashMap<>();
+
+    // 전역 카테고리 미리 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        categoryRepository.findByUserIdIsNull()
+                .doOnNext(this::register)
+                .count()
+                .subscribe(
+                        count -> log.info("Loaded {} global categories", count),
+                        e -> log.warn("Failed to load global categories: {}", e.getMessage()));
+    }
+
+    // 이름 -> id (사용자 전용 카테고리가 전역 카테고리보다 우선, 없으면 사용자 전용으로 생성)
+    public Mono<Integer> resolveId(long userId, String name) {
+        String normalized = normalize(name);
+
+        Integer id = nameToId.get(new CategoryKey(userId, normalized));
+        if (id == null) {
+            id = nameToId.get(new CategoryKey(GLOBAL_OWNER, normalized));
+        }
+        if (id != null) {
+            return Mono.just(id);
+        }
+        return categoryRepository.findByUserIdAndName(userId, normalized)
+                .switchIfEmpty(categoryRepository.findByUserIdIsNullAndName(normalized))
+                .switchIfEmpty(Mono.defer(() -> create(userId, normalized)))
+                .map(category -> {
+                    register(category);
+                    return category.getId();
+                });
+    }
+
+    // id -> 이름 (없는 id면 빈 Mono)
+    public Mono<String> getName(Integer id) {
+        if (id == null) {
+            return Mono.empty();
+        }
+        String name = idToName.get(id);
+        if (name != null) {
+            return Mono.just(name);
+        }
+        return categoryRepository.findById(id)
+                .map(category -> {
+                    register(category);
+                    return category.getName();
+                });
+    }
+
+    private Mono<Category> create(long userId, String name) {
+        return categoryRepository.insertIfAbsent(userId, name)
+                .then(categoryRepository.findByUserIdAndName(userId, name))
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("카테고리 생성에 실패했습니다: " + name)));
+    }
+
+    private void register(Category category) {
+        String name = category.getName().intern();
+        long owner = category.getUserId() == null ? GLOBAL_OWNER : category.getUserId();
+        idToName.put(category.getId(), name);
+        nameToId.put(new CategoryKey(owner, name), category.getId());
+    }
+
+    private static String normalize(String name) {
+        return name.trim();
+    }
+
+    private record CategoryKey(long userId, String name) {
+    }
+}
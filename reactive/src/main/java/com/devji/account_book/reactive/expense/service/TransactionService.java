@@ -0,0 +1,172 @@
+package com.devji.account_book.reactive.expense.service;
+
+import com.devji.account_book.reactive.auth.repository.UserRepository;
+import com.devji.account_book.reactive.balance.service.BalanceDelta;
+import com.devji.account_book.reactive.balance.service.BalanceService;
+import com.devji.account_book.reactive.expense.dto.TransactionDto;
+import com.devji.account_book.reactive.expense.entity.Transaction;
+import com.devji.account_book.reactive.expense.event.TransactionChangedEvent;
+import com.devji.account_book.reactive.expense.event.TransactionEventRelay;
+import com.devji.account_book.reactive.expense.event.TransactionEventType;
+import com.devji.account_book.reactive.expense.exception.NotFoundException;
+import com.devji.account_book.reactive.expense.repository.TransactionRepository;
+import com.devji.account_book.reactive.ledger.service.PersonalLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/*
+ * MVC 버전 TransactionService의 쓰기/목록 조회 부분
+ * - 카테고리 id와 개인 장부 id는 트랜잭션 밖에서 먼저 확정하고, 변경 버전 증가 + 거래 쓰기 + 잔액 갱신만 한 트랜잭션으로 묶는다.
+ * - 변경 이벤트는 커밋이 끝난 뒤 Redis로 전달한다 (MVC의 @TransactionalEventListener에 해당)
+ * - 아카이브 병합 조회, 동기화, 내보내기는 MVC 애플리케이션만 제공한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionService {
+
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final BalanceService balanceService;
+    private final CategoryDictionary categoryDictionary;
+    private final PersonalLedgerService personalLedgerService;
+    private final TransactionEventRelay eventRelay;
+    private final TransactionalOperator transactionalOperator;
+
+    // 거래 생성
+    public Mono<TransactionDto> createTransaction(long userId, TransactionDto transactionDto) {
+        log.info("Creating transaction for user: {}", userId);
+        return Mono.zip(categoryDictionary.resolveId(userId, transactionDto.getCategory()),
+                        personalLedgerService.ensurePersonalLedger(userId))
+                .flatMap(ids -> userRepository.incrementChangeVersion(userId)
+                        .flatMap(changeSeq -> transactionRepository.save(Transaction.builder()
+                                .userId(userId)
+                                .ledgerId(ids.getT2())
+                                .type(transactionDto.getType())
+                                .categoryId(ids.getT1())
+                                .amount(transactionDto.getAmount())
+                                .description(transactionDto.getDescription())
+                                .transactionDate(transactionDto.getTransactionDate())
+                                .changeSeq(changeSeq)
+                                .build()))
+                        .flatMap(saved -> balanceService.apply(userId, new BalanceDelta()
+                                        .add(saved.getType(), saved.getAmount(), saved.getTransactionDate()))
+                                .thenReturn(saved))
+                        .as(transactionalOperator::transactional))
+                .flatMap(saved -> publishChange(saved, TransactionEventType.CREATED));
+    }
+
+    // 거래 수정 (요청에 version이 있으면 현재 버전과 같을 때만 수정)
+    public Mono<TransactionDto> updateTransaction(long userId, Long id, TransactionDto transactionDto) {
+        log.info("Updating transaction {} for user: {}", id, userId);
+        return categoryDictionary.resolveId(userId, transactionDto.getCategory())
+                .flatMap(categoryId -> findOwned(userId, id, transactionDto.getVersion())
+                        .flatMap(transaction -> userRepository.incrementChangeVersion(userId)
+                                .flatMap(changeSeq -> {
+                                    BalanceDelta balanceDelta = new BalanceDelta()
+                                            .subtract(transaction.getType(), transaction.getAmount(), transaction.getTransactionDate())
+                                            .add(transactionDto.getType(), transactionDto.getAmount(), transactionDto.getTransactionDate());
+                                    transaction.setType(transactionDto.getType());
+                                    transaction.setCategoryId(categoryId);
+                                    transaction.setAmount(transactionDto.getAmount());
+                                    transaction.setDescription(transactionDto.getDescription());
+                                    transaction.setTransactionDate(transactionDto.getTransactionDate());
+                                    transaction.setChangeSeq(changeSeq);
+                                    // @Version 조건부 UPDATE, 증가된 버전이 담긴 엔티티를 돌려받음
+                                    return transactionRepository.save(transaction)
+                                            .flatMap(saved -> balanceService.apply(userId, balanceDelta).thenReturn(saved));
+                                }))
+                        .as(transactionalOperator::transactional))
+                .flatMap(updated -> publishChange(updated, TransactionEventType.UPDATED));
+    }
+
+    // 거래 삭제 (동기화 클라이언트가 삭제를 알 수 있도록 행은 남기고 삭제 표시만)
+    public Mono<Void> deleteTransaction(long userId, Long id, Long expectedVersion) {
+        log.info("Deleting transaction {} for user: {}", id, userId);
+        return findOwned(userId, id, expectedVersion)
+                .flatMap(transaction -> userRepository.incrementChangeVersion(userId)
+                        .flatMap(changeSeq -> {
+                            transaction.setDeleted(true);
+                            transaction.setChangeSeq(changeSeq);
+                            return transactionRepository.save(transaction)
+                                    .flatMap(saved -> balanceService.apply(userId, new BalanceDelta()
+                                                    .subtract(saved.getType(), saved.getAmount(), saved.getTransactionDate()))
+                                            .thenReturn(saved));
+                        }))
+                .as(transactionalOperator::transactional)
+                .flatMap(deleted -> eventRelay.relay(new TransactionChangedEvent(userId, deleted.getChangeSeq(),
+                        TransactionEventType.DELETED, TransactionDto.builder().id(id).build())));
+    }
+
+    // 거래 목록 조회 (페이징)
+    public Mono<Page<TransactionDto>> getTransactions(long userId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return toPage(transactionRepository.findByUserIdAndDeletedFalseOrderByTransactionDateDescCreatedAtDesc(userId, pageable),
+                transactionRepository.countByUserIdAndDeletedFalse(userId), pageable);
+    }
+
+    // 기간별 거래 조회 (해당 기간의 월 파티션만 조회)
+    public Mono<Page<TransactionDto>> getTransactionsByDateRange(long userId, LocalDate startDate, LocalDate endDate, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return toPage(transactionRepository.findByUserIdAndTransactionDateBetweenAndDeletedFalseOrderByTransactionDateDescCreatedAtDesc(
+                        userId, startDate, endDate, pageable),
+                transactionRepository.countByUserIdAndTransactionDateBetweenAndDeletedFalse(userId, startDate, endDate),
+                pageable);
+    }
+
+    private Mono<Transaction> findOwned(long userId, Long id, Long expectedVersion) {
+        return transactionRepository.findByIdAndUserIdAndDeletedFalse(id, userId)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("거래를 찾을 수 없습니다.")))
+                .flatMap(transaction -> {
+                    if (expectedVersion != null && !expectedVersion.equals(transaction.getVersion())) {
+                        return Mono.error(new OptimisticLockingFailureException("Transaction #" + id + " version mismatch"));
+                    }
+                    return Mono.just(transaction);
+                });
+    }
+
+    // 커밋 후 변경 이벤트 전달
+    private Mono<TransactionDto> publishChange(Transaction transaction, TransactionEventType type) {
+        return convertToDto(transaction)
+                .flatMap(dto -> eventRelay.relay(new TransactionChangedEvent(transaction.getUserId(), transaction.getChangeSeq(), type, dto))
+                        .thenReturn(dto));
+    }
+
+    private Mono<Page<TransactionDto>> toPage(Flux<Transaction> content, Mono<Long> total, Pageable pageable) {
+        return content.concatMap(this::convertToDto)
+                .collectList()
+                .zipWith(total, (list, count) -> new PageImpl<>(list, pageable, count));
+    }
+
+    // Entity -> DTO 변환
+    private Mono<TransactionDto> convertToDto(Transaction transaction) {
+        return categoryDictionary.getName(transaction.getCategoryId())
+                .map(name -> convertToDto(transaction, name))
+                .switchIfEmpty(Mono.fromSupplier(() -> convertToDto(transaction, null)));
+    }
+
+    private static TransactionDto convertToDto(Transaction transaction, String category) {
+        return TransactionDto.builder()
+                .id(transaction.getId())
+                .type(transaction.getType())
+                .category(category)
+                .amount(transaction.getAmount())
+                .description(transaction.getDescription())
+                .transactionDate(transaction.getTransactionDate())
+                .createdAt(transaction.getCreatedAt())
+                .updatedAt(transaction.getUpdatedAt())
+                .version(transaction.getVersion())
+                .build();
+    }
+}
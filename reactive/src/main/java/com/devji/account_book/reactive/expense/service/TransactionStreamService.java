@@ -0,0 +1,154 @@
+package com.devji.account_book.reactive.expense.service;
+
+import com.devji.account_book.reactive.expense.event.TransactionChangedEvent;
+import com.devji.account_book.reactive.expense.event.TransactionEventRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 거래 변경 실시간 스트림 (SSE, MVC 버전의 TransactionStreamService와 같은 이벤트 형식)
+ * - Redis 채널은 노드당 한 번만 구독하고, 받은 이벤트를 해당 사용자의 연결(FluxSink)로만 전달한다.
+ * - Last-Event-ID가 오면 replay 버퍼에서 그 이후 이벤트를 먼저 보내고, 버퍼 범위를 벗어났으면 reset 이벤트
+ */
+@Slf4j
+@Service
+public class TransactionStreamService {
+
+    private static final ServerSentEvent<Object> RESET = ServerSentEvent.builder().event("reset").data((Object) "{}").build();
+    private static final ServerSentEvent<Object> PING = ServerSentEvent.builder().comment("ping").build();
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final ObjectReader eventReader;
+    private final Map<Long, Set<FluxSink<ServerSentEvent<Object>>>> sinks = new ConcurrentHashMap<>();
+    private Disposable subscription;
+
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.stream.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    public TransactionStreamService(ReactiveStringRedisTemplate redisTemplate,
+                                    ReactiveRedisMessageListenerContainer listenerContainer,
+                                    ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.eventReader = objectMapper.readerFor(TransactionChangedEvent.class);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        subscription = listenerContainer.receive(ChannelTopic.of(TransactionEventRelay.CHANNEL))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(message -> dispatch(message.getMessage()));
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    public Flux<ServerSentEvent<Object>> connect(long userId, Long lastEventId) {
+        Flux<ServerSentEvent<Object>> live = Flux.create(sink -> {
+            Set<FluxSink<ServerSentEvent<Object>>> userSinks = sinks.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet());
+            userSinks.add(sink);
+            sink.onDispose(() -> removeSink(userId, sink));
+        });
+        // 중간 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트 전송
+        Flux<ServerSentEvent<Object>> heartbeat = Flux.interval(Duration.ofMillis(heartbeatIntervalMs)).map(tick -> PING);
+        Flux<ServerSentEvent<Object>> stream = Flux.merge(live, heartbeat).take(timeout);
+
+        return lastEventId == null ? stream : replay(userId, lastEventId).concatWith(stream);
+    }
+
+    public int connectionCount() {
+        return sinks.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void dispatch(String message) {
+        try {
+            TransactionChangedEvent event = eventReader.readValue(message);
+            Set<FluxSink<ServerSentEvent<Object>>> userSinks = sinks.get(event.userId());
+            if (userSinks == null) {
+                return;
+            }
+            ServerSentEvent<Object> sse = toServerSentEvent(event);
+            for (FluxSink<ServerSentEvent<Object>> sink : userSinks) {
+                sink.next(sse);
+            }
+        } catch (IOException e) {
+            log.warn("Invalid transaction event message: {}", e.getMessage());
+        }
+    }
+
+    private Flux<ServerSentEvent<Object>> replay(long userId, long lastEventId) {
+        // 버퍼는 최신 이벤트가 앞에 있으므로 뒤에서부터(오래된 순) 보낸다
+        return redisTemplate.opsForList().range(TransactionEventRelay.REPLAY_KEY_PREFIX + userId, 0, -1)
+                .collectList()
+                .flatMapMany(buffered -> {
+                    if (buffered.isEmpty()) {
+                        return Flux.empty();
+                    }
+                    try {
+                        TransactionChangedEvent oldest = eventReader.readValue(buffered.get(buffered.size() - 1));
+                        if (oldest.version() > lastEventId + 1) {
+                            return Flux.just(RESET);
+                        }
+                        List<ServerSentEvent<Object>> missed = new ArrayList<>();
+                        for (int i = buffered.size() - 1; i >= 0; i--) {
+                            TransactionChangedEvent event = eventReader.readValue(buffered.get(i));
+                            if (event.version() > lastEventId) {
+                                missed.add(toServerSentEvent(event));
+                            }
+                        }
+                        return Flux.fromIterable(missed);
+                    } catch (IOException e) {
+                        log.warn("Failed to replay transaction events of user {}: {}", userId, e.getMessage());
+                        return Flux.empty();
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to read replay buffer of user {}: {}", userId, e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    private static ServerSentEvent<Object> toServerSentEvent(TransactionChangedEvent event) {
+        return ServerSentEvent.builder()
+                .id(Long.toString(event.version()))
+                .event(event.type().name().toLowerCase())
+                .data((Object) event.transaction())
+                .build();
+    }
+
+    private void removeSink(long userId, FluxSink<ServerSentEvent<Object>> sink) {
+        sinks.computeIfPresent(userId, (id, userSinks) -> {
+            userSinks.remove(sink);
+            return userSinks.isEmpty() ? null : userSinks;
+        });
+    }
+}
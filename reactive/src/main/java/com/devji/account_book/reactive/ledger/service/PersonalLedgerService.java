@@ -0,0 +1,78 @@
+package com.devji.account_book.reactive.ledger.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/*
+ * 작성자의 개인 장부 id (MVC 버전 LedgerAccessService.ensurePersonalLedger와 같은 규칙)
+ * 없으면 개인 장부 + OWNER 구성원 행을 만든다. 두 노드가 동시에 만들면 ON CONFLICT로 한쪽만 만들고 다른 쪽은 그 행을 읽는다.
+ * 만든 뒤에는 MVC 노드들이 캐시한 장부 권한을 버리도록 ledger-memberships 채널로 알린다.
+ * 거래 쓰기 트랜잭션 밖에서 호출해야 한다 (장부 생성이 먼저 커밋된 뒤에 알림)
+ * 공유 장부와 권한 확인은 MVC 애플리케이션만 제공하므로 이 모듈의 거래는 항상 작성자의 개인 장부에 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PersonalLedgerService {
+
+    // MVC 버전 LedgerMembershipCache.CHANNEL
+    public static final String MEMBERSHIP_CHANNEL = "ledger-memberships";
+
+    private static final String PERSONAL_LEDGER_NAME = "내 가계부";
+    private static final String SELECT_SQL = "SELECT id FROM ledgers WHERE owner_user_id = :userId AND personal";
+    private static final String INSERT_LEDGER_SQL = "INSERT INTO ledgers (name, personal, owner_user_id, created_at) " +
+            "VALUES (:name, TRUE, :userId, now()) ON CONFLICT (owner_user_id) WHERE personal DO NOTHING RETURNING id";
+    private static final String INSERT_MEMBER_SQL = "INSERT INTO ledger_members (ledger_id, user_id, role, joined_at) " +
+            "VALUES (:ledgerId, :userId, 'OWNER', now())";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public Mono<Long> ensurePersonalLedger(long userId) {
+        return find(userId).switchIfEmpty(Mono.defer(() -> create(userId)));
+    }
+
+    private Mono<Long> find(long userId) {
+        return databaseClient.sql(SELECT_SQL)
+                .bind("userId", userId)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    private Mono<Long> create(long userId) {
+        return databaseClient.sql(INSERT_LEDGER_SQL)
+                .bind("name", PERSONAL_LEDGER_NAME)
+                .bind("userId", userId)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(ledgerId -> databaseClient.sql(INSERT_MEMBER_SQL)
+                        .bind("ledgerId", ledgerId)
+                        .bind("userId", userId)
+                        .then()
+                        .thenReturn(ledgerId))
+                .as(transactionalOperator::transactional)
+                .flatMap(ledgerId -> broadcast(userId).thenReturn(ledgerId))
+                // 동시에 다른 트랜잭션이 먼저 만들었음 (ON CONFLICT가 그 커밋을 기다린 뒤 건너뜀)
+                .switchIfEmpty(Mono.defer(() -> find(userId)));
+    }
+
+    // 다른 노드는 cache-ttl이 지나면 새 장부를 읽으므로 알림 실패는 기록만 남김
+    private Mono<Void> broadcast(long userId) {
+        return databaseClient.sql("SELECT email FROM users WHERE id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("email", String.class))
+                .one()
+                .flatMap(email -> redisTemplate.convertAndSend(MEMBERSHIP_CHANNEL, email))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Failed to broadcast personal ledger creation of user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,336 @@
+package com.devji.account_book.reactive.expense.controller;
+
+import com.devji.account_book.reactive.auth.entity.User;
+import com.devji.account_book.reactive.auth.repository.UserRepository;
+import com.devji.account_book.reactive.auth.util.JwtUtil;
+import com.devji.account_book.reactive.expense.dto.TransactionDto;
+import com.devji.account_book.reactive.expense.entity.TransactionType;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * WebFlux 버전의 /api/transactions 쓰기/목록 계약을 실제 서버(RANDOM_PORT) + WebTestClient로 확인
+ * 스키마는 MVC 애플리케이션의 Flyway 마이그레이션(build.gradle의 migrations.dir)으로 만든다.
+ * 쓰기마다 잔액(user_balances, balance_days)이 MVC 버전과 같이 갱신되는지, 이전 버전으로 쓰면 409인지,
+ * 새 거래가 작성자의 개인 장부(없으면 첫 쓰기에서 생성)에 들어가는지 본다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+class TransactionControllerTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("account_book");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("filesystem:" + System.getProperty("migrations.dir"))
+                .load()
+                .migrate();
+
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName());
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        registry.add("jwt.secret", () -> "test-access-secret-test-access-secret-0123456789");
+        registry.add("jwt.refresh.secret", () -> "test-refresh-secret-test-refresh-secret-0123456789");
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private long userId;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+        accessToken = jwtUtil.createAccessToken(user.getEmail());
+    }
+
+    @Test
+    void createUpdateDeleteKeepTheBalanceInStep() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+
+        TransactionDto created = create(request("점심", "10000", today));
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getCategory()).isEqualTo("식비");
+        assertThat(created.getVersion()).isNotNull();
+        assertThat(balance()).isEqualByComparingTo("-10000");
+        assertThat(dayNet(today)).isEqualByComparingTo("-10000");
+
+        // 금액과 날짜를 같이 바꾸면 이전 날짜에서 빠지고 새 날짜에 더해진다
+        TransactionDto change = request("점심 (회식)", "15000", yesterday);
+        change.setVersion(created.getVersion());
+        TransactionDto updated = authenticated(webTestClient.put().uri("/api/transactions/{id}", created.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(change)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(TransactionDto.class)
+                .returnResult().getResponseBody();
+        assertThat(updated.getDescription()).isEqualTo("점심 (회식)");
+        assertThat(updated.getVersion()).isGreaterThan(created.getVersion());
+        assertThat(balance()).isEqualByComparingTo("-15000");
+        assertThat(dayNet(today)).isEqualByComparingTo("0");
+        assertThat(dayNet(yesterday)).isEqualByComparingTo("-15000");
+
+        TransactionDto salary = create(TransactionDto.builder()
+                .type(TransactionType.INCOME).category("급여").amount(new BigDecimal("50000"))
+                .description("월급").transactionDate(today).build());
+        assertThat(balance()).isEqualByComparingTo("35000");
+
+        authenticated(webTestClient.delete().uri("/api/transactions/{id}?version={version}", created.getId(), updated.getVersion()))
+                .exchange()
+                .expectStatus().isNoContent();
+        assertThat(balance()).isEqualByComparingTo("50000");
+        assertThat(dayNet(yesterday)).isEqualByComparingTo("0");
+
+        // 동기화 클라이언트를 위해 행은 삭제 표시로 남고, 목록에서는 빠진다
+        assertThat(databaseClient.sql("SELECT deleted FROM transactions WHERE id = :id")
+                .bind("id", created.getId())
+                .map(row -> row.get("deleted", Boolean.class))
+                .one().block()).isTrue();
+        authenticated(webTestClient.get().uri("/api/transactions"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(salary.getId())
+                .jsonPath("$.totalElements").isEqualTo(1);
+    }
+
+    @Test
+    void createdTransactionsGoToThePersonalLedgerWhichIsCreatedOnFirstWrite() {
+        assertThat(personalLedgerId()).isNull();
+
+        TransactionDto first = create(request("점심", "10000", LocalDate.now()));
+        Long ledgerId = personalLedgerId();
+        assertThat(ledgerId).isNotNull();
+        assertThat(databaseClient.sql("SELECT role FROM ledger_members WHERE ledger_id = :ledgerId AND user_id = :userId")
+                .bind("ledgerId", ledgerId)
+                .bind("userId", userId)
+                .map(row -> row.get("role", String.class))
+                .one().block()).isEqualTo("OWNER");
+
+        // 두 번째 쓰기는 같은 장부를 다시 쓴다
+        TransactionDto second = create(request("저녁", "20000", LocalDate.now()));
+        assertThat(ledgerOf(first.getId())).isEqualTo(ledgerId);
+        assertThat(ledgerOf(second.getId())).isEqualTo(ledgerId);
+        assertThat(databaseClient.sql("SELECT COUNT(*) AS count FROM ledgers WHERE owner_user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("count", Long.class))
+                .one().block()).isEqualTo(1L);
+    }
+
+    @Test
+    void staleVersionIsRejectedWithConflictAndLeavesTheBalanceAlone() {
+        TransactionDto created = create(request("커피", "4500", LocalDate.now()));
+
+        TransactionDto first = request("커피 (라지)", "5000", LocalDate.now());
+        first.setVersion(created.getVersion());
+        authenticated(webTestClient.put().uri("/api/transactions/{id}", created.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(first)
+                .exchange()
+                .expectStatus().isOk();
+
+        // 다른 기기가 먼저 고친 뒤 예전 버전으로 다시 수정/삭제
+        TransactionDto stale = request("커피 (스몰)", "4000", LocalDate.now());
+        stale.setVersion(created.getVersion());
+        authenticated(webTestClient.put().uri("/api/transactions/{id}", created.getId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(stale)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409);
+        authenticated(webTestClient.delete().uri("/api/transactions/{id}?version={version}", created.getId(), created.getVersion()))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        assertThat(balance()).isEqualByComparingTo("-5000");
+        authenticated(webTestClient.get().uri("/api/transactions"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].description").isEqualTo("커피 (라지)");
+    }
+
+    @Test
+    void listPagesNewestFirstAndRevalidatesWithEtag() {
+        LocalDate today = LocalDate.now();
+        create(request("사흘 전", "1000", today.minusDays(3)));
+        create(request("오늘", "2000", today));
+        create(request("어제", "3000", today.minusDays(1)));
+
+        String etag = authenticated(webTestClient.get().uri("/api/transactions?page=0&size=2"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().cacheControl(CacheControl.noCache().cachePrivate())
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].description").isEqualTo("오늘")
+                .jsonPath("$.content[1].description").isEqualTo("어제")
+                .jsonPath("$.totalElements").isEqualTo(3)
+                .returnResult().getResponseHeaders().getETag();
+        assertThat(etag).startsWith("W/\"v");
+
+        authenticated(webTestClient.get().uri("/api/transactions?page=0&size=2"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        authenticated(webTestClient.get().uri("/api/transactions?page=1&size=2"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].description").isEqualTo("사흘 전");
+
+        // 쓰기가 있으면 변경 버전이 올라 같은 ETag로도 200
+        create(request("방금", "500", today));
+        authenticated(webTestClient.get().uri("/api/transactions?page=0&size=2"))
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void otherUsersTransactionsAreNotFoundAndAnonymousRequestsAreForbidden() {
+        TransactionDto created = create(request("남의 거래", "1000", LocalDate.now()));
+
+        String otherToken = jwtUtil.createAccessToken(createUser().getEmail());
+        TransactionDto change = request("가로채기", "1", LocalDate.now());
+        webTestClient.put().uri("/api/transactions/{id}", created.getId())
+                .cookie(JwtUtil.ACCESS_TOKEN_COOKIE_NAME, otherToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(change)
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.delete().uri("/api/transactions/{id}", created.getId())
+                .cookie(JwtUtil.ACCESS_TOKEN_COOKIE_NAME, otherToken)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get().uri("/api/transactions")
+                .exchange()
+                .expectStatus().isForbidden();
+        authenticated(webTestClient.post().uri("/api/transactions"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(TransactionDto.builder().type(TransactionType.EXPENSE).category("식비").build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.amount").exists();
+
+        assertThat(balance()).isEqualByComparingTo("-1000");
+    }
+
+    private TransactionDto create(TransactionDto request) {
+        return authenticated(webTestClient.post().uri("/api/transactions"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(TransactionDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    private <S extends WebTestClient.RequestHeadersSpec<?>> S authenticated(S spec) {
+        spec.cookie(JwtUtil.ACCESS_TOKEN_COOKIE_NAME, accessToken).accept(MediaType.APPLICATION_JSON);
+        return spec;
+    }
+
+    private Long personalLedgerId() {
+        return databaseClient.sql("SELECT id FROM ledgers WHERE owner_user_id = :userId AND personal")
+                .bind("userId", userId)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+
+    private Long ledgerOf(long transactionId) {
+        return databaseClient.sql("SELECT ledger_id FROM transactions WHERE id = :id")
+                .bind("id", transactionId)
+                .map(row -> row.get("ledger_id", Long.class))
+                .one()
+                .block();
+    }
+
+    private BigDecimal balance() {
+        return databaseClient.sql("SELECT balance FROM user_balances WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("balance", BigDecimal.class))
+                .one()
+                .defaultIfEmpty(BigDecimal.ZERO)
+                .block();
+    }
+
+    private BigDecimal dayNet(LocalDate date) {
+        return databaseClient.sql("SELECT net_amount FROM balance_days WHERE user_id = :userId AND balance_date = :date")
+                .bind("userId", userId)
+                .bind("date", date)
+                .map(row -> row.get("net_amount", BigDecimal.class))
+                .one()
+                .defaultIfEmpty(BigDecimal.ZERO)
+                .block();
+    }
+
+    private User createUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("password")
+                .name("tester")
+                .build()).block();
+    }
+
+    private static TransactionDto request(String description, String amount, LocalDate date) {
+        return TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal(amount))
+                .description(description)
+                .transactionDate(date)
+                .build();
+    }
+}
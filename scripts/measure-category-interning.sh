@@ -0,0 +1,116 @@
+#!/bin/sh
+# 카테고리 문자열 컬럼(이전) vs categories.id 정수 컬럼(현재) 크기 / GROUP BY 속도 비교
+# 사용법: scripts/measure-category-interning.sh [행 수] [사용자 수]
+#   예) docker compose up -d my-db && scripts/measure-category-interning.sh 5000000 20000
+# 실제 거래 테이블은 건드리지 않고 category_bench 스키마에 같은 분포의 합성 데이터를 두 벌 만든 뒤 지운다.
+# - 크기: 테이블(heap), 카테고리 인덱스((user_id, category) vs (user_id, category_id)), 전체
+# - 속도: 전체 GROUP BY (해시 집계)와 사용자 한 명 GROUP BY (인덱스 범위), 각각 5번 실행한 Execution Time
+# 앱에는 아직 카테고리별 집계 API가 없으므로 (TransactionRepository의 주석 처리된 getCategoryStatsByMonth)
+# 여기의 GROUP BY가 그 쿼리를 category_id로 옮겼을 때의 모양이다.
+# 필요: docker compose (my-db 서비스)
+set -eu
+
+ROWS=${1:-1000000}
+USERS=${2:-10000}
+
+docker compose exec -T my-db sh -c 'psql -U "$POSTGRES_USER" -d account_book -v ON_ERROR_STOP=1 -q' <<SQL
+DROP SCHEMA IF EXISTS category_bench CASCADE;
+CREATE SCHEMA category_bench;
+SET search_path = category_bench;
+
+-- 사용자들이 실제로 쓰는 이름 분포를 흉내: 전역 이름 24개 + 사용자 1/10이 자기 이름 하나씩
+CREATE TABLE names AS
+SELECT n AS id, name
+FROM unnest(ARRAY ['식비', '카페/간식', '교통', '자동차', '주거/관리비', '통신', '의료/건강', '쇼핑', '생활용품',
+    '문화/여가', '여행', '교육', '경조사', '보험', '세금', '구독 서비스', '반려동물', '미용', '급여', '상여',
+    '용돈', '이자', '환급', '기타']) WITH ORDINALITY AS t(name, n);
+
+CREATE TABLE legacy
+(
+    id               BIGINT         NOT NULL,
+    user_id          BIGINT         NOT NULL,
+    category         VARCHAR(255)   NOT NULL,
+    amount           NUMERIC(15, 2) NOT NULL,
+    transaction_date DATE           NOT NULL
+);
+
+INSERT INTO legacy
+SELECT g,
+       1 + g % $USERS,
+       CASE WHEN g % 37 = 0 AND (g % $USERS) % 10 = 0 THEN '내 카테고리 ' || (g % $USERS) ELSE n.name END,
+       round((random() * 100000)::numeric, 2),
+       DATE '2020-01-01' + (g % 2000)
+FROM generate_series(1, $ROWS) g
+         JOIN names n ON n.id = 1 + g % 24;
+
+-- 현재 스키마와 같은 방식: 이름은 categories에 한 번, 거래에는 INTEGER id
+CREATE TABLE categories
+(
+    id      INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    name    VARCHAR(255) NOT NULL,
+    UNIQUE (user_id, name)
+);
+INSERT INTO categories (user_id, name) SELECT NULL, name FROM names;
+INSERT INTO categories (user_id, name)
+SELECT DISTINCT user_id, category FROM legacy WHERE category NOT IN (SELECT name FROM names);
+
+CREATE TABLE interned AS
+SELECT l.id, l.user_id, c.id AS category_id, l.amount, l.transaction_date
+FROM legacy l
+         JOIN categories c ON c.name = l.category AND (c.user_id IS NULL OR c.user_id = l.user_id);
+ALTER TABLE interned ALTER COLUMN category_id SET NOT NULL;
+
+CREATE INDEX legacy_user_category ON legacy (user_id, category);
+CREATE INDEX interned_user_category ON interned (user_id, category_id);
+VACUUM ANALYZE legacy;
+VACUUM ANALYZE interned;
+
+\echo
+\echo '== size (rows: $ROWS, users: $USERS)'
+SELECT relname                                       AS "table",
+       pg_size_pretty(pg_table_size(oid))             AS heap,
+       pg_size_pretty(pg_indexes_size(oid))           AS category_index,
+       pg_size_pretty(pg_total_relation_size(oid))    AS total
+FROM pg_class
+WHERE relnamespace = 'category_bench'::regnamespace
+  AND relname IN ('legacy', 'interned')
+ORDER BY relname;
+
+-- EXPLAIN ANALYZE 출력에서 Execution Time 줄만
+CREATE FUNCTION timed(query TEXT) RETURNS TEXT
+    LANGUAGE plpgsql AS
+\$\$
+DECLARE
+    line TEXT;
+BEGIN
+    FOR line IN EXECUTE 'EXPLAIN (ANALYZE, TIMING OFF) ' || query
+        LOOP
+            IF line LIKE 'Execution Time%' THEN
+                RETURN line;
+            END IF;
+        END LOOP;
+    RETURN NULL;
+END
+\$\$;
+
+\echo
+\echo '== GROUP BY, whole table (5 runs each, first run warms the cache)'
+SELECT 'legacy: GROUP BY category' AS query, timed('SELECT category, SUM(amount) FROM legacy GROUP BY category')
+FROM generate_series(1, 5)
+UNION ALL
+SELECT 'interned: GROUP BY category_id', timed('SELECT category_id, SUM(amount) FROM interned GROUP BY category_id')
+FROM generate_series(1, 5);
+
+\echo
+\echo '== GROUP BY, one user (index range)'
+SELECT 'legacy: user 42' AS query,
+       timed('SELECT category, SUM(amount) FROM legacy WHERE user_id = 42 GROUP BY category')
+FROM generate_series(1, 5)
+UNION ALL
+SELECT 'interned: user 42',
+       timed('SELECT category_id, SUM(amount) FROM interned WHERE user_id = 42 GROUP BY category_id')
+FROM generate_series(1, 5);
+
+DROP SCHEMA category_bench CASCADE;
+SQL
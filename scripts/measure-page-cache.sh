@@ -0,0 +1,44 @@
+#!/bin/sh
+# 거래 목록 첫 페이지 부하 시 DB 쿼리 수 비교 (app.page-cache.enabled=true / false로 각각 띄워서 실행)
+# 사용법: scripts/measure-page-cache.sh <email> <password> [요청 수] [동시성]
+#   .env에 APP_PAGE_CACHE_ENABLED=false 로 기동 후 한 번, true 로 재기동 후 한 번 실행해서 비교
+#   예) docker compose up -d && scripts/measure-page-cache.sh a@b.c pw 5000 50
+# 필요: curl, docker compose (my-db 서비스의 pg_stat_statements 없이 pg_stat_database 트랜잭션 수로 비교)
+set -eu
+
+EMAIL=$1
+PASSWORD=$2
+REQUESTS=${3:-5000}
+CONCURRENCY=${4:-50}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+COOKIES=$(mktemp)
+trap 'rm -f "$COOKIES"' EXIT
+
+curl -sf -c "$COOKIES" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" "$BASE_URL/api/auth/login" >/dev/null
+
+db_stat() {
+    docker compose exec -T my-db sh -c \
+        'psql -U "$POSTGRES_USER" -d account_book -tA -c "SELECT xact_commit + xact_rollback, tup_returned + tup_fetched FROM pg_stat_database WHERE datname = current_database()"'
+}
+
+BEFORE=$(db_stat)
+START=$(date +%s)
+seq "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -b "$COOKIES" "$BASE_URL/api/transactions?page=0&size=20"
+END=$(date +%s)
+AFTER=$(db_stat)
+
+ELAPSED=$((END - START))
+[ "$ELAPSED" -gt 0 ] || ELAPSED=1
+XACTS=$(( $(echo "$AFTER" | cut -d'|' -f1) - $(echo "$BEFORE" | cut -d'|' -f1) ))
+TUPLES=$(( $(echo "$AFTER" | cut -d'|' -f2) - $(echo "$BEFORE" | cut -d'|' -f2) ))
+
+echo "requests: $REQUESTS (concurrency $CONCURRENCY) in ${ELAPSED}s"
+echo "  DB transactions: $XACTS ($((XACTS / ELAPSED))/s)"
+echo "  DB tuples read:  $TUPLES"
+# 캐시 결과별 요청 수/지연 (local_hit, redis_hit, miss)
+for RESULT in local_hit redis_hit miss; do
+    echo "  $RESULT: $(curl -s -b "$COOKIES" "$BASE_URL/actuator/metrics/transactions.page_cache.latency?tag=result:$RESULT" \
+        | grep -o '"statistic":"COUNT","value":[0-9.]*' | cut -d: -f3 || true)"
+done
@@ -0,0 +1,32 @@
+#!/bin/sh
+# 이미지별 기동 시간 / RSS 측정
+# 사용법: scripts/measure-startup.sh <image> [docker run 옵션...]
+#   예) docker compose up -d my-db redis
+#       scripts/measure-startup.sh account-book:jvm --network account-book_app-net --env-file .env
+set -eu
+
+IMAGE=$1
+shift
+
+CONTAINER=$(docker run -d "$@" "$IMAGE")
+trap 'docker rm -f "$CONTAINER" >/dev/null' EXIT
+
+# "Started AccountBookApplication in X seconds (process running for Y)" 로그가 찍힐 때까지 대기
+for _ in $(seq 1 120); do
+    STARTED=$(docker logs "$CONTAINER" 2>&1 | grep -m1 "Started AccountBookApplication" || true)
+    if [ -n "$STARTED" ]; then
+        break
+    fi
+    sleep 1
+done
+
+if [ -z "$STARTED" ]; then
+    echo "startup not detected" >&2
+    docker logs --tail 50 "$CONTAINER" >&2
+    exit 1
+fi
+
+echo "$IMAGE"
+echo "  $(echo "$STARTED" | sed 's/.*Started/Started/')"
+# JVM 프로세스의 RSS
+echo "  RSS: $(docker exec "$CONTAINER" sh -c 'grep VmRSS /proc/1/status' | awk '{print $2, $3}')"
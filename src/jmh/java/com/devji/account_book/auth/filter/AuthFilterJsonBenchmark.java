@@ -0,0 +1,104 @@
+package com.devji.account_book.auth.filter;
+
+import com.devji.account_book.auth.dto.LoginRequest;
+import com.devji.account_book.auth.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 로그인/401 경로의 JSON 처리 비용 비교
+ * - legacy*: 요청마다 new ObjectMapper() + Map 응답 (변경 전 필터 코드)
+ * - 나머지: 필터의 실제 메서드 (공유 ObjectReader, JsonGenerator 스트리밍, 미리 직렬화한 401 본문)
+ * 측정 범위는 JSON 읽기/쓰기까지이며 BCrypt 검증, JWT 서명, Redis 저장은 포함하지 않는다.
+ * 실행: ./gradlew jmh  (할당량까지 보려면 jmh { profilers = ['gc'] })
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthFilterJsonBenchmark {
+
+    private static final byte[] LOGIN_BODY =
+            "{\"email\":\"user@example.com\",\"password\":\"password123\"}".getBytes(StandardCharsets.UTF_8);
+
+    private ObjectReader loginRequestReader;
+    private JwtAuthenticationFilter authenticationFilter;
+    private JwtAuthorizationFilter authorizationFilter;
+    private byte[] expiredTokenBody;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        // 필터 생성자와 같은 방식으로 만든 reader
+        loginRequestReader = objectMapper.readerFor(LoginRequest.class);
+        authenticationFilter = new JwtAuthenticationFilter(null, null, objectMapper);
+        authorizationFilter = new JwtAuthorizationFilter(null, null, objectMapper, ObservationRegistry.NOOP);
+        expiredTokenBody = "{\"error\":\"토큰이 만료되었습니다.\",\"code\":\"UNAUTHORIZED\"}".getBytes(StandardCharsets.UTF_8);
+        user = User.builder().id(42L).email("user@example.com").name("홍길동").password("").build();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyLogin(Blackhole blackhole) throws IOException {
+        blackhole.consume(new ObjectMapper().readValue(new ByteArrayInputStream(LOGIN_BODY), LoginRequest.class));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("user", Map.of(
+                "id", user.getId(),
+                "email", user.getEmail(),
+                "name", user.getName()
+        ));
+        response.getWriter().write(new ObjectMapper().writeValueAsString(responseBody));
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse login(Blackhole blackhole) throws IOException {
+        blackhole.consume(loginRequestReader.<LoginRequest>readValue(new ByteArrayInputStream(LOGIN_BODY)));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        authenticationFilter.writeLoginResponse(response.getOutputStream(), user);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyUnauthorized() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(401);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "토큰이 만료되었습니다.");
+        errorResponse.put("code", "UNAUTHORIZED");
+        response.getWriter().write(new ObjectMapper().writeValueAsString(errorResponse));
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse unauthorized() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authorizationFilter.sendUnauthorizedResponse(response, expiredTokenBody);
+        return response;
+    }
+}
@@ -0,0 +1,105 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.expense.dto.PageResponse;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * 거래 1,000건 페이지의 응답 형식별 직렬화 시간과 크기
+ * - json-page: 기존 응답 (PageImpl 전체 구조)
+ * - json-slim / smile / cbor: PageResponse
+ * 응답 크기(원본, gzip)는 각 형식의 Setup에서 한 번 출력한다.
+ * 실행: ./gradlew jmh -PjmhIncludes=PageFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageFormatBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"json-page", "json-slim", "smile", "cbor"})
+    private String format;
+
+    private ObjectWriter writer;
+    private Object body;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<TransactionDto> content = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            content.add(TransactionDto.builder()
+                    .id(100_000L + i)
+                    .type(i % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE)
+                    .category(i % 3 == 0 ? "식비" : "교통")
+                    .amount(BigDecimal.valueOf(1_000 + i * 10L, 2))
+                    .description("거래 설명 " + i)
+                    .transactionDate(LocalDate.of(2025, 1, 1).minusDays(i % 365))
+                    .createdAt(now.minusMinutes(i))
+                    .updatedAt(now.minusMinutes(i))
+                    .version(0L)
+                    .build());
+        }
+        Page<TransactionDto> page = new PageImpl<>(content, PageRequest.of(0, ROWS), 25_000);
+
+        // 애플리케이션의 HTTP 메시지 컨버터와 같은 방식으로 만든 ObjectMapper
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "json-page" -> {
+                writer = builder.build().writer();
+                body = page;
+            }
+            case "json-slim" -> {
+                writer = builder.build().writer();
+                body = PageResponse.of(page);
+            }
+            case "smile" -> {
+                writer = builder.factory(new SmileFactory()).build().writer();
+                body = PageResponse.of(page);
+            }
+            case "cbor" -> {
+                writer = builder.factory(new CBORFactory()).build().writer();
+                body = PageResponse.of(page);
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+
+        byte[] bytes = writer.writeValueAsBytes(body);
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(bytes);
+        }
+        System.out.printf("%n[%s] %d rows: %d bytes, gzip %d bytes%n", format, ROWS, bytes.length, gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,81 @@
+package com.devji.account_book.expense.exception;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 없는 거래 조회(404)가 대부분인 트래픽에서 오류 처리 비용 비교
+ * - legacy: RuntimeException(스택 트레이스 포함) + ERROR 로그(스택 트레이스 출력) + HashMap 응답
+ * - typed: NotFoundException(스택 트레이스 없음) + DEBUG 로그(INFO 레벨에서 출력 안 됨) + ProblemDetail 응답
+ * 컨트롤러 -> 서비스 호출 깊이를 흉내 내기 위해 재귀 호출로 스택을 쌓은 뒤 예외를 던진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class NotFoundBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // Spring MVC + Security 필터 체인을 거친 요청의 대략적인 스택 깊이
+    private static final int STACK_DEPTH = 120;
+
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> legacyRuntimeException() {
+        try {
+            return ResponseEntity.ok(call(STACK_DEPTH, true));
+        } catch (RuntimeException e) {
+            log.error("Runtime exception occurred: ", e);
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("timestamp", LocalDateTime.now());
+            errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
+            errorResponse.put("error", "Bad Request");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    @Benchmark
+    public ProblemDetail typedNotFoundException() {
+        try {
+            call(STACK_DEPTH, false);
+            return null;
+        } catch (BusinessException e) {
+            return handler.handleBusinessException(e);
+        }
+    }
+
+    private static Map<String, Object> call(int depth, boolean legacy) {
+        if (depth > 0) {
+            return call(depth - 1, legacy);
+        }
+        return Optional.<Map<String, Object>>empty()
+                .orElseThrow(() -> legacy
+                        ? new RuntimeException("거래를 찾을 수 없습니다.")
+                        : new NotFoundException("거래를 찾을 수 없습니다."));
+    }
+}
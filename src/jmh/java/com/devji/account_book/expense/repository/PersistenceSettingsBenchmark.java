@@ -0,0 +1,156 @@
+package com.devji.account_book.expense.repository;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * application-prod.yml의 PostgreSQL 드라이버 설정이 생성/일괄 입력/목록 경로에 주는 영향 측정
+ * - reWriteBatchedInserts: 일괄 입력(JDBC batch)을 multi-row INSERT로 재작성
+ * - prepareThreshold: 0이면 서버 측 prepared statement를 쓰지 않음, 5는 드라이버 기본값
+ * 실제 스키마(Flyway 마이그레이션)를 Testcontainers PostgreSQL에 올려서 측정한다. (Docker 필요)
+ * Hibernate batch_size/order_inserts는 거래 id가 IDENTITY라 INSERT에는 적용되지 않으므로 여기서 따로 측정하지 않음
+ * 실행: ./gradlew jmh -PjmhIncludes=PersistenceSettingsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PersistenceSettingsBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long LEDGER_ID = 1L;
+    private static final int BULK_SIZE = 500;
+    private static final int SEED_ROWS = 20_000;
+
+    private static final String INSERT =
+            "INSERT INTO transactions (user_id, ledger_id, type, category_id, amount, description, transaction_date, " +
+                    "created_at, updated_at, change_seq) VALUES (?, ?, 'EXPENSE', ?, ?, ?, ?, now(), now(), ?)";
+
+    @Param({"false", "true"})
+    public boolean reWriteBatchedInserts;
+
+    @Param({"0", "5"})
+    public int prepareThreshold;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private int categoryId;
+    private long changeSeq;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        Properties properties = new Properties();
+        properties.setProperty("user", postgres.getUsername());
+        properties.setProperty("password", postgres.getPassword());
+        properties.setProperty("reWriteBatchedInserts", Boolean.toString(reWriteBatchedInserts));
+        properties.setProperty("prepareThreshold", Integer.toString(prepareThreshold));
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), properties);
+
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO categories (user_id, name) VALUES (?, '식비') RETURNING id")) {
+            ps.setLong(1, USER_ID);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                categoryId = rs.getInt(1);
+            }
+        }
+        for (int i = 0; i < SEED_ROWS / BULK_SIZE; i++) {
+            bulk();
+        }
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE transactions");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    // 거래 생성: Hibernate IDENTITY INSERT와 같은 INSERT ... RETURNING id 한 건
+    @Benchmark
+    public long create() throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT + " RETURNING id")) {
+            bind(ps, 0);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // 일괄 입력: JDBC batch 500건
+    @Benchmark
+    public int[] bulk() throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(INSERT)) {
+            for (int i = 0; i < BULK_SIZE; i++) {
+                bind(ps, i);
+                ps.addBatch();
+            }
+            return ps.executeBatch();
+        }
+    }
+
+    // 목록: 최신순 20건 + 전체 건수 (Spring Data 페이지 조회와 같은 두 문장)
+    @Benchmark
+    public void list(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT * FROM transactions WHERE user_id = ? AND deleted = false " +
+                        "ORDER BY transaction_date DESC, created_at DESC LIMIT 20 OFFSET 0")) {
+            ps.setLong(1, USER_ID);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getLong("id"));
+                }
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT count(*) FROM transactions WHERE user_id = ? AND deleted = false")) {
+            ps.setLong(1, USER_ID);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                blackhole.consume(rs.getLong(1));
+            }
+        }
+    }
+
+    private void bind(PreparedStatement ps, int i) throws SQLException {
+        ps.setLong(1, USER_ID);
+        ps.setLong(2, LEDGER_ID);
+        ps.setInt(3, categoryId);
+        ps.setBigDecimal(4, new BigDecimal(1000 + i));
+        ps.setString(5, "거래 " + i);
+        ps.setDate(6, Date.valueOf(LocalDate.now().minusDays(i % 60)));
+        ps.setLong(7, ++changeSeq);
+    }
+}
@@ -0,0 +1,129 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.entity.CategoryRule;
+import com.devji.account_book.expense.entity.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/*
+ * 자동 분류 한 건의 비용: 컴파일된 CategoryRuleMatcher vs 규칙마다 정규식을 순서대로 검사하는 단순 구현
+ * 규칙의 90%는 가맹점 키워드, 5%는 키워드 + 금액 범위, 5%는 정규식 규칙
+ * 설명 샘플의 절반은 어떤 규칙에도 맞지 않는다 (단순 구현의 최악 경우: 모든 규칙을 끝까지 검사)
+ * 실행: ./gradlew jmh -PjmhIncludes=CategoryRuleBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CategoryRuleBenchmark {
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하강남역삼서초종로스타벅스편의점마트커피치킨";
+    private static final int SAMPLES = 1024;
+
+    @Param({"100", "1000", "5000"})
+    private int rules;
+
+    private CategoryRuleMatcher matcher;
+    private List<NaiveRule> naiveRules;
+    private String[] descriptions;
+    private BigDecimal[] amounts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<CategoryRule> source = new ArrayList<>(rules);
+        List<String> keywords = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            String keyword = randomWord(random, 2 + random.nextInt(4)) + i;
+            CategoryRule.CategoryRuleBuilder rule = CategoryRule.builder()
+                    .id((long) i)
+                    .userId(i % 2 == 0 ? 1L : null)
+                    .priority(random.nextInt(1000))
+                    .categoryId(i % 40);
+            int kind = random.nextInt(100);
+            if (kind < 90) {
+                rule.keyword(keyword);
+            } else if (kind < 95) {
+                rule.keyword(keyword).minAmount(BigDecimal.valueOf(10_000)).maxAmount(BigDecimal.valueOf(100_000));
+            } else {
+                rule.pattern("^" + keyword + "\\s*\\d+");
+            }
+            source.add(rule.build());
+            keywords.add(keyword);
+        }
+        matcher = CategoryRuleMatcher.compile(source);
+
+        // 단순 구현: 우선순위 순으로 정렬한 뒤 규칙마다 정규식 find
+        naiveRules = source.stream()
+                .sorted((a, b) -> Integer.compare(a.getPriority(), b.getPriority()))
+                .map(NaiveRule::of)
+                .toList();
+
+        descriptions = new String[SAMPLES];
+        amounts = new BigDecimal[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            String noise = randomWord(random, 3 + random.nextInt(6));
+            descriptions[i] = random.nextBoolean()
+                    ? noise + " " + keywords.get(random.nextInt(keywords.size())) + " 12"
+                    : noise + " 결제";
+            amounts[i] = BigDecimal.valueOf(1_000 + random.nextInt(200_000));
+        }
+    }
+
+    @Benchmark
+    public Integer compiled() {
+        int i = next++ & (SAMPLES - 1);
+        return matcher.match(TransactionType.EXPENSE, amounts[i], descriptions[i]);
+    }
+
+    @Benchmark
+    public Integer naiveRegex() {
+        int i = next++ & (SAMPLES - 1);
+        for (NaiveRule rule : naiveRules) {
+            if (rule.matches(amounts[i], descriptions[i])) {
+                return rule.categoryId();
+            }
+        }
+        return null;
+    }
+
+    private static String randomWord(SplittableRandom random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+        }
+        return word.toString();
+    }
+
+    private record NaiveRule(Pattern pattern, BigDecimal minAmount, BigDecimal maxAmount, int categoryId) {
+
+        static NaiveRule of(CategoryRule rule) {
+            String regex = rule.getKeyword() != null ? Pattern.quote(rule.getKeyword()) : rule.getPattern();
+            return new NaiveRule(Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE),
+                    rule.getMinAmount(), rule.getMaxAmount(), rule.getCategoryId());
+        }
+
+        boolean matches(BigDecimal amount, String description) {
+            if (minAmount != null && amount.compareTo(minAmount) < 0) {
+                return false;
+            }
+            if (maxAmount != null && amount.compareTo(maxAmount) > 0) {
+                return false;
+            }
+            return pattern.matcher(description).find();
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.devji.account_book;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
+@ImportRuntimeHints(AccountBookRuntimeHints.class)
 public class AccountBookApplication {
 
 	public static void main(String[] args) {
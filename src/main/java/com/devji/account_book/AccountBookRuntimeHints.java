@@ -0,0 +1,84 @@
+package com.devji.account_book;
+
+import com.devji.account_book.archive.dto.ArchivedTransaction;
+import com.devji.account_book.archive.entity.ArchiveSegment;
+import com.devji.account_book.auth.dto.LoginRequest;
+import com.devji.account_book.auth.dto.MessageResponse;
+import com.devji.account_book.auth.dto.SignupRequest;
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.expense.dto.SyncChange;
+import com.devji.account_book.expense.dto.SyncMutation;
+import com.devji.account_book.expense.dto.SyncMutationRequest;
+import com.devji.account_book.expense.dto.SyncMutationResult;
+import com.devji.account_book.expense.dto.SyncResponse;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.Category;
+import com.devji.account_book.expense.entity.CategoryRule;
+import com.devji.account_book.expense.entity.Transaction;
+import com.devji.account_book.expense.event.TransactionChangedEvent;
+import com.devji.account_book.ledger.entity.Ledger;
+import com.devji.account_book.ledger.entity.LedgerMember;
+import com.devji.account_book.ledger.service.LedgerMembership;
+import com.devji.account_book.report.dto.ReportJobDto;
+import com.devji.account_book.report.entity.ReportJob;
+import com.devji.account_book.statement.entity.ImportJob;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/*
+ * AOT/네이티브 이미지용 리플렉션 힌트
+ * 컨트롤러의 @RequestBody/응답 타입은 Spring이 자동으로 등록하지만,
+ * 필터나 Redis 직렬화처럼 ObjectMapper를 직접 쓰는 곳의 타입과 jjwt 내부 구현 클래스는 직접 등록해야 한다.
+ */
+public class AccountBookRuntimeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-impl은 runtimeOnly 의존성이라 클래스 이름으로 등록 (Classes.newInstance로 생성됨)
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // JPA 엔티티 (Hibernate가 필드/생성자를 리플렉션으로 접근)
+        for (Class<?> entity : List.of(Transaction.class, User.class, Category.class, ArchiveSegment.class,
+                ImportJob.class, CategoryRule.class, Ledger.class, LedgerMember.class, ReportJob.class)) {
+            hints.reflection().registerType(entity, MemberCategory.values());
+        }
+        // JPQL constructor expression (LedgerMemberRepository.findMemberships)
+        hints.reflection().registerType(LedgerMembership.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // Jackson으로 직접 읽고 쓰는 DTO
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                TransactionDto.class, LoginRequest.class, SignupRequest.class, MessageResponse.class,
+                SyncResponse.class, SyncChange.class, SyncMutation.class, SyncMutationRequest.class, SyncMutationResult.class,
+                ArchivedTransaction.class, TransactionChangedEvent.class, ReportJobDto.class);
+        for (String type : List.of(
+                "com.devji.account_book.expense.service.IdempotencyService$StoredResponse",
+                "com.devji.account_book.expense.service.TransactionPageCache$CachedPage")) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        // jjwt
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+}
@@ -0,0 +1,21 @@
+package com.devji.account_book.archive.dto;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 아카이브 파일(NDJSON)의 한 줄
+// 카테고리는 id가 아닌 이름으로 저장해서 파일만으로 복원 가능하게 한다.
+public record ArchivedTransaction(
+        Long id,
+        TransactionType type,
+        String category,
+        BigDecimal amount,
+        String description,
+        LocalDate transactionDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
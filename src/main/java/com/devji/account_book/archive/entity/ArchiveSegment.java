@@ -0,0 +1,56 @@
+package com.devji.account_book.archive.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// (사용자, 연도) 단위로 압축 보관된 거래 파일 목록
+@Entity
+@Table(name = "archive_segments")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(name = "archive_year", nullable = false)
+    private Integer year;
+
+    // ArchiveStore 안에서의 위치
+    @Column(nullable = false, length = 512)
+    private String storageKey;
+
+    @Column(nullable = false)
+    private Integer rowCount;
+
+    @Column(nullable = false)
+    private LocalDate minDate;
+
+    @Column(nullable = false)
+    private LocalDate maxDate;
+
+    @Column(nullable = false)
+    private Long compressedBytes;
+
+    // 담긴 거래의 수입 - 지출 (잔액 검증용, V8 이전 세그먼트는 검증 작업이 재계산할 때 채움)
+    @Column(precision = 17, scale = 2)
+    private BigDecimal netAmount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,24 @@
+package com.devji.account_book.archive.repository;
+
+import com.devji.account_book.archive.entity.ArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchiveSegmentRepository extends JpaRepository<ArchiveSegment, Long> {
+
+    Optional<ArchiveSegment> findByUserIdAndYear(Long userId, Integer year);
+
+    // 조회 기간과 겹치는 세그먼트
+    List<ArchiveSegment> findByUserIdAndYearBetweenOrderByYearDesc(Long userId, Integer fromYear, Integer toYear);
+
+    List<ArchiveSegment> findByUserIdOrderByYearDesc(Long userId);
+
+    @Query("SELECT COALESCE(SUM(s.rowCount), 0) FROM ArchiveSegment s WHERE s.userId = :userId")
+    long sumRowCountByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,26 @@
+package com.devji.account_book.archive.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// 아카이브 대상 기준일
+// retention-years가 5면 올해가 2026년일 때 2021-01-01 이전 거래가 아카이브 대상
+@Component
+public class ArchivePolicy {
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.retention-years:5}")
+    private int retentionYears;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LocalDate cutoffDate() {
+        return LocalDate.of(LocalDate.now().getYear() - retentionYears, 1, 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.devji.account_book.archive.service;
+
+import com.devji.account_book.archive.dto.ArchivedTransaction;
+import com.devji.account_book.archive.entity.ArchiveSegment;
+import com.devji.account_book.archive.repository.ArchiveSegmentRepository;
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.luben.zstd.ZstdInputStream;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// 아카이브 세그먼트(zstd 압축 NDJSON)를 memory-map 해서 읽는다
+@Component
+public class TransactionArchiveReader {
+
+    private final ArchiveSegmentRepository archiveSegmentRepository;
+    private final ArchiveStore archiveStore;
+    private final ObjectReader rowReader;
+
+    public TransactionArchiveReader(ArchiveSegmentRepository archiveSegmentRepository,
+                                    ArchiveStore archiveStore,
+                                    ObjectMapper objectMapper) {
+        this.archiveSegmentRepository = archiveSegmentRepository;
+        this.archiveStore = archiveStore;
+        this.rowReader = objectMapper.readerFor(ArchivedTransaction.class);
+    }
+
+    // 기간에 걸치는 세그먼트만 풀어서 기간 안의 거래만 반환 (start가 null이면 처음부터)
+    public List<ArchivedTransaction> read(long userId, LocalDate start, LocalDate end) {
+        List<ArchivedTransaction> result = new ArrayList<>();
+        for (ArchiveSegment segment : segments(userId, start, end)) {
+            result.addAll(readSegment(segment, start, end));
+        }
+        return result;
+    }
+
+    // 기간과 겹치는 세그먼트 (연도 내림차순, 풀지 않고 카탈로그만 조회)
+    public List<ArchiveSegment> segments(long userId, LocalDate start, LocalDate end) {
+        return start == null
+                ? archiveSegmentRepository.findByUserIdOrderByYearDesc(userId)
+                : archiveSegmentRepository.findByUserIdAndYearBetweenOrderByYearDesc(userId, start.getYear(), end.getYear());
+    }
+
+    public long countRows(long userId) {
+        return archiveSegmentRepository.sumRowCountByUserId(userId);
+    }
+
+    // 세그먼트를 풀어서 기간 안의 거래만 (start가 null이면 처음부터)
+    public List<ArchivedTransaction> readSegment(ArchiveSegment segment, LocalDate start, LocalDate end) {
+        List<ArchivedTransaction> rows = readSegment(segment);
+        rows.removeIf(row -> (start != null && row.transactionDate().isBefore(start)) || row.transactionDate().isAfter(end));
+        return rows;
+    }
+
+    public List<ArchivedTransaction> readSegment(ArchiveSegment segment) {
+        try (InputStream in = new ZstdInputStream(
+                new ByteBufferBackedInputStream(archiveStore.open(segment.getStorageKey())));
+             MappingIterator<ArchivedTransaction> rows = rowReader.readValues(in)) {
+            return rows.readAll(new ArrayList<>(segment.getRowCount()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("아카이브 세그먼트를 읽을 수 없습니다: " + segment.getStorageKey(), e);
+        }
+    }
+}
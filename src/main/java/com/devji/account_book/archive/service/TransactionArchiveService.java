@@ -0,0 +1,247 @@
+package com.devji.account_book.archive.service;
+
+import com.devji.account_book.archive.dto.ArchivedTransaction;
+import com.devji.account_book.archive.entity.ArchiveSegment;
+import com.devji.account_book.archive.repository.ArchiveSegmentRepository;
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.balance.service.BalanceDelta;
+import com.devji.account_book.datasource.shard.ShardRouter;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.CategoryDictionary;
+import com.devji.account_book.expense.service.TransactionPartitionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.github.luben.zstd.ZstdOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * 오래된 거래를 (사용자, 연도) 단위 zstd 압축 NDJSON 파일로 옮기는 작업
+ * 1. 사용자 행과 대상 행을 잠근 트랜잭션 안에서 행을 읽어 임시 파일에 쓰고 ArchiveStore에 저장
+ * 2. 같은 트랜잭션에서 archive_segments 기록 + 원본 행 삭제 (읽은 뒤 커밋된 수정/삭제를 잃지 않도록)
+ * 3. 이미 세그먼트가 있는 연도에 소급 입력된 거래가 생기면 기존 세그먼트와 합쳐 새 파일로 교체
+ * 삭제 표시(tombstone) 행은 파일에 쓰지 않고 함께 지운다.
+ */
+@Slf4j
+@Service
+public class TransactionArchiveService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveSegmentRepository archiveSegmentRepository;
+    private final ArchiveStore archiveStore;
+    private final TransactionArchiveReader archiveReader;
+    private final ArchivePolicy archivePolicy;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionPartitionManager partitionManager;
+    private final ShardRouter shardRouter;
+    private final ObjectWriter rowWriter;
+
+    @Value("${app.archive.compression-level:9}")
+    private int compressionLevel;
+
+    public TransactionArchiveService(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     ArchiveSegmentRepository archiveSegmentRepository,
+                                     ArchiveStore archiveStore,
+                                     TransactionArchiveReader archiveReader,
+                                     ArchivePolicy archivePolicy,
+                                     CategoryDictionary categoryDictionary,
+                                     TransactionPartitionManager partitionManager,
+                                     ShardRouter shardRouter,
+                                     ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveSegmentRepository = archiveSegmentRepository;
+        this.archiveStore = archiveStore;
+        this.archiveReader = archiveReader;
+        this.archivePolicy = archivePolicy;
+        this.categoryDictionary = categoryDictionary;
+        this.partitionManager = partitionManager;
+        this.shardRouter = shardRouter;
+        this.rowWriter = objectMapper.writerFor(ArchivedTransaction.class).withRootValueSeparator("\n");
+    }
+
+    // 매월 1일 새벽 4시
+    @Scheduled(cron = "0 0 4 1 * *")
+    public void archiveExpired() {
+        if (!archivePolicy.isEnabled()) {
+            return;
+        }
+        LocalDate cutoff = archivePolicy.cutoffDate();
+        shardRouter.forEachShard(shard -> archiveExpired(cutoff));
+    }
+
+    // 현재 샤드
+    private void archiveExpired(LocalDate cutoff) {
+        List<UserYear> targets = jdbcTemplate.query(
+                "SELECT DISTINCT user_id, EXTRACT(YEAR FROM transaction_date)::int AS archive_year " +
+                        "FROM transactions WHERE transaction_date < ? " +
+                        "AND user_id NOT IN (SELECT id FROM users WHERE moved_out)",
+                (rs, rowNum) -> new UserYear(rs.getLong("user_id"), rs.getInt("archive_year")),
+                cutoff);
+
+        for (UserYear target : targets) {
+            try {
+                archive(target.userId(), target.year());
+            } catch (Exception e) {
+                log.error("Failed to archive transactions of user {} ({})", target.userId(), target.year(), e);
+            }
+        }
+        partitionManager.dropEmptyPartitionsBefore(YearMonth.from(cutoff));
+    }
+
+    public void archive(long userId, int year) throws IOException {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        LocalDate to = from.plusYears(1);
+        // 세그먼트를 고쳐 쓰지 않고 항상 새 key로 저장 (읽는 중인 기존 파일은 커밋 후 삭제)
+        String key = "transactions/" + userId + "/" + year + "-" + System.currentTimeMillis() + ".ndjson.zst";
+
+        Result result;
+        try {
+            result = transactionTemplate.execute(status -> archiveLocked(userId, year, from, to, key));
+        } catch (UncheckedIOException e) {
+            deleteOrphan(key, e);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            deleteOrphan(key, e);
+            throw e;
+        }
+        if (result == null) {
+            return;
+        }
+
+        if (result.replacedKey() != null) {
+            archiveStore.delete(result.replacedKey());
+        }
+        log.info("Archived {} transactions of user {} ({}) into {} ({} bytes)",
+                result.archivedRows(), userId, year, key, result.compressedBytes());
+    }
+
+    /*
+     * 읽기, 세그먼트 쓰기, 카탈로그 기록, 원본 삭제를 한 트랜잭션에서 (아무것도 옮기지 않았으면 null)
+     * 사용자 행을 먼저 잠가서 잔액 재계산(BalanceService.rebuild)과 그 사용자의 쓰기(ChangeVersionService.bump)를 막고,
+     * 옮길 거래 행도 FOR UPDATE로 읽어서 공유 장부의 다른 구성원이 읽은 뒤에 고치거나 삭제 표시한 것을 지우지 않는다
+     * (그런 수정은 이 트랜잭션이 끝날 때까지 기다렸다가 행이 없어 버전 충돌로 끝난다).
+     */
+    private Result archiveLocked(long userId, int year, LocalDate from, LocalDate to, String key) {
+        jdbcTemplate.query("SELECT id FROM users WHERE id = ? FOR UPDATE", rs -> {
+        }, userId);
+        List<ArchivedTransaction> rows = jdbcTemplate.query(
+                "SELECT id, type, category_id, amount, description, transaction_date, created_at, updated_at " +
+                        "FROM transactions WHERE user_id = ? AND transaction_date >= ? AND transaction_date < ? " +
+                        "AND deleted = FALSE FOR UPDATE",
+                (rs, rowNum) -> new ArchivedTransaction(
+                        rs.getLong("id"),
+                        TransactionType.valueOf(rs.getString("type")),
+                        categoryDictionary.getName(rs.getInt("category_id")),
+                        rs.getBigDecimal("amount"),
+                        rs.getString("description"),
+                        rs.getObject("transaction_date", LocalDate.class),
+                        toLocalDateTime(rs.getTimestamp("created_at")),
+                        toLocalDateTime(rs.getTimestamp("updated_at"))),
+                userId, from, to);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        List<Long> archivedIds = rows.stream().map(ArchivedTransaction::id).toList();
+
+        Optional<ArchiveSegment> existing = archiveSegmentRepository.findByUserIdAndYear(userId, year);
+        List<ArchivedTransaction> merged = new ArrayList<>(rows);
+        existing.ifPresent(segment -> merged.addAll(archiveReader.readSegment(segment)));
+        merged.sort(Comparator.comparing(ArchivedTransaction::transactionDate).thenComparing(ArchivedTransaction::id));
+
+        long compressedBytes;
+        try {
+            compressedBytes = writeSegment(key, merged);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        BigDecimal netAmount = merged.stream()
+                .map(row -> BalanceDelta.signedAmount(row.type(), row.amount()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        String replacedKey = existing.map(ArchiveSegment::getStorageKey).orElse(null);
+        ArchiveSegment segment = existing.orElseGet(() -> ArchiveSegment.builder().userId(userId).year(year).build());
+        segment.setStorageKey(key);
+        segment.setRowCount(merged.size());
+        segment.setMinDate(merged.get(0).transactionDate());
+        segment.setMaxDate(merged.get(merged.size() - 1).transactionDate());
+        segment.setCompressedBytes(compressedBytes);
+        segment.setNetAmount(netAmount);
+        segment.setCreatedAt(LocalDateTime.now());
+        archiveSegmentRepository.save(segment);
+
+        // 함께 지우는 삭제 표시만큼 동기화 기준선을 올린다 (TombstonePurgeJob과 같은 규칙)
+        jdbcTemplate.update("UPDATE users SET sync_floor = GREATEST(sync_floor, COALESCE(" +
+                        "(SELECT MAX(change_seq) FROM transactions WHERE user_id = ? AND transaction_date >= ? " +
+                        "AND transaction_date < ? AND deleted), 0)) WHERE id = ?",
+                userId, from, to, userId);
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(
+                    "DELETE FROM transactions WHERE user_id = ? AND transaction_date >= ? AND transaction_date < ? " +
+                            "AND (id = ANY(?) OR deleted)");
+            Array ids = con.createArrayOf("bigint", archivedIds.toArray());
+            ps.setLong(1, userId);
+            ps.setObject(2, from);
+            ps.setObject(3, to);
+            ps.setArray(4, ids);
+            return ps;
+        });
+        return new Result(archivedIds.size(), compressedBytes, replacedKey);
+    }
+
+    // 세그먼트를 저장한 뒤 커밋하지 못했으면 카탈로그에 없는 파일이 남지 않도록
+    private void deleteOrphan(String key, Exception cause) {
+        try {
+            archiveStore.delete(key);
+        } catch (IOException | RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private long writeSegment(String key, List<ArchivedTransaction> rows) throws IOException {
+        Path temp = Files.createTempFile("archive-", ".ndjson.zst");
+        try {
+            try (OutputStream out = new ZstdOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), compressionLevel);
+                 SequenceWriter writer = rowWriter.writeValues(out)) {
+                writer.writeAll(rows);
+            }
+            return archiveStore.put(key, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private record UserYear(long userId, int year) {
+    }
+
+    private record Result(int archivedRows, long compressedBytes, String replacedKey) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.devji.account_book.archive.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+// 아카이브 세그먼트 저장소 (로컬 파일시스템, S3 호환 스토리지 등)
+public interface ArchiveStore {
+
+    // 임시 파일로 만들어 둔 세그먼트를 key 위치에 저장하고 저장된 크기를 반환
+    long put(String key, Path source) throws IOException;
+
+    // 세그먼트 전체를 읽기 전용 버퍼로 연다 (로컬 파일은 memory-map)
+    ByteBuffer open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.devji.account_book.archive.store;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+@Component
+public class LocalArchiveStore implements ArchiveStore {
+
+    private final Path root;
+
+    public LocalArchiveStore(@Value("${app.archive.local.path:./data/archive}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public long put(String key, Path source) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        // 같은 파일시스템 안에서 임시 파일 -> 최종 위치로 원자적 이동 (읽는 쪽이 반쯤 쓰인 파일을 보지 않도록)
+        Path staging = Files.copy(source, target.resolveSibling(target.getFileName() + ".tmp"),
+                StandardCopyOption.REPLACE_EXISTING);
+        Files.move(staging, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(target);
+    }
+
+    @Override
+    public ByteBuffer open(String key) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("잘못된 아카이브 경로입니다: " + key);
+        }
+        return path;
+    }
+}
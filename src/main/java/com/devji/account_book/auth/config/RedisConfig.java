@@ -1,15 +1,34 @@
 package com.devji.account_book.auth.config;
 
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
+@EnableConfigurationProperties(RedisResilienceProperties.class)
 public class RedisConfig {
     
     @Value("${spring.data.redis.host}")
@@ -17,12 +36,67 @@ public class RedisConfig {
     
     @Value("${spring.data.redis.port}")
     private int redisPort;
+
+    @Autowired
+    private RedisResilienceProperties resilienceProperties;
+
+    // Spring Boot가 만드는 공유 ClientResources (아래 tracing 설정과 명령 지연 지표가 적용된 것)
+    @Autowired
+    private ClientResources clientResources;
     
+    /*
+     * 커넥션은 풀 없이 하나를 모든 스레드가 공유한다 (Lettuce 기본값, shareNativeConnection).
+     * 여기서 쓰는 명령은 모두 단건 비동기 명령이라 풀을 써도 처리량은 늘지 않고, Redis가 멈추면 풀의 커넥션도 똑같이 멈춘다.
+     * 대신 명령/연결 시간 제한을 명시하고, 연결이 끊긴 동안에는 명령을 쌓아두지 않고 바로 실패시켜서
+     * 요청 스레드가 Redis를 기다리며 묶이지 않도록 한다 (실패는 RedisUtil의 circuit breaker가 집계).
+     */
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(redisHost,redisPort);
+        ClientOptions clientOptions = ClientOptions.builder()
+                .socketOptions(SocketOptions.builder()
+                        .connectTimeout(resilienceProperties.getConnectTimeout())
+                        .keepAlive(true)
+                        .build())
+                .timeoutOptions(TimeoutOptions.enabled(resilienceProperties.getCommandTimeout()))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .autoReconnect(true)
+                .build();
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .commandTimeout(resilienceProperties.getCommandTimeout())
+                .clientOptions(clientOptions)
+                .build();
 
-        return new LettuceConnectionFactory(config);
+        return new LettuceConnectionFactory(config, clientConfig);
+    }
+
+    // Redis 명령마다 span (db.operation = 명령 이름)
+    // 명령 인자는 태그에 넣지 않는다 (리프레시 토큰 값, 캐시 본문이 그대로 실리므로)
+    // ClientResources가 이 설정 클래스의 필드 주입을 기다리지 않도록 static
+    @Bean
+    public static ClientResourcesBuilderCustomizer lettuceTracingCustomizer(ObservationRegistry observationRegistry) {
+        return builder -> builder.tracing(new MicrometerTracing(observationRegistry, "redis"));
+    }
+
+    // 리프레시 토큰 저장소(RedisUtil)용, 상태는 resilience4j.circuitbreaker.state 지표로 노출
+    @Bean
+    public CircuitBreaker redisCircuitBreaker(MeterRegistry meterRegistry) {
+        RedisResilienceProperties.CircuitBreaker properties = resilienceProperties.getCircuitBreaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumCalls())
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .waitDurationInOpenState(properties.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // 연결 실패, 시간 초과 등 Redis 쪽 문제만 집계 (Spring이 DataAccessException으로 변환)
+                .recordExceptions(DataAccessException.class)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("redis");
     }
 
     @Bean
@@ -33,4 +107,22 @@ public class RedisConfig {
         redisTemplate.setValueSerializer(new StringRedisSerializer());
         return redisTemplate;
     }
+
+    // 거래 목록 페이지 캐시용 (값은 직렬화된 바이트 그대로 저장)
+    @Bean
+    public RedisTemplate<String, byte[]> bytesRedisTemplate() {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redisConnectionFactory());
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        return redisTemplate;
+    }
+
+    // 거래 변경 이벤트 pub/sub 구독용
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
 }
@@ -0,0 +1,48 @@
+package com.devji.account_book.auth.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.redis")
+public class RedisResilienceProperties {
+
+    // 명령 하나를 기다리는 최대 시간 (Lettuce 기본값 60초 동안 요청 스레드가 묶이지 않도록)
+    private Duration commandTimeout = Duration.ofMillis(500);
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Fallback fallback = new Fallback();
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        // 최근 sliding-window-size번 호출 중 실패(시간 초과 포함) 비율이 이 값 이상이면 열림
+        private float failureRateThreshold = 50;
+
+        private int slidingWindowSize = 20;
+
+        // 이만큼 호출되기 전에는 실패율을 계산하지 않음
+        private int minimumCalls = 10;
+
+        // 열린 뒤 Redis를 다시 시도해보기까지 (그동안은 Redis를 부르지 않고 바로 대체 동작)
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Fallback {
+
+        // 장애 중 로컬에만 반영한 저장/삭제 중 복구 후 Redis에 다시 반영할 최대 건수
+        private int maxPendingWrites = 10000;
+    }
+}
@@ -6,6 +6,9 @@ import com.devji.account_book.auth.security.PrincipalDetails;
 import com.devji.account_book.auth.security.PrincipalDetailsService;
 import com.devji.account_book.auth.util.JwtUtil;
 import com.devji.account_book.auth.util.RedisUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -34,6 +37,8 @@ public class SecurityConfig {
     private final JwtUtil jwtUtil;
     private final RedisUtil redisUtil;
     private final AuthenticationConfiguration authenticationConfiguration;
+    private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
@@ -42,7 +47,7 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() throws Exception {
-        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(redisUtil, jwtUtil);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(redisUtil, jwtUtil, objectMapper);
         filter.setAuthenticationManager(authenticationManager(authenticationConfiguration));
         filter.setFilterProcessesUrl("/api/auth/login"); // 기본 "/login"에서 로그인 url 변경
         return filter;
@@ -50,7 +55,7 @@ public class SecurityConfig {
 
     @Bean
     public JwtAuthorizationFilter jwtAuthorizationFilter() {
-        return new JwtAuthorizationFilter(jwtUtil, principalDetails);
+        return new JwtAuthorizationFilter(jwtUtil, principalDetails, objectMapper, observationRegistry);
     }
 
     @Bean
@@ -71,6 +76,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(urlBasedCorsConfigurationSource))
                 .authorizeHttpRequests((authorizeHttpRequests) -> authorizeHttpRequests
                         .requestMatchers("/api/auth/**").permitAll() // API 인증 예외
+                        // SSE 등 비동기 요청의 재디스패치는 최초 요청에서 이미 인가됨 (stateless라 컨텍스트가 남아있지 않음)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 );
 
@@ -11,7 +11,6 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -40,8 +39,7 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    public void refreshToken(HttpServletRequest request, HttpServletResponse response)
-            throws UnsupportedEncodingException {
+    public void refreshToken(HttpServletRequest request, HttpServletResponse response) {
         String accessToken = jwtUtil.getAccessTokenFromCookie(request);
         Cookie newCookie = authService.refresh(accessToken);
         response.addCookie(newCookie);
@@ -41,4 +41,19 @@ public class User {
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private Role role = Role.USER;
+
+    // 거래가 바뀔 때마다 증가하는 버전 (ChangeVersionService 참고)
+    @Column(nullable = false)
+    @Builder.Default
+    private Long changeVersion = 0L;
+
+    // 이 change_seq 이하의 삭제 표시는 지워졌을 수 있음, 더 오래된 동기화 token은 처음부터 다시 (TombstonePurgeJob 참고)
+    @Column(nullable = false)
+    @Builder.Default
+    private Long syncFloor = 0L;
+
+    // 다른 샤드로 옮겨져서 이 샤드의 행으로는 쓸 수 없는 사용자 (ShardMoveService 참고)
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean movedOut = false;
 }
@@ -1,25 +1,24 @@
 package com.devji.account_book.auth.filter;
 
 import com.devji.account_book.auth.dto.LoginRequest;
+import com.devji.account_book.auth.entity.User;
 import com.devji.account_book.auth.security.PrincipalDetails;
 import com.devji.account_book.auth.util.JwtUtil;
 import com.devji.account_book.auth.util.RedisUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.io.OutputStream;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseCookie;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -36,19 +35,24 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
 
     private final RedisUtil redisUtil;
     private final JwtUtil jwtUtil;
+    // Spring이 관리하는 ObjectMapper에서 미리 만들어 둔 reader/factory (요청마다 ObjectMapper를 만들면 직렬화 캐시가 매번 버려짐)
+    private final ObjectReader loginRequestReader;
+    private final JsonFactory jsonFactory;
 
     public static final long REFRESH_TOKEN_TIME = 7 * 24 * 60 * 60 * 1000L; // 7일
 
-    public JwtAuthenticationFilter(RedisUtil redisUtil, JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(RedisUtil redisUtil, JwtUtil jwtUtil, ObjectMapper objectMapper) {
         this.redisUtil = redisUtil;
         this.jwtUtil = jwtUtil;
+        this.loginRequestReader = objectMapper.readerFor(LoginRequest.class);
+        this.jsonFactory = objectMapper.getFactory();
     }
 
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException {
         log.info("*** JWT Authentication Filter ***");
         try {
-            LoginRequest loginRequestDto = new ObjectMapper().readValue(request.getInputStream(), LoginRequest.class);
+            LoginRequest loginRequestDto = loginRequestReader.readValue(request.getInputStream());
 
             return getAuthenticationManager().authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -58,8 +62,8 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
                     )
             );
         } catch (IOException e) {
-            log.error(e.getMessage());
-            throw new RuntimeException(e);
+            // 잘못된 요청 본문은 로그인 실패(401)로 처리
+            throw new AuthenticationServiceException("로그인 요청을 읽을 수 없습니다.", e);
         }
     }
 
@@ -85,19 +89,23 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         Cookie accessTokenCookie =  jwtUtil.addAccessTokenToCookie(accessToken);
         response.addCookie(accessTokenCookie);
 
-        // 5. 사용자 정보 JSON 응답
-        response.setContentType("application/json");
+        // 5. 사용자 정보 JSON 응답 (Map을 만들지 않고 출력 스트림에 바로 기록)
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setCharacterEncoding("UTF-8");
+        writeLoginResponse(response.getOutputStream(), userDetails.getUser());
+    }
 
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("user", Map.of(
-                "id", userDetails.getUser().getId(),
-                "email", userDetails.getUser().getEmail(),
-                "name", userDetails.getUser().getName()
-        ));
-
-        String json = new ObjectMapper().writeValueAsString(responseBody);
-        response.getWriter().write(json);
+    // {"user":{"id":..,"email":..,"name":..}}
+    void writeLoginResponse(OutputStream out, User user) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart("user");
+            generator.writeNumberField("id", user.getId());
+            generator.writeStringField("email", user.getEmail());
+            generator.writeStringField("name", user.getName());
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
     }
 
     @Override
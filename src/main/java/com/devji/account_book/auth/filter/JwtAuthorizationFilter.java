@@ -2,96 +2,146 @@ package com.devji.account_book.auth.filter;
 
 import com.devji.account_book.auth.security.PrincipalDetailsService;
 import com.devji.account_book.auth.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Slf4j(topic = "JWT 검증 및 인가")
-@RequiredArgsConstructor
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
+    // span 이름 / 타이머 이름 (outcome 태그로 결과 구분)
+    static final String OBSERVATION_NAME = "auth.jwt";
+    private static final String OUTCOME_AUTHENTICATED = "authenticated";
+    private static final String OUTCOME_ANONYMOUS = "anonymous";
+    private static final String OUTCOME_EXPIRED = "expired";
+    private static final String OUTCOME_INVALID = "invalid";
+    private static final String OUTCOME_ERROR = "error";
+
     private final JwtUtil jwtUtil;
     private final PrincipalDetailsService userDetailsService;
+    private final ObservationRegistry observationRegistry;
+
+    // 401 응답 본문은 내용이 고정이므로 미리 직렬화해 둔 바이트를 그대로 출력
+    private final byte[] invalidTokenBody;
+    private final byte[] expiredTokenBody;
+    private final byte[] tokenErrorBody;
+    private final byte[] authenticationErrorBody;
+
+    public JwtAuthorizationFilter(JwtUtil jwtUtil, PrincipalDetailsService userDetailsService, ObjectMapper objectMapper,
+                                  ObservationRegistry observationRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.observationRegistry = observationRegistry;
+        this.invalidTokenBody = unauthorizedBody(objectMapper, "유효하지 않은 토큰입니다.");
+        this.expiredTokenBody = unauthorizedBody(objectMapper, "토큰이 만료되었습니다.");
+        this.tokenErrorBody = unauthorizedBody(objectMapper, "토큰 검증 중 오류가 발생했습니다.");
+        this.authenticationErrorBody = unauthorizedBody(objectMapper, "인증 처리 중 오류가 발생했습니다.");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        // 토큰 검증 + 사용자 조회 구간만 span/타이머로 (뒤의 필터 체인, 컨트롤러는 포함하지 않음)
+        // 사용자 조회는 PrincipalDetailsService의 하위 span이므로 나머지가 쿠키 읽기와 JWT 파싱 시간
+        Observation observation = Observation.start(OBSERVATION_NAME, observationRegistry);
+        String outcome = OUTCOME_ERROR;
+        try (Observation.Scope scope = observation.openScope()) {
+            outcome = authenticate(request, response);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+        }
+
+        if (OUTCOME_AUTHENTICATED.equals(outcome) || OUTCOME_ANONYMOUS.equals(outcome)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // 인증 결과 (거부했으면 401 응답까지 보낸 뒤 반환)
+    private String authenticate(HttpServletRequest request, HttpServletResponse response) throws IOException {
         String jwt = jwtUtil.getAccessTokenFromCookie(request);
         String username = null;
-        boolean isTokenExpired = false;
 
         if (jwt != null) {
+            // 서명/만료 검증과 claims 읽기를 파싱 한 번으로
             try {
-                if (jwtUtil.isValidToken(jwt)) {
-                    username = jwtUtil.extractUsername(jwt);
-                } else {
-                    log.debug("유효하지 않은 토큰입니다: {}", request.getRequestURI());
-                    sendUnauthorizedResponse(response, "유효하지 않은 토큰입니다.");
-                    return;
-                }
+                username = jwtUtil.parseAccessToken(jwt).getSubject();
             } catch (ExpiredJwtException e) {
                 log.debug("토큰이 만료되었습니다: {}", request.getRequestURI());
-                sendUnauthorizedResponse(response, "토큰이 만료되었습니다.");
-                return;
+                sendUnauthorizedResponse(response, expiredTokenBody);
+                return OUTCOME_EXPIRED;
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("유효하지 않은 토큰입니다: {}", request.getRequestURI());
+                sendUnauthorizedResponse(response, invalidTokenBody);
+                return OUTCOME_INVALID;
             } catch (Exception e) {
                 log.debug("토큰 검증 중 예외 발생: {}", request.getRequestURI());
-                sendUnauthorizedResponse(response, "토큰 검증 중 오류가 발생했습니다.");
-                return;
+                sendUnauthorizedResponse(response, tokenErrorBody);
+                return OUTCOME_ERROR;
             }
         }
 
         // 인증 처리
+        // details(WebAuthenticationDetails: 원격 주소, 세션 id)는 쓰는 곳이 없어서 요청마다 만들지 않는다
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (username.equals(userDetails.getUsername())) {
+                    SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                            userDetails, null, userDetails.getAuthorities()));
+                    return OUTCOME_AUTHENTICATED;
                 }
             } catch (Exception e) {
                 log.error("사용자 인증 처리 중 오류 발생", e);
-                sendUnauthorizedResponse(response, "인증 처리 중 오류가 발생했습니다.");
-                return;
+                sendUnauthorizedResponse(response, authenticationErrorBody);
+                return OUTCOME_ERROR;
             }
         }
-
-        filterChain.doFilter(request, response);
+        return OUTCOME_ANONYMOUS;
     }
 
     /**
      * 401 Unauthorized 응답 전송
      */
-    private void sendUnauthorizedResponse(HttpServletResponse response, String message) throws IOException {
+    void sendUnauthorizedResponse(HttpServletResponse response, byte[] body) throws IOException {
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
-        response.setContentType("application/json");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         response.setCharacterEncoding("UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
 
-        Map<String, String> errorResponse = new HashMap<>();
+    private static byte[] unauthorizedBody(ObjectMapper objectMapper, String message) {
+        Map<String, String> errorResponse = new LinkedHashMap<>();
         errorResponse.put("error", message);
         errorResponse.put("code", "UNAUTHORIZED");
-
-        String json = new ObjectMapper().writeValueAsString(errorResponse);
-        response.getWriter().write(json);
+        try {
+            return objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Override
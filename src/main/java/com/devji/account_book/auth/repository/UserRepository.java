@@ -2,6 +2,9 @@ package com.devji.account_book.auth.repository;
 
 import com.devji.account_book.auth.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +13,16 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // 같은 사용자의 동시 쓰기는 이 UPDATE의 행 잠금으로 순서가 정해진다
+    // 다른 샤드로 옮겨진 사용자는 갱신되지 않는다 (0 반환)
+    @Modifying
+    @Query("UPDATE User u SET u.changeVersion = u.changeVersion + 1 WHERE u.id = :id AND u.movedOut = false")
+    int incrementChangeVersion(@Param("id") Long id);
+
+    @Query("SELECT u.changeVersion FROM User u WHERE u.id = :id")
+    long findChangeVersionById(@Param("id") Long id);
+
+    @Query("SELECT u.syncFloor FROM User u WHERE u.id = :id")
+    long findSyncFloorById(@Param("id") Long id);
 }
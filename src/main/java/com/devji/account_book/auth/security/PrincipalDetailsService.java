@@ -2,6 +2,8 @@ package com.devji.account_book.auth.security;
 
 import com.devji.account_book.auth.entity.User;
 import com.devji.account_book.auth.repository.UserRepository;
+import com.devji.account_book.datasource.shard.ShardRouter;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,11 +21,16 @@ import org.springframework.stereotype.Service;
 public class PrincipalDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
 
     // user정보를 확인하고 UserDetailsImpl 생성자로 보내서 UserDetailsImpl을 반환
+    // 아직 로그인 사용자가 없으므로 이메일로 샤드를 정해서 읽는다
+    // 요청마다 JWT 필터에서 부르므로 span/타이머로 (auth.jwt의 하위 span)
+    @Observed(name = "auth.principal.load", contextualName = "load principal")
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email).orElseThrow(()->new UsernameNotFoundException("사용자 정보를 찾을 수 없습니다"));
+        User user = shardRouter.callOn(shardRouter.shardOfEmail(email), () -> userRepository.findByEmail(email))
+                .orElseThrow(()->new UsernameNotFoundException("사용자 정보를 찾을 수 없습니다"));
         return new PrincipalDetails(user);
     }
 }
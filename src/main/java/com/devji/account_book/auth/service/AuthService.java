@@ -7,16 +7,19 @@ import com.devji.account_book.auth.repository.UserRepository;
 import com.devji.account_book.auth.security.PrincipalDetails;
 import com.devji.account_book.auth.security.PrincipalDetailsService;
 import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.auth.util.RedisUnavailableException;
 import com.devji.account_book.auth.util.RedisUtil;
-import io.lettuce.core.RedisConnectionException;
+import com.devji.account_book.datasource.shard.ShardRouter;
+import com.devji.account_book.expense.exception.ConflictException;
+import com.devji.account_book.ledger.service.LedgerAccessService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
-import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -34,23 +37,38 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final PrincipalDetailsService principalDetailsService;
+    private final LedgerAccessService ledgerAccessService;
+    private final ShardRouter shardRouter;
 
     public void signup(SignupRequest signupRequest) {
-        // ID 중복 확인
-        if (userRepository.existsByEmail(signupRequest.getEmail())) {
-            throw new RuntimeException("이미 존재하는 이메일입니다");
-        }
-
-        User user = User.builder()
-                .email(signupRequest.getEmail())
-                .password(passwordEncoder.encode(signupRequest.getPassword()))
-                .name(signupRequest.getName())
-                .build();
+        // 새 사용자를 둘 샤드 (샤딩을 쓰지 않으면 항상 0)
+        int shard = shardRouter.shardOfEmail(signupRequest.getEmail());
+        shardRouter.runOn(shard, () -> {
+            // ID 중복 확인
+            if (userRepository.existsByEmail(signupRequest.getEmail())) {
+                throw new ConflictException("이미 존재하는 이메일입니다");
+            }
 
-        userRepository.save(user);
+            User user = User.builder()
+                    .email(signupRequest.getEmail())
+                    .password(passwordEncoder.encode(signupRequest.getPassword()))
+                    .name(signupRequest.getName())
+                    .build();
+
+            userRepository.save(user);
+            try {
+                shardRouter.register(user.getId(), user.getEmail(), shard);
+            } catch (DuplicateKeyException e) {
+                // 같은 이메일이 다른 샤드에 동시에 가입됨 (디렉터리의 unique 제약)
+                userRepository.delete(user);
+                throw new ConflictException("이미 존재하는 이메일입니다");
+            }
+            // 개인 장부 (거래 생성 시에도 없으면 만들지만 장부 목록에 바로 보이도록)
+            ledgerAccessService.ensurePersonalLedger(user.getId());
+        });
     }
 
-    public Cookie refresh(String accessToken) throws UnsupportedEncodingException {
+    public Cookie refresh(String accessToken) {
         try {
             if (accessToken == null) { //accessToken이 비어있다면
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "엑세스 토큰이 없습니다.");
@@ -74,9 +92,12 @@ public class AuthService {
 
             return jwtUtil.addAccessTokenToCookie(newAccessToken);
 
-        } catch (RedisConnectionException e) {
-            log.error("Redis 장애", e);
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류");
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (RedisUnavailableException e) {
+            // 토큰이 틀린 게 아니라 저장소를 못 읽은 것이므로 401로 로그아웃시키지 않고 다시 시도하게 한다
+            log.warn("Redis 장애로 토큰 재발급 실패: {}", e.getCause().toString());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "잠시 후 다시 시도해주세요.");
         } catch (Exception e) {
             log.error("토큰 재발급 중 오류 발생", e);
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "토큰 재발급 중 오류가 발생했습니다.");
@@ -3,21 +3,19 @@ package com.devji.account_book.auth.util;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Enumeration;
 import java.util.function.Function;
-import org.springframework.util.StringUtils;
 
 @Component
 @Slf4j
@@ -40,12 +38,26 @@ public class JwtUtil {
     @Value("${jwt.refresh.secret}")
     private String refreshSecret;
 
+    // 키와 파서는 만들 때 한 번만 (요청마다 키 파생 + 파서 생성을 반복하지 않도록, 둘 다 불변이라 공유 가능)
+    private SecretKey signingKey;
+    private SecretKey refreshSigningKey;
+    private JwtParser accessTokenParser;
+    private JwtParser refreshTokenParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        refreshSigningKey = Keys.hmacShaKeyFor(refreshSecret.getBytes());
+        accessTokenParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        refreshTokenParser = Jwts.parserBuilder().setSigningKey(refreshSigningKey).build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
     private SecretKey getRefreshSigningKey() {
-        return Keys.hmacShaKeyFor(refreshSecret.getBytes());
+        return refreshSigningKey;
     }
 
     // Access Token 생성
@@ -71,36 +83,76 @@ public class JwtUtil {
     }
 
     // AccessToken을 Cookie에 담기
+    // JWT는 base64url 세 부분을 '.'으로 이은 문자열이라 쿠키 값에 그대로 쓸 수 있다 (URL 인코딩 불필요)
     public Cookie addAccessTokenToCookie(String accessToken) {
-        try {
-            accessToken = URLEncoder.encode(accessToken, "utf-8").replaceAll("\\+", "%20");
-            Cookie refreshTokenCookie = new Cookie(ACCESS_TOKEN_COOKIE_NAME, accessToken);
-            refreshTokenCookie.setHttpOnly(true);
-//            refreshTokenCookie.setSecure(true); // HTTPS에서만 전송
-            refreshTokenCookie.setPath("/");
-            refreshTokenCookie.setMaxAge((int) (REFRESH_TOKEN_TIME / 1000)); // 쿠키유효시간은 리프레시 토큰 유효시간과 같게 유지
-            refreshTokenCookie.setAttribute("SameSite", "Strict"); // CSRF 보호
-            return refreshTokenCookie;
-        } catch (UnsupportedEncodingException e) {
-            log.error("Refresh Token encoding 오류: {}", e.getMessage());
-            throw new RuntimeException("토큰 인코딩 실패", e);
-        }
+        Cookie refreshTokenCookie = new Cookie(ACCESS_TOKEN_COOKIE_NAME, accessToken);
+        refreshTokenCookie.setHttpOnly(true);
+//        refreshTokenCookie.setSecure(true); // HTTPS에서만 전송
+        refreshTokenCookie.setPath("/");
+        refreshTokenCookie.setMaxAge((int) (REFRESH_TOKEN_TIME / 1000)); // 쿠키유효시간은 리프레시 토큰 유효시간과 같게 유지
+        refreshTokenCookie.setAttribute("SameSite", "Strict"); // CSRF 보호
+        return refreshTokenCookie;
     }
 
     // Cookie에서 Access Token 가져오기
+    // getCookies()는 요청의 모든 쿠키를 Cookie 객체로 만들기 때문에 Cookie 헤더에서 이 쿠키 값만 잘라낸다
     public String getAccessTokenFromCookie(HttpServletRequest request) {
-        if (request.getCookies() == null) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.COOKIE);
+        if (headers == null) {
             return null;
         }
+        while (headers.hasMoreElements()) {
+            String value = findCookieValue(headers.nextElement(), ACCESS_TOKEN_COOKIE_NAME);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
 
-        for (Cookie cookie : request.getCookies()) {
-            if (ACCESS_TOKEN_COOKIE_NAME.equals(cookie.getName())) {
-                return cookie.getValue();
+    // "a=1; accessToken=xyz; b=2"에서 name의 값 (따옴표로 감싼 값이면 따옴표 제외)
+    // 쌍 사이와 '=' 앞뒤의 공백/탭은 건너뛴다, 이름이 name으로 시작하기만 하는 쿠키(accessTokenX)는 다른 쿠키
+    static String findCookieValue(String header, String name) {
+        int length = header.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && (isWhitespace(header.charAt(start)) || header.charAt(start) == ';')) {
+                start++;
+            }
+            int end = header.indexOf(';', start);
+            if (end < 0) {
+                end = length;
             }
+            if (header.startsWith(name, start)) {
+                int equals = start + name.length();
+                while (equals < end && isWhitespace(header.charAt(equals))) {
+                    equals++;
+                }
+                if (equals < end && header.charAt(equals) == '=') {
+                    int valueStart = equals + 1;
+                    int valueEnd = end;
+                    while (valueStart < valueEnd && isWhitespace(header.charAt(valueStart))) {
+                        valueStart++;
+                    }
+                    while (valueEnd > valueStart && isWhitespace(header.charAt(valueEnd - 1))) {
+                        valueEnd--;
+                    }
+                    if (valueEnd - valueStart >= 2 && header.charAt(valueStart) == '"' && header.charAt(valueEnd - 1) == '"') {
+                        valueStart++;
+                        valueEnd--;
+                    }
+                    return header.substring(valueStart, valueEnd);
+                }
+            }
+            start = end + 1;
         }
         return null;
     }
 
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
     // 쿠키 삭제
     public Cookie deleteCookie() {
         Cookie cookie = new Cookie("accessToken", "");
@@ -137,12 +189,16 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    // 서명과 만료를 한 번에 검증하고 claims 반환 (요청마다 한 번만 파싱하도록 필터에서 사용)
+    // 만료되었으면 ExpiredJwtException, 그 밖에 잘못된 토큰이면 JwtException / IllegalArgumentException
+    public Claims parseAccessToken(String token) {
+        return accessTokenParser.parseClaimsJws(token).getBody();
+    }
+
     private Claims extractAllClaims(String token) {
         Claims claims = null;
         try{
-            claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            claims = accessTokenParser
                     .parseClaimsJws(token)//토큰이 만료되면 검증 포함 파싱은 불가
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -153,9 +209,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaimsFromRefreshToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getRefreshSigningKey())
-                .build()
+        return refreshTokenParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -178,13 +232,11 @@ public class JwtUtil {
         return (username.equals(userDetails.getUsername()) && !isRefreshTokenExpired(token));
     }
 
+    // 파싱할 때 만료도 검사하므로 (ExpiredJwtException) 다시 파싱해서 만료를 확인하지 않는다
     public boolean isValidToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isTokenExpired(token);
+            accessTokenParser.parseClaimsJws(token);
+            return true;
         } catch (ExpiredJwtException e) {
             log.warn("Access token expired: {}", e.getMessage());
             return false;
@@ -196,11 +248,8 @@ public class JwtUtil {
 
     public boolean isValidRefreshToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getRefreshSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return !isRefreshTokenExpired(token);
+            refreshTokenParser.parseClaimsJws(token);
+            return true;
         } catch (ExpiredJwtException e) {
             log.warn("Refresh token expired: {}", e.getMessage());
             return false;
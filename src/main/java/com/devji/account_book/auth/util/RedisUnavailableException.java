@@ -0,0 +1,9 @@
+package com.devji.account_book.auth.util;
+
+// Redis에 닿지 못했고 이 노드가 장애 중에 쓴 것도 아니어서 리프레시 토큰 유무를 판단할 수 없음 (토큰이 틀린 게 아니므로 401이 아니라 503)
+public class RedisUnavailableException extends RuntimeException {
+
+    public RedisUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
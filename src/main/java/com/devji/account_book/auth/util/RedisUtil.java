@@ -1,25 +1,181 @@
 package com.devji.account_book.auth.util;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import java.time.Duration;
-import lombok.RequiredArgsConstructor;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+/*
+ * 리프레시 토큰 저장소 (Redis)
+ * 모든 호출은 redis circuit breaker를 거친다. Redis가 느리거나 멈추면 command-timeout 안에 실패하고,
+ * 실패가 쌓여 breaker가 열리면 Redis를 부르지 않고 바로 RefreshTokenFallbackStore(이 노드의 밀린 쓰기)를 쓴다.
+ * - 저장/삭제: pending에 남겨 로그인/로그아웃은 성공시킨다, breaker가 다시 닫히면 Redis에 반영
+ * - 조회: 이 노드가 장애 중에 저장/삭제한 것만 답하고, 나머지는 RedisUnavailableException
+ *   (Redis에서 읽어 둔 사본을 쓰면 다른 노드에서 로그아웃/재발급한 토큰이 계속 통과한다)
+ * 값은 "{쓴 시각(ms)}:{토큰}"으로 저장한다. 밀린 쓰기를 반영할 때 Redis에 그보다 나중에 쓴 값
+ * (복구 후 다른 노드에서 다시 로그인한 토큰)이 있으면 덮어쓰거나 지우지 않는다.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisUtil {
 
+    private static final String KEY_PREFIX = "RT:";
+
+    // 밀린 쓰기 반영: Redis에 더 나중에 쓴 값이 있으면 0, 아니면 반영하고 1
+    // 시각이 없는 값(형식 변경 전)은 더 오래된 것으로 본다
+    // ARGV: 쓴 시각, 저장할 값, 남은 만료 시간(ms)
+    private static final RedisScript<Long> REPLAY_SET_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if current then
+                local writtenAt = tonumber(string.match(current, '^(%d+):'))
+                if writtenAt and writtenAt >= tonumber(ARGV[1]) then
+                    return 0
+                end
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // ARGV: 삭제한 시각
+    private static final RedisScript<Long> REPLAY_DELETE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then
+                return 1
+            end
+            local writtenAt = tonumber(string.match(current, '^(%d+):'))
+            if writtenAt and writtenAt >= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('DEL', KEYS[1])
+            return 1
+            """, Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final RefreshTokenFallbackStore fallbackStore;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    public RedisUtil(RedisTemplate<String, String> redisTemplate,
+                     CircuitBreaker redisCircuitBreaker,
+                     RefreshTokenFallbackStore fallbackStore) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = redisCircuitBreaker;
+        this.fallbackStore = fallbackStore;
+        redisCircuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                replayIfPending();
+            }
+        });
+        // breaker가 열리기 전에 끝난 짧은 장애는 상태가 바뀌지 않으므로 다음 성공한 호출에서 반영
+        redisCircuitBreaker.getEventPublisher().onSuccess(event -> replayIfPending());
+    }
 
     public void setRefreshToken(String email, String refreshToken, long expirationMs) {
-        redisTemplate.opsForValue().set("RT:" + email, refreshToken, Duration.ofMillis(expirationMs));
+        // 이전 pending이 성공 직후의 반영에서 새 값을 덮어쓰지 않도록 먼저 지운다 (실패하면 다시 쌓임)
+        fallbackStore.clearPending(email);
+        long writtenAt = System.currentTimeMillis();
+        try {
+            circuitBreaker.executeRunnable(() -> redisTemplate.opsForValue()
+                    .set(KEY_PREFIX + email, stored(writtenAt, refreshToken), Duration.ofMillis(expirationMs)));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            log.warn("Redis unavailable, keeping refresh token of {} locally: {}", email, e.toString());
+            fallbackStore.queue(email, refreshToken, writtenAt, expirationMs);
+        }
     }
 
     public String getRefreshToken(String email) {
-        return redisTemplate.opsForValue().get("RT:" + email);
+        // 장애 중 저장/삭제한 것이 아직 Redis에 반영되지 않았으면 그쪽이 최신
+        RefreshTokenFallbackStore.PendingWrite pending = fallbackStore.pending(email);
+        if (pending != null) {
+            return pending.refreshToken();
+        }
+        try {
+            return tokenOf(circuitBreaker.executeSupplier(() -> redisTemplate.opsForValue().get(KEY_PREFIX + email)));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            throw new RedisUnavailableException("리프레시 토큰 저장소에 연결할 수 없습니다.", e);
+        }
     }
 
     public void deleteRefreshToken(String email) {
-        redisTemplate.delete("RT:" + email);
+        fallbackStore.clearPending(email);
+        long deletedAt = System.currentTimeMillis();
+        try {
+            circuitBreaker.executeRunnable(() -> redisTemplate.delete(KEY_PREFIX + email));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            log.warn("Redis unavailable, deleting refresh token of {} after recovery: {}", email, e.toString());
+            fallbackStore.queue(email, null, deletedAt, 0);
+        }
+    }
+
+    // 요청 스레드가 밀린 쓰기를 기다리지 않도록 따로 반영 (한 번에 하나만)
+    private void replayIfPending() {
+        if (fallbackStore.pendingCount() == 0 || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                replayPending();
+            } finally {
+                replaying.set(false);
+            }
+        });
+    }
+
+    // breaker를 거치지 않는다 (방금 닫혔고, 실패하면 남은 것을 되돌려 놓고 다음 복구 때 다시)
+    // 비교와 쓰기를 한 스크립트로 실행해서, 그사이 다른 노드가 쓴 새 토큰을 덮어쓰지 않는다
+    void replayPending() {
+        List<RefreshTokenFallbackStore.PendingWrite> writes = fallbackStore.drainPending();
+        int replayed = 0;
+        int superseded = 0;
+        try {
+            for (RefreshTokenFallbackStore.PendingWrite write : writes) {
+                if (!replay(write)) {
+                    superseded++;
+                }
+                replayed++;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Replaying refresh token writes failed after {} of {}: {}", replayed, writes.size(), e.toString());
+            fallbackStore.requeue(writes.subList(replayed, writes.size()));
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} refresh token writes to Redis, {} skipped for newer values", replayed, superseded);
+        }
+    }
+
+    // 반영했으면 true, Redis에 이미 더 나중에 쓴 값이 있으면 false
+    private boolean replay(RefreshTokenFallbackStore.PendingWrite write) {
+        List<String> keys = List.of(KEY_PREFIX + write.email());
+        String writtenAt = String.valueOf(write.writtenAtMillis());
+        if (write.isDelete()) {
+            return !Long.valueOf(0L).equals(redisTemplate.execute(REPLAY_DELETE_SCRIPT, keys, writtenAt));
+        }
+        long remainingMs = write.expiresAtMillis() - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+            return true;
+        }
+        return !Long.valueOf(0L).equals(redisTemplate.execute(REPLAY_SET_SCRIPT, keys, writtenAt,
+                stored(write.writtenAtMillis(), write.refreshToken()), String.valueOf(remainingMs)));
+    }
+
+    private static String stored(long writtenAtMillis, String refreshToken) {
+        return writtenAtMillis + ":" + refreshToken;
+    }
+
+    // "{쓴 시각}:{토큰}"에서 토큰만 (JWT에는 ':'가 없다), 시각이 없는 값은 그대로
+    static String tokenOf(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        int separator = stored.indexOf(':');
+        return separator < 0 ? stored : stored.substring(separator + 1);
     }
 }
@@ -0,0 +1,84 @@
+package com.devji.account_book.auth.util;
+
+import com.devji.account_book.auth.config.RedisResilienceProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Redis가 잠깐 멈춘 동안 이 노드가 로컬에만 반영한 리프레시 토큰 저장/삭제
+ * - 이메일별 마지막 것만 남겨두고 복구 후 Redis에 다시 반영한다
+ * - Redis에서 읽은 값은 들고 있지 않는다. 다른 노드의 로그아웃/재발급을 알 수 없으므로
+ *   장애 중에는 이 노드가 쓴 것만 믿고, 나머지 조회는 실패로 돌려준다 (503)
+ */
+@Component
+public class RefreshTokenFallbackStore {
+
+    private final Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    private final int maxPendingWrites;
+
+    public RefreshTokenFallbackStore(RedisResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.maxPendingWrites = properties.getFallback().getMaxPendingWrites();
+        Gauge.builder("auth.refresh_token.fallback.pending", this, RefreshTokenFallbackStore::pendingCount)
+                .register(meterRegistry);
+    }
+
+    // 장애 중 저장 (refreshToken이 null이면 삭제), 가득 차면 가장 오래된 것을 버린다
+    // writtenAtMillis: 원래 Redis에 쓰려던 시각, 복구 후 반영할 때 Redis의 값이 이보다 새것이면 건드리지 않는다
+    public synchronized void queue(String email, String refreshToken, long writtenAtMillis, long expirationMs) {
+        pending.remove(email);
+        pending.put(email, new PendingWrite(email, refreshToken, writtenAtMillis, writtenAtMillis + expirationMs));
+        Iterator<PendingWrite> oldest = pending.values().iterator();
+        while (pending.size() > maxPendingWrites && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    // 아직 Redis에 반영하지 못한 이 이메일의 마지막 저장/삭제, 없거나 저장한 토큰이 만료됐으면 null
+    public synchronized PendingWrite pending(String email) {
+        PendingWrite write = pending.get(email);
+        if (write != null && !write.isDelete() && write.expiresAtMillis() <= System.currentTimeMillis()) {
+            return null;
+        }
+        return write;
+    }
+
+    // 같은 이메일에 새로 저장/삭제할 때 이전 pending을 버린다
+    public synchronized void clearPending(String email) {
+        pending.remove(email);
+    }
+
+    public synchronized List<PendingWrite> drainPending() {
+        List<PendingWrite> drained = new ArrayList<>(pending.values());
+        pending.clear();
+        return drained;
+    }
+
+    // 다시 반영하지 못한 것을 되돌려 놓는다 (그사이 새로 쌓인 같은 이메일의 것이 우선)
+    public synchronized void requeue(List<PendingWrite> writes) {
+        for (PendingWrite write : writes) {
+            if (pending.size() >= maxPendingWrites) {
+                break;
+            }
+            pending.putIfAbsent(write.email(), write);
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public record PendingWrite(String email, String refreshToken, long writtenAtMillis, long expiresAtMillis) {
+
+        public boolean isDelete() {
+            return refreshToken == null;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.devji.account_book.balance.controller;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.balance.dto.BalanceDto;
+import com.devji.account_book.balance.service.BalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/balance")
+@RequiredArgsConstructor
+public class BalanceController {
+
+    private final BalanceService balanceService;
+
+    // 현재 잔액, asOf가 있으면 그 날짜까지의 잔액
+    @GetMapping
+    public ResponseEntity<BalanceDto> getBalance(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        long userId = principalDetails.getUser().getId();
+        BalanceDto balance = asOf == null
+                ? balanceService.getBalance(userId)
+                : balanceService.getBalance(userId, asOf);
+        return ResponseEntity.ok(balance);
+    }
+}
@@ -0,0 +1,21 @@
+package com.devji.account_book.balance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDto {
+    // 수입 - 지출 (삭제된 거래 제외, 아카이브된 거래 포함)
+    private BigDecimal balance;
+
+    // 이 날짜까지의 거래만 반영한 잔액, null이면 현재 잔액
+    private LocalDate asOf;
+}
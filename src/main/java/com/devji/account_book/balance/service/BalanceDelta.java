@@ -0,0 +1,49 @@
+package com.devji.account_book.balance.service;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+// 한 트랜잭션에서 반영할 거래일별 잔액 증감 (수입은 +, 지출은 -)
+public final class BalanceDelta {
+
+    private final TreeMap<LocalDate, BigDecimal> byDate = new TreeMap<>();
+
+    public BalanceDelta add(TransactionType type, BigDecimal amount, LocalDate transactionDate) {
+        return merge(transactionDate, signedAmount(type, amount));
+    }
+
+    public BalanceDelta subtract(TransactionType type, BigDecimal amount, LocalDate transactionDate) {
+        return merge(transactionDate, signedAmount(type, amount).negate());
+    }
+
+    public boolean isEmpty() {
+        return byDate.isEmpty();
+    }
+
+    // 거래일 오름차순, 합이 0인 날짜는 빠져 있다 (같은 날짜 안에서 금액만 바꾸지 않은 수정 등)
+    Map<LocalDate, BigDecimal> byDate() {
+        return byDate;
+    }
+
+    BigDecimal total() {
+        return byDate.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public static BigDecimal signedAmount(TransactionType type, BigDecimal amount) {
+        return type == TransactionType.EXPENSE ? amount.negate() : amount;
+    }
+
+    private BalanceDelta merge(LocalDate date, BigDecimal amount) {
+        BigDecimal merged = byDate.getOrDefault(date, BigDecimal.ZERO).add(amount);
+        if (merged.signum() == 0) {
+            byDate.remove(date);
+        } else {
+            byDate.put(date, merged);
+        }
+        return this;
+    }
+}
@@ -0,0 +1,148 @@
+package com.devji.account_book.balance.service;
+
+import com.devji.account_book.archive.dto.ArchivedTransaction;
+import com.devji.account_book.archive.entity.ArchiveSegment;
+import com.devji.account_book.archive.repository.ArchiveSegmentRepository;
+import com.devji.account_book.archive.service.TransactionArchiveReader;
+import com.devji.account_book.balance.dto.BalanceDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * 사용자별 잔액 (user_balances) + 거래일별 순증감 (balance_days) + 월말 누적 잔액 (balance_checkpoints)
+ * 현재 잔액은 user_balances 한 행, 특정 날짜의 잔액은 직전 달 체크포인트 + 그 달의 balance_days (최대 31행)로 계산한다.
+ * 과거 날짜의 거래를 쓰면 그 날짜의 balance_days 한 행과 그 달 이후의 체크포인트(한 달에 한 행)만 고친다.
+ *
+ * 쓰기는 ChangeVersionService.bump 뒤에 같은 트랜잭션에서 호출해야 한다.
+ * bump가 잡은 users 행 잠금으로 같은 사용자의 잔액 갱신이 커밋 순서대로 직렬화되므로 체크포인트를 만들 때 읽은 직전 값이 어긋나지 않는다.
+ * WebFlux 버전(reactive 모듈)의 BalanceService도 같은 테이블을 같은 SQL로 갱신하므로 SQL을 바꾸면 함께 고친다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceService {
+
+    private static final String UPSERT_BALANCE_SQL = "INSERT INTO user_balances (user_id, balance, updated_at) " +
+            "VALUES (?, ?, now()) " +
+            "ON CONFLICT (user_id) DO UPDATE SET balance = user_balances.balance + EXCLUDED.balance, updated_at = EXCLUDED.updated_at";
+    private static final String UPSERT_DAY_SQL = "INSERT INTO balance_days (user_id, balance_date, net_amount) VALUES (?, ?, ?) " +
+            "ON CONFLICT (user_id, balance_date) DO UPDATE SET net_amount = balance_days.net_amount + EXCLUDED.net_amount";
+    // 처음 거래가 생긴 달의 체크포인트는 직전 체크포인트 값으로 시작 (증감은 아래 SHIFT에서 더한다)
+    private static final String ENSURE_CHECKPOINT_SQL = "INSERT INTO balance_checkpoints (user_id, checkpoint_month, closing_balance) " +
+            "SELECT ?::bigint, ?::date, COALESCE((SELECT closing_balance FROM balance_checkpoints " +
+            "WHERE user_id = ? AND checkpoint_month < ? ORDER BY checkpoint_month DESC LIMIT 1), 0) " +
+            "ON CONFLICT (user_id, checkpoint_month) DO NOTHING";
+    private static final String SHIFT_CHECKPOINTS_SQL = "UPDATE balance_checkpoints SET closing_balance = closing_balance + ? " +
+            "WHERE user_id = ? AND checkpoint_month >= ?";
+    private static final String BALANCE_AS_OF_SQL = "SELECT COALESCE((SELECT closing_balance FROM balance_checkpoints " +
+            "WHERE user_id = ? AND checkpoint_month < ? ORDER BY checkpoint_month DESC LIMIT 1), 0) " +
+            "+ COALESCE((SELECT SUM(net_amount) FROM balance_days WHERE user_id = ? AND balance_date BETWEEN ? AND ?), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveSegmentRepository archiveSegmentRepository;
+    private final TransactionArchiveReader archiveReader;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(long userId, BalanceDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(UPSERT_BALANCE_SQL, userId, delta.total());
+
+        List<Object[]> days = new ArrayList<>(delta.byDate().size());
+        Map<LocalDate, BigDecimal> months = new TreeMap<>();
+        delta.byDate().forEach((date, amount) -> {
+            days.add(new Object[]{userId, date, amount});
+            months.merge(date.withDayOfMonth(1), amount, BigDecimal::add);
+        });
+        jdbcTemplate.batchUpdate(UPSERT_DAY_SQL, days);
+
+        // 체크포인트를 모두 만든 뒤에 더한다 (새 체크포인트가 이번 증감이 더해지기 전의 직전 값을 복사하도록)
+        List<Object[]> ensures = new ArrayList<>(months.size());
+        List<Object[]> shifts = new ArrayList<>(months.size());
+        months.forEach((month, amount) -> {
+            ensures.add(new Object[]{userId, month, userId, month});
+            if (amount.signum() != 0) {
+                shifts.add(new Object[]{amount, userId, month});
+            }
+        });
+        jdbcTemplate.batchUpdate(ENSURE_CHECKPOINT_SQL, ensures);
+        if (!shifts.isEmpty()) {
+            jdbcTemplate.batchUpdate(SHIFT_CHECKPOINTS_SQL, shifts);
+        }
+    }
+
+    // 현재 잔액 (asOf가 없을 때), 거래가 한 번도 없었으면 0
+    @Transactional(readOnly = true)
+    public BalanceDto getBalance(long userId) {
+        BigDecimal balance = jdbcTemplate.query("SELECT balance FROM user_balances WHERE user_id = ?",
+                rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO, userId);
+        return BalanceDto.builder().balance(balance).build();
+    }
+
+    // asOf 날짜가 끝났을 때의 잔액
+    @Transactional(readOnly = true)
+    public BalanceDto getBalance(long userId, LocalDate asOf) {
+        LocalDate monthStart = asOf.withDayOfMonth(1);
+        BigDecimal balance = jdbcTemplate.queryForObject(BALANCE_AS_OF_SQL, BigDecimal.class,
+                userId, monthStart, userId, monthStart, asOf);
+        return BalanceDto.builder().balance(balance).asOf(asOf).build();
+    }
+
+    /*
+     * 테이블의 거래 + 아카이브 세그먼트로 사용자의 잔액 데이터를 모두 다시 만든다 (검증 작업에서 차이가 발견됐을 때)
+     * users 행을 잠가서 그동안의 거래 쓰기와, 같은 행을 잠그는 아카이브 작업의 커밋을 기다리게 한다.
+     */
+    @Transactional
+    public BigDecimal rebuild(long userId) {
+        jdbcTemplate.query("SELECT id FROM users WHERE id = ? FOR UPDATE", rs -> {
+        }, userId);
+        jdbcTemplate.update("DELETE FROM balance_days WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM balance_checkpoints WHERE user_id = ?", userId);
+
+        jdbcTemplate.update("INSERT INTO balance_days (user_id, balance_date, net_amount) " +
+                "SELECT user_id, transaction_date, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) " +
+                "FROM transactions WHERE user_id = ? AND deleted = FALSE GROUP BY user_id, transaction_date", userId);
+
+        // 세그먼트는 파일을 읽어서 날짜별로 모은 뒤 더한다 (같은 해의 아직 아카이브되지 않은 거래와 겹칠 수 있으므로 upsert)
+        for (ArchiveSegment segment : archiveSegmentRepository.findByUserIdOrderByYearDesc(userId)) {
+            Map<LocalDate, BigDecimal> archived = new TreeMap<>();
+            for (ArchivedTransaction row : archiveReader.readSegment(segment)) {
+                archived.merge(row.transactionDate(), BalanceDelta.signedAmount(row.type(), row.amount()), BigDecimal::add);
+            }
+            List<Object[]> days = new ArrayList<>(archived.size());
+            archived.forEach((date, amount) -> days.add(new Object[]{userId, date, amount}));
+            jdbcTemplate.batchUpdate(UPSERT_DAY_SQL, days);
+            segment.setNetAmount(archived.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+
+        jdbcTemplate.update("INSERT INTO balance_checkpoints (user_id, checkpoint_month, closing_balance) " +
+                "SELECT user_id, date_trunc('month', balance_date)::date, " +
+                "SUM(SUM(net_amount)) OVER (ORDER BY date_trunc('month', balance_date)) " +
+                "FROM balance_days WHERE user_id = ? GROUP BY user_id, date_trunc('month', balance_date)", userId);
+
+        BigDecimal balance = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(net_amount), 0) FROM balance_days WHERE user_id = ?", BigDecimal.class, userId);
+        jdbcTemplate.update("INSERT INTO user_balances (user_id, balance, updated_at) VALUES (?, ?, now()) " +
+                "ON CONFLICT (user_id) DO UPDATE SET balance = EXCLUDED.balance, updated_at = EXCLUDED.updated_at", userId, balance);
+        log.info("Rebuilt balance of user {}: {}", userId, balance);
+        return balance;
+    }
+
+    // 검증 결과 기록 (drift가 null이면 일치, 재계산으로 고친 뒤에도 발견한 차이는 남겨 둔다)
+    @Transactional
+    public void recordVerification(long userId, BigDecimal drift) {
+        jdbcTemplate.update("UPDATE user_balances SET verified_at = now(), drift = ? WHERE user_id = ?", drift, userId);
+    }
+}
@@ -0,0 +1,210 @@
+package com.devji.account_book.balance.service;
+
+import com.devji.account_book.datasource.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/*
+ * 잔액 검증 작업: 사용자마다 거래 테이블 + 아카이브 세그먼트로 다시 계산해서 저장된 잔액 데이터와 비교
+ * - 아카이브되지 않은 연도는 날짜별 순증감, 세그먼트가 있는 연도는 연간 합계(segment.net_amount + 테이블 잔여분)로 비교
+ * - 월말 체크포인트는 balance_days의 누적 합과, user_balances는 balance_days 전체 합과 비교
+ * 사용자 한 명은 REPEATABLE READ 읽기 전용 트랜잭션 하나로 읽어서 (복제본을 쓰면 복제본에서) 진행 중인 쓰기와 섞이지 않는다.
+ * 차이가 있으면 경고 로그 + balance.verify.drift 지표 + user_balances.drift에 기록하고, repair가 켜져 있으면 다시 만든다.
+ */
+@Slf4j
+@Service
+public class BalanceVerificationJob {
+
+    private static final int USER_BATCH_SIZE = 500;
+    private static final String DRIFT_METRIC = "balance.verify.drift";
+    // 로그에 남길 불일치 항목 수 (날짜별 항목이 많을 수 있으므로 앞쪽만)
+    private static final int LOGGED_PROBLEMS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BalanceService balanceService;
+    private final TransactionTemplate snapshotTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ShardRouter shardRouter;
+
+    // 차이가 있으면 거래 데이터로 다시 만들지 (V8 이전에 아카이브된 거래도 이 재계산으로 반영된다)
+    @Value("${app.balance.verify.repair:true}")
+    private boolean repair;
+
+    public BalanceVerificationJob(JdbcTemplate jdbcTemplate,
+                                  BalanceService balanceService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.balanceService = balanceService;
+        this.meterRegistry = meterRegistry;
+        this.shardRouter = shardRouter;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // 매일 새벽 4시 30분 (월초 아카이브 작업 이후)
+    @Scheduled(cron = "${app.balance.verify.cron:0 30 4 * * *}")
+    public void verifyAll() {
+        shardRouter.forEachShard(this::verifyShard);
+    }
+
+    // 현재 샤드의 사용자 전체 (다른 샤드로 옮겨진 사용자의 남은 행은 제외)
+    private void verifyShard(int shard) {
+        long started = System.nanoTime();
+        long lastId = 0;
+        int checked = 0;
+        int drifted = 0;
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE id > ? AND NOT moved_out ORDER BY id LIMIT ?", Long.class, lastId, USER_BATCH_SIZE);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            for (Long userId : userIds) {
+                try {
+                    if (!verify(userId)) {
+                        drifted++;
+                    }
+                } catch (Exception e) {
+                    log.error("Failed to verify balance of user {}", userId, e);
+                }
+                checked++;
+            }
+            lastId = userIds.get(userIds.size() - 1);
+        }
+        log.info("Verified balances of {} users ({} drifted) on shard {} in {} ms",
+                checked, drifted, shard, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // 일치하면 true
+    public boolean verify(long userId) {
+        Verification result = snapshotTemplate.execute(status -> check(userId));
+        if (result.problems().isEmpty()) {
+            balanceService.recordVerification(userId, null);
+            return true;
+        }
+        BigDecimal drift = result.stored().subtract(result.recomputed());
+        log.warn("Balance drift of user {}: stored {}, recomputed {} ({})",
+                userId, result.stored(), result.recomputed(),
+                String.join(", ", result.problems().subList(0, Math.min(LOGGED_PROBLEMS, result.problems().size()))));
+        meterRegistry.counter(DRIFT_METRIC, "repaired", Boolean.toString(repair)).increment();
+        if (repair) {
+            balanceService.rebuild(userId);
+        }
+        balanceService.recordVerification(userId, drift);
+        return false;
+    }
+
+    private Verification check(long userId) {
+        List<String> problems = new ArrayList<>();
+        BigDecimal stored = jdbcTemplate.query("SELECT balance FROM user_balances WHERE user_id = ?",
+                rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO, userId);
+
+        Map<LocalDate, BigDecimal> days = new TreeMap<>();
+        jdbcTemplate.query("SELECT balance_date, net_amount FROM balance_days WHERE user_id = ?",
+                rs -> {
+                    days.put(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2));
+                }, userId);
+        Map<LocalDate, BigDecimal> table = new TreeMap<>();
+        jdbcTemplate.query("SELECT transaction_date, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) " +
+                        "FROM transactions WHERE user_id = ? AND deleted = FALSE GROUP BY transaction_date",
+                rs -> {
+                    table.put(rs.getObject(1, LocalDate.class), rs.getBigDecimal(2));
+                }, userId);
+        Map<Integer, BigDecimal> segments = new HashMap<>();
+        jdbcTemplate.query("SELECT archive_year, net_amount FROM archive_segments WHERE user_id = ?",
+                rs -> {
+                    segments.put(rs.getInt(1), rs.getBigDecimal(2));
+                }, userId);
+        Map<YearMonth, BigDecimal> checkpoints = new TreeMap<>();
+        jdbcTemplate.query("SELECT checkpoint_month, closing_balance FROM balance_checkpoints WHERE user_id = ?",
+                rs -> {
+                    checkpoints.put(YearMonth.from(rs.getObject(1, LocalDate.class)), rs.getBigDecimal(2));
+                }, userId);
+
+        // 다시 계산한 잔액 = 테이블 + 세그먼트 (net_amount가 아직 없는 세그먼트는 재계산이 필요)
+        BigDecimal recomputed = sum(table.values());
+        for (Map.Entry<Integer, BigDecimal> segment : segments.entrySet()) {
+            if (segment.getValue() == null) {
+                problems.add(segment.getKey() + " segment has no net_amount");
+            } else {
+                recomputed = recomputed.add(segment.getValue());
+            }
+        }
+
+        // 날짜별 / 아카이브된 연도별 순증감
+        TreeSet<LocalDate> dates = new TreeSet<>(days.keySet());
+        dates.addAll(table.keySet());
+        Map<Integer, BigDecimal> archivedRecorded = new HashMap<>();
+        Map<Integer, BigDecimal> archivedTable = new HashMap<>();
+        for (LocalDate date : dates) {
+            BigDecimal recorded = days.getOrDefault(date, BigDecimal.ZERO);
+            BigDecimal actual = table.getOrDefault(date, BigDecimal.ZERO);
+            if (segments.containsKey(date.getYear())) {
+                archivedRecorded.merge(date.getYear(), recorded, BigDecimal::add);
+                archivedTable.merge(date.getYear(), actual, BigDecimal::add);
+            } else if (recorded.compareTo(actual) != 0) {
+                problems.add(date + " net " + recorded + " != " + actual);
+            }
+        }
+        segments.forEach((year, net) -> {
+            if (net == null) {
+                return;
+            }
+            BigDecimal recorded = archivedRecorded.getOrDefault(year, BigDecimal.ZERO);
+            BigDecimal actual = archivedTable.getOrDefault(year, BigDecimal.ZERO).add(net);
+            if (recorded.compareTo(actual) != 0) {
+                problems.add(year + " net " + recorded + " != " + actual);
+            }
+        });
+
+        // 월말 체크포인트 = balance_days 누적 합
+        Map<YearMonth, BigDecimal> monthly = new TreeMap<>();
+        days.forEach((date, net) -> monthly.merge(YearMonth.from(date), net, BigDecimal::add));
+        TreeSet<YearMonth> months = new TreeSet<>(monthly.keySet());
+        months.addAll(checkpoints.keySet());
+        BigDecimal running = BigDecimal.ZERO;
+        for (YearMonth month : months) {
+            running = running.add(monthly.getOrDefault(month, BigDecimal.ZERO));
+            BigDecimal checkpoint = checkpoints.get(month);
+            if (checkpoint == null || checkpoint.compareTo(running) != 0) {
+                problems.add(month + " checkpoint " + checkpoint + " != " + running);
+            }
+        }
+
+        if (stored.compareTo(running) != 0 || stored.compareTo(recomputed) != 0) {
+            problems.add("balance " + stored + " != " + recomputed);
+        }
+        return new Verification(stored, recomputed, problems);
+    }
+
+    private static BigDecimal sum(Iterable<BigDecimal> values) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal value : values) {
+            total = total.add(value);
+        }
+        return total;
+    }
+
+    private record Verification(BigDecimal stored, BigDecimal recomputed, List<String> problems) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.devji.account_book.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/*
+ * 사용자별 마지막 쓰기 시각 기록
+ * 쓰기 후 sticky-window 동안은 복제 지연으로 방금 쓴 데이터가 안 보이는 일이 없도록 primary로 읽는다.
+ * 다른 노드에서 쓴 경우도 알 수 있도록 Redis에 TTL 키로 남기고, 같은 노드에서 쓴 경우는 Redis를 거치지 않는다.
+ * Redis에서 확인한 결과는 노드에 잠깐 기억해서 읽기 전용 커넥션마다 Redis를 부르지 않는다
+ * - 다른 노드의 쓰기를 찾으면 그 쓰기 시각을 로컬 기록으로 (sticky-window가 끝날 때까지 Redis를 다시 보지 않음)
+ * - 쓰기가 없으면 remote-miss-ttl 동안 기억 (그사이 다른 노드에서 쓴 직후의 읽기는 최대 그만큼 복제본으로 갈 수 있음)
+ */
+@Slf4j
+@Component
+public class ReadYourWritesTracker {
+
+    private static final String KEY_PREFIX = "RYW:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ReplicaProperties replicaProperties;
+    private final Cache<Long, Long> localWrites;
+    private final Cache<Long, Boolean> remoteMisses;
+
+    public ReadYourWritesTracker(RedisTemplate<String, String> redisTemplate, ReplicaProperties replicaProperties) {
+        this.redisTemplate = redisTemplate;
+        this.replicaProperties = replicaProperties;
+        this.localWrites = Caffeine.newBuilder()
+                .maximumSize(replicaProperties.getMaxTrackedUsers())
+                .expireAfterWrite(replicaProperties.getStickyWindow())
+                .build();
+        this.remoteMisses = Caffeine.newBuilder()
+                .maximumSize(replicaProperties.getMaxTrackedUsers())
+                .expireAfterWrite(replicaProperties.getRemoteMissTtl())
+                .build();
+    }
+
+    public void markWrite(long userId) {
+        if (!replicaProperties.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        localWrites.put(userId, now);
+        remoteMisses.invalidate(userId);
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, Long.toString(now), replicaProperties.getStickyWindow());
+        } catch (DataAccessException e) {
+            log.warn("Failed to record write time of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    public boolean isRecentWriter(long userId) {
+        Long local = localWrites.getIfPresent(userId);
+        if (local != null && isWithinWindow(local)) {
+            return true;
+        }
+        if (remoteMisses.getIfPresent(userId) != null) {
+            return false;
+        }
+
+        String remote;
+        try {
+            remote = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+        } catch (DataAccessException e) {
+            // Redis를 확인할 수 없으면 안전하게 primary로
+            return true;
+        }
+        if (remote != null) {
+            long writtenAt = Long.parseLong(remote);
+            if (isWithinWindow(writtenAt)) {
+                localWrites.put(userId, writtenAt);
+                return true;
+            }
+        }
+        remoteMisses.put(userId, Boolean.TRUE);
+        return false;
+    }
+
+    private boolean isWithinWindow(long writtenAt) {
+        return System.currentTimeMillis() - writtenAt < replicaProperties.getStickyWindow().toMillis();
+    }
+}
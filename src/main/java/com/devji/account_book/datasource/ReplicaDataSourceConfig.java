@@ -0,0 +1,66 @@
+package com.devji.account_book.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// app.datasource.replica.enabled=true 일 때만 primary/replica 라우팅 DataSource를 등록
+// (false면 Spring Boot 기본 DataSource 자동 설정을 그대로 사용)
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReplicaProperties replicaProperties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             TaskScheduler taskScheduler) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+            // primary 풀 설정을 그대로 복사하고 URL, 풀 이름, 읽기 전용 여부만 바꾼다
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(replicaProperties.getUrls().get(i));
+            config.setPoolName("replica-" + i);
+            config.setReadOnly(true);
+            // 복제본이 내려가 있어도 애플리케이션은 기동되도록 (헬스 체크에서 복구 처리)
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, replicaProperties.getStrategy(), readYourWritesTracker);
+        taskScheduler.scheduleWithFixedDelay(routing::checkHealth, replicaProperties.getHealthCheckInterval());
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        // 트랜잭션의 readOnly 여부가 결정된 뒤 실제 커넥션을 가져오도록 지연
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
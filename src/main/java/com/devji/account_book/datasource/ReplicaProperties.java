@@ -0,0 +1,37 @@
+package com.devji.account_book.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+
+    // 읽기 전용 복제본 JDBC URL 목록 (계정 정보는 spring.datasource와 동일)
+    private List<String> urls = new ArrayList<>();
+
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+
+    // 쓰기 직후 이 시간 동안은 해당 사용자의 읽기도 primary에서 처리 (read-your-writes)
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    // 이 노드에서 쓰지 않은 사용자가 Redis에도 쓰기 기록이 없을 때, 다시 확인하지 않고 복제본으로 보내는 시간
+    private Duration remoteMissTtl = Duration.ofSeconds(1);
+
+    // 노드에 기억하는 사용자 수 상한 (쓰기 기록, Redis 확인 결과 각각)
+    private long maxTrackedUsers = 100_000;
+
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    public enum Strategy {
+        ROUND_ROBIN, LEAST_CONNECTIONS
+    }
+}
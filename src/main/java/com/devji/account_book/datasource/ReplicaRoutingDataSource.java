@@ -0,0 +1,154 @@
+package com.devji.account_book.datasource;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * @Transactional(readOnly = true) 트랜잭션은 복제본으로, 나머지는 primary로 보내는 DataSource
+ * - 트랜잭션 속성이 정해진 뒤에 커넥션을 얻도록 LazyConnectionDataSourceProxy로 감싸서 사용해야 한다.
+ * - 최근에 쓰기를 한 사용자의 읽기, 정상 복제본이 없는 경우는 primary로 보낸다.
+ * - 복제본 커넥션 획득에 실패하면 해당 복제본을 비정상으로 표시하고 primary로 넘긴다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties.Strategy strategy;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReplicaProperties.Strategy strategy, ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.strategy = strategy;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    // 계정을 지정해도 같은 기준으로 고른 풀에 그대로 넘긴다 (지원 여부는 풀이 결정, HikariCP는 지원하지 않음)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionOpener opener) throws SQLException {
+        Replica replica = routeToReplica() ? chooseReplica() : null;
+        if (replica == null) {
+            return opener.open(primary);
+        }
+        try {
+            return opener.open(replica.dataSource);
+        } catch (SQLFeatureNotSupportedException e) {
+            // 복제본 장애가 아니라 primary도 같은 결과
+            throw e;
+        } catch (SQLException e) {
+            replica.healthy = false;
+            log.warn("Replica {} unavailable, falling back to primary: {}", replica.dataSource.getPoolName(), e.getMessage());
+            return opener.open(primary);
+        }
+    }
+
+    // 주기적으로 복제본 상태를 확인해서 복구된 복제본을 다시 사용
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(1);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (replica.healthy != healthy) {
+                log.info("Replica {} is now {}", replica.dataSource.getPoolName(), healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() {
+        // primary 풀은 별도 빈으로 등록되어 있어 Spring이 닫는다
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private boolean routeToReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        Long userId = currentUserId();
+        return userId == null || !readYourWritesTracker.isRecentWriter(userId);
+    }
+
+    private Replica chooseReplica() {
+        return strategy == ReplicaProperties.Strategy.LEAST_CONNECTIONS ? leastConnections() : roundRobin();
+    }
+
+    private Replica roundRobin() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastConnections() {
+        Replica best = null;
+        int bestActive = Integer.MAX_VALUE;
+        for (Replica replica : replicas) {
+            if (!replica.healthy) {
+                continue;
+            }
+            HikariPoolMXBean pool = replica.dataSource.getHikariPoolMXBean();
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < bestActive) {
+                best = replica;
+                bestActive = active;
+            }
+        }
+        return best;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof PrincipalDetails principal) {
+            return principal.getUser().getId();
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionOpener {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.devji.account_book.datasource.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * 이메일 -> 샤드 consistent hash 링
+ * 샤드마다 virtualNodes개의 점을 링에 올려서 샤드 간 분포를 고르게 한다.
+ * 샤드를 추가해도 다시 배치되는 키는 1/N 정도지만, HASH 방식은 id 범위에 샤드가 고정되므로 이 성질은 새 사용자 배치에만 쓰인다.
+ */
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int shardOf(String key) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // MD5 앞 8바이트 (보안 용도가 아니라 분포만 필요, JVM마다 같은 값이 나와야 하므로 String.hashCode는 쓰지 않음)
+    static long hash(String key) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        long hash = 0;
+        for (int i = 0; i < 8; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,123 @@
+package com.devji.account_book.datasource.shard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * shard 0의 shard_directory 테이블로 찾는 샤드 맵
+ * - 요청마다 조회하지 않도록 노드별 Caffeine 캐시에 두고, 사용자를 옮기면 이 노드에서 버린 뒤 Redis pub/sub(shard-directory 채널)으로 알린다.
+ * - 디렉터리에 없는 이메일(가입 전)은 consistent hash로 정한 샤드를 돌려준다 (캐시하지 않음)
+ * 라우팅 DataSource가 이 클래스를 부르므로 디렉터리는 라우팅을 거치지 않는 shard 0 풀로 직접 읽는다.
+ */
+@Slf4j
+public class DirectoryShardMap implements ShardMap, MessageListener {
+
+    public static final String CHANNEL = "shard-directory";
+
+    private final JdbcTemplate directory;
+    private final ConsistentHashRing ring;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Cache<Long, Integer> byUser;
+    private final Cache<String, Integer> byEmail;
+
+    public DirectoryShardMap(JdbcTemplate directory, ConsistentHashRing ring, RedisTemplate<String, String> redisTemplate,
+                             long cacheMaxUsers, Duration cacheTtl) {
+        this.directory = directory;
+        this.ring = ring;
+        this.redisTemplate = redisTemplate;
+        this.byUser = Caffeine.newBuilder().maximumSize(cacheMaxUsers).expireAfterWrite(cacheTtl).build();
+        this.byEmail = Caffeine.newBuilder().maximumSize(cacheMaxUsers).expireAfterWrite(cacheTtl).build();
+    }
+
+    @Override
+    public int shardOfUser(long userId) {
+        Integer shard = byUser.get(userId, key -> first(directory.queryForList(
+                "SELECT shard_id FROM shard_directory WHERE user_id = ?", Integer.class, key)));
+        // 디렉터리에 없는 사용자는 샤딩 이전 데이터 (shard 0)
+        return shard != null ? shard : 0;
+    }
+
+    @Override
+    public int shardOfEmail(String email) {
+        Integer shard = byEmail.get(email, key -> first(directory.queryForList(
+                "SELECT shard_id FROM shard_directory WHERE email = ?", Integer.class, key)));
+        return shard != null ? shard : ring.shardOf(email);
+    }
+
+    // 같은 이메일이 다른 샤드에 먼저 등록되어 있으면 DuplicateKeyException (샤드마다 users.email이 따로 unique이므로 여기서 막는다)
+    @Override
+    public void register(long userId, String email, int shard) {
+        directory.update("INSERT INTO shard_directory (user_id, email, shard_id, updated_at) VALUES (?, ?, ?, now())",
+                userId, email, shard);
+        invalidate(userId, email);
+    }
+
+    @Override
+    public boolean supportsMove() {
+        return true;
+    }
+
+    // 이동 시작 표시 (이미 이동 중이거나 이미 target에 있으면 false)
+    public boolean beginMove(long userId, int target) {
+        return directory.update("UPDATE shard_directory SET moving_to = ?, updated_at = now() " +
+                "WHERE user_id = ? AND moving_to IS NULL AND shard_id <> ?", target, userId, target) == 1;
+    }
+
+    public void abortMove(long userId) {
+        directory.update("UPDATE shard_directory SET moving_to = NULL, updated_at = now() WHERE user_id = ?", userId);
+    }
+
+    // 전환 (이 시점부터 새 요청은 target으로 간다)
+    public void completeMove(long userId, String email, int target) {
+        int updated = directory.update("UPDATE shard_directory SET shard_id = moving_to, moving_to = NULL, updated_at = now() " +
+                "WHERE user_id = ? AND moving_to = ?", userId, target);
+        if (updated != 1) {
+            throw new IllegalStateException("사용자 " + userId + "의 이동 표시가 사라졌습니다.");
+        }
+        invalidate(userId, email);
+    }
+
+    // 원래 샤드 데이터를 지워도 되는지 (디렉터리가 다른 샤드를 가리킨 지 delay 이상 지남)
+    public boolean isMovedAwayBefore(long userId, int shard, Duration delay) {
+        return Boolean.TRUE.equals(directory.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM shard_directory WHERE user_id = ? AND shard_id <> ? AND moving_to IS NULL " +
+                        "AND updated_at < now() - make_interval(secs => ?))",
+                Boolean.class, userId, shard, delay.toSeconds()));
+    }
+
+    public void invalidate(long userId, String email) {
+        evict(userId, email);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, userId + ":" + email);
+        } catch (DataAccessException e) {
+            // 다른 노드는 directory-cache-ttl이 지나면 바뀐 샤드를 읽는다 (그 사이 쓰기는 moved_out 확인으로 막힘)
+            log.warn("Failed to broadcast shard directory change of user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        evict(Long.parseLong(body.substring(0, separator)), body.substring(separator + 1));
+    }
+
+    private void evict(long userId, String email) {
+        byUser.invalidate(userId);
+        byEmail.invalidate(email);
+    }
+
+    private static Integer first(List<Integer> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.devji.account_book.datasource.shard;
+
+/*
+ * 디렉터리 없이 계산만으로 찾는 샤드 맵
+ * - 새 사용자: 이메일의 consistent hash
+ * - 사용자 id: shard k의 id는 k << 40부터 발급되므로 (ShardSchemaInitializer) 상위 비트가 곧 샤드 번호
+ * 조회 비용은 없지만 샤드 수를 바꾸거나 사용자를 옮길 수 없고, 샤딩 이전에 가입한 사용자(모두 shard 0)를 이메일로 찾지 못한다.
+ */
+public class HashShardMap implements ShardMap {
+
+    private final ConsistentHashRing ring;
+    private final int shardCount;
+
+    public HashShardMap(ConsistentHashRing ring, int shardCount) {
+        this.ring = ring;
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public int shardOfUser(long userId) {
+        int shard = (int) (userId >>> ShardSchemaInitializer.ID_SHIFT);
+        return shard < shardCount ? shard : 0;
+    }
+
+    @Override
+    public int shardOfEmail(String email) {
+        return ring.shardOf(email);
+    }
+
+    @Override
+    public void register(long userId, String email, int shard) {
+        // 계산으로 찾으므로 기록할 것이 없음
+    }
+
+    @Override
+    public boolean supportsMove() {
+        return false;
+    }
+}
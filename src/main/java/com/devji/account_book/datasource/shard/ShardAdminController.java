@@ -0,0 +1,36 @@
+package com.devji.account_book.datasource.shard;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/shards")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.datasource.shards", name = "enabled", havingValue = "true")
+public class ShardAdminController {
+
+    private final ShardRouter shardRouter;
+    private final ShardMoveService shardMoveService;
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<Map<String, Object>> getShard(@PathVariable long userId) {
+        return ResponseEntity.ok(Map.of("userId", userId, "shard", shardRouter.shardOfUser(userId)));
+    }
+
+    // 오래 걸릴 수 있는 동기 호출 (복사량은 사용자 거래 수에 비례)
+    @PostMapping("/users/{userId}/move")
+    public ResponseEntity<ShardMoveService.MoveResult> move(@PathVariable long userId, @RequestParam int target) {
+        return ResponseEntity.ok(shardMoveService.move(userId, target));
+    }
+}
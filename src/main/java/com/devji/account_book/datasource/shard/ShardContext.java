@@ -0,0 +1,33 @@
+package com.devji.account_book.datasource.shard;
+
+/*
+ * 현재 스레드가 사용할 샤드 (로그인 사용자가 없는 곳: 로그인/가입, 스케줄 작업, 비동기 작업)
+ * 지정되어 있지 않으면 ShardRoutingDataSource가 로그인 사용자의 샤드를 사용한다.
+ * 트랜잭션이 시작되기 전에 지정해야 한다 (이미 가져온 커넥션은 바뀌지 않음)
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    // 이전 값을 반환 (restore로 되돌린다)
+    static Integer set(int shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
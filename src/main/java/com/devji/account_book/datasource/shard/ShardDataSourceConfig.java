@@ -0,0 +1,89 @@
+package com.devji.account_book.datasource.shard;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// app.datasource.shards.enabled=true 일 때만 사용자별 샤드 라우팅 DataSource를 등록
+// (복제본 라우팅과는 함께 쓸 수 없음, false면 Spring Boot 기본 DataSource 또는 ReplicaDataSourceConfig를 사용)
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.shards", name = "enabled", havingValue = "true")
+public class ShardDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource shard0DataSource(DataSourceProperties properties,
+                                             @Value("${app.datasource.replica.enabled:false}") boolean replicaEnabled) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("app.datasource.shards와 app.datasource.replica는 함께 켤 수 없습니다.");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardMap shardMap(HikariDataSource shard0DataSource,
+                             ShardProperties shardProperties,
+                             RedisTemplate<String, String> redisTemplate,
+                             RedisMessageListenerContainer listenerContainer) {
+        ConsistentHashRing ring = new ConsistentHashRing(shardProperties.getShardCount(), shardProperties.getVirtualNodes());
+        if (shardProperties.getStrategy() == ShardProperties.Strategy.HASH) {
+            return new HashShardMap(ring, shardProperties.getShardCount());
+        }
+        DirectoryShardMap directory = new DirectoryShardMap(new JdbcTemplate(shard0DataSource), ring, redisTemplate,
+                shardProperties.getDirectoryCacheMaxUsers(), shardProperties.getDirectoryCacheTtl());
+        listenerContainer.addMessageListener(directory, new ChannelTopic(DirectoryShardMap.CHANNEL));
+        return directory;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(HikariDataSource shard0DataSource,
+                                                         ShardProperties shardProperties,
+                                                         ShardMap shardMap) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        shards.add(shard0DataSource);
+        ShardRowCopier copier = new ShardRowCopier(shardProperties.getCopyBatchSize());
+        if (!shardProperties.getUrls().isEmpty()) {
+            // Spring Boot의 Flyway는 이 DataSource가 만들어진 뒤에 돌므로, 전역 카테고리를 읽어올 shard 0을 먼저 맞춰둔다
+            ShardSchemaInitializer.migrate(shard0DataSource);
+        }
+        for (int i = 0; i < shardProperties.getUrls().size(); i++) {
+            int shardId = i + 1;
+            // shard 0 풀 설정을 그대로 복사하고 URL, 풀 이름만 바꾼다
+            HikariConfig config = new HikariConfig();
+            shard0DataSource.copyStateTo(config);
+            config.setJdbcUrl(shardProperties.getUrls().get(i));
+            config.setPoolName("shard-" + shardId);
+            HikariDataSource shard = new HikariDataSource(config);
+            // 복제본과 달리 샤드 하나가 없으면 그 샤드 사용자를 처리할 수 없으므로 기동 시점에 준비까지 끝낸다
+            ShardSchemaInitializer.initialize(shard0DataSource, shard, shardId, copier);
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards, shardMap);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        // 트랜잭션을 시작한 뒤 실제 쿼리 시점의 ShardContext/로그인 사용자로 커넥션을 고르도록 지연
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,19 @@
+package com.devji.account_book.datasource.shard;
+
+/*
+ * 사용자 -> 샤드
+ * 이메일은 로그인/토큰 재발급처럼 아직 사용자 id를 모를 때, id는 로그인한 사용자의 요청을 보낼 때 사용한다.
+ */
+public interface ShardMap {
+
+    int shardOfUser(long userId);
+
+    // 가입된 사용자가 있는 샤드 (없으면 새 사용자를 둘 샤드)
+    int shardOfEmail(String email);
+
+    // 가입 직후 (id가 정해진 뒤)
+    void register(long userId, String email, int shard);
+
+    // 사용자를 다른 샤드로 옮길 수 있는지
+    boolean supportsMove();
+}
@@ -0,0 +1,348 @@
+package com.devji.account_book.datasource.shard;
+
+import com.devji.account_book.expense.exception.ConflictException;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
+import com.devji.account_book.expense.service.TransactionPartitionManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+ * 사용자 한 명을 다른 샤드로 온라인 이동 (DIRECTORY 방식만)
+ * 1. 복사: 원래 샤드의 스냅샷(REPEATABLE READ)을 target에 복사, 그 시점의 최대 change_seq를 기억
+ * 2. 따라잡기: 이동 중에도 쓰기는 원래 샤드로 계속 들어오므로 change_seq가 더 큰 거래만 반복해서 다시 복사
+ *    (거래 쓰기는 모두 같은 트랜잭션에서 users.change_version을 올리고 그 값을 change_seq로 남기므로 빠짐없이 찾을 수 있다)
+ * 3. 전환: 원래 샤드의 users 행을 FOR UPDATE로 잠가 쓰기를 멈추고(ChangeVersionService.bump가 같은 행을 갱신),
+ *    남은 변경과 작은 테이블을 복사한 뒤 moved_out 표시 -> target 커밋 -> 디렉터리 전환 -> 원래 샤드 커밋
+ *    잠금을 기다리던 쓰기와 디렉터리 캐시가 늦게 바뀐 노드의 쓰기는 moved_out 때문에 503으로 끝나고, 재시도하면 target으로 간다.
+ * 4. 정리: cleanup-delay가 지난 뒤 원래 샤드의 행을 지운다 (cleanupMovedUsers)
+ * 공유 장부 구성원은 옮길 수 없다 (장부의 거래는 구성원 모두가 같은 샤드에 있어야 읽을 수 있음)
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.datasource.shards", name = "enabled", havingValue = "true")
+public class ShardMoveService {
+
+    // 복사 순서 (지울 때는 역순), categories는 target의 거래/규칙이 참조하므로 지우지 않고 없는 것만 넣는다
+    private static final List<UserTable> SMALL_TABLES = List.of(
+            new UserTable("users", "id = ?"),
+            new UserTable("ledgers", "owner_user_id = ? AND personal"),
+            new UserTable("ledger_members", "user_id = ?"),
+            new UserTable("category_rules", "user_id = ?"),
+            new UserTable("user_balances", "user_id = ?"),
+            new UserTable("balance_days", "user_id = ?"),
+            new UserTable("balance_checkpoints", "user_id = ?"),
+            new UserTable("import_jobs", "user_id = ?"),
+            new UserTable("report_jobs", "user_id = ?"),
+            new UserTable("archive_segments", "user_id = ?"));
+    private static final List<UserTable> SMALL_TABLES_REVERSED = reversed(SMALL_TABLES);
+
+    private final ShardRoutingDataSource routing;
+    private final DirectoryShardMap directory;
+    private final ShardRouter shardRouter;
+    private final TransactionPartitionManager partitionManager;
+    private final ShardProperties properties;
+    private final ShardRowCopier copier;
+
+    public ShardMoveService(ShardRoutingDataSource routing,
+                            ShardMap shardMap,
+                            ShardRouter shardRouter,
+                            TransactionPartitionManager partitionManager,
+                            ShardProperties properties) {
+        this.routing = routing;
+        this.directory = shardMap instanceof DirectoryShardMap directoryShardMap ? directoryShardMap : null;
+        this.shardRouter = shardRouter;
+        this.partitionManager = partitionManager;
+        this.properties = properties;
+        this.copier = new ShardRowCopier(properties.getCopyBatchSize());
+    }
+
+    public MoveResult move(long userId, int target) {
+        if (directory == null) {
+            throw new UnprocessableRequestException("사용자 이동은 DIRECTORY 방식에서만 할 수 있습니다.");
+        }
+        if (target < 0 || target >= routing.shardCount()) {
+            throw new UnprocessableRequestException("없는 샤드입니다: " + target);
+        }
+        int source = directory.shardOfUser(userId);
+        if (source == target) {
+            throw new UnprocessableRequestException("이미 샤드 " + target + "에 있는 사용자입니다.");
+        }
+        String email = checkMovable(userId, source);
+        if (!directory.beginMove(userId, target)) {
+            throw new ConflictException("이미 이동 중인 사용자입니다.");
+        }
+        long startedAt = System.currentTimeMillis();
+        try {
+            ensurePartitions(userId, source, target);
+            long seq = copySnapshot(userId, source, target);
+            int rounds = 0;
+            while (rounds < properties.getMaxCatchUpRounds()) {
+                rounds++;
+                CatchUp catchUp = catchUp(userId, source, target, seq);
+                seq = catchUp.seq();
+                // 한 번에 따라잡을 만큼 줄었으면 잠그고 전환
+                if (catchUp.rows() < properties.getCopyBatchSize()) {
+                    break;
+                }
+            }
+            long transactions = cutover(userId, email, source, target, seq);
+            long elapsed = System.currentTimeMillis() - startedAt;
+            log.info("Moved user {} from shard {} to {} ({} transactions, {} catch-up rounds, {} ms)",
+                    userId, source, target, transactions, rounds, elapsed);
+            return new MoveResult(userId, source, target, transactions, rounds, elapsed);
+        } catch (SQLException | RuntimeException e) {
+            directory.abortMove(userId);
+            log.error("Failed to move user {} from shard {} to {}", userId, source, target, e);
+            throw new IllegalStateException("사용자 " + userId + " 이동에 실패했습니다.", e);
+        }
+    }
+
+    // 이동이 끝난 사용자의 원래 샤드 데이터 정리
+    @Scheduled(fixedDelayString = "${app.datasource.shards.cleanup-interval-ms:60000}")
+    public void cleanupMovedUsers() {
+        if (directory == null) {
+            return;
+        }
+        for (int shard = 0; shard < routing.shardCount(); shard++) {
+            try (Connection connection = routing.shard(shard).getConnection()) {
+                for (long userId : queryIds(connection, "SELECT id FROM users WHERE moved_out")) {
+                    if (directory.isMovedAwayBefore(userId, shard, properties.getCleanupDelay())) {
+                        deleteUser(connection, userId);
+                        log.info("Removed moved user {} from shard {}", userId, shard);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.error("Failed to clean up moved users of shard {}", shard, e);
+            }
+        }
+    }
+
+    private String checkMovable(long userId, int source) {
+        try (Connection connection = routing.shard(source).getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT u.email, EXISTS (SELECT 1 FROM ledger_members m JOIN ledgers l ON l.id = m.ledger_id " +
+                             "WHERE m.user_id = u.id AND NOT l.personal) FROM users u WHERE u.id = ? AND NOT u.moved_out")) {
+            statement.setLong(1, userId);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new NotFoundException("사용자를 찾을 수 없습니다.");
+                }
+                if (rs.getBoolean(2)) {
+                    throw new UnprocessableRequestException("공유 장부 구성원은 다른 샤드로 옮길 수 없습니다.");
+                }
+                return rs.getString(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 거래가 default 파티션에 쌓이지 않도록 원래 샤드에 있는 달의 파티션을 target에 먼저 만든다
+    private void ensurePartitions(long userId, int source, int target) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        try (Connection connection = routing.shard(source).getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT DISTINCT date_trunc('month', transaction_date)::date FROM transactions WHERE user_id = ?")) {
+            statement.setLong(1, userId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    months.add(YearMonth.from(rs.getObject(1, LocalDate.class)));
+                }
+            }
+        }
+        shardRouter.runOn(target, () -> months.forEach(partitionManager::ensurePartition));
+    }
+
+    // 스냅샷 복사 (복사한 시점의 최대 change_seq)
+    private long copySnapshot(long userId, int source, int target) throws SQLException {
+        try (Connection from = routing.shard(source).getConnection();
+             Connection to = routing.shard(target).getConnection()) {
+            from.setAutoCommit(false);
+            from.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            to.setAutoCommit(false);
+            try {
+                // 이전에 실패한 이동이나 되돌아온 사용자의 남은 행
+                deleteRows(to, userId);
+                long seq = maxChangeSeq(from, userId);
+                copier.copy(from, to, "categories", true, "user_id = ?", userId);
+                for (UserTable table : SMALL_TABLES) {
+                    copier.copy(from, to, table.name(), false, table.where(), userId);
+                }
+                copier.copy(from, to, "transactions", false, "user_id = ?", userId);
+                to.commit();
+                from.commit();
+                return seq;
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                from.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private CatchUp catchUp(long userId, int source, int target, long seq) throws SQLException {
+        try (Connection from = routing.shard(source).getConnection();
+             Connection to = routing.shard(target).getConnection()) {
+            from.setAutoCommit(false);
+            from.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            to.setAutoCommit(false);
+            try {
+                CatchUp catchUp = copyChanges(from, to, userId, seq);
+                to.commit();
+                from.commit();
+                return catchUp;
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                from.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // 전환 (target의 거래 수)
+    private long cutover(long userId, String email, int source, int target, long seq) throws SQLException {
+        try (Connection from = routing.shard(source).getConnection();
+             Connection to = routing.shard(target).getConnection()) {
+            from.setAutoCommit(false);
+            to.setAutoCommit(false);
+            try {
+                // 이 사용자의 쓰기 중지 (진행 중인 쓰기가 커밋될 때까지 기다림)
+                try (PreparedStatement lock = from.prepareStatement("SELECT id FROM users WHERE id = ? FOR UPDATE")) {
+                    lock.setLong(1, userId);
+                    lock.executeQuery().close();
+                }
+                copyChanges(from, to, userId, seq);
+                // 아카이브처럼 change_seq를 남기지 않고 지운 행이 있으면 거래 전체를 다시 복사
+                long count = countTransactions(from, userId);
+                if (countTransactions(to, userId) != count) {
+                    copier.delete(to, "transactions", "user_id = ?", userId);
+                    copier.copy(from, to, "transactions", false, "user_id = ?", userId);
+                }
+                copier.copy(from, to, "categories", true, "user_id = ?", userId);
+                for (UserTable table : SMALL_TABLES_REVERSED) {
+                    copier.delete(to, table.name(), table.where(), userId);
+                }
+                for (UserTable table : SMALL_TABLES) {
+                    copier.copy(from, to, table.name(), false, table.where(), userId);
+                }
+                try (PreparedStatement fence = from.prepareStatement("UPDATE users SET moved_out = TRUE WHERE id = ?")) {
+                    fence.setLong(1, userId);
+                    fence.executeUpdate();
+                }
+                to.commit();
+                // 여기서 실패하면 원래 샤드는 롤백되어 그대로 쓰이고, target에 남은 행은 다음 이동에서 지운다
+                directory.completeMove(userId, email, target);
+                from.commit();
+                return count;
+            } catch (SQLException | RuntimeException e) {
+                to.rollback();
+                from.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // seq 이후에 바뀐 거래를 다시 복사 (삭제 표시도 change_seq가 바뀌므로 함께 옮겨진다)
+    private CatchUp copyChanges(Connection from, Connection to, long userId, long seq) throws SQLException {
+        long next = maxChangeSeq(from, userId);
+        if (next <= seq) {
+            return new CatchUp(seq, 0);
+        }
+        Long[] ids;
+        try (PreparedStatement statement = from.prepareStatement(
+                "SELECT id FROM transactions WHERE user_id = ? AND change_seq > ? AND change_seq <= ?")) {
+            statement.setLong(1, userId);
+            statement.setLong(2, seq);
+            statement.setLong(3, next);
+            List<Long> changed = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    changed.add(rs.getLong(1));
+                }
+            }
+            ids = changed.toArray(Long[]::new);
+        }
+        // 날짜가 바뀐 거래는 다른 파티션으로 옮겨졌을 수 있으므로 (id, 날짜)가 아니라 id로 지우고 다시 넣는다
+        copier.delete(to, "transactions", "user_id = ? AND id = ANY(?)", userId, ids);
+        copier.copy(from, to, "transactions", false, "user_id = ? AND id = ANY(?)", userId, ids);
+        return new CatchUp(next, ids.length);
+    }
+
+    private void deleteUser(Connection connection, long userId) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            deleteRows(connection, userId);
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void deleteRows(Connection connection, long userId) throws SQLException {
+        copier.delete(connection, "transactions", "user_id = ?", userId);
+        for (UserTable table : SMALL_TABLES_REVERSED) {
+            copier.delete(connection, table.name(), table.where(), userId);
+        }
+        copier.delete(connection, "categories", "user_id = ?", userId);
+    }
+
+    private static long maxChangeSeq(Connection connection, long userId) throws SQLException {
+        return queryLong(connection, "SELECT COALESCE(MAX(change_seq), 0) FROM transactions WHERE user_id = ?", userId);
+    }
+
+    private static long countTransactions(Connection connection, long userId) throws SQLException {
+        return queryLong(connection, "SELECT count(*) FROM transactions WHERE user_id = ?", userId);
+    }
+
+    private static long queryLong(Connection connection, String sql, long userId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, userId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static List<Long> queryIds(Connection connection, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static <T> List<T> reversed(List<T> list) {
+        List<T> copy = new ArrayList<>(list);
+        Collections.reverse(copy);
+        return List.copyOf(copy);
+    }
+
+    private record UserTable(String name, String where) {
+    }
+
+    private record CatchUp(long seq, int rows) {
+    }
+
+    public record MoveResult(long userId, int fromShard, int toShard, long transactions, int catchUpRounds, long elapsedMillis) {
+    }
+}
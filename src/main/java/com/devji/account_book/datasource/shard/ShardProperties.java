@@ -0,0 +1,47 @@
+package com.devji.account_book.datasource.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.shards")
+public class ShardProperties {
+
+    private boolean enabled = false;
+
+    // shard 1 ~ N의 JDBC URL (shard 0은 spring.datasource, 계정 정보도 spring.datasource와 동일)
+    private List<String> urls = new ArrayList<>();
+
+    private Strategy strategy = Strategy.DIRECTORY;
+
+    // HASH: 샤드마다 링에 올리는 가상 노드 수
+    private int virtualNodes = 128;
+
+    // DIRECTORY: 노드별 디렉터리 캐시 (이동하면 pub/sub으로 버리고, 메시지를 놓친 노드는 ttl이 지나면 다시 읽음)
+    private long directoryCacheMaxUsers = 100000;
+    private Duration directoryCacheTtl = Duration.ofMinutes(1);
+
+    // 이동이 끝난 사용자의 원래 샤드 데이터를 지우기까지 기다리는 시간 (이전 디렉터리로 읽는 노드가 남아 있을 수 있음)
+    private Duration cleanupDelay = Duration.ofMinutes(10);
+
+    // 이동 중 따라잡기(change_seq 기준) 반복 횟수 상한, 한 번에 복사하는 행 수
+    private int maxCatchUpRounds = 20;
+    private int copyBatchSize = 1000;
+
+    public int getShardCount() {
+        return urls.size() + 1;
+    }
+
+    public enum Strategy {
+        // 이메일의 consistent hash로 샤드를 정하고 id 범위에 샤드 번호를 담는다 (사용자 이동 불가, 빈 클러스터에서 시작할 때만)
+        HASH,
+        // shard 0의 shard_directory 테이블로 찾는다 (새 사용자는 hash로 배치, 이동 가능)
+        DIRECTORY
+    }
+}
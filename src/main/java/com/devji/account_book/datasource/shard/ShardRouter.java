@@ -0,0 +1,90 @@
+package com.devji.account_book.datasource.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/*
+ * 로그인 사용자가 없는 곳(가입/로그인, 스케줄 작업, 비동기 작업)에서 샤드를 지정하는 진입점
+ * 샤딩이 꺼져 있으면 샤드 0 하나만 있는 것처럼 동작하므로 호출하는 쪽은 샤딩 여부를 몰라도 된다.
+ */
+@Component
+public class ShardRouter {
+
+    private final ShardRoutingDataSource routing;
+    private final ShardMap shardMap;
+
+    public ShardRouter(ObjectProvider<ShardRoutingDataSource> routing, ObjectProvider<ShardMap> shardMap) {
+        this.routing = routing.getIfAvailable();
+        this.shardMap = shardMap.getIfAvailable();
+    }
+
+    public boolean isEnabled() {
+        return routing != null;
+    }
+
+    public int shardCount() {
+        return routing != null ? routing.shardCount() : 1;
+    }
+
+    public int shardOfUser(long userId) {
+        return shardMap != null ? shardMap.shardOfUser(userId) : 0;
+    }
+
+    public int shardOfEmail(String email) {
+        return shardMap != null ? shardMap.shardOfEmail(email) : 0;
+    }
+
+    public void register(long userId, String email, int shard) {
+        if (shardMap != null) {
+            shardMap.register(userId, email, shard);
+        }
+    }
+
+    // 지금 커넥션을 얻으면 가게 될 샤드 (비동기 작업에 넘길 때)
+    public int currentShard() {
+        return routing != null ? routing.currentShard() : 0;
+    }
+
+    public <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T callAsUser(long userId, Supplier<T> action) {
+        return callOn(shardOfUser(userId), action);
+    }
+
+    // 샤드마다 한 번씩 (한 샤드가 실패해도 나머지 샤드는 처리하고, 첫 예외를 마지막에 다시 던진다)
+    public void forEachShard(IntConsumer action) {
+        RuntimeException failure = null;
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int current = shard;
+            try {
+                runOn(current, () -> action.accept(current));
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.devji.account_book.datasource.shard;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/*
+ * 사용자별 샤드로 커넥션을 보내는 DataSource
+ * - ShardContext가 지정되어 있으면 그 샤드, 아니면 로그인 사용자의 샤드, 둘 다 없으면 shard 0 (Flyway, 디렉터리)
+ * - 거래 쿼리는 모두 userId 조건이 있으므로 요청 하나의 쿼리는 모두 한 샤드에서 끝난다 (샤드 간 조인/트랜잭션 없음)
+ * - 트랜잭션이 시작된 뒤 실제 쿼리 시점에 커넥션을 얻도록 LazyConnectionDataSourceProxy로 감싸서 사용
+ */
+public class ShardRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final List<HikariDataSource> shards;
+    private final ShardMap shardMap;
+
+    public ShardRoutingDataSource(List<HikariDataSource> shards, ShardMap shardMap) {
+        this.shards = shards;
+        this.shardMap = shardMap;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return shard(currentShard()).getConnection();
+    }
+
+    // 계정을 지정해도 같은 샤드 풀로 (지원 여부는 풀이 결정, HikariCP는 지원하지 않음)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return shard(currentShard()).getConnection(username, password);
+    }
+
+    public int currentShard() {
+        Integer shard = ShardContext.current();
+        if (shard != null) {
+            return shard;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof PrincipalDetails principal
+                && principal.getUser().getId() != null) {
+            return shardMap.shardOfUser(principal.getUser().getId());
+        }
+        return 0;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    // 라우팅을 거치지 않는 샤드 풀 (사용자 이동, 샤드 초기화)
+    public HikariDataSource shard(int shard) {
+        if (shard < 0 || shard >= shards.size()) {
+            throw new IllegalArgumentException("없는 샤드입니다: " + shard);
+        }
+        return shards.get(shard);
+    }
+
+    @Override
+    public void close() {
+        // shard 0 풀은 별도 빈으로 등록되어 있어 Spring이 닫는다
+        shards.stream().skip(1).forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,110 @@
+package com.devji.account_book.datasource.shard;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/*
+ * 샤드 간 행 복사 (사용자 이동, 새 샤드의 전역 카테고리)
+ * 열 목록은 information_schema에서 읽으므로 테이블에 열이 추가되어도 고칠 곳이 없다.
+ * id는 원래 값을 그대로 옮긴다 (샤드마다 id 범위가 달라서 충돌하지 않음, ShardSchemaInitializer 참고)
+ * 호출하는 쪽에서 커넥션의 트랜잭션(autocommit=false)을 관리한다.
+ */
+class ShardRowCopier {
+
+    private final int batchSize;
+    private final Map<String, Columns> columns = new ConcurrentHashMap<>();
+
+    ShardRowCopier(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    // source에서 where 조건의 행을 읽어 target에 넣는다 (복사한 행 수)
+    int copy(Connection source, Connection target, String table, boolean skipExisting, String where, Object... params)
+            throws SQLException {
+        Columns cols = columns(source, table);
+        String select = "SELECT " + cols.list() + " FROM " + table + " WHERE " + where;
+        String insert = "INSERT INTO " + table + " (" + cols.list() + ")" + (cols.identity() ? " OVERRIDING SYSTEM VALUE" : "") +
+                " VALUES (" + cols.names().stream().map(name -> "?").collect(Collectors.joining(", ")) + ")" +
+                (skipExisting ? " ON CONFLICT DO NOTHING" : "");
+        int copied = 0;
+        try (PreparedStatement read = source.prepareStatement(select);
+             PreparedStatement write = target.prepareStatement(insert)) {
+            read.setFetchSize(batchSize);
+            bind(source, read, params);
+            try (ResultSet rs = read.executeQuery()) {
+                int pending = 0;
+                while (rs.next()) {
+                    for (int i = 1; i <= cols.names().size(); i++) {
+                        write.setObject(i, rs.getObject(i));
+                    }
+                    write.addBatch();
+                    copied++;
+                    if (++pending == batchSize) {
+                        write.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    write.executeBatch();
+                }
+            }
+        }
+        return copied;
+    }
+
+    int delete(Connection connection, String table, String where, Object... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + table + " WHERE " + where)) {
+            bind(connection, statement, params);
+            return statement.executeUpdate();
+        }
+    }
+
+    // Long[]은 bigint 배열로 (id = ANY(?))
+    private static void bind(Connection connection, PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object param = params[i];
+            statement.setObject(i + 1, param instanceof Long[] ids ? connection.createArrayOf("bigint", ids) : param);
+        }
+    }
+
+    private Columns columns(Connection connection, String table) throws SQLException {
+        Columns cached = columns.get(table);
+        if (cached != null) {
+            return cached;
+        }
+        List<String> names = new ArrayList<>();
+        boolean identity = false;
+        // 생성 열(GENERATED ... STORED)은 넣을 수 없으므로 제외
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT column_name, is_identity FROM information_schema.columns " +
+                        "WHERE table_schema = current_schema() AND table_name = ? AND is_generated = 'NEVER' " +
+                        "ORDER BY ordinal_position")) {
+            statement.setString(1, table);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                    identity |= "YES".equals(rs.getString(2));
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalStateException("테이블이 없습니다: " + table);
+        }
+        Columns loaded = new Columns(List.copyOf(names), identity);
+        columns.put(table, loaded);
+        return loaded;
+    }
+
+    private record Columns(List<String> names, boolean identity) {
+        String list() {
+            return String.join(", ", names);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.devji.account_book.datasource.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * shard 1 ~ N 준비 (shard 0은 Spring Boot의 Flyway 자동 설정이 처리)
+ * 1. 같은 마이그레이션 적용
+ * 2. 빈 샤드면 전역 카테고리/규칙을 shard 0과 같은 id로 맞춘다
+ *    (마이그레이션이 만든 id는 샤드마다 다를 수 있고, CategoryDictionary는 id -> 이름을 노드 전체에서 공유한다)
+ * 3. 시퀀스 시작값을 샤드마다 겹치지 않는 범위로 (BIGINT: k << 40, INTEGER: k << 24)
+ *    사용자 id만 보고 샤드를 알 수 있고(HASH), 옮긴 행의 id가 다른 샤드의 id와 부딪히지 않는다.
+ * 이후 마이그레이션에서 전역 카테고리를 추가할 때는 id를 직접 지정해야 샤드 간 id가 어긋나지 않는다.
+ */
+@Slf4j
+final class ShardSchemaInitializer {
+
+    static final int ID_SHIFT = 40;
+    static final int INTEGER_ID_SHIFT = 24;
+
+    private ShardSchemaInitializer() {
+    }
+
+    // spring.flyway와 같은 설정 (shard 0에 다시 실행해도 적용할 것이 없으면 아무것도 하지 않음)
+    static void migrate(HikariDataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    static void initialize(HikariDataSource shard0, HikariDataSource shard, int shardId, ShardRowCopier copier) {
+        migrate(shard);
+        try (Connection source = shard0.getConnection(); Connection target = shard.getConnection()) {
+            copyGlobalCategories(source, target, copier);
+            reserveIdRanges(target, shardId);
+        } catch (SQLException e) {
+            throw new IllegalStateException("샤드 " + shardId + " 초기화에 실패했습니다.", e);
+        }
+        log.info("Shard {} is ready ({})", shardId, shard.getJdbcUrl());
+    }
+
+    private static void copyGlobalCategories(Connection source, Connection target, ShardRowCopier copier) throws SQLException {
+        try (Statement statement = target.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM users)")) {
+            rs.next();
+            if (rs.getBoolean(1)) {
+                return;
+            }
+        }
+        target.setAutoCommit(false);
+        try {
+            copier.delete(target, "category_rules", "user_id IS NULL");
+            copier.delete(target, "categories", "user_id IS NULL");
+            copier.copy(source, target, "categories", false, "user_id IS NULL");
+            copier.copy(source, target, "category_rules", false, "user_id IS NULL");
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(true);
+        }
+    }
+
+    private static void reserveIdRanges(Connection connection, int shardId) throws SQLException {
+        List<String[]> sequences = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT schemaname || '.' || sequencename, data_type::text, " +
+                     "COALESCE(last_value, 0) FROM pg_sequences WHERE schemaname = current_schema()")) {
+            while (rs.next()) {
+                sequences.add(new String[]{rs.getString(1), rs.getString(2), Long.toString(rs.getLong(3))});
+            }
+        }
+        for (String[] sequence : sequences) {
+            long start = "integer".equals(sequence[1]) ? (long) shardId << INTEGER_ID_SHIFT : (long) shardId << ID_SHIFT;
+            if (Long.parseLong(sequence[2]) >= start) {
+                continue;
+            }
+            try (PreparedStatement statement = connection.prepareStatement("SELECT setval(?, ?, false)")) {
+                statement.setString(1, sequence[0]);
+                statement.setLong(2, start);
+                statement.execute();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.devji.account_book.expense.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/*
+ * 바이너리 응답 형식 (Accept 헤더로 선택, 기본은 JSON)
+ * - application/x-jackson-smile
+ * - application/cbor
+ * JSON과 같은 Jackson 설정(날짜 형식, 모듈)을 쓰도록 Spring Boot가 구성한 builder로 만든다.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    // Page 대신 PageResponse로 응답하는 JSON
+    public static final MediaType SLIM_JSON = MediaType.parseMediaType("application/vnd.account-book.slim+json");
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,26 @@
+package com.devji.account_book.expense.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/*
+ * SSE 전송 스레드 풀 (TransactionStreamService)
+ * 연결마다 drain 작업이 많아야 하나씩만 올라오므로 대기열은 연결 수를 넘지 않는다 (server.tomcat.max-connections와 맞춤).
+ * 스레드 수만큼의 느린 클라이언트가 동시에 쓰기에 묶여도 나머지 연결의 이벤트는 대기열에서 기다릴 뿐 유실되지 않는다.
+ */
+@Configuration
+public class StreamConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor streamSendExecutor(@Value("${app.stream.send-threads:4}") int threads,
+                                                     @Value("${server.tomcat.max-connections:8192}") int maxConnections) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("sse-send-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(maxConnections);
+        return executor;
+    }
+}
@@ -0,0 +1,69 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.expense.dto.CategoryRuleDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.CategoryDictionary;
+import com.devji.account_book.expense.service.CategoryRuleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/category-rules")
+@RequiredArgsConstructor
+public class CategoryRuleController {
+
+    private final CategoryRuleService categoryRuleService;
+    private final CategoryDictionary categoryDictionary;
+
+    @GetMapping
+    public ResponseEntity<List<CategoryRuleDto>> getRules(@AuthenticationPrincipal PrincipalDetails principalDetails) {
+        return ResponseEntity.ok(categoryRuleService.getRules(principalDetails.getUser().getId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryRuleDto> createRule(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @Valid @RequestBody CategoryRuleDto request) {
+        CategoryRuleDto created = categoryRuleService.createRule(principalDetails.getUser().getId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CategoryRuleDto> updateRule(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id,
+            @Valid @RequestBody CategoryRuleDto request) {
+        return ResponseEntity.ok(categoryRuleService.updateRule(principalDetails.getUser().getId(), id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id) {
+        categoryRuleService.deleteRule(principalDetails.getUser().getId(), id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 규칙 미리보기: 이 거래를 만들면 어떤 카테고리로 분류되는지 (맞는 규칙이 없으면 category: null)
+    @GetMapping("/match")
+    public ResponseEntity<Map<String, Object>> match(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam TransactionType type,
+            @RequestParam(required = false) BigDecimal amount,
+            @RequestParam String description) {
+        Integer categoryId = categoryRuleService.categorize(principalDetails.getUser().getId(), type, amount, description);
+        Map<String, Object> response = new HashMap<>();
+        response.put("category", categoryDictionary.getName(categoryId));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.expense.config.MessageConverterConfig;
+import com.devji.account_book.expense.dto.PageResponse;
+import com.devji.account_book.ledger.controller.LedgerController;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/*
+ * 거래 목록 응답 형식 선택
+ * 바이너리(Smile/CBOR)나 slim JSON을 요청한 클라이언트에는 Page 대신 PageResponse로 응답한다.
+ * 기본 JSON 응답(Page 전체 구조)은 기존 클라이언트를 위해 그대로 유지
+ */
+@RestControllerAdvice(assignableTypes = {TransactionController.class, LedgerController.class})
+public class PageEnvelopeAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Page<?> page && isSlim(selectedContentType)) {
+            return PageResponse.of(page);
+        }
+        return body;
+    }
+
+    private static boolean isSlim(MediaType contentType) {
+        return MessageConverterConfig.SMILE.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)
+                || MessageConverterConfig.SLIM_JSON.isCompatibleWith(contentType);
+    }
+}
@@ -0,0 +1,45 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.expense.dto.SyncMutationRequest;
+import com.devji.account_book.expense.dto.SyncMutationResult;
+import com.devji.account_book.expense.dto.SyncResponse;
+import com.devji.account_book.expense.service.SyncService;
+import com.devji.account_book.expense.service.TransactionService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Validated
+public class SyncController {
+
+    private final TransactionService transactionService;
+    private final SyncService syncService;
+
+    // token 이후 변경분 조회 (hasMore가 true면 nextToken으로 이어서 요청)
+    @GetMapping("/transactions")
+    public ResponseEntity<SyncResponse> getChanges(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam(required = false) String token,
+            @RequestParam(defaultValue = "500") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(transactionService.getChanges(principalDetails.getUser().getId(), token, limit));
+    }
+
+    // 오프라인 중 쌓인 변경 일괄 반영 (건별 결과를 같은 순서로 반환)
+    @PostMapping("/transactions")
+    public ResponseEntity<List<SyncMutationResult>> applyMutations(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @Valid @RequestBody SyncMutationRequest request) {
+        return ResponseEntity.ok(syncService.applyMutations(principalDetails.getUser().getId(), request.getMutations()));
+    }
+}
@@ -2,20 +2,32 @@ package com.devji.account_book.expense.controller;
 
 import com.devji.account_book.auth.security.PrincipalDetails;
 import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.service.ChangeVersionService;
+import com.devji.account_book.expense.service.IdempotencyService;
+import com.devji.account_book.expense.service.TransactionPageCache;
 import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.expense.service.TransactionStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -25,14 +37,39 @@ import java.util.Map;
 @Slf4j
 public class TransactionController {
     
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String LIST_REQUESTS_METRIC = "transactions.list.requests";
+    // 브라우저가 캐시는 하되 매번 ETag로 재검증하도록
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final TransactionService transactionService;
+    private final ChangeVersionService changeVersionService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionStreamService transactionStreamService;
+    private final TransactionPageCache transactionPageCache;
+    private final MeterRegistry meterRegistry;
     
     // 거래 생성
+    // Idempotency-Key 헤더가 있으면 타임아웃 후 재시도해도 한 번만 생성하고 처음 응답을 그대로 돌려줌
     @PostMapping
-    public ResponseEntity<TransactionDto> createTransaction(@AuthenticationPrincipal PrincipalDetails principalDetails, @Valid @RequestBody TransactionDto transactionDto) {
+    public ResponseEntity<TransactionDto> createTransaction(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) @Size(max = 100) String idempotencyKey,
+            @Valid @RequestBody TransactionDto transactionDto) {
         log.info("Creating new transaction: {}", transactionDto);
-        TransactionDto created = transactionService.createTransaction(principalDetails.getUser().getId(), transactionDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        long userId = principalDetails.getUser().getId();
+        if (idempotencyKey == null) {
+            TransactionDto created = transactionService.createTransaction(userId, transactionDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        }
+
+        IdempotencyService.Result<TransactionDto> result = idempotencyService.execute(
+                userId, idempotencyKey, transactionDto, TransactionDto.class,
+                () -> transactionService.createTransaction(userId, transactionDto));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, Boolean.toString(result.replayed()))
+                .body(result.response());
     }
     
     // 거래 수정
@@ -45,14 +82,25 @@ public class TransactionController {
         TransactionDto updated = transactionService.updateTransaction(principalDetails.getUser().getId(), id, transactionDto);
         return ResponseEntity.ok(updated);
     }
-//
-//    // 거래 삭제
-//    @DeleteMapping("/{id}")
-//    public ResponseEntity<Void> deleteTransaction(@PathVariable Long id) {
-//        log.info("Deleting transaction: {}", id);
-//        transactionService.deleteTransaction(id);
-//        return ResponseEntity.noContent().build();
-//    }
+
+    // 거래 삭제
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTransaction(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id,
+            @RequestParam(required = false) Long version) {
+        log.info("Deleting transaction: {}", id);
+        transactionService.deleteTransaction(principalDetails.getUser().getId(), id, version);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 거래 변경 실시간 스트림 (SSE), 재접속 시 브라우저가 Last-Event-ID를 보내면 놓친 이벤트부터 전송
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTransactions(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return transactionStreamService.connect(principalDetails.getUser().getId(), lastEventId);
+    }
 //
 //    // 거래 단일 조회
 //    @GetMapping("/{id}")
@@ -62,13 +110,26 @@ public class TransactionController {
 //    }
 //
     // 거래 목록 조회 (페이징)
+    // 변경 버전이 같으면 (If-None-Match 일치) 거래 테이블을 조회하지 않고 304 응답
+    // 앞쪽 페이지는 같은 변경 버전 키로 캐시 (TransactionPageCache)
     @GetMapping
     public ResponseEntity<Page<TransactionDto>> getTransactions(
             @AuthenticationPrincipal PrincipalDetails principalDetails,
             @RequestParam(defaultValue = "0") @Min(0) int page,
-            @RequestParam(defaultValue = "20") @Min(1) int size) {
-        Page<TransactionDto> transactions = transactionService.getTransactions(principalDetails.getUser().getId(), page, size);
-        return ResponseEntity.ok(transactions);
+            @RequestParam(defaultValue = "20") @Min(1) int size,
+            WebRequest webRequest) {
+        String etag = changeVersionService.listEtag(principalDetails.getUser().getChangeVersion(), page, size);
+        if (webRequest.checkNotModified(etag)) {
+            meterRegistry.counter(LIST_REQUESTS_METRIC, "result", "not_modified").increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(LIST_CACHE_CONTROL)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+
+        meterRegistry.counter(LIST_REQUESTS_METRIC, "result", "full").increment();
+        long userId = principalDetails.getUser().getId();
+        Page<TransactionDto> transactions = transactionPageCache.get(userId, principalDetails.getUser().getChangeVersion(),
+                page, size, () -> transactionService.getTransactions(userId, page, size));
+        return ResponseEntity.ok().eTag(etag).cacheControl(LIST_CACHE_CONTROL).varyBy(HttpHeaders.ACCEPT).body(transactions);
     }
 //
 //    // 거래 검색
@@ -80,17 +141,30 @@ public class TransactionController {
 //        Page<TransactionDto> transactions = transactionService.searchTransactions(keyword, page, size);
 //        return ResponseEntity.ok(transactions);
 //    }
-//
-//    // 기간별 거래 조회
-//    @GetMapping("/date-range")
-//    public ResponseEntity<Page<TransactionDto>> getTransactionsByDateRange(
-//            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-//            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-//            @RequestParam(defaultValue = "0") @Min(0) int page,
-//            @RequestParam(defaultValue = "20") @Min(1) int size) {
-//        Page<TransactionDto> transactions = transactionService.getTransactionsByDateRange(startDate, endDate, page, size);
-//        return ResponseEntity.ok(transactions);
-//    }
+
+    // 기간별 거래 조회
+    @GetMapping("/date-range")
+    public ResponseEntity<Page<TransactionDto>> getTransactionsByDateRange(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) int size) {
+        Page<TransactionDto> transactions = transactionService.getTransactionsByDateRange(
+                principalDetails.getUser().getId(), startDate, endDate, page, size);
+        return ResponseEntity.ok(transactions);
+    }
+
+    // 기간별 거래 내보내기 (아카이브된 과거 거래 포함)
+    @GetMapping("/export")
+    public ResponseEntity<List<TransactionDto>> exportTransactions(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        List<TransactionDto> transactions = transactionService.exportTransactions(
+                principalDetails.getUser().getId(), startDate, endDate);
+        return ResponseEntity.ok(transactions);
+    }
 //
 //    // 월별 통계
 //    @GetMapping("/stats/{year}/{month}")
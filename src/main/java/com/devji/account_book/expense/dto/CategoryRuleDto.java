@@ -0,0 +1,45 @@
+package com.devji.account_book.expense.dto;
+
+import com.devji.account_book.expense.entity.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+// 자동 분류 규칙 (keyword, pattern, minAmount, maxAmount 중 하나 이상 필요)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRuleDto {
+    private Long id;
+
+    // 작을수록 먼저 적용 (없으면 100, 기본 전역 규칙은 1000)
+    @Min(value = 0, message = "우선순위는 0 이상이어야 합니다")
+    private Integer priority;
+
+    @Size(max = 100, message = "키워드는 100자 이하여야 합니다")
+    private String keyword;
+
+    @Size(max = 255, message = "정규식은 255자 이하여야 합니다")
+    private String pattern;
+
+    @DecimalMin(value = "0", message = "금액은 0 이상이어야 합니다")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0", message = "금액은 0 이상이어야 합니다")
+    private BigDecimal maxAmount;
+
+    // 없으면 수입/지출 모두
+    private TransactionType transactionType;
+
+    @NotBlank(message = "카테고리는 필수입니다")
+    @Size(max = 255, message = "카테고리는 255자 이하여야 합니다")
+    private String category;
+
+    // 전역 규칙 여부 (응답 전용, 전역 규칙은 수정할 수 없음)
+    private boolean global;
+}
@@ -0,0 +1,27 @@
+package com.devji.account_book.expense.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+// Page 응답의 간단한 형태 (pageable/sort 등 반복되는 메타데이터 제외)
+// Smile/CBOR 응답이나 Accept: application/vnd.account-book.slim+json 요청에 사용 (PageEnvelopeAdvice)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private boolean hasNext;
+
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return new PageResponse<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.hasNext());
+    }
+}
@@ -0,0 +1,19 @@
+package com.devji.account_book.expense.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChange {
+    private Long changeSeq;
+
+    // true면 삭제된 거래 (transaction에는 id, version만 담김)
+    private boolean deleted;
+
+    private TransactionDto transaction;
+}
@@ -0,0 +1,35 @@
+package com.devji.account_book.expense.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncMutation {
+
+    // 클라이언트가 결과를 자기 로컬 변경과 짝지을 때 쓰는 값 (서버는 그대로 돌려줌)
+    @NotBlank(message = "clientMutationId는 필수입니다")
+    private String clientMutationId;
+
+    @NotNull(message = "op는 필수입니다")
+    private Operation op;
+
+    // UPDATE, DELETE 대상 거래 id
+    private Long id;
+
+    // 클라이언트가 마지막으로 받은 서버 버전 (다르면 CONFLICT)
+    private Long version;
+
+    // CREATE, UPDATE 내용
+    private TransactionDto transaction;
+
+    public enum Operation {
+        CREATE, UPDATE, DELETE
+    }
+}
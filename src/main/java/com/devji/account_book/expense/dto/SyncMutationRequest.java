@@ -0,0 +1,20 @@
+package com.devji.account_book.expense.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncMutationRequest {
+
+    @NotNull(message = "mutations는 필수입니다")
+    @Size(max = 100, message = "한 번에 100건까지 보낼 수 있습니다")
+    private List<@Valid SyncMutation> mutations;
+}
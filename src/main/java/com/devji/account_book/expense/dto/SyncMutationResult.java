@@ -0,0 +1,24 @@
+package com.devji.account_book.expense.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncMutationResult {
+    private String clientMutationId;
+    private Status status;
+
+    // APPLIED면 반영된 결과, CONFLICT면 현재 서버 상태 (이미 삭제됐으면 null)
+    private TransactionDto transaction;
+
+    private String message;
+
+    public enum Status {
+        APPLIED, CONFLICT, REJECTED
+    }
+}
@@ -0,0 +1,26 @@
+package com.devji.account_book.expense.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private List<SyncChange> changes;
+
+    // 다음 동기화 요청에 그대로 보낼 token
+    private String nextToken;
+
+    // true면 limit에 걸려 아직 남은 변경분이 있음 (nextToken으로 바로 이어서 요청)
+    private boolean hasMore;
+
+    // true면 token이 너무 오래되어 (그 뒤의 삭제 표시가 지워짐) 이어서 받을 수 없음
+    // 클라이언트는 로컬 사본을 비우고 token 없이 처음부터 다시 동기화
+    private boolean resetRequired;
+}
@@ -18,10 +18,17 @@ import java.time.LocalDateTime;
 public class TransactionDto {
     private Long id;
 
+    // 생성 요청에서 비워 두면 개인 장부
+    private Long ledgerId;
+
+    // 작성자 (공유 장부 목록에서 누가 쓴 거래인지)
+    private Long userId;
+
     @NotNull(message = "거래 유형은 필수입니다")
     private TransactionType type;
 
-    @NotBlank(message = "카테고리는 필수입니다")
+    // 비워 두면 자동 분류 규칙(CategoryRuleService)으로 정함
+    @Size(max = 255, message = "카테고리는 255자 이하여야 합니다")
     private String category;
 
     @NotNull(message = "금액은 필수입니다")
@@ -37,4 +44,7 @@ public class TransactionDto {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // 낙관적 잠금 버전 (수정 요청에 담아 보내면 그 사이 다른 기기에서 바뀐 경우 충돌 처리)
+    private Long version;
 }
@@ -0,0 +1,59 @@
+package com.devji.account_book.expense.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 자동 분류 규칙 (user_id가 null이면 전역 규칙), 조건이 모두 맞으면 category로 분류
+// 여러 규칙이 맞으면 priority가 작은 규칙, 같으면 사용자 규칙, 그다음 먼저 만든 규칙
+@Entity
+@Table(name = "category_rules")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer priority;
+
+    // 설명에 포함된 문자열 (대소문자 무시)
+    @Column(length = 100)
+    private String keyword;
+
+    // 설명 정규식 (find, 대소문자 무시)
+    private String pattern;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal maxAmount;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    // categories.id
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,27 +15,34 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions") // transaction_date 기준 월별 파티션 테이블 (db/migration/V2 참고)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@SQLRestriction("deleted = false") // 삭제 표시된 행은 일반 조회에서 제외 (동기화 조회는 native query 사용)
 public class Transaction {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // 작성자
     @Column(nullable = false)
     private Long userId;
+
+    // 거래가 속한 장부 (ledgers.id)
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TransactionType type; // INCOME, EXPENSE
     
-    @Column(nullable = false)
-    private String category;
+    // categories.id (이름은 CategoryDictionary로 변환)
+    @Column(name = "category_id", nullable = false)
+    private Integer categoryId;
     
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
@@ -51,4 +59,20 @@ public class Transaction {
     
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    // 마지막으로 바뀐 시점의 users.change_version (동기화 토큰 기준)
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    // 삭제 표시 (동기화 클라이언트에 삭제를 전달하기 위한 tombstone)
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean deleted = false;
+
+    // 중복 판별용 지문 (TransactionFingerprint, 명세서 가져오기에서 사용)
+    @Column(name = "dedup_hash")
+    private byte[] dedupHash;
+
+    @Version
+    private Long version;
 }
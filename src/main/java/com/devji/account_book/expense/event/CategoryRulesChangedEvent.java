@@ -0,0 +1,5 @@
+package com.devji.account_book.expense.event;
+
+// 사용자의 자동 분류 규칙이 바뀜 (커밋 후 모든 노드의 컴파일된 분류기를 버린다)
+public record CategoryRulesChangedEvent(long userId) {
+}
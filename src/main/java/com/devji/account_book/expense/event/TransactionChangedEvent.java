@@ -0,0 +1,13 @@
+package com.devji.account_book.expense.event;
+
+import com.devji.account_book.expense.dto.TransactionDto;
+
+// 거래 변경 이벤트 (version = 변경 후 users.change_version, SSE 이벤트 id로도 사용)
+// DELETED 이벤트의 transaction에는 id만 들어 있고, IMPORTED 이벤트에는 transaction이 없다.
+public record TransactionChangedEvent(
+        long userId,
+        long version,
+        TransactionEventType type,
+        TransactionDto transaction
+) {
+}
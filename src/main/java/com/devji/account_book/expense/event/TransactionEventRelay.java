@@ -0,0 +1,51 @@
+package com.devji.account_book.expense.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/*
+ * 커밋된 거래 변경 이벤트를 Redis로 전달
+ * - 재접속(Last-Event-ID) 시 놓친 이벤트를 다시 보내기 위한 사용자별 replay 버퍼 (최신 replay-size 개)
+ * - 모든 앱 노드로 퍼뜨리기 위한 pub/sub 채널
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEventRelay {
+
+    public static final String CHANNEL = "transaction-events";
+    public static final String REPLAY_KEY_PREFIX = "TXE:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.stream.replay-size:100}")
+    private int replaySize;
+
+    @Value("${app.stream.replay-ttl:1h}")
+    private Duration replayTtl;
+
+    @TransactionalEventListener
+    public void relay(TransactionChangedEvent event) {
+        try {
+            String message = objectMapper.writeValueAsString(event);
+            String key = REPLAY_KEY_PREFIX + event.userId();
+            redisTemplate.opsForList().leftPush(key, message);
+            redisTemplate.opsForList().trim(key, 0, replaySize - 1);
+            redisTemplate.expire(key, replayTtl);
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (JsonProcessingException | DataAccessException e) {
+            // 이벤트 전달 실패가 이미 커밋된 쓰기를 실패로 만들지 않도록 기록만 남김
+            log.warn("Failed to relay transaction event of user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.devji.account_book.expense.event;
+
+public enum TransactionEventType {
+    CREATED, UPDATED, DELETED,
+    // 명세서 가져오기로 여러 건이 한꺼번에 추가됨 (transaction 없음, 클라이언트는 목록을 다시 조회)
+    IMPORTED
+}
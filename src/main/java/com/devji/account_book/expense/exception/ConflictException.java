@@ -0,0 +1,11 @@
+package com.devji.account_book.expense.exception;
+
+import org.springframework.http.HttpStatus;
+
+// 409 - 현재 상태와 충돌하는 요청 (중복 가입 등)
+public class ConflictException extends BusinessException {
+
+    public ConflictException(String message) {
+        super(HttpStatus.CONFLICT, message);
+    }
+}
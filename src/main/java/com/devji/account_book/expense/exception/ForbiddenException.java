@@ -0,0 +1,11 @@
+package com.devji.account_book.expense.exception;
+
+import org.springframework.http.HttpStatus;
+
+// 403 - 볼 수는 있지만 권한이 부족한 리소스 (장부 VIEWER의 거래 수정 등)
+public class ForbiddenException extends BusinessException {
+
+    public ForbiddenException(String message) {
+        super(HttpStatus.FORBIDDEN, message);
+    }
+}
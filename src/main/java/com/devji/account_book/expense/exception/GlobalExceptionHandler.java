@@ -1,57 +1,100 @@
 package com.devji.account_book.expense.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/*
+ * 오류 응답은 RFC 7807 ProblemDetail (application/problem+json)
+ * - 4xx(클라이언트 오류)는 스택 트레이스 없이 debug/info 로그만 남긴다
+ * - 5xx(서버 오류)만 error 로그 + 스택 트레이스
+ * Spring MVC 표준 예외(잘못된 JSON, 필수 파라미터 누락 등)는 ResponseEntityExceptionHandler가 처리
+ */
 @RestControllerAdvice
 @Slf4j
-public class GlobalExceptionHandler {
-    
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException e) {
-        log.error("Runtime exception occurred: ", e);
-        
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Bad Request");
-        errorResponse.put("message", e.getMessage());
-        
-        return ResponseEntity.badRequest().body(errorResponse);
-    }
-    
-    @ExceptionHandler({MethodArgumentNotValidException.class, BindException.class})
-    public ResponseEntity<Map<String, Object>> handleValidationException(Exception e) {
-        log.error("Validation exception occurred: ", e);
-        
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
-        errorResponse.put("error", "Validation Failed");
-        errorResponse.put("message", "입력값이 유효하지 않습니다.");
-        
-        return ResponseEntity.badRequest().body(errorResponse);
-    }
-    
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final String VALIDATION_FAILED = "입력값이 유효하지 않습니다.";
+
+    @ExceptionHandler(BusinessException.class)
+    public ProblemDetail handleBusinessException(BusinessException e) {
+        log.debug("{}: {}", e.getClass().getSimpleName(), e.getMessage());
+        return ProblemDetail.forStatusAndDetail(e.getStatus(), e.getMessage());
+    }
+
+    // 다른 기기에서 먼저 수정/삭제한 거래를 이전 버전 기준으로 수정하려는 경우
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        log.info("Optimistic locking conflict: {} #{}", e.getPersistentClassName(), e.getIdentifier());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "다른 곳에서 먼저 변경된 거래입니다. 새로고침 후 다시 시도해주세요.");
+    }
+
+    // @Validated 컨트롤러의 @RequestParam 제약 위반 (@Min 등)
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ProblemDetail handleConstraintViolation(ConstraintViolationException e) {
+        log.debug("Constraint violation: {}", e.getMessage());
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, VALIDATION_FAILED);
+        Map<String, String> errors = new LinkedHashMap<>();
+        e.getConstraintViolations().forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        problem.setProperty("errors", errors);
+        return problem;
+    }
+
+    @ExceptionHandler(BindException.class)
+    public ProblemDetail handleBindException(BindException e) {
+        log.debug("Binding failed: {}", e.getMessage());
+        return validationProblem(e);
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception e) {
+    public ProblemDetail handleGenericException(Exception e) {
         log.error("Unexpected exception occurred: ", e);
-        
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("timestamp", LocalDateTime.now());
-        errorResponse.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        errorResponse.put("error", "Internal Server Error");
-        errorResponse.put("message", "서버 오류가 발생했습니다.");
-        
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        return ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류가 발생했습니다.");
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        log.debug("Validation failed: {}", ex.getMessage());
+        return ResponseEntity.badRequest().headers(headers).body(validationProblem(ex));
+    }
+
+    // ResponseStatusException 등 상태 코드를 직접 가진 예외
+    @Override
+    protected ResponseEntity<Object> handleErrorResponseException(ErrorResponseException ex, HttpHeaders headers,
+                                                                  HttpStatusCode status, WebRequest request) {
+        if (status.is5xxServerError()) {
+            log.error("Server error: ", ex);
+        } else {
+            log.debug("Error response {}: {}", status.value(), ex.getMessage());
+        }
+        return super.handleErrorResponseException(ex, headers, status, request);
+    }
+
+    private static ProblemDetail validationProblem(BindException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, VALIDATION_FAILED);
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (FieldError error : e.getFieldErrors()) {
+            errors.putIfAbsent(error.getField(), error.getDefaultMessage());
+        }
+        problem.setProperty("errors", errors);
+        return problem;
     }
 }
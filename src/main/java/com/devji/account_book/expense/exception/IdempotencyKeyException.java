@@ -0,0 +1,11 @@
+package com.devji.account_book.expense.exception;
+
+import org.springframework.http.HttpStatus;
+
+// Idempotency-Key 재사용 오류 (같은 키로 처리 중이면 409, 다른 요청 본문에 재사용하면 422)
+public class IdempotencyKeyException extends BusinessException {
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(status, message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.devji.account_book.expense.exception;
+
+import org.springframework.http.HttpStatus;
+
+// 503 - 다른 샤드로 옮겨지는 중이거나 옮겨진 사용자의 쓰기 (디렉터리 캐시가 바뀐 뒤 다시 시도하면 처리됨)
+public class ShardMovedException extends BusinessException {
+
+    public ShardMovedException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.devji.account_book.expense.repository;
+
+import com.devji.account_book.expense.entity.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    // 사용자 전용 카테고리 조회
+    Optional<Category> findByUserIdAndName(Long userId, String name);
+
+    // 사용자 전용 카테고리 전체 (CategoryDictionary가 사용자 단위로 캐시)
+    List<Category> findByUserId(Long userId);
+
+    // 전역 카테고리 조회
+    Optional<Category> findByUserIdIsNullAndName(String name);
+
+    List<Category> findByUserIdIsNull();
+
+    // 동시에 같은 카테고리를 생성해도 한 행만 남도록 충돌 시 무시
+    @Modifying
+    @Query(value = "INSERT INTO categories (user_id, name) VALUES (:userId, :name) " +
+            "ON CONFLICT (user_id, name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+}
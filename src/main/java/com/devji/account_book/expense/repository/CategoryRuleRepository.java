@@ -0,0 +1,26 @@
+package com.devji.account_book.expense.repository;
+
+import com.devji.account_book.expense.entity.CategoryRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+
+    // 사용자 규칙 + 전역 규칙 (자동 분류기 생성용)
+    @Query("SELECT r FROM CategoryRule r WHERE r.userId = :userId OR r.userId IS NULL")
+    List<CategoryRule> findApplicable(@Param("userId") Long userId);
+
+    List<CategoryRule> findByUserIdOrderByPriorityAscIdAsc(Long userId);
+
+    List<CategoryRule> findByUserIdIsNullOrderByPriorityAscIdAsc();
+
+    Optional<CategoryRule> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+}
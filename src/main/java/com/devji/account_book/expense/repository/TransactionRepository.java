@@ -20,6 +20,9 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     // 사용자별 거래 내역 조회
     Page<Transaction> findByUserIdOrderByTransactionDateDescCreatedAtDesc(Long userId, Pageable pageable);
 
+    // 장부별 거래 내역 조회 (idx_transactions_ledger_date 한 번의 범위 스캔, 행마다 권한을 확인하지 않음)
+    Page<Transaction> findByLedgerIdOrderByTransactionDateDescCreatedAtDesc(Long ledgerId, Pageable pageable);
+
     // 사용자별 특정 거래 조회
     Optional<Transaction> findByIdAndUserId(Long id, Long userId);
 //
@@ -31,10 +34,42 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
 //    Page<Transaction> findByUserIdAndSearch(@Param("userId") String userId,
 //                                          @Param("keyword") String keyword,
 //                                          Pageable pageable);
-//
-//    // 사용자별 기간별 거래 조회
-//    Page<Transaction> findByUserIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(
-//            String userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // 사용자별 기간별 거래 조회
+    // transaction_date 컬럼에 직접 범위 조건을 걸어야 파티션 pruning이 동작함 (YEAR()/MONTH() 같은 함수 사용 X)
+    Page<Transaction> findByUserIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(
+            Long userId, LocalDate startDate, LocalDate endDate, Pageable pageable);
+
+    // 아카이브 기준일 이후 거래 조회
+    Page<Transaction> findByUserIdAndTransactionDateGreaterThanEqualOrderByTransactionDateDescCreatedAtDesc(
+            Long userId, LocalDate startDate, Pageable pageable);
+
+    List<Transaction> findByUserIdAndTransactionDateBetween(Long userId, LocalDate startDate, LocalDate endDate);
+
+    List<Transaction> findByUserIdAndTransactionDateLessThanEqual(Long userId, LocalDate endDate);
+
+    long countByUserIdAndTransactionDateBefore(Long userId, LocalDate date);
+
+    // 아카이브 기준일 이전에 남은 거래의 연도별 건수 ([연도, 건수], 범위 조건은 transaction_date에 직접)
+    @Query("SELECT YEAR(t.transactionDate), COUNT(t) FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate <= :endDate GROUP BY YEAR(t.transactionDate)")
+    List<Object[]> countByYearUpTo(@Param("userId") Long userId, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT YEAR(t.transactionDate), COUNT(t) FROM Transaction t WHERE t.userId = :userId " +
+            "AND t.transactionDate BETWEEN :startDate AND :endDate GROUP BY YEAR(t.transactionDate)")
+    List<Object[]> countByYearBetween(@Param("userId") Long userId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    // 동기화용 변경분 조회 (삭제 표시된 행 포함, (change_seq, id) 순서로 token 이후만)
+    // idx_transactions_user_change_seq 인덱스를 타므로 비용이 전체 거래 수가 아니라 변경 건수에 비례
+    @Query(value = "SELECT * FROM transactions WHERE user_id = :userId " +
+            "AND (change_seq, id) > (:changeSeq, :id) ORDER BY change_seq, id LIMIT :limit",
+            nativeQuery = true)
+    List<Transaction> findChangesSince(@Param("userId") Long userId,
+                                       @Param("changeSeq") long changeSeq,
+                                       @Param("id") long id,
+                                       @Param("limit") int limit);
 //
 //    // 사용자별 카테고리별 거래 조회
 //    Page<Transaction> findByUserIdAndCategoryOrderByTransactionDateDescCreatedAtDesc(
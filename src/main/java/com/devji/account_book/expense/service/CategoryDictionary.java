@@ -0,0 +1,142 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.entity.Category;
+import com.devji.account_book.expense.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+ * 카테고리 이름 <-> id 양방향 사전
+ * transactions 테이블에는 작은 정수 id만 저장하고, API에서는 기존처럼 문자열 카테고리를 주고받는다.
+ * - 전역 카테고리: 수십 개뿐이므로 기동 시 모두 읽어 계속 유지
+ * - 사용자 카테고리: 사용자별로 전부 한 번에 읽어 cache-max-users명까지만 유지 (cache-ttl이 지나면 다시 읽음)
+ *   사용자 목록이 통째로 있으므로 "사용자 행 없음"도 알 수 있어서, 전역 카테고리와 이름이 같은 사용자 카테고리가
+ *   캐시 상태에 따라 가려지지 않는다 (같은 이름이 항상 같은 id로 바뀌어야 GROUP BY가 갈라지지 않음)
+ */
+@Slf4j
+@Component
+public class CategoryDictionary {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate requiresNewTemplate;
+
+    private final ConcurrentMap<String, Integer> globalIds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> globalNames = new ConcurrentHashMap<>();
+    // userId -> (이름 -> id), 그 사용자의 카테고리 전체
+    private final Cache<Long, ConcurrentMap<String, Integer>> userIds;
+    private final Cache<Integer, String> userNames;
+
+    public CategoryDictionary(CategoryRepository categoryRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.category.cache-max-users:100000}") long cacheMaxUsers,
+                              @Value("${app.category.cache-ttl:30m}") Duration cacheTtl) {
+        this.categoryRepository = categoryRepository;
+        // 바깥 트랜잭션이 롤백되더라도 캐시에 올라간 id가 DB에 남아 있도록 생성은 별도 트랜잭션에서 처리
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.userIds = Caffeine.newBuilder().maximumSize(cacheMaxUsers).expireAfterAccess(cacheTtl).build();
+        // 사용자당 수십 개 수준
+        this.userNames = Caffeine.newBuilder().maximumSize(cacheMaxUsers * 16).expireAfterAccess(cacheTtl).build();
+    }
+
+    // 전역 카테고리 미리 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        categoryRepository.findByUserIdIsNull().forEach(this::register);
+        log.info("Loaded {} global categories", globalIds.size());
+    }
+
+    // 이름 -> id (사용자 전용 카테고리가 전역 카테고리보다 우선, 없으면 사용자 전용으로 생성)
+    public int resolveId(long userId, String name) {
+        String normalized = normalize(name);
+
+        Integer id = userCategories(userId).get(normalized);
+        if (id != null) {
+            return id;
+        }
+        id = globalIds.get(normalized);
+        if (id != null) {
+            return id;
+        }
+        Category global = categoryRepository.findByUserIdIsNullAndName(normalized).orElse(null);
+        if (global != null) {
+            register(global);
+            return global.getId();
+        }
+        return register(create(userId, normalized));
+    }
+
+    // id -> 이름
+    public String getName(Integer id) {
+        if (id == null) {
+            return null;
+        }
+        String name = globalNames.get(id);
+        if (name == null) {
+            name = userNames.getIfPresent(id);
+        }
+        if (name != null) {
+            return name;
+        }
+        return categoryRepository.findById(id)
+                .map(category -> {
+                    register(category);
+                    return category.getName();
+                })
+                .orElse(null);
+    }
+
+    private Map<String, Integer> userCategories(long userId) {
+        return userIds.get(userId, key -> {
+            ConcurrentMap<String, Integer> byName = new ConcurrentHashMap<>();
+            for (Category category : categoryRepository.findByUserId(key)) {
+                String categoryName = category.getName().intern();
+                byName.put(categoryName, category.getId());
+                userNames.put(category.getId(), categoryName);
+            }
+            return byName;
+        });
+    }
+
+    // 동시에 같은 이름을 만들면 ON CONFLICT로 한 행만 남고, 둘 다 그 행의 id를 읽는다
+    private Category create(long userId, String name) {
+        return requiresNewTemplate.execute(status -> {
+            categoryRepository.insertIfAbsent(userId, name);
+            return categoryRepository.findByUserIdAndName(userId, name)
+                    .orElseThrow(() -> new IllegalStateException("카테고리 생성에 실패했습니다: " + name));
+        });
+    }
+
+    private int register(Category category) {
+        String name = category.getName().intern();
+        if (category.getUserId() == null) {
+            globalIds.put(name, category.getId());
+            globalNames.put(category.getId(), name);
+        } else {
+            // 읽어 둔 목록이 없으면 다음 조회 때 새로 만든 것까지 한 번에 읽는다
+            ConcurrentMap<String, Integer> byName = userIds.getIfPresent(category.getUserId());
+            if (byName != null) {
+                byName.put(name, category.getId());
+            }
+            userNames.put(category.getId(), name);
+        }
+        return category.getId();
+    }
+
+    private static String normalize(String name) {
+        return name.trim();
+    }
+}
@@ -0,0 +1,289 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.entity.CategoryRule;
+import com.devji.account_book.expense.entity.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/*
+ * 한 사용자에게 적용되는 분류 규칙(사용자 + 전역)을 미리 컴파일한 불변 객체
+ * - keyword가 있는 규칙: 모든 keyword를 Aho-Corasick 오토마톤 하나로 묶어 설명을 한 번만 훑는다
+ *   (keyword가 맞은 규칙만 나머지 조건(금액, 유형, 정규식)을 확인)
+ * - keyword가 없는 규칙(정규식, 금액 범위만): 순위 순서의 decision list, 이미 찾은 규칙보다 순위가 낮아지면 중단
+ * 규칙 순위(rank)는 priority -> 사용자 규칙 우선 -> id 순으로 매긴 0부터의 번호, 작을수록 우선
+ * 정규식은 사용자가 쓰므로 역추적이 폭발하는 패턴((a+)+$ 등)이 있을 수 있다. 검사 한 번에 patternTimeout을 넘기면
+ * 그 규칙은 맞지 않은 것으로 본다 (요청/가져오기 스레드를 붙잡지 않도록).
+ * 여러 스레드가 동시에 match를 호출해도 된다.
+ */
+@Slf4j
+public final class CategoryRuleMatcher {
+
+    public static final Duration DEFAULT_PATTERN_TIMEOUT = Duration.ofMillis(20);
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+    private static final int ROOT = 0;
+    private static final int[] NO_OUTPUT = new int[0];
+    private static final Comparator<CategoryRule> RANK = Comparator
+            .comparing(CategoryRule::getPriority)
+            .thenComparing(rule -> rule.getUserId() == null)
+            .thenComparing(CategoryRule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final CompiledRule[] rules;
+
+    // 오토마톤: 상태별 전이(정렬된 문자 + 대상 상태), 실패 링크, 그 상태에서 끝나는 keyword 규칙의 rank (오름차순)
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    // keyword 없는 규칙의 rank (오름차순)
+    private final int[] decisionList;
+
+    private CategoryRuleMatcher(CompiledRule[] rules, char[][] edgeChars, int[][] edgeTargets, int[] fail,
+                                int[][] outputs, int[] decisionList) {
+        this.rules = rules;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputs = outputs;
+        this.decisionList = decisionList;
+    }
+
+    public static CategoryRuleMatcher compile(List<CategoryRule> source) {
+        return compile(source, DEFAULT_PATTERN_TIMEOUT);
+    }
+
+    public static CategoryRuleMatcher compile(List<CategoryRule> source, Duration patternTimeout) {
+        long patternTimeoutNanos = patternTimeout.toNanos();
+        List<CategoryRule> sorted = new ArrayList<>(source);
+        sorted.sort(RANK);
+
+        CompiledRule[] rules = new CompiledRule[sorted.size()];
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(new ArrayList<>());
+        List<Integer> decisions = new ArrayList<>();
+
+        for (int rank = 0; rank < sorted.size(); rank++) {
+            CategoryRule rule = sorted.get(rank);
+            rules[rank] = CompiledRule.of(rule, patternTimeoutNanos);
+            String keyword = rule.getKeyword();
+            if (keyword == null || keyword.isEmpty()) {
+                decisions.add(rank);
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    terminal.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            terminal.get(state).add(rank);
+        }
+
+        int size = trie.size();
+        char[][] edgeChars = new char[size][];
+        int[][] edgeTargets = new int[size][];
+        for (int state = 0; state < size; state++) {
+            Map<Character, Integer> edges = trie.get(state);
+            edgeChars[state] = new char[edges.size()];
+            edgeTargets[state] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[state][i] = edge.getKey();
+                edgeTargets[state][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // BFS로 실패 링크를 만들고, 실패 링크 쪽에서 끝나는 keyword도 출력에 합쳐 둔다 (매칭 시 링크를 따라가지 않도록)
+        int[] fail = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[ROOT] = NO_OUTPUT;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[ROOT]) {
+            fail[child] = ROOT;
+            outputs[child] = toSortedArray(terminal.get(child), NO_OUTPUT);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int link = fail[state];
+                int target = transition(edgeChars, edgeTargets, link, c);
+                while (target < 0 && link != ROOT) {
+                    link = fail[link];
+                    target = transition(edgeChars, edgeTargets, link, c);
+                }
+                fail[child] = target < 0 ? ROOT : target;
+                outputs[child] = toSortedArray(terminal.get(child), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+
+        return new CategoryRuleMatcher(rules, edgeChars, edgeTargets, fail, outputs,
+                decisions.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // 맞는 규칙의 category id, 없으면 null
+    public Integer match(TransactionType type, BigDecimal amount, String description) {
+        int best = NO_MATCH;
+        if (description != null) {
+            int state = ROOT;
+            for (int i = 0; i < description.length(); i++) {
+                char c = Character.toLowerCase(description.charAt(i));
+                int next = transition(edgeChars, edgeTargets, state, c);
+                while (next < 0 && state != ROOT) {
+                    state = fail[state];
+                    next = transition(edgeChars, edgeTargets, state, c);
+                }
+                state = next < 0 ? ROOT : next;
+                for (int rank : outputs[state]) {
+                    if (rank >= best) {
+                        break;
+                    }
+                    if (rules[rank].accepts(type, amount, description)) {
+                        best = rank;
+                        break;
+                    }
+                }
+            }
+        }
+        for (int rank : decisionList) {
+            if (rank >= best) {
+                break;
+            }
+            if (rules[rank].accepts(type, amount, description)) {
+                best = rank;
+                break;
+            }
+        }
+        return best == NO_MATCH ? null : rules[best].categoryId();
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    private static int transition(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index < 0 ? -1 : edgeTargets[state][index];
+    }
+
+    private static int[] toSortedArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = new int[own.size() + inherited.length];
+        for (int i = 0; i < own.size(); i++) {
+            merged[i] = own.get(i);
+        }
+        System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    // keyword를 뺀 나머지 조건
+    private record CompiledRule(Long id, TransactionType type, BigDecimal minAmount, BigDecimal maxAmount, Pattern pattern,
+                                long patternTimeoutNanos, int categoryId) {
+
+        static CompiledRule of(CategoryRule rule, long patternTimeoutNanos) {
+            Pattern pattern = rule.getPattern() == null || rule.getPattern().isEmpty()
+                    ? null
+                    : Pattern.compile(rule.getPattern(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            return new CompiledRule(rule.getId(), rule.getTransactionType(), rule.getMinAmount(), rule.getMaxAmount(),
+                    pattern, patternTimeoutNanos, rule.getCategoryId());
+        }
+
+        boolean accepts(TransactionType actualType, BigDecimal amount, String description) {
+            if (type != null && type != actualType) {
+                return false;
+            }
+            if (minAmount != null && (amount == null || amount.compareTo(minAmount) < 0)) {
+                return false;
+            }
+            if (maxAmount != null && (amount == null || amount.compareTo(maxAmount) > 0)) {
+                return false;
+            }
+            return pattern == null || (description != null && find(description));
+        }
+
+        private boolean find(String description) {
+            try {
+                return pattern.matcher(new DeadlineCharSequence(description, System.nanoTime() + patternTimeoutNanos)).find();
+            } catch (PatternTimeoutException e) {
+                log.warn("Category rule {} pattern timed out after {} ms on a {}-char description, treating as no match",
+                        id, patternTimeoutNanos / 1_000_000, description.length());
+                return false;
+            }
+        }
+    }
+
+    /*
+     * java.util.regex는 중단할 방법이 없어서, 엔진이 입력을 읽을 때마다 지나는 charAt에서 시간을 확인한다
+     * (nanoTime 비용을 줄이려고 1024번 읽을 때마다, 역추적이 폭발하면 읽기 횟수가 곧 그 비용)
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        private static final int CHECK_MASK = 1023;
+
+        private final String text;
+        private final long deadline;
+        private int reads;
+
+        private DeadlineCharSequence(String text, long deadline) {
+            this.text = text;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if ((++reads & CHECK_MASK) == 0 && System.nanoTime() - deadline > 0) {
+                throw new PatternTimeoutException();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class PatternTimeoutException extends RuntimeException {
+
+        private PatternTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+}
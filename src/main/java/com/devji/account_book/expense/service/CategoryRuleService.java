@@ -0,0 +1,213 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.dto.CategoryRuleDto;
+import com.devji.account_book.expense.entity.CategoryRule;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.event.CategoryRulesChangedEvent;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
+import com.devji.account_book.expense.repository.CategoryRuleRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/*
+ * 자동 분류 규칙 관리와 분류
+ * 사용자별로 컴파일한 CategoryRuleMatcher를 메모리에 두고, 규칙이 바뀔 때만 다시 만든다.
+ * - 이 노드에서 바뀌면 커밋 직후 버리고, 다른 노드에는 Redis pub/sub(category-rules 채널)으로 알린다.
+ * - 전역 규칙은 마이그레이션/SQL로만 바꾸므로 cache-ttl이 지나면 반영된다.
+ */
+@Slf4j
+@Service
+public class CategoryRuleService implements MessageListener {
+
+    public static final String CHANNEL = "category-rules";
+    private static final int DEFAULT_PRIORITY = 100;
+
+    private final CategoryRuleRepository categoryRuleRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, CategoryRuleMatcher> matchers;
+
+    @Value("${app.category-rules.max-rules-per-user:5000}")
+    private int maxRulesPerUser;
+
+    @Value("${app.category-rules.pattern-timeout:20ms}")
+    private Duration patternTimeout;
+
+    public CategoryRuleService(CategoryRuleRepository categoryRuleRepository,
+                               CategoryDictionary categoryDictionary,
+                               RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.category-rules.cache-max-users:10000}") long cacheMaxUsers,
+                               @Value("${app.category-rules.cache-ttl:10m}") Duration cacheTtl) {
+        this.categoryRuleRepository = categoryRuleRepository;
+        this.categoryDictionary = categoryDictionary;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.eventPublisher = eventPublisher;
+        this.matchers = Caffeine.newBuilder()
+                .maximumSize(cacheMaxUsers)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 맞는 규칙의 category id, 없으면 null
+    public Integer categorize(long userId, TransactionType type, BigDecimal amount, String description) {
+        return matcher(userId).match(type, amount, description);
+    }
+
+    // 대량 분류(명세서 가져오기)는 청크마다 한 번 꺼내서 재사용
+    public CategoryRuleMatcher matcher(long userId) {
+        return matchers.get(userId, this::compile);
+    }
+
+    // 사용자 규칙 먼저, 그다음 전역 규칙 (각각 적용 순서대로)
+    @Transactional(readOnly = true)
+    public List<CategoryRuleDto> getRules(long userId) {
+        List<CategoryRuleDto> result = new ArrayList<>();
+        categoryRuleRepository.findByUserIdOrderByPriorityAscIdAsc(userId).forEach(rule -> result.add(convertToDto(rule)));
+        categoryRuleRepository.findByUserIdIsNullOrderByPriorityAscIdAsc().forEach(rule -> result.add(convertToDto(rule)));
+        return result;
+    }
+
+    @Transactional
+    public CategoryRuleDto createRule(long userId, CategoryRuleDto request) {
+        validate(request);
+        if (categoryRuleRepository.countByUserId(userId) >= maxRulesPerUser) {
+            throw new UnprocessableRequestException("분류 규칙은 최대 " + maxRulesPerUser + "개까지 만들 수 있습니다.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        CategoryRule rule = CategoryRule.builder()
+                .userId(userId)
+                .createdAt(now)
+                .build();
+        apply(userId, rule, request, now);
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+        return convertToDto(saved);
+    }
+
+    @Transactional
+    public CategoryRuleDto updateRule(long userId, Long id, CategoryRuleDto request) {
+        validate(request);
+        CategoryRule rule = categoryRuleRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new NotFoundException("분류 규칙을 찾을 수 없습니다."));
+        apply(userId, rule, request, LocalDateTime.now());
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+        return convertToDto(rule);
+    }
+
+    @Transactional
+    public void deleteRule(long userId, Long id) {
+        CategoryRule rule = categoryRuleRepository.findByIdAndUserId(id, userId)
+                .orElseThrow(() -> new NotFoundException("분류 규칙을 찾을 수 없습니다."));
+        categoryRuleRepository.delete(rule);
+        eventPublisher.publishEvent(new CategoryRulesChangedEvent(userId));
+    }
+
+    @TransactionalEventListener
+    public void onRulesChanged(CategoryRulesChangedEvent event) {
+        matchers.invalidate(event.userId());
+        try {
+            redisTemplate.convertAndSend(CHANNEL, Long.toString(event.userId()));
+        } catch (DataAccessException e) {
+            // 다른 노드는 cache-ttl이 지나면 새 규칙을 읽는다
+            log.warn("Failed to broadcast category rule change of user {}: {}", event.userId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            matchers.invalidate(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid category rule message: {}", e.getMessage());
+        }
+    }
+
+    private CategoryRuleMatcher compile(long userId) {
+        long start = System.nanoTime();
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(categoryRuleRepository.findApplicable(userId), patternTimeout);
+        log.debug("Compiled {} category rules for user {} in {} µs",
+                matcher.size(), userId, (System.nanoTime() - start) / 1_000);
+        return matcher;
+    }
+
+    private void apply(long userId, CategoryRule rule, CategoryRuleDto request, LocalDateTime now) {
+        rule.setPriority(request.getPriority() != null ? request.getPriority() : DEFAULT_PRIORITY);
+        rule.setKeyword(blankToNull(request.getKeyword()));
+        rule.setPattern(blankToNull(request.getPattern()));
+        rule.setMinAmount(request.getMinAmount());
+        rule.setMaxAmount(request.getMaxAmount());
+        rule.setTransactionType(request.getTransactionType());
+        rule.setCategoryId(categoryDictionary.resolveId(userId, request.getCategory()));
+        rule.setUpdatedAt(now);
+    }
+
+    private static void validate(CategoryRuleDto request) {
+        String keyword = blankToNull(request.getKeyword());
+        String pattern = blankToNull(request.getPattern());
+        if (keyword == null && pattern == null && request.getMinAmount() == null && request.getMaxAmount() == null) {
+            throw new UnprocessableRequestException("키워드, 정규식, 금액 범위 중 하나 이상을 지정해야 합니다.");
+        }
+        if (request.getMinAmount() != null && request.getMaxAmount() != null
+                && request.getMinAmount().compareTo(request.getMaxAmount()) > 0) {
+            throw new UnprocessableRequestException("최소 금액이 최대 금액보다 큽니다.");
+        }
+        if (pattern != null) {
+            try {
+                Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                throw new UnprocessableRequestException("정규식이 올바르지 않습니다: " + e.getDescription());
+            }
+        }
+    }
+
+    private CategoryRuleDto convertToDto(CategoryRule rule) {
+        return CategoryRuleDto.builder()
+                .id(rule.getId())
+                .priority(rule.getPriority())
+                .keyword(rule.getKeyword())
+                .pattern(rule.getPattern())
+                .minAmount(rule.getMinAmount())
+                .maxAmount(rule.getMaxAmount())
+                .transactionType(rule.getTransactionType())
+                .category(categoryDictionary.getName(rule.getCategoryId()))
+                .global(rule.getUserId() == null)
+                .build();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,41 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.auth.repository.UserRepository;
+import com.devji.account_book.expense.exception.ShardMovedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * 사용자별 거래 변경 버전 (users.change_version)
+ * 거래 쓰기와 같은 트랜잭션에서 증가시켜서, 커밋된 버전이 같으면 거래 목록도 같다는 것이 보장된다.
+ * 인증 필터가 요청마다 User를 읽어오므로 목록 조회 시에는 추가 쿼리 없이 버전을 알 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChangeVersionService {
+
+    private final UserRepository userRepository;
+
+    // 새 버전을 반환
+    // 샤드 이동의 전환 단계는 같은 행을 잠그고 moved_out을 표시하므로, 전환 이후 원래 샤드에 들어온 쓰기는 여기서 막힌다
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long bump(long userId) {
+        if (userRepository.incrementChangeVersion(userId) == 0) {
+            throw new ShardMovedException("다른 저장소로 옮겨진 사용자입니다. 잠시 후 다시 시도해주세요.");
+        }
+        return userRepository.findChangeVersionById(userId);
+    }
+
+    // 이보다 오래된 동기화 token은 지워진 삭제 표시를 놓칠 수 있다
+    public long syncFloor(long userId) {
+        return userRepository.findSyncFloorById(userId);
+    }
+
+    // 목록 조회용 ETag (버전 + 페이지 조건)
+    // 같은 데이터를 JSON/Smile/CBOR, 압축 여부에 따라 다르게 표현하므로 약한 ETag (Tomcat은 강한 ETag 응답을 압축하지 않음)
+    public String listEtag(long version, int page, int size) {
+        return "W/\"v" + version + "-" + page + "-" + size + "\"";
+    }
+}
@@ -0,0 +1,130 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.exception.IdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/*
+ * Idempotency-Key 처리
+ * - 처음 온 키는 Redis에 SET NX로 "처리 중" 표시를 남기고 실행, 성공하면 응답 본문으로 바꿔 TTL 동안 보관
+ * - 같은 키로 재시도하면 다시 실행하지 않고 보관된 응답을 그대로 돌려준다
+ * - 실행이 실패하면 키를 지워서 클라이언트가 같은 키로 다시 시도할 수 있게 한다
+ * Redis 장애 시에는 쓰기 자체를 막지 않도록 키 없이 실행한다 (중복 방지보다 가용성 우선)
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final String KEY_PREFIX = "IDEM:";
+    private static final String PENDING = "PENDING";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // 처리 중 표시 유지 시간 (노드가 죽어도 이 시간이 지나면 같은 키로 다시 실행 가능)
+    @Value("${app.idempotency.lock-timeout:30s}")
+    private Duration lockTimeout;
+
+    public IdempotencyService(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> Result<T> execute(long userId, String idempotencyKey, Object request, Class<T> responseType, Supplier<T> action) {
+        String key = KEY_PREFIX + userId + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(key, PENDING + ":" + fingerprint, lockTimeout);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, executing without key {}: {}", key, e.getMessage());
+            return new Result<>(action.get(), false);
+        }
+
+        if (!Boolean.TRUE.equals(acquired)) {
+            return replay(key, fingerprint, responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+
+        try {
+            StoredResponse stored = new StoredResponse(fingerprint, objectMapper.writeValueAsString(response));
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(stored), ttl);
+        } catch (JsonProcessingException | DataAccessException e) {
+            // 이미 반영된 요청이므로 응답은 그대로 돌려주고, 처리 중 표시는 lock-timeout 후 만료
+            log.warn("Failed to store idempotent response of {}: {}", key, e.getMessage());
+        }
+        return new Result<>(response, false);
+    }
+
+    private <T> Result<T> replay(String key, String fingerprint, Class<T> responseType) {
+        String value = redisTemplate.opsForValue().get(key);
+        if (value == null) {
+            // 그 사이 만료/실패로 지워진 경우
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT, "같은 Idempotency-Key 요청을 처리하는 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (value.startsWith(PENDING)) {
+            checkFingerprint(value.substring(PENDING.length() + 1), fingerprint);
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT, "같은 Idempotency-Key 요청을 처리하는 중입니다. 잠시 후 다시 시도해주세요.");
+        }
+        try {
+            StoredResponse stored = objectMapper.readValue(value, StoredResponse.class);
+            checkFingerprint(stored.fingerprint(), fingerprint);
+            return new Result<>(objectMapper.readValue(stored.body(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다: " + key, e);
+        }
+    }
+
+    private void release(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static void checkFingerprint(String stored, String fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY, "다른 요청에 이미 사용된 Idempotency-Key입니다.");
+        }
+    }
+
+    // 요청 본문 SHA-256 (같은 키를 다른 내용에 재사용했는지 확인용)
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("요청 본문을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    public record Result<T>(T response, boolean replayed) {
+    }
+
+    private record StoredResponse(String fingerprint, String body) {
+    }
+}
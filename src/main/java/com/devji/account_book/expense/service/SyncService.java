@@ -0,0 +1,100 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.dto.SyncMutation;
+import com.devji.account_book.expense.dto.SyncMutationResult;
+import com.devji.account_book.expense.dto.SyncMutationResult.Status;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.exception.BusinessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * 오프라인 클라이언트가 모아 보낸 변경 일괄 반영
+ * 건마다 TransactionService의 트랜잭션으로 따로 반영해서, 한 건이 충돌해도 나머지는 반영된다.
+ * (그래서 이 클래스에는 @Transactional을 두지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SyncService {
+
+    private final TransactionService transactionService;
+    private final Validator validator;
+
+    public List<SyncMutationResult> applyMutations(long userId, List<SyncMutation> mutations) {
+        List<SyncMutationResult> results = new ArrayList<>(mutations.size());
+        for (SyncMutation mutation : mutations) {
+            results.add(apply(userId, mutation));
+        }
+        return results;
+    }
+
+    private SyncMutationResult apply(long userId, SyncMutation mutation) {
+        String invalid = validate(mutation);
+        if (invalid != null) {
+            return result(mutation, Status.REJECTED, null, invalid);
+        }
+
+        try {
+            switch (mutation.getOp()) {
+                case CREATE -> {
+                    TransactionDto created = transactionService.createTransaction(userId, mutation.getTransaction());
+                    return result(mutation, Status.APPLIED, created, null);
+                }
+                case UPDATE -> {
+                    TransactionDto request = mutation.getTransaction();
+                    request.setVersion(mutation.getVersion());
+                    TransactionDto updated = transactionService.updateTransaction(userId, mutation.getId(), request);
+                    return result(mutation, Status.APPLIED, updated, null);
+                }
+                case DELETE -> {
+                    transactionService.deleteTransaction(userId, mutation.getId(), mutation.getVersion());
+                    return result(mutation, Status.APPLIED, null, null);
+                }
+                default -> throw new IllegalStateException("Unknown op: " + mutation.getOp());
+            }
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // 클라이언트가 본 버전 이후 다른 기기에서 바뀐 경우, 현재 서버 상태를 돌려줘서 클라이언트가 병합하도록
+            TransactionDto current = transactionService.findTransaction(userId, mutation.getId()).orElse(null);
+            return result(mutation, Status.CONFLICT, current, "다른 기기에서 먼저 변경된 거래입니다.");
+        } catch (BusinessException e) {
+            log.debug("Sync mutation {} of user {} rejected: {}", mutation.getClientMutationId(), userId, e.getMessage());
+            return result(mutation, Status.REJECTED, null, e.getMessage());
+        } catch (RuntimeException e) {
+            // 한 건의 서버 오류로 나머지 변경까지 실패하지 않도록 건별로 처리
+            log.error("Sync mutation {} of user {} failed", mutation.getClientMutationId(), userId, e);
+            return result(mutation, Status.REJECTED, null, "서버 오류가 발생했습니다.");
+        }
+    }
+
+    private String validate(SyncMutation mutation) {
+        if (mutation.getOp() != SyncMutation.Operation.CREATE && mutation.getId() == null) {
+            return "id는 필수입니다";
+        }
+        if (mutation.getOp() == SyncMutation.Operation.DELETE) {
+            return null;
+        }
+        if (mutation.getTransaction() == null) {
+            return "transaction은 필수입니다";
+        }
+        Set<ConstraintViolation<TransactionDto>> violations = validator.validate(mutation.getTransaction());
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static SyncMutationResult result(SyncMutation mutation, Status status, TransactionDto transaction, String message) {
+        return SyncMutationResult.builder()
+                .clientMutationId(mutation.getClientMutationId())
+                .status(status)
+                .transaction(transaction)
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.datasource.shard.ShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+ * 보관 기간(app.sync.tombstone-retention)이 지난 삭제 표시(tombstone) 정리
+ * 지운 삭제 표시의 change_seq 최댓값으로 users.sync_floor를 올려서, 그보다 오래된 동기화 token은
+ * 삭제를 놓치지 않도록 resetRequired 응답(처음부터 다시 동기화)을 받는다.
+ * 사용자 행을 먼저 잠가서 아카이브 작업, 그 사용자의 쓰기와 같은 순서(users -> transactions)로 잠근다.
+ */
+@Slf4j
+@Service
+public class TombstonePurgeJob {
+
+    private static final String PURGE_SQL =
+            "WITH purged AS (" +
+                    "DELETE FROM transactions WHERE user_id = ? AND deleted AND updated_at < ? RETURNING change_seq) " +
+                    "UPDATE users SET sync_floor = GREATEST(sync_floor, (SELECT MAX(change_seq) FROM purged)) " +
+                    "WHERE id = ? AND EXISTS (SELECT 1 FROM purged)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${app.sync.tombstone-retention:90d}")
+    private Duration retention;
+
+    public TombstonePurgeJob(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ShardRouter shardRouter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 0 5 * * *}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        shardRouter.forEachShard(shard -> purge(before));
+    }
+
+    // 현재 샤드에서 before 이전에 삭제된 거래의 삭제 표시를 지우고, 기준선을 올린 사용자 수를 반환
+    public int purge(LocalDateTime before) {
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM transactions WHERE deleted AND updated_at < ? " +
+                        "AND user_id NOT IN (SELECT id FROM users WHERE moved_out)",
+                Long.class, before);
+
+        int purged = 0;
+        for (Long userId : userIds) {
+            try {
+                Integer updated = transactionTemplate.execute(status -> {
+                    jdbcTemplate.query("SELECT id FROM users WHERE id = ? FOR UPDATE", rs -> {
+                    }, userId);
+                    return jdbcTemplate.update(PURGE_SQL, userId, before, userId);
+                });
+                purged += updated == null ? 0 : updated;
+            } catch (Exception e) {
+                log.error("Failed to purge tombstones of user {}", userId, e);
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged tombstones deleted before {} for {} users", before, purged);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,38 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+
+/*
+ * 거래 중복 판별용 지문 (transactions.dedup_hash)
+ * md5("{거래일}|{부호 있는 금액}|{설명}"), 지출은 음수 금액으로 계산해서 같은 금액의 결제/환불을 구분한다.
+ * db/migration/V6의 backfill SQL과 같은 문자열을 만들어야 하므로 금액은 소수점 2자리 plain 표기
+ */
+public final class TransactionFingerprint {
+
+    private TransactionFingerprint() {
+    }
+
+    public static byte[] of(TransactionType type, BigDecimal amount, LocalDate transactionDate, String description) {
+        BigDecimal scaled = amount.setScale(2, RoundingMode.HALF_UP);
+        if (type == TransactionType.EXPENSE) {
+            scaled = scaled.negate();
+        }
+        String source = transactionDate + "|" + scaled.toPlainString() + "|" + description;
+        return md5().digest(source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
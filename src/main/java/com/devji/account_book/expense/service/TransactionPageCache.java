@@ -0,0 +1,213 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+ * 최근 거래 목록 앞쪽 페이지 캐시 (로컬 near-cache -> Redis -> DB)
+ * - 키에 users.change_version을 넣으므로 거래 쓰기(버전 증가)만으로 이전 페이지가 모두 무효화된다.
+ *   키를 찾아 지울 필요가 없고, 남은 이전 버전 항목은 TTL로 사라진다.
+ * - Redis에는 Smile(바이너리 JSON)로 직렬화해서 저장
+ * - 같은 키의 동시 미스는 노드 안에서 한 요청만 DB를 읽고(single-flight), 노드 간에는 Redis SET NX 락으로
+ *   한 노드만 읽게 한다. 락을 못 얻은 요청은 잠깐 기다렸다가 그래도 없으면 직접 읽는다.
+ * - Redis 장애 시에는 캐시 없이 DB에서 읽는다.
+ * 복제본 지연으로 이전 데이터가 새 버전 키에 저장될 수 있는 범위는 ReadYourWritesTracker의 sticky-window와 ttl로 제한된다.
+ */
+@Slf4j
+@Service
+public class TransactionPageCache {
+
+    private static final String KEY_PREFIX = "TXP:";
+    private static final String LOCK_SUFFIX = ":lock";
+    private static final String LATENCY_METRIC = "transactions.page_cache.latency";
+
+    private final RedisTemplate<String, byte[]> bytesRedisTemplate;
+    private final ObjectWriter pageWriter;
+    private final ObjectReader pageReader;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CompletableFuture<CachedPage>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, CachedPage> localCache;
+
+    @Value("${app.page-cache.enabled:true}")
+    private boolean enabled;
+
+    // 캐시할 페이지 수 (0 ~ max-pages - 1 페이지)
+    @Value("${app.page-cache.max-pages:3}")
+    private int maxPages;
+
+    @Value("${app.page-cache.max-size:100}")
+    private int maxSize;
+
+    @Value("${app.page-cache.ttl:10m}")
+    private Duration ttl;
+
+    // 다른 노드가 같은 페이지를 읽는 동안 기다리는 최대 시간
+    @Value("${app.page-cache.lock-timeout:2s}")
+    private Duration lockTimeout;
+
+    public TransactionPageCache(RedisTemplate<String, byte[]> bytesRedisTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.page-cache.local-max-entries:10000}") long localMaxEntries,
+                                @Value("${app.page-cache.local-ttl:1m}") Duration localTtl) {
+        this.bytesRedisTemplate = bytesRedisTemplate;
+        ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.pageWriter = smileMapper.writerFor(CachedPage.class);
+        this.pageReader = smileMapper.readerFor(CachedPage.class);
+        this.meterRegistry = meterRegistry;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    public Page<TransactionDto> get(long userId, long version, int page, int size, Supplier<Page<TransactionDto>> loader) {
+        if (!enabled || page >= maxPages || size > maxSize) {
+            return loader.get();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String key = KEY_PREFIX + userId + ":v" + version + ":" + page + ":" + size;
+
+        CachedPage cached = localCache.getIfPresent(key);
+        String result = "local_hit";
+        if (cached == null) {
+            cached = readRedis(key);
+            result = "redis_hit";
+            if (cached != null) {
+                localCache.put(key, cached);
+            }
+        }
+        if (cached == null) {
+            cached = loadOnce(key, loader);
+            result = "miss";
+        }
+        sample.stop(meterRegistry.timer(LATENCY_METRIC, "result", result));
+        return new PageImpl<>(cached.content(), PageRequest.of(page, size), cached.totalElements());
+    }
+
+    // 노드 안 single-flight: 같은 키는 먼저 온 요청만 읽고 나머지는 그 결과를 기다린다
+    private CachedPage loadOnce(String key, Supplier<Page<TransactionDto>> loader) {
+        CompletableFuture<CachedPage> future = new CompletableFuture<>();
+        CompletableFuture<CachedPage> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            try {
+                return running.get(lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Waiting for page cache load of {} failed: {}", key, e.toString());
+            }
+            return CachedPage.of(loader.get());
+        }
+
+        try {
+            CachedPage loaded = loadAcrossNodes(key, loader);
+            localCache.put(key, loaded);
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    // 노드 간: 락을 얻은 노드만 DB를 읽어서 Redis에 채운다
+    // 락은 DB 조회가 실패해도 풀어서 다른 노드가 lock-timeout까지 기다리지 않게 한다
+    private CachedPage loadAcrossNodes(String key, Supplier<Page<TransactionDto>> loader) {
+        boolean locked = tryLock(key);
+        if (!locked) {
+            long deadline = System.nanoTime() + lockTimeout.toNanos();
+            while (System.nanoTime() < deadline && sleep(Math.min(50, lockTimeout.toMillis()))) {
+                CachedPage filled = readRedis(key);
+                if (filled != null) {
+                    return filled;
+                }
+            }
+        }
+
+        try {
+            CachedPage loaded = CachedPage.of(loader.get());
+            try {
+                bytesRedisTemplate.opsForValue().set(key, pageWriter.writeValueAsBytes(loaded), ttl);
+            } catch (IOException | DataAccessException e) {
+                log.warn("Failed to store transaction page {}: {}", key, e.getMessage());
+            }
+            return loaded;
+        } finally {
+            if (locked) {
+                unlock(key);
+            }
+        }
+    }
+
+    private CachedPage readRedis(String key) {
+        try {
+            byte[] bytes = bytesRedisTemplate.opsForValue().get(key);
+            return bytes == null ? null : pageReader.readValue(bytes);
+        } catch (IOException | DataAccessException e) {
+            log.warn("Failed to read transaction page {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // Redis 장애 시에는 락 없이 진행
+    private boolean tryLock(String key) {
+        try {
+            return !Boolean.FALSE.equals(bytesRedisTemplate.opsForValue().setIfAbsent(key + LOCK_SUFFIX, new byte[0], lockTimeout));
+        } catch (DataAccessException e) {
+            return true;
+        }
+    }
+
+    private void unlock(String key) {
+        try {
+            bytesRedisTemplate.delete(key + LOCK_SUFFIX);
+        } catch (DataAccessException e) {
+            log.debug("Failed to release page cache lock {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record CachedPage(List<TransactionDto> content, long totalElements) {
+        static CachedPage of(Page<TransactionDto> page) {
+            return new CachedPage(page.getContent(), page.getTotalElements());
+        }
+    }
+}
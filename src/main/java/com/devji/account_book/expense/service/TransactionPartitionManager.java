@@ -0,0 +1,156 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.datasource.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/*
+ * transactions 월별 파티션 관리
+ * - 앞으로 months-ahead 개월치 파티션을 미리 생성
+ * - 이미 default 파티션에 들어간 행이 있으면 새 파티션으로 옮긴 뒤 attach
+ * - retention-months가 지난 파티션은 detach해서 독립 테이블로 보관 (0이면 사용 안 함)
+ * 샤딩을 쓰면 예약 작업은 샤드마다 실행하고, ensurePartition/dropEmptyPartitionsBefore는 현재 샤드(ShardContext)에 적용된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionPartitionManager {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("transactions_\\d{6}");
+    private static final String LOCK_SQL = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('transactions_partitions'))";
+    // duplicate_table
+    private static final String DUPLICATE_TABLE = "42P07";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    @Value("${app.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partition.retention-months:0}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createFuturePartitions();
+    }
+
+    // 매일 새벽 3시
+    @Scheduled(cron = "0 0 3 * * *")
+    public void createFuturePartitions() {
+        YearMonth current = YearMonth.now();
+        shardRouter.forEachShard(shard -> {
+            for (int i = 0; i <= monthsAhead; i++) {
+                ensurePartition(current.plusMonths(i));
+            }
+        });
+    }
+
+    // 매일 새벽 3시 30분
+    // default 파티션이 있으면 DETACH ... CONCURRENTLY를 쓸 수 없어 짧은 배타 락으로 detach
+    @Scheduled(cron = "0 30 3 * * *")
+    public void detachExpiredPartitions() {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        String cutoff = partitionName(YearMonth.now().minusMonths(retentionMonths));
+        shardRouter.forEachShard(shard -> {
+            for (String name : listPartitions()) {
+                if (MONTHLY_PARTITION.matcher(name).matches() && name.compareTo(cutoff) < 0) {
+                    jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+                    log.info("Detached partition {} on shard {}", name, shard);
+                }
+            }
+        });
+    }
+
+    // 아카이브로 모두 옮겨져 비어 있는 과거 파티션 정리
+    public void dropEmptyPartitionsBefore(YearMonth month) {
+        String cutoff = partitionName(month);
+        for (String name : listPartitions()) {
+            if (!MONTHLY_PARTITION.matcher(name).matches() || name.compareTo(cutoff) >= 0) {
+                continue;
+            }
+            Boolean empty = jdbcTemplate.queryForObject("SELECT NOT EXISTS (SELECT 1 FROM " + name + ")", Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                log.info("Dropped empty partition {}", name);
+            }
+        }
+    }
+
+    // 여러 노드가 함께 기동하거나 가져오기 작업, 샤드 이동이 같은 달을 동시에 만들려고 할 수 있으므로
+    // advisory lock(트랜잭션이 끝나면 풀림)으로 확인과 생성을 한 번에 하나씩, 잠금을 얻은 뒤 다시 확인한다
+    public void ensurePartition(YearMonth month) {
+        String name = partitionName(month);
+        if (exists(name)) {
+            return;
+        }
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject(LOCK_SQL, Integer.class);
+                if (exists(name)) {
+                    return;
+                }
+                jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                int moved = jdbcTemplate.update(
+                        "WITH moved AS (DELETE FROM transactions_default " +
+                                "WHERE transaction_date >= ? AND transaction_date < ? RETURNING *) " +
+                                "INSERT INTO " + name + " SELECT * FROM moved",
+                        from, to);
+                jdbcTemplate.execute("ALTER TABLE transactions ATTACH PARTITION " + name +
+                        " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                log.info("Created partition {} ({} rows moved from default)", name, moved);
+            });
+        } catch (DataAccessException e) {
+            // 잠금을 쓰지 않는 경로(수동 작업, 이전 버전 노드)가 먼저 만들었으면 그대로 사용
+            if (!isDuplicateTable(e) || !exists(name)) {
+                throw e;
+            }
+            log.debug("Partition {} was created concurrently", name);
+        }
+    }
+
+    public List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'transactions' ORDER BY c.relname",
+                String.class);
+    }
+
+    static String partitionName(YearMonth month) {
+        return "transactions_" + month.format(SUFFIX);
+    }
+
+    private static boolean isDuplicateTable(DataAccessException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && DUPLICATE_TABLE.equals(sqlException.getSQLState());
+    }
+
+    private boolean exists(String name) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -1,76 +1,163 @@
 package com.devji.account_book.expense.service;
 
+import com.devji.account_book.archive.dto.ArchivedTransaction;
+import com.devji.account_book.archive.entity.ArchiveSegment;
+import com.devji.account_book.archive.service.ArchivePolicy;
+import com.devji.account_book.archive.service.TransactionArchiveReader;
+import com.devji.account_book.balance.service.BalanceDelta;
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.datasource.ReadYourWritesTracker;
+import com.devji.account_book.expense.dto.SyncChange;
+import com.devji.account_book.expense.dto.SyncResponse;
 import com.devji.account_book.expense.dto.TransactionDto;
 import com.devji.account_book.expense.entity.Transaction;
 import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.event.TransactionChangedEvent;
+import com.devji.account_book.expense.event.TransactionEventType;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
 import com.devji.account_book.expense.repository.TransactionRepository;
+import com.devji.account_book.ledger.entity.LedgerRole;
+import com.devji.account_book.ledger.service.LedgerAccessService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+// public 메서드마다 span과 transaction.service 타이머 (class, method 태그)
+// 같은 클래스 안에서 부르는 메서드는 프록시를 거치지 않으므로 따로 잡히지 않는다
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Observed(name = "transaction.service")
 @Slf4j
 public class TransactionService {
     
     private final TransactionRepository transactionRepository;
+    private final CategoryDictionary categoryDictionary;
+    private final ArchivePolicy archivePolicy;
+    private final TransactionArchiveReader archiveReader;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ChangeVersionService changeVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CategoryRuleService categoryRuleService;
+    private final BalanceService balanceService;
+    private final LedgerAccessService ledgerAccessService;
 
-    // 거래 생성
+    // 카테고리를 비워 두었고 맞는 분류 규칙도 없을 때
+    @Value("${app.category-rules.default-category:기타}")
+    private String defaultCategory;
+
+    // 최신순 정렬 (거래일 -> 등록일 -> id)
+    private static final Comparator<TransactionDto> LATEST_FIRST = Comparator
+            .comparing(TransactionDto::getTransactionDate)
+            .thenComparing(TransactionDto::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TransactionDto::getId)
+            .reversed();
+
+    // 거래 생성 (ledgerId가 없으면 개인 장부, 있으면 그 장부의 EDITOR 이상이어야 함)
     public TransactionDto createTransaction(long userId, TransactionDto transactionDto) {
         log.info("Creating transaction for user: {}", userId);
-        
+        long ledgerId = transactionDto.getLedgerId() == null
+                ? ledgerAccessService.personalLedgerId(userId)
+                : requireWritable(userId, transactionDto.getLedgerId());
+        readYourWritesTracker.markWrite(userId);
+        long changeSeq = changeVersionService.bump(userId);
+
         Transaction transaction = Transaction.builder()
                 .userId(userId)
+                .ledgerId(ledgerId)
                 .type(transactionDto.getType())
-                .category(transactionDto.getCategory())
+                .categoryId(resolveCategoryId(userId, transactionDto))
                 .amount(transactionDto.getAmount())
                 .description(transactionDto.getDescription())
                 .transactionDate(transactionDto.getTransactionDate())
+                .changeSeq(changeSeq)
+                .dedupHash(TransactionFingerprint.of(transactionDto.getType(), transactionDto.getAmount(),
+                        transactionDto.getTransactionDate(), transactionDto.getDescription()))
                 .build();
         
         Transaction saved = transactionRepository.save(transaction);
-        return convertToDto(saved);
+        balanceService.apply(userId, new BalanceDelta()
+                .add(saved.getType(), saved.getAmount(), saved.getTransactionDate()));
+        TransactionDto created = convertToDto(saved);
+        publishChange(userId, changeSeq, TransactionEventType.CREATED, created);
+        return created;
     }
     
-    // 거래 수정
+    // 거래 수정 (요청에 version이 있으면 현재 버전과 같을 때만 수정)
+    // 공유 장부의 거래는 EDITOR 이상이면 다른 구성원이 쓴 거래도 고칠 수 있다
+    // 변경 버전/잔액/이벤트는 작성자 기준 (작성자의 동기화 클라이언트와 잔액에 반영)
     public TransactionDto updateTransaction(long userId, Long id, TransactionDto transactionDto) {
         log.info("Updating transaction {} for user: {}", id, userId);
+        readYourWritesTracker.markWrite(userId);
+
+        Transaction transaction = findWritable(userId, id);
+        checkVersion(transaction, transactionDto.getVersion());
+        long authorId = transaction.getUserId();
+        long ledgerId = transactionDto.getLedgerId() == null || transactionDto.getLedgerId().equals(transaction.getLedgerId())
+                ? transaction.getLedgerId()
+                : requireWritable(userId, transactionDto.getLedgerId());
+        long changeSeq = changeVersionService.bump(authorId);
 
-        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new RuntimeException("거래를 찾을 수 없습니다."));
+        BalanceDelta balanceDelta = new BalanceDelta()
+                .subtract(transaction.getType(), transaction.getAmount(), transaction.getTransactionDate())
+                .add(transactionDto.getType(), transactionDto.getAmount(), transactionDto.getTransactionDate());
 
+        transaction.setLedgerId(ledgerId);
         transaction.setType(transactionDto.getType());
-        transaction.setCategory(transactionDto.getCategory());
+        transaction.setCategoryId(resolveCategoryId(authorId, transactionDto));
         transaction.setAmount(transactionDto.getAmount());
         transaction.setDescription(transactionDto.getDescription());
         transaction.setTransactionDate(transactionDto.getTransactionDate());
+        transaction.setDedupHash(TransactionFingerprint.of(transactionDto.getType(), transactionDto.getAmount(),
+                transactionDto.getTransactionDate(), transactionDto.getDescription()));
+        transaction.setChangeSeq(changeSeq);
 
-        Transaction updated = transactionRepository.save(transaction);
-        return convertToDto(updated);
+        // 증가된 @Version 값을 응답에 담기 위해 바로 flush
+        Transaction updated = transactionRepository.saveAndFlush(transaction);
+        balanceService.apply(authorId, balanceDelta);
+        TransactionDto result = convertToDto(updated);
+        publishChange(authorId, changeSeq, TransactionEventType.UPDATED, result);
+        return result;
+    }
+
+    // 거래 삭제 (동기화 클라이언트가 삭제를 알 수 있도록 행은 남기고 삭제 표시만)
+    public void deleteTransaction(long userId, Long id, Long expectedVersion) {
+        log.info("Deleting transaction {} for user: {}", id, userId);
+        readYourWritesTracker.markWrite(userId);
+
+        Transaction transaction = findWritable(userId, id);
+        checkVersion(transaction, expectedVersion);
+        long authorId = transaction.getUserId();
+        long changeSeq = changeVersionService.bump(authorId);
+
+        balanceService.apply(authorId, new BalanceDelta()
+                .subtract(transaction.getType(), transaction.getAmount(), transaction.getTransactionDate()));
+        transaction.setDeleted(true);
+        transaction.setChangeSeq(changeSeq);
+        transactionRepository.saveAndFlush(transaction);
+        publishChange(authorId, changeSeq, TransactionEventType.DELETED, TransactionDto.builder().id(id).build());
     }
-//
-//    // 거래 삭제
-//    public void deleteTransaction(Long id) {
-//        String userId = getCurrentUserId();
-//        log.info("Deleting transaction {} for user: {}", id, userId);
-//
-//        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
-//                .orElseThrow(() -> new RuntimeException("거래를 찾을 수 없습니다."));
-//
-//        transactionRepository.delete(transaction);
-//    }
 //
 //    // 거래 단일 조회
 //    @Transactional(readOnly = true)
@@ -78,7 +165,7 @@ public class TransactionService {
 //        String userId = getCurrentUserId();
 //
 //        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
-//                .orElseThrow(() -> new RuntimeException("거래를 찾을 수 없습니다."));
+//                .orElseThrow(() -> new NotFoundException("거래를 찾을 수 없습니다."));
 //
 //        return convertToDto(transaction);
 //    }
@@ -88,10 +175,31 @@ public class TransactionService {
     public Page<TransactionDto> getTransactions(long userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
-        Page<Transaction> transactions = transactionRepository
-                .findByUserIdOrderByTransactionDateDescCreatedAtDesc(userId, pageable);
+        if (!archivePolicy.isEnabled()) {
+            Page<Transaction> transactions = transactionRepository
+                    .findByUserIdOrderByTransactionDateDescCreatedAtDesc(userId, pageable);
+            return transactions.map(this::convertToDto);
+        }
 
-        return transactions.map(this::convertToDto);
+        // 아카이브 기준일 이후 거래를 먼저, 그 뒤에 기준일 이전 거래(테이블 잔여분 + 아카이브)를 이어 붙인다
+        LocalDate cutoff = archivePolicy.cutoffDate();
+        Page<Transaction> recent = transactionRepository
+                .findByUserIdAndTransactionDateGreaterThanEqualOrderByTransactionDateDescCreatedAtDesc(userId, cutoff, pageable);
+        long olderTotal = transactionRepository.countByUserIdAndTransactionDateBefore(userId, cutoff)
+                + archiveReader.countRows(userId);
+
+        LocalDate olderEnd = cutoff.minusDays(1);
+        return appendOlder(recent, pageable, olderTotal, (skip, limit) ->
+                getOlderTransactions(userId, null, olderEnd, olderYears(userId, null, olderEnd), skip, limit));
+    }
+
+    // 장부 거래 목록 (VIEWER 이상, 권한은 장부 단위로 한 번만 확인)
+    // 아카이브로 옮겨진 과거 거래는 사용자별 목록/내보내기에서만 조회
+    @Transactional(readOnly = true)
+    public Page<TransactionDto> getLedgerTransactions(long userId, long ledgerId, int page, int size) {
+        ledgerAccessService.require(userId, ledgerId, LedgerRole.VIEWER);
+        return transactionRepository.findByLedgerIdOrderByTransactionDateDescCreatedAtDesc(ledgerId, PageRequest.of(page, size))
+                .map(this::convertToDto);
     }
 //
 //    // 거래 검색
@@ -105,19 +213,105 @@ public class TransactionService {
 //
 //        return transactions.map(this::convertToDto);
 //    }
-//
-//    // 기간별 거래 조회
-//    @Transactional(readOnly = true)
-//    public Page<TransactionDto> getTransactionsByDateRange(LocalDate startDate, LocalDate endDate, int page, int size) {
-//        String userId = getCurrentUserId();
-//        Pageable pageable = PageRequest.of(page, size);
-//
-//        Page<Transaction> transactions = transactionRepository
-//                .findByUserIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(
-//                        userId, startDate, endDate, pageable);
-//
-//        return transactions.map(this::convertToDto);
-//    }
+
+    // 기간별 거래 조회 (해당 기간의 월 파티션만 조회)
+    @Transactional(readOnly = true)
+    public Page<TransactionDto> getTransactionsByDateRange(long userId, LocalDate startDate, LocalDate endDate, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        LocalDate cutoff = archivePolicy.cutoffDate();
+
+        if (!archivePolicy.isEnabled() || !startDate.isBefore(cutoff)) {
+            Page<Transaction> transactions = transactionRepository
+                    .findByUserIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(
+                            userId, startDate, endDate, pageable);
+            return transactions.map(this::convertToDto);
+        }
+
+        // 기간이 아카이브 기준일 이전에 걸치면 기준일 전후로 나눠서 조회
+        Page<Transaction> recent = endDate.isBefore(cutoff)
+                ? Page.empty(pageable)
+                : transactionRepository.findByUserIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(
+                        userId, cutoff, endDate, pageable);
+        LocalDate olderEnd = endDate.isBefore(cutoff) ? endDate : cutoff.minusDays(1);
+        List<OlderYear> olderYears = olderYears(userId, startDate, olderEnd);
+        long olderTotal = olderYears.stream().mapToLong(OlderYear::size).sum();
+
+        return appendOlder(recent, pageable, olderTotal,
+                (skip, limit) -> getOlderTransactions(userId, startDate, olderEnd, olderYears, skip, limit));
+    }
+
+    // 동기화: token 이후 생성/수정/삭제된 거래 (token은 "{change_seq}-{id}", 없으면 처음부터)
+    // 아카이브로 옮겨진 과거 거래는 동기화 대상이 아님
+    // token이 동기화 기준선보다 오래되었으면 resetRequired (기준선과 변경분을 같은 스냅숏에서 읽음)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncResponse getChanges(long userId, String token, int limit) {
+        long changeSeq = -1;
+        long lastId = 0;
+        if (token != null && !token.isBlank()) {
+            int separator = token.indexOf('-');
+            try {
+                changeSeq = Long.parseLong(token.substring(0, separator));
+                lastId = Long.parseLong(token.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new UnprocessableRequestException("유효하지 않은 동기화 token입니다.");
+            }
+            if (changeSeq < changeVersionService.syncFloor(userId)) {
+                return SyncResponse.builder()
+                        .changes(List.of())
+                        .resetRequired(true)
+                        .build();
+            }
+        }
+
+        // 한 건 더 읽어서 남은 변경분이 있는지 확인
+        List<Transaction> rows = transactionRepository.findChangesSince(userId, changeSeq, lastId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<SyncChange> changes = new ArrayList<>(rows.size());
+        for (Transaction transaction : rows) {
+            TransactionDto dto = transaction.isDeleted()
+                    ? TransactionDto.builder().id(transaction.getId()).version(transaction.getVersion()).build()
+                    : convertToDto(transaction);
+            changes.add(SyncChange.builder()
+                    .changeSeq(transaction.getChangeSeq())
+                    .deleted(transaction.isDeleted())
+                    .transaction(dto)
+                    .build());
+        }
+
+        String nextToken = token;
+        if (!rows.isEmpty()) {
+            Transaction last = rows.get(rows.size() - 1);
+            nextToken = last.getChangeSeq() + "-" + last.getId();
+        }
+        return SyncResponse.builder()
+                .changes(changes)
+                .nextToken(nextToken)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // 거래 단일 조회 (동기화 충돌 시 현재 서버 상태 전달용)
+    @Transactional(readOnly = true)
+    public Optional<TransactionDto> findTransaction(long userId, Long id) {
+        return transactionRepository.findByIdAndUserId(id, userId).map(this::convertToDto);
+    }
+
+    // 기간 전체 내보내기 (아카이브 포함, 최신순)
+    @Transactional(readOnly = true)
+    public List<TransactionDto> exportTransactions(long userId, LocalDate startDate, LocalDate endDate) {
+        List<TransactionDto> result = new ArrayList<>();
+        transactionRepository.findByUserIdAndTransactionDateBetween(userId, startDate, endDate)
+                .forEach(transaction -> result.add(convertToDto(transaction)));
+        if (archivePolicy.isEnabled() && startDate.isBefore(archivePolicy.cutoffDate())) {
+            archiveReader.read(userId, startDate, endDate).forEach(row -> result.add(convertToDto(row)));
+        }
+        result.sort(LATEST_FIRST);
+        return result;
+    }
 //
 //    // 월별 통계
 //    @Transactional(readOnly = true)
@@ -153,17 +347,160 @@ public class TransactionService {
 //        return stats;
 //    }
 //
+    // 요청에 카테고리가 없으면 분류 규칙으로 정한다
+    private int resolveCategoryId(long userId, TransactionDto transactionDto) {
+        String category = transactionDto.getCategory();
+        if (category != null && !category.isBlank()) {
+            return categoryDictionary.resolveId(userId, category);
+        }
+        Integer matched = categoryRuleService.categorize(userId, transactionDto.getType(), transactionDto.getAmount(),
+                transactionDto.getDescription());
+        return matched != null ? matched : categoryDictionary.resolveId(userId, defaultCategory);
+    }
+
+    // 장부에 쓸 수 있는지 확인하고 장부 id 반환
+    private long requireWritable(long userId, long ledgerId) {
+        ledgerAccessService.require(userId, ledgerId, LedgerRole.EDITOR);
+        return ledgerId;
+    }
+
+    // 수정/삭제할 거래: 그 장부의 EDITOR 이상
+    private Transaction findWritable(long userId, Long id) {
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("거래를 찾을 수 없습니다."));
+        ledgerAccessService.require(userId, transaction.getLedgerId(), LedgerRole.EDITOR);
+        return transaction;
+    }
+
+    // 커밋 후 전달될 변경 이벤트 발행
+    private void publishChange(long userId, long changeSeq, TransactionEventType type, TransactionDto transaction) {
+        eventPublisher.publishEvent(new TransactionChangedEvent(userId, changeSeq, type, transaction));
+    }
+
+    private static void checkVersion(Transaction transaction, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(transaction.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Transaction.class, transaction.getId());
+        }
+    }
+
+    // 최근 거래 페이지 뒤에 과거 거래를 이어 붙인 페이지 (최근 거래로 페이지가 다 차면 과거 거래는 읽지 않음)
+    private Page<TransactionDto> appendOlder(Page<Transaction> recent, Pageable pageable, long olderTotal,
+                                             OlderPage older) {
+        List<TransactionDto> content = new ArrayList<>(pageable.getPageSize());
+        recent.forEach(transaction -> content.add(convertToDto(transaction)));
+
+        long recentTotal = recent.getTotalElements();
+        if (content.size() < pageable.getPageSize() && olderTotal > 0) {
+            long skip = Math.max(0, pageable.getOffset() - recentTotal);
+            content.addAll(older.get(skip, pageable.getPageSize() - content.size()));
+        }
+        return new PageImpl<>(content, pageable, recentTotal + olderTotal);
+    }
+
+    /*
+     * 아카이브 기준일 이전 거래를 연도 단위로 묶은 목록 (연도 내림차순, start가 null이면 처음부터)
+     * 세그먼트가 (사용자, 연도) 단위라 연도 내림차순이 곧 최신순이고, 같은 연도에 소급 입력되어 테이블에 남은 거래를 합쳐 센다
+     * 기간 안에 통째로 들어가는 세그먼트는 archive_segments.row_count로 세고, 기간 경계에 걸친 세그먼트만 풀어서 센다
+     */
+    private List<OlderYear> olderYears(long userId, LocalDate start, LocalDate end) {
+        Map<Integer, Long> tableRows = new HashMap<>();
+        List<Object[]> counts = start == null
+                ? transactionRepository.countByYearUpTo(userId, end)
+                : transactionRepository.countByYearBetween(userId, start, end);
+        counts.forEach(row -> tableRows.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue()));
+
+        List<OlderYear> years = new ArrayList<>();
+        for (ArchiveSegment segment : archiveReader.segments(userId, start, end)) {
+            boolean covered = (start == null || !segment.getMinDate().isBefore(start)) && !segment.getMaxDate().isAfter(end);
+            List<ArchivedTransaction> archived = covered ? null : archiveReader.readSegment(segment, start, end);
+            years.add(new OlderYear(segment.getYear(), tableRows.getOrDefault(segment.getYear(), 0L),
+                    segment, archived));
+            tableRows.remove(segment.getYear());
+        }
+        tableRows.forEach((year, rows) -> years.add(new OlderYear(year, rows, null, List.of())));
+        years.sort(Comparator.comparingInt(OlderYear::year).reversed());
+        return years;
+    }
+
+    // 기준일 이전 거래 중 skip번째부터 limit건 (앞쪽 연도는 건수만 보고 건너뛰고, 페이지에 걸치는 연도의 세그먼트만 푼다)
+    private List<TransactionDto> getOlderTransactions(long userId, LocalDate start, LocalDate end,
+                                                      List<OlderYear> years, long skip, int limit) {
+        List<TransactionDto> result = new ArrayList<>(limit);
+        for (OlderYear year : years) {
+            if (result.size() >= limit) {
+                break;
+            }
+            long size = year.size();
+            if (skip >= size) {
+                skip -= size;
+                continue;
+            }
+
+            List<TransactionDto> rows = new ArrayList<>((int) size);
+            if (year.tableRows() > 0) {
+                LocalDate from = LocalDate.of(year.year(), 1, 1);
+                LocalDate to = LocalDate.of(year.year(), 12, 31);
+                transactionRepository.findByUserIdAndTransactionDateBetween(userId,
+                                start == null || start.isBefore(from) ? from : start,
+                                end.isAfter(to) ? to : end)
+                        .forEach(transaction -> rows.add(convertToDto(transaction)));
+            }
+            List<ArchivedTransaction> archived = year.archived() != null
+                    ? year.archived()
+                    : archiveReader.readSegment(year.segment());
+            archived.forEach(row -> rows.add(convertToDto(row)));
+            rows.sort(LATEST_FIRST);
+
+            rows.stream()
+                    .skip(skip)
+                    .limit(limit - result.size())
+                    .forEach(result::add);
+            skip = 0;
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface OlderPage {
+        List<TransactionDto> get(long skip, int limit);
+    }
+
+    // 기준일 이전 한 해 분량 (archived가 null이면 세그먼트가 기간 안에 통째로 들어가 row_count가 곧 건수)
+    private record OlderYear(int year, long tableRows, ArchiveSegment segment, List<ArchivedTransaction> archived) {
+
+        long size() {
+            return tableRows + (archived != null ? archived.size() : segment.getRowCount());
+        }
+    }
+
     // Entity -> DTO 변환
+    // 목록의 행마다 호출되므로 builder 객체 없이 생성자로 (인자 순서는 TransactionDto 필드 순서)
     private TransactionDto convertToDto(Transaction transaction) {
+        return new TransactionDto(
+                transaction.getId(),
+                transaction.getLedgerId(),
+                transaction.getUserId(),
+                transaction.getType(),
+                categoryDictionary.getName(transaction.getCategoryId()),
+                transaction.getAmount(),
+                transaction.getDescription(),
+                transaction.getTransactionDate(),
+                transaction.getCreatedAt(),
+                transaction.getUpdatedAt(),
+                transaction.getVersion());
+    }
+
+    // 아카이브 행 -> DTO 변환
+    private TransactionDto convertToDto(ArchivedTransaction row) {
         return TransactionDto.builder()
-                .id(transaction.getId())
-                .type(transaction.getType())
-                .category(transaction.getCategory())
-                .amount(transaction.getAmount())
-                .description(transaction.getDescription())
-                .transactionDate(transaction.getTransactionDate())
-                .createdAt(transaction.getCreatedAt())
-                .updatedAt(transaction.getUpdatedAt())
+                .id(row.id())
+                .type(row.type())
+                .category(row.category())
+                .amount(row.amount())
+                .description(row.description())
+                .transactionDate(row.transactionDate())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
                 .build();
     }
 }
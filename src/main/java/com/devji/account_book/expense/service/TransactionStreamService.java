@@ -0,0 +1,288 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.event.TransactionChangedEvent;
+import com.devji.account_book.expense.event.TransactionEventRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+ * 거래 변경 실시간 스트림 (SSE)
+ * - 연결은 SseEmitter(서블릿 비동기 요청)로 유지하므로 대기 중인 연결은 스레드를 점유하지 않는다.
+ * - 다른 노드에서 발생한 변경도 받을 수 있도록 Redis pub/sub 채널을 구독해서 이 노드의 연결로 전달한다.
+ * - Last-Event-ID가 오면 Redis replay 버퍼에서 그 이후 이벤트를 먼저 보내고,
+ *   버퍼 범위를 벗어났으면 reset 이벤트로 목록 전체를 다시 받도록 알린다.
+ * - 실제 전송(소켓 쓰기)은 연결마다 순서대로 streamSendExecutor에서 한다.
+ *   pub/sub 수신 스레드와 heartbeat는 연결별 대기열에 넣기만 하므로 느린 클라이언트 하나가 다른 연결의 전달을 막지 않는다.
+ *   대기열이 max-pending-events를 넘은 연결은 닫는다 (클라이언트가 Last-Event-ID로 다시 연결해서 replay로 따라잡음).
+ */
+@Slf4j
+@Service
+public class TransactionStreamService implements MessageListener {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectReader eventReader;
+    private final Executor sendExecutor;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${app.stream.max-pending-events:256}")
+    private int maxPendingEvents;
+
+    public TransactionStreamService(RedisTemplate<String, String> redisTemplate,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    ObjectMapper objectMapper,
+                                    @Qualifier("streamSendExecutor") Executor sendExecutor) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.eventReader = objectMapper.readerFor(TransactionChangedEvent.class);
+        this.sendExecutor = sendExecutor;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(TransactionEventRelay.CHANNEL));
+    }
+
+    public SseEmitter connect(long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        // replay를 읽기 전에 등록해야 그 사이에 발행된 이벤트를 놓치지 않는다 (replay가 끝날 때까지는 모아 두기만 함)
+        Subscriber subscriber = new Subscriber(userId, emitter, lastEventId != null);
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        Runnable remove = () -> removeSubscriber(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        if (lastEventId != null) {
+            subscriber.finishReplay(readReplay(userId, lastEventId));
+        }
+        return emitter;
+    }
+
+    // Redis pub/sub 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            TransactionChangedEvent event = eventReader.readValue(message.getBody());
+            Set<Subscriber> userSubscribers = subscribers.get(event.userId());
+            if (userSubscribers == null) {
+                return;
+            }
+            for (Subscriber subscriber : userSubscribers) {
+                subscriber.offer(Outgoing.of(event));
+            }
+        } catch (IOException e) {
+            log.warn("Invalid transaction event message: {}", e.getMessage());
+        }
+    }
+
+    // 중간 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주기적으로 주석 이벤트 전송
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::ping));
+    }
+
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // lastEventId 이후 이벤트 (오래된 순), 버퍼 범위를 벗어났으면 reset 하나
+    private List<Outgoing> readReplay(long userId, long lastEventId) {
+        // 버퍼는 최신 이벤트가 앞에 있으므로 뒤에서부터(오래된 순) 읽는다
+        List<String> buffered = redisTemplate.opsForList().range(TransactionEventRelay.REPLAY_KEY_PREFIX + userId, 0, -1);
+        List<Outgoing> replay = new ArrayList<>();
+        if (buffered == null || buffered.isEmpty()) {
+            return replay;
+        }
+        try {
+            TransactionChangedEvent oldest = eventReader.readValue(buffered.get(buffered.size() - 1));
+            if (oldest.version() > lastEventId + 1) {
+                replay.add(Outgoing.RESET);
+                return replay;
+            }
+            for (int i = buffered.size() - 1; i >= 0; i--) {
+                TransactionChangedEvent event = eventReader.readValue(buffered.get(i));
+                if (event.version() > lastEventId) {
+                    replay.add(Outgoing.of(event));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to replay transaction events of user {}: {}", userId, e.getMessage());
+        }
+        return replay;
+    }
+
+    private void removeSubscriber(Subscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.userId, (id, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    // 보낼 이벤트 (version은 거래 이벤트만, 주석/reset은 null)
+    private record Outgoing(Long version, TransactionChangedEvent event, String name) {
+
+        private static final Outgoing PING = new Outgoing(null, null, "ping");
+        private static final Outgoing RESET = new Outgoing(null, null, "reset");
+
+        static Outgoing of(TransactionChangedEvent event) {
+            return new Outgoing(event.version(), event, null);
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (event != null) {
+                return SseEmitter.event()
+                        .id(Long.toString(event.version()))
+                        .name(event.type().name().toLowerCase())
+                        .data(event.transaction() != null ? event.transaction() : Map.of());
+            }
+            return this == PING ? SseEmitter.event().comment("ping") : SseEmitter.event().name("reset").data("{}");
+        }
+    }
+
+    /*
+     * 연결 하나의 전송 대기열
+     * 대기열에 쌓인 것이 있을 때만 drain 작업 하나를 executor에 올리므로 한 연결의 전송은 항상 한 스레드에서 순서대로 진행된다.
+     * replay 중에는 실시간 이벤트를 모아 두기만 하고, replay가 끝나면 replay 이벤트 -> (replay에 없던) 실시간 이벤트 순으로 보낸다.
+     */
+    private final class Subscriber {
+
+        private final long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Outgoing> pending = new ArrayDeque<>();
+        private boolean replaying;
+        private boolean scheduled;
+        private boolean closed;
+
+        private Subscriber(long userId, SseEmitter emitter, boolean replaying) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.replaying = replaying;
+        }
+
+        void offer(Outgoing outgoing) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingEvents) {
+                    log.debug("Closing slow event stream of user {} ({} events pending)", userId, pending.size());
+                    closed = true;
+                    pending.clear();
+                } else {
+                    pending.add(outgoing);
+                    scheduleDrain();
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+
+        // 보낼 것이 쌓여 있으면 그 자체로 연결이 살아 있으므로 건너뜀
+        void ping() {
+            synchronized (this) {
+                if (closed || replaying || !pending.isEmpty()) {
+                    return;
+                }
+            }
+            offer(Outgoing.PING);
+        }
+
+        void finishReplay(List<Outgoing> replay) {
+            synchronized (this) {
+                long lastReplayed = replay.stream()
+                        .map(Outgoing::version)
+                        .filter(Objects::nonNull)
+                        .mapToLong(Long::longValue)
+                        .max()
+                        .orElse(Long.MIN_VALUE);
+                // replay를 읽는 동안 들어온 실시간 이벤트 중 replay 버퍼에 이미 있던 것은 빼고 버전 순으로 뒤에 붙인다
+                List<Outgoing> live = pending.stream()
+                        .filter(outgoing -> outgoing.version() != null && outgoing.version() > lastReplayed)
+                        .sorted(Comparator.comparing(Outgoing::version))
+                        .toList();
+                pending.clear();
+                pending.addAll(replay);
+                pending.addAll(live);
+                replaying = false;
+                if (!closed) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+        }
+
+        // synchronized 안에서 호출
+        private void scheduleDrain() {
+            if (scheduled || replaying || pending.isEmpty()) {
+                return;
+            }
+            scheduled = true;
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.warn("Event stream send executor is saturated, closing stream of user {}", userId);
+                scheduled = false;
+                closed = true;
+                pending.clear();
+                // 완료 콜백(removeSubscriber)은 컨테이너 스레드에서 나중에 불린다
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Outgoing next;
+                synchronized (this) {
+                    next = closed ? null : pending.poll();
+                    if (next == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next.toSse());
+                } catch (IOException | IllegalStateException e) {
+                    removeSubscriber(this);
+                    return;
+                }
+            }
+        }
+    }
+}
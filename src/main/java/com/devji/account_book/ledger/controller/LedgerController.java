@@ -0,0 +1,92 @@
+package com.devji.account_book.ledger.controller;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.ledger.dto.LedgerDto;
+import com.devji.account_book.ledger.dto.LedgerMemberDto;
+import com.devji.account_book.ledger.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/ledgers")
+@RequiredArgsConstructor
+@Validated
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+    private final TransactionService transactionService;
+
+    // 내가 속한 장부 목록 (개인 장부 + 공유 장부)
+    @GetMapping
+    public ResponseEntity<List<LedgerDto>> getLedgers(@AuthenticationPrincipal PrincipalDetails principalDetails) {
+        return ResponseEntity.ok(ledgerService.getLedgers(principalDetails.getUser().getId()));
+    }
+
+    // 공유 장부 만들기
+    @PostMapping
+    public ResponseEntity<LedgerDto> createLedger(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @Valid @RequestBody LedgerDto request) {
+        LedgerDto created = ledgerService.createLedger(principalDetails.getUser().getId(), request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    // 장부 거래 목록 (구성원 모두의 거래, 최신순)
+    @GetMapping("/{ledgerId}/transactions")
+    public ResponseEntity<Page<TransactionDto>> getTransactions(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long ledgerId,
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int size) {
+        return ResponseEntity.ok(transactionService.getLedgerTransactions(
+                principalDetails.getUser().getId(), ledgerId, page, size));
+    }
+
+    @GetMapping("/{ledgerId}/members")
+    public ResponseEntity<List<LedgerMemberDto>> getMembers(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long ledgerId) {
+        return ResponseEntity.ok(ledgerService.getMembers(principalDetails.getUser().getId(), ledgerId));
+    }
+
+    @PostMapping("/{ledgerId}/members")
+    public ResponseEntity<LedgerMemberDto> addMember(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long ledgerId,
+            @Valid @RequestBody LedgerMemberDto request) {
+        LedgerMemberDto added = ledgerService.addMember(principalDetails.getUser().getId(), ledgerId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(added);
+    }
+
+    @PutMapping("/{ledgerId}/members/{userId}")
+    public ResponseEntity<LedgerMemberDto> updateMember(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long ledgerId,
+            @PathVariable Long userId,
+            @Valid @RequestBody LedgerMemberDto request) {
+        return ResponseEntity.ok(ledgerService.updateMemberRole(
+                principalDetails.getUser().getId(), ledgerId, userId, request.getRole()));
+    }
+
+    // 구성원 내보내기 (본인이면 장부에서 나가기)
+    @DeleteMapping("/{ledgerId}/members/{userId}")
+    public ResponseEntity<Void> removeMember(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long ledgerId,
+            @PathVariable Long userId) {
+        ledgerService.removeMember(principalDetails.getUser().getId(), ledgerId, userId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.devji.account_book.ledger.dto;
+
+import com.devji.account_book.ledger.entity.LedgerRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerDto {
+    private Long id;
+
+    @NotBlank(message = "장부 이름은 필수입니다")
+    @Size(max = 100, message = "장부 이름은 100자 이하여야 합니다")
+    private String name;
+
+    private boolean personal;
+
+    // 요청한 사용자의 권한
+    private LedgerRole role;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package com.devji.account_book.ledger.dto;
+
+import com.devji.account_book.ledger.entity.LedgerRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+// 구성원 초대는 email + role, 권한 변경은 role만
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerMemberDto {
+    private Long userId;
+
+    @Email(message = "이메일 형식이 올바르지 않습니다")
+    private String email;
+
+    private String name;
+
+    @NotNull(message = "권한은 필수입니다")
+    private LedgerRole role;
+
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,38 @@
+package com.devji.account_book.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 가계부 장부 (personal이면 사용자마다 하나뿐인 개인 장부, 아니면 여러 사용자가 함께 쓰는 공유 장부)
+@Entity
+@Table(name = "ledgers")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Ledger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private boolean personal;
+
+    // 만든 사용자 (개인 장부는 주인)
+    @Column(nullable = false)
+    private Long ownerUserId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,38 @@
+package com.devji.account_book.ledger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_members",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_members_ledger_user", columnNames = {"ledger_id", "user_id"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LedgerRole role;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime joinedAt;
+}
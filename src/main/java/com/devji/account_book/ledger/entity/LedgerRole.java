@@ -0,0 +1,12 @@
+package com.devji.account_book.ledger.entity;
+
+// 장부 구성원 권한 (뒤로 갈수록 약함: OWNER는 EDITOR, VIEWER 권한을 모두 가진다)
+public enum LedgerRole {
+    OWNER,  // 구성원 관리 + 거래 쓰기/조회
+    EDITOR, // 거래 쓰기/조회
+    VIEWER; // 조회만
+
+    public boolean allows(LedgerRole required) {
+        return ordinal() <= required.ordinal();
+    }
+}
@@ -0,0 +1,7 @@
+package com.devji.account_book.ledger.event;
+
+import java.util.List;
+
+// 장부 구성원/권한이 바뀜 (커밋 후 모든 노드에서 해당 사용자들의 권한 캐시를 버린다), 캐시 키가 JWT subject라 email로 전달
+public record LedgerMembershipChangedEvent(List<String> emails) {
+}
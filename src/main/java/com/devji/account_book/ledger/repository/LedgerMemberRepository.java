@@ -0,0 +1,27 @@
+package com.devji.account_book.ledger.repository;
+
+import com.devji.account_book.ledger.entity.LedgerMember;
+import com.devji.account_book.ledger.entity.LedgerRole;
+import com.devji.account_book.ledger.service.LedgerMembership;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerMemberRepository extends JpaRepository<LedgerMember, Long> {
+
+    // 사용자가 속한 장부와 권한 (idx_ledger_members_user, 요청마다가 아니라 캐시가 비었을 때만 조회)
+    @Query("SELECT new com.devji.account_book.ledger.service.LedgerMembership(m.ledgerId, m.role, l.personal) " +
+            "FROM LedgerMember m JOIN Ledger l ON l.id = m.ledgerId WHERE m.userId = :userId")
+    List<LedgerMembership> findMemberships(@Param("userId") Long userId);
+
+    List<LedgerMember> findByLedgerIdOrderByIdAsc(Long ledgerId);
+
+    Optional<LedgerMember> findByLedgerIdAndUserId(Long ledgerId, Long userId);
+
+    long countByLedgerIdAndRole(Long ledgerId, LedgerRole role);
+}
@@ -0,0 +1,27 @@
+package com.devji.account_book.ledger.repository;
+
+import com.devji.account_book.ledger.entity.Ledger;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerRepository extends JpaRepository<Ledger, Long> {
+
+    @Query("SELECT l FROM Ledger l WHERE l.ownerUserId = :userId AND l.personal = true")
+    Optional<Ledger> findPersonal(@Param("userId") Long userId);
+
+    // 구성원 변경을 장부 단위로 직렬화 (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM Ledger l WHERE l.id = :id")
+    Optional<Ledger> findByIdForUpdate(@Param("id") Long id);
+
+    List<Ledger> findByIdInOrderByIdAsc(Collection<Long> ids);
+}
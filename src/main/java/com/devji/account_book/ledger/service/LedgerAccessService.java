@@ -0,0 +1,117 @@
+package com.devji.account_book.ledger.service;
+
+import com.devji.account_book.auth.repository.UserRepository;
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.expense.exception.ForbiddenException;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.ledger.entity.LedgerRole;
+import com.devji.account_book.ledger.event.LedgerMembershipChangedEvent;
+import com.devji.account_book.ledger.repository.LedgerMemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.List;
+
+/*
+ * 장부 권한 확인
+ * 요청 처리 중에는 로그인한 사용자의 권한을 LedgerMembershipCache(JWT subject 키)에서 한 번만 꺼내 요청 속성에 두고 재사용한다.
+ * 목록 조회는 장부 단위로 한 번만 확인하고 ledger_id 조건으로 읽으므로 거래 행마다 권한을 확인하지 않는다.
+ * 로그인 사용자가 없는 곳(명세서 가져오기)에서는 캐시를 거치지 않고 DB에서 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerAccessService {
+
+    private static final String REQUEST_ATTRIBUTE = LedgerAccessService.class.getName() + ".memberships";
+    private static final String PERSONAL_LEDGER_NAME = "내 가계부";
+    private static final String INSERT_PERSONAL_LEDGER_SQL = "INSERT INTO ledgers (name, personal, owner_user_id, created_at) " +
+            "VALUES (?, TRUE, ?, now()) ON CONFLICT (owner_user_id) WHERE personal DO NOTHING RETURNING id";
+
+    private final LedgerMembershipCache membershipCache;
+    private final LedgerMemberRepository ledgerMemberRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LedgerMemberships memberships(long userId) {
+        PrincipalDetails principal = currentPrincipal(userId);
+        if (principal == null) {
+            return load(userId);
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        LedgerMemberships memberships = request != null
+                ? (LedgerMemberships) request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        if (memberships == null) {
+            memberships = membershipCache.get(principal.getUsername(), () -> load(userId));
+            if (request != null) {
+                request.setAttribute(REQUEST_ATTRIBUTE, memberships, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return memberships;
+    }
+
+    // 구성원이 아니면 장부가 있는지도 알리지 않도록 404, 권한이 부족하면 403
+    public LedgerRole require(long userId, long ledgerId, LedgerRole required) {
+        LedgerRole role = memberships(userId).role(ledgerId);
+        if (role == null) {
+            throw new NotFoundException("장부를 찾을 수 없습니다.");
+        }
+        if (!role.allows(required)) {
+            throw new ForbiddenException("장부에 대한 권한이 없습니다.");
+        }
+        return role;
+    }
+
+    public long personalLedgerId(long userId) {
+        Long ledgerId = memberships(userId).personalLedgerId();
+        return ledgerId != null ? ledgerId : ensurePersonalLedger(userId);
+    }
+
+    // 개인 장부가 없으면 만든다 (가입, 마이그레이션 이후 가입한 사용자)
+    @Transactional
+    public long ensurePersonalLedger(long userId) {
+        Long existing = findPersonalLedgerId(userId);
+        if (existing != null) {
+            return existing;
+        }
+        List<Long> created = jdbcTemplate.queryForList(INSERT_PERSONAL_LEDGER_SQL, Long.class, PERSONAL_LEDGER_NAME, userId);
+        if (created.isEmpty()) {
+            // 동시에 다른 트랜잭션이 먼저 만들었음 (ON CONFLICT가 그 커밋을 기다린 뒤 건너뜀)
+            return findPersonalLedgerId(userId);
+        }
+        long ledgerId = created.get(0);
+        jdbcTemplate.update("INSERT INTO ledger_members (ledger_id, user_id, role, joined_at) VALUES (?, ?, ?, now())",
+                ledgerId, userId, LedgerRole.OWNER.name());
+        userRepository.findById(userId).ifPresent(user ->
+                eventPublisher.publishEvent(new LedgerMembershipChangedEvent(List.of(user.getEmail()))));
+        return ledgerId;
+    }
+
+    private Long findPersonalLedgerId(long userId) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM ledgers WHERE owner_user_id = ? AND personal", Long.class, userId);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private LedgerMemberships load(long userId) {
+        return LedgerMemberships.of(ledgerMemberRepository.findMemberships(userId));
+    }
+
+    // 현재 요청의 로그인 사용자가 userId일 때만 (다른 사용자의 권한을 그 사람의 캐시 키로 읽지 않도록)
+    private static PrincipalDetails currentPrincipal(long userId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof PrincipalDetails principal
+                && principal.getUser().getId() != null && principal.getUser().getId() == userId) {
+            return principal;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.devji.account_book.ledger.service;
+
+import com.devji.account_book.ledger.entity.LedgerRole;
+
+// 사용자가 속한 장부 하나 (LedgerMemberRepository.findMemberships 결과)
+public record LedgerMembership(Long ledgerId, LedgerRole role, boolean personal) {
+}
@@ -0,0 +1,75 @@
+package com.devji.account_book.ledger.service;
+
+import com.devji.account_book.ledger.event.LedgerMembershipChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/*
+ * 사용자별 장부 권한 캐시 (키는 JWT subject = email)
+ * 구성원이 바뀌면 커밋 직후 이 노드에서 버리고, 다른 노드에는 Redis pub/sub(ledger-memberships 채널)으로 알린다.
+ * pub/sub 메시지를 놓친 노드는 ttl이 지나면 다시 읽는다.
+ */
+@Slf4j
+@Component
+public class LedgerMembershipCache implements MessageListener {
+
+    public static final String CHANNEL = "ledger-memberships";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, LedgerMemberships> memberships;
+
+    public LedgerMembershipCache(RedisTemplate<String, String> redisTemplate,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 @Value("${app.ledger.cache-max-users:100000}") long cacheMaxUsers,
+                                 @Value("${app.ledger.cache-ttl:5m}") Duration cacheTtl) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(cacheMaxUsers)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public LedgerMemberships get(String subject, Supplier<LedgerMemberships> loader) {
+        return memberships.get(subject, key -> loader.get());
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(LedgerMembershipChangedEvent event) {
+        for (String email : event.emails()) {
+            memberships.invalidate(email);
+            try {
+                redisTemplate.convertAndSend(CHANNEL, email);
+            } catch (DataAccessException e) {
+                // 다른 노드는 cache-ttl이 지나면 바뀐 권한을 읽는다
+                log.warn("Failed to broadcast ledger membership change of {}: {}", email, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        memberships.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
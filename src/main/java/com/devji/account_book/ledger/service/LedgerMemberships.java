@@ -0,0 +1,46 @@
+package com.devji.account_book.ledger.service;
+
+import com.devji.account_book.ledger.entity.LedgerRole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 한 사용자의 장부별 권한 (캐시에 그대로 두고 여러 스레드가 읽으므로 만든 뒤에는 바뀌지 않는다)
+public final class LedgerMemberships {
+
+    private final Map<Long, LedgerRole> roles;
+    private final Long personalLedgerId;
+
+    private LedgerMemberships(Map<Long, LedgerRole> roles, Long personalLedgerId) {
+        this.roles = roles;
+        this.personalLedgerId = personalLedgerId;
+    }
+
+    public static LedgerMemberships of(List<LedgerMembership> memberships) {
+        Map<Long, LedgerRole> roles = new HashMap<>(memberships.size() * 2);
+        Long personalLedgerId = null;
+        for (LedgerMembership membership : memberships) {
+            roles.put(membership.ledgerId(), membership.role());
+            if (membership.personal()) {
+                personalLedgerId = membership.ledgerId();
+            }
+        }
+        return new LedgerMemberships(Map.copyOf(roles), personalLedgerId);
+    }
+
+    // 구성원이 아니면 null
+    public LedgerRole role(long ledgerId) {
+        return roles.get(ledgerId);
+    }
+
+    public Set<Long> ledgerIds() {
+        return roles.keySet();
+    }
+
+    // 가입 직후 등 개인 장부가 아직 없으면 null
+    public Long personalLedgerId() {
+        return personalLedgerId;
+    }
+}
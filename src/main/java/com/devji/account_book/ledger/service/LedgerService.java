@@ -0,0 +1,190 @@
+package com.devji.account_book.ledger.service;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.repository.UserRepository;
+import com.devji.account_book.datasource.shard.ShardRouter;
+import com.devji.account_book.expense.exception.ConflictException;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
+import com.devji.account_book.ledger.dto.LedgerDto;
+import com.devji.account_book.ledger.dto.LedgerMemberDto;
+import com.devji.account_book.ledger.entity.Ledger;
+import com.devji.account_book.ledger.entity.LedgerMember;
+import com.devji.account_book.ledger.entity.LedgerRole;
+import com.devji.account_book.ledger.event.LedgerMembershipChangedEvent;
+import com.devji.account_book.ledger.repository.LedgerMemberRepository;
+import com.devji.account_book.ledger.repository.LedgerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * 장부와 구성원 관리
+ * 개인 장부는 주인 한 명만 (구성원을 추가/삭제할 수 없음), 공유 장부의 구성원 관리는 OWNER만 할 수 있고 본인은 언제든 나갈 수 있다.
+ * 공유 장부에는 OWNER가 최소 한 명 남아 있어야 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class LedgerService {
+
+    private final LedgerRepository ledgerRepository;
+    private final LedgerMemberRepository ledgerMemberRepository;
+    private final LedgerAccessService ledgerAccessService;
+    private final UserRepository userRepository;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 내가 속한 장부 (개인 장부 먼저)
+    @Transactional(readOnly = true)
+    public List<LedgerDto> getLedgers(long userId) {
+        LedgerMemberships memberships = ledgerAccessService.memberships(userId);
+        List<LedgerDto> result = new ArrayList<>();
+        for (Ledger ledger : ledgerRepository.findByIdInOrderByIdAsc(memberships.ledgerIds())) {
+            LedgerDto dto = convertToDto(ledger, memberships.role(ledger.getId()));
+            if (ledger.isPersonal()) {
+                result.add(0, dto);
+            } else {
+                result.add(dto);
+            }
+        }
+        return result;
+    }
+
+    // 공유 장부 만들기 (만든 사용자가 OWNER)
+    @Transactional
+    public LedgerDto createLedger(long userId, LedgerDto request) {
+        LocalDateTime now = LocalDateTime.now();
+        Ledger ledger = ledgerRepository.save(Ledger.builder()
+                .name(request.getName().trim())
+                .personal(false)
+                .ownerUserId(userId)
+                .createdAt(now)
+                .build());
+        ledgerMemberRepository.save(LedgerMember.builder()
+                .ledgerId(ledger.getId())
+                .userId(userId)
+                .role(LedgerRole.OWNER)
+                .joinedAt(now)
+                .build());
+        publishChange(List.of(userId));
+        return convertToDto(ledger, LedgerRole.OWNER);
+    }
+
+    @Transactional(readOnly = true)
+    public List<LedgerMemberDto> getMembers(long userId, long ledgerId) {
+        ledgerAccessService.require(userId, ledgerId, LedgerRole.VIEWER);
+        List<LedgerMember> members = ledgerMemberRepository.findByLedgerIdOrderByIdAsc(ledgerId);
+        Map<Long, User> users = userRepository.findAllById(members.stream().map(LedgerMember::getUserId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<LedgerMemberDto> result = new ArrayList<>(members.size());
+        members.forEach(member -> result.add(convertToDto(member, users.get(member.getUserId()))));
+        return result;
+    }
+
+    // 구성원 추가 (email로 가입된 사용자를 찾아서)
+    @Transactional
+    public LedgerMemberDto addMember(long userId, long ledgerId, LedgerMemberDto request) {
+        ledgerAccessService.require(userId, ledgerId, LedgerRole.OWNER);
+        Ledger ledger = sharedLedger(ledgerId);
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            throw new UnprocessableRequestException("추가할 사용자의 이메일이 필요합니다.");
+        }
+        String email = request.getEmail().trim();
+        // 장부의 거래는 한 샤드에 있으므로 구성원도 같은 샤드에 있어야 한다
+        if (shardRouter.shardOfEmail(email) != shardRouter.currentShard()) {
+            throw new UnprocessableRequestException("다른 저장소에 있는 사용자와는 장부를 공유할 수 없습니다.");
+        }
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new NotFoundException("사용자를 찾을 수 없습니다."));
+        if (ledgerMemberRepository.findByLedgerIdAndUserId(ledger.getId(), user.getId()).isPresent()) {
+            throw new ConflictException("이미 장부의 구성원입니다.");
+        }
+        LedgerMember member = ledgerMemberRepository.save(LedgerMember.builder()
+                .ledgerId(ledger.getId())
+                .userId(user.getId())
+                .role(request.getRole())
+                .joinedAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new LedgerMembershipChangedEvent(List.of(user.getEmail())));
+        return convertToDto(member, user);
+    }
+
+    @Transactional
+    public LedgerMemberDto updateMemberRole(long userId, long ledgerId, long memberUserId, LedgerRole role) {
+        ledgerAccessService.require(userId, ledgerId, LedgerRole.OWNER);
+        sharedLedger(ledgerId);
+        LedgerMember member = ledgerMemberRepository.findByLedgerIdAndUserId(ledgerId, memberUserId)
+                .orElseThrow(() -> new NotFoundException("구성원을 찾을 수 없습니다."));
+        if (member.getRole() == LedgerRole.OWNER && role != LedgerRole.OWNER) {
+            checkNotLastOwner(ledgerId);
+        }
+        member.setRole(role);
+        publishChange(List.of(memberUserId));
+        return convertToDto(member, userRepository.findById(memberUserId).orElse(null));
+    }
+
+    // OWNER가 내보내거나 본인이 나간다
+    @Transactional
+    public void removeMember(long userId, long ledgerId, long memberUserId) {
+        ledgerAccessService.require(userId, ledgerId, userId == memberUserId ? LedgerRole.VIEWER : LedgerRole.OWNER);
+        sharedLedger(ledgerId);
+        LedgerMember member = ledgerMemberRepository.findByLedgerIdAndUserId(ledgerId, memberUserId)
+                .orElseThrow(() -> new NotFoundException("구성원을 찾을 수 없습니다."));
+        if (member.getRole() == LedgerRole.OWNER) {
+            checkNotLastOwner(ledgerId);
+        }
+        ledgerMemberRepository.delete(member);
+        publishChange(List.of(memberUserId));
+    }
+
+    // 장부 행을 잠가서 같은 장부의 구성원 변경이 차례로 실행되게 한다
+    // (OWNER 두 명이 동시에 서로를 내보내거나 강등해서 마지막 OWNER 확인을 둘 다 통과하지 않도록)
+    private Ledger sharedLedger(long ledgerId) {
+        Ledger ledger = ledgerRepository.findByIdForUpdate(ledgerId)
+                .orElseThrow(() -> new NotFoundException("장부를 찾을 수 없습니다."));
+        if (ledger.isPersonal()) {
+            throw new UnprocessableRequestException("개인 장부의 구성원은 바꿀 수 없습니다.");
+        }
+        return ledger;
+    }
+
+    private void checkNotLastOwner(long ledgerId) {
+        if (ledgerMemberRepository.countByLedgerIdAndRole(ledgerId, LedgerRole.OWNER) <= 1) {
+            throw new UnprocessableRequestException("장부에는 OWNER가 한 명 이상 있어야 합니다.");
+        }
+    }
+
+    private void publishChange(List<Long> userIds) {
+        List<String> emails = userRepository.findAllById(userIds).stream().map(User::getEmail).toList();
+        eventPublisher.publishEvent(new LedgerMembershipChangedEvent(emails));
+    }
+
+    private static LedgerDto convertToDto(Ledger ledger, LedgerRole role) {
+        return LedgerDto.builder()
+                .id(ledger.getId())
+                .name(ledger.getName())
+                .personal(ledger.isPersonal())
+                .role(role)
+                .createdAt(ledger.getCreatedAt())
+                .build();
+    }
+
+    private static LedgerMemberDto convertToDto(LedgerMember member, User user) {
+        return LedgerMemberDto.builder()
+                .userId(member.getUserId())
+                .email(user != null ? user.getEmail() : null)
+                .name(user != null ? user.getName() : null)
+                .role(member.getRole())
+                .joinedAt(member.getJoinedAt())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.devji.account_book.report.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/*
+ * 명세서 생성 스레드 풀 (크기 고정, 대기열 없음)
+ * 작업자는 빈 스레드 수만큼만 작업을 가져가므로 대기열에 쌓이는 작업이 없고, 가져간 작업은 lease 안에 바로 시작된다.
+ */
+@Configuration
+@EnableConfigurationProperties(ReportProperties.class)
+public class ReportConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(ReportProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("report-");
+        executor.setCorePoolSize(properties.getWorkerThreads());
+        executor.setMaxPoolSize(properties.getWorkerThreads());
+        executor.setQueueCapacity(0);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
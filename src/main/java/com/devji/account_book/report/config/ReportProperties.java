@@ -0,0 +1,54 @@
+package com.devji.account_book.report.config;
+
+import com.devji.account_book.report.entity.ReportFormat;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.report")
+public class ReportProperties {
+
+    private boolean enabled = true;
+
+    // 매월 전월 명세서 작업을 만드는 시각 (거래가 있었던 사용자만)
+    private String scheduleCron = "0 0 1 1 * *";
+
+    // 매월 자동으로 만드는 형식
+    private Set<ReportFormat> formats = EnumSet.of(ReportFormat.CSV, ReportFormat.PDF);
+
+    // 이 시간대(서버 시간, 자정을 넘어가도 됨)에만 예약 작업을 처리
+    private LocalTime windowStart = LocalTime.of(1, 0);
+
+    private LocalTime windowEnd = LocalTime.of(6, 0);
+
+    // 노드 하나가 1초에 시작하는 작업 수 (시간대 안 / 밖, 밖에서는 사용자가 직접 요청한 작업만)
+    private double jobsPerSecond = 5;
+
+    private double offWindowJobsPerSecond = 0.2;
+
+    // 노드당 동시에 만드는 작업 수 (DB 커넥션도 이만큼만 더 쓴다)
+    private int workerThreads = 2;
+
+    private long pollIntervalMs = 1000;
+
+    // 작업을 가져간 노드가 이 시간 안에 lease를 늘리지 않으면 다른 노드가 다시 가져감
+    private Duration lease = Duration.ofMinutes(5);
+
+    private int maxAttempts = 3;
+
+    // 거래를 읽을 때 한 번에 가져오는 행 수 (서버 쪽 커서, 한 달치 전체를 메모리에 올리지 않음)
+    private int fetchSize = 500;
+
+    // 작업 생성 시 한 번에 처리하는 사용자 수
+    private int enqueueBatchSize = 1000;
+
+    // 한글을 표시할 TTF/OTF 글꼴 경로 (예: NanumGothic.ttf), 없으면 기본 글꼴이라 한글이 빠진다
+    private String pdfFontPath;
+}
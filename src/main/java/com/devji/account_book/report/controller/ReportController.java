@@ -0,0 +1,81 @@
+package com.devji.account_book.report.controller;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.report.dto.ReportJobDto;
+import com.devji.account_book.report.entity.ReportFormat;
+import com.devji.account_book.report.service.ReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+
+    // 지난 달 명세서 요청 (month=2026-09, format=CSV|PDF)
+    // 202 + Location: 완료되면 GET /api/reports/{id}의 downloadUrl로 내려받기
+    @PostMapping
+    public ResponseEntity<ReportJobDto> request(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "PDF") ReportFormat format) {
+        ReportJobDto job = reportService.request(principalDetails.getUser().getId(), month, format);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/reports/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportJobDto> getJob(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(reportService.getJob(principalDetails.getUser().getId(), id));
+    }
+
+    // 최근 24건 (월 내림차순)
+    @GetMapping
+    public ResponseEntity<List<ReportJobDto>> getRecentJobs(@AuthenticationPrincipal PrincipalDetails principalDetails) {
+        return ResponseEntity.ok(reportService.getRecentJobs(principalDetails.getUser().getId()));
+    }
+
+    // 저장된 파일(memory-map)을 그대로 내보낸다
+    @GetMapping("/{id}/download")
+    public ResponseEntity<StreamingResponseBody> download(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id) throws IOException {
+        ReportService.Download download = reportService.download(principalDetails.getUser().getId(), id);
+        ByteBuffer content = download.content();
+        StreamingResponseBody body = out -> {
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(download.format().getMediaType())
+                .contentLength(content.remaining())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(download.fileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
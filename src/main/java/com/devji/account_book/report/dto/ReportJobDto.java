@@ -0,0 +1,49 @@
+package com.devji.account_book.report.dto;
+
+import com.devji.account_book.report.entity.ReportFormat;
+import com.devji.account_book.report.entity.ReportJob;
+import com.devji.account_book.report.entity.ReportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDto {
+    private Long id;
+    private YearMonth month;
+    private ReportFormat format;
+    private ReportJobStatus status;
+    private Integer rowCount;
+    private Long fileSize;
+
+    // 완료된 작업만
+    private String downloadUrl;
+
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    public static ReportJobDto from(ReportJob job) {
+        boolean completed = job.getStatus() == ReportJobStatus.COMPLETED;
+        return ReportJobDto.builder()
+                .id(job.getId())
+                .month(YearMonth.from(job.getReportMonth()))
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .rowCount(job.getRowCount())
+                .fileSize(job.getFileSize())
+                .downloadUrl(completed ? "/api/reports/" + job.getId() + "/download" : null)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.devji.account_book.report.entity;
+
+import org.springframework.http.MediaType;
+
+public enum ReportFormat {
+    CSV("csv", MediaType.parseMediaType("text/csv; charset=UTF-8")),
+    PDF("pdf", MediaType.APPLICATION_PDF);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ReportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
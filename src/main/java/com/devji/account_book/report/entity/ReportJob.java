@@ -0,0 +1,76 @@
+package com.devji.account_book.report.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 월간 명세서 생성 작업 (상태 변경은 ReportWorker가 SQL로 직접, 엔티티는 조회와 요청 접수용)
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // 그 달 1일
+    @Column(nullable = false)
+    private LocalDate reportMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReportJobStatus status;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean requested = false;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    private LocalDateTime leaseUntil;
+
+    // ArchiveStore 안에서의 위치
+    @Column(length = 512)
+    private String storageKey;
+
+    private Long fileSize;
+
+    private Integer rowCount;
+
+    // 명세서를 만든 시점의 users.change_version과 말일 잔액 (요청 시 비교해서 바뀌었으면 다시 만든다)
+    private Long sourceVersion;
+
+    @Column(precision = 17, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,5 @@
+package com.devji.account_book.report.entity;
+
+public enum ReportJobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
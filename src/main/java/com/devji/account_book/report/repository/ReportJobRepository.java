@@ -0,0 +1,20 @@
+package com.devji.account_book.report.repository;
+
+import com.devji.account_book.report.entity.ReportFormat;
+import com.devji.account_book.report.entity.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    Optional<ReportJob> findByIdAndUserId(Long id, Long userId);
+
+    Optional<ReportJob> findByUserIdAndReportMonthAndFormat(Long userId, LocalDate reportMonth, ReportFormat format);
+
+    List<ReportJob> findTop24ByUserIdOrderByReportMonthDescFormatAsc(Long userId);
+}
@@ -0,0 +1,171 @@
+package com.devji.account_book.report.service;
+
+import com.devji.account_book.archive.dto.ArchivedTransaction;
+import com.devji.account_book.archive.service.TransactionArchiveReader;
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.CategoryDictionary;
+import com.devji.account_book.report.config.ReportProperties;
+import com.devji.account_book.report.entity.ReportFormat;
+import com.devji.account_book.report.writer.ReportHeader;
+import com.devji.account_book.report.writer.ReportRow;
+import com.devji.account_book.report.writer.ReportSummary;
+import com.devji.account_book.report.writer.ReportWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 월간 명세서 한 건 생성: 임시 파일에 쓴 뒤 ArchiveStore(reports/ 아래)로 옮긴다.
+ * 전월 잔액과 거래 목록은 REPEATABLE READ 읽기 전용 트랜잭션 하나로 읽는다 (복제본을 쓰면 복제본에서, 진행 중인 쓰기와 섞이지 않음).
+ * 거래는 서버 쪽 커서(fetch-size)로 날짜순으로 읽으면서 바로 writer로 넘기므로 메모리 사용량은 달의 거래 수와 무관하다.
+ * 그 달이 아카이브된 연도면 세그먼트의 거래도 날짜순으로 끼워 넣는다.
+ * 저장 위치는 작업 id로 정해지므로 중간에 죽은 작업을 다시 돌려도 같은 파일을 덮어쓴다.
+ * 같은 스냅숏에서 읽은 users.change_version과 말일 잔액을 돌려주고, ReportService가 그 뒤의 변경으로 다시 만들지 정한다.
+ */
+@Component
+public class ReportRenderer {
+
+    private static final String SELECT_ROWS_SQL = "SELECT transaction_date, type, category_id, amount, description " +
+            "FROM transactions WHERE user_id = ? AND transaction_date BETWEEN ? AND ? AND deleted = FALSE " +
+            "ORDER BY transaction_date, created_at";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate snapshotTemplate;
+    private final BalanceService balanceService;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionArchiveReader archiveReader;
+    private final ArchiveStore archiveStore;
+    private final ReportProperties properties;
+
+    public ReportRenderer(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          BalanceService balanceService,
+                          CategoryDictionary categoryDictionary,
+                          TransactionArchiveReader archiveReader,
+                          ArchiveStore archiveStore,
+                          ReportProperties properties) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.balanceService = balanceService;
+        this.categoryDictionary = categoryDictionary;
+        this.archiveReader = archiveReader;
+        this.archiveStore = archiveStore;
+        this.properties = properties;
+    }
+
+    public Rendered render(long jobId, long userId, YearMonth month, ReportFormat format) throws IOException {
+        Path temp = Files.createTempFile("report-", "." + format.getExtension());
+        try {
+            Snapshot snapshot;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                snapshot = snapshotTemplate.execute(status -> write(userId, month, format, out));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            String key = "reports/" + userId + "/" + month + "-" + jobId + "." + format.getExtension();
+            long size = archiveStore.put(key, temp);
+            return new Rendered(key, size, snapshot.summary().rowCount(), snapshot.sourceVersion(),
+                    snapshot.summary().closingBalance());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Snapshot write(long userId, YearMonth month, ReportFormat format, OutputStream out) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        Map<String, Object> user = streamingJdbcTemplate.queryForMap(
+                "SELECT name, change_version FROM users WHERE id = ?", userId);
+        String userName = (String) user.get("name");
+        BigDecimal opening = balanceService.getBalance(userId, start.minusDays(1)).getBalance();
+
+        List<ArchivedTransaction> archived = archiveReader.read(userId, start, end).stream()
+                .sorted(Comparator.comparing(ArchivedTransaction::transactionDate))
+                .toList();
+        try (ReportWriter writer = ReportWriter.open(format, new ReportHeader(userName, month, opening), out,
+                properties.getPdfFontPath())) {
+            Totals totals = new Totals(writer);
+            Iterator<ArchivedTransaction> archivedRows = archived.iterator();
+            ArchivedTransaction[] nextArchived = {archivedRows.hasNext() ? archivedRows.next() : null};
+            streamingJdbcTemplate.query(SELECT_ROWS_SQL, rs -> {
+                LocalDate date = rs.getObject(1, LocalDate.class);
+                while (nextArchived[0] != null && !nextArchived[0].transactionDate().isAfter(date)) {
+                    totals.add(toRow(nextArchived[0]));
+                    nextArchived[0] = archivedRows.hasNext() ? archivedRows.next() : null;
+                }
+                int categoryId = rs.getInt(3);
+                totals.add(new ReportRow(date, TransactionType.valueOf(rs.getString(2)),
+                        rs.wasNull() ? null : categoryDictionary.getName(categoryId),
+                        rs.getBigDecimal(4), rs.getString(5)));
+            }, userId, start, end);
+            while (nextArchived[0] != null) {
+                totals.add(toRow(nextArchived[0]));
+                nextArchived[0] = archivedRows.hasNext() ? archivedRows.next() : null;
+            }
+            ReportSummary summary = new ReportSummary(totals.rows, totals.income, totals.expense,
+                    opening.add(totals.income).subtract(totals.expense));
+            writer.finish(summary);
+            return new Snapshot(summary, ((Number) user.get("change_version")).longValue());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ReportRow toRow(ArchivedTransaction row) {
+        return new ReportRow(row.transactionDate(), row.type(), row.category(), row.amount(), row.description());
+    }
+
+    // sourceVersion: 명세서를 만든 시점의 users.change_version
+    public record Rendered(String storageKey, long fileSize, int rowCount, long sourceVersion, BigDecimal closingBalance) {
+    }
+
+    private record Snapshot(ReportSummary summary, long sourceVersion) {
+    }
+
+    private static final class Totals {
+        private final ReportWriter writer;
+        private int rows;
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+
+        private Totals(ReportWriter writer) {
+            this.writer = writer;
+        }
+
+        private void add(ReportRow row) {
+            try {
+                writer.writeRow(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+            if (row.type() == TransactionType.INCOME) {
+                income = income.add(row.amount());
+            } else {
+                expense = expense.add(row.amount());
+            }
+        }
+    }
+}
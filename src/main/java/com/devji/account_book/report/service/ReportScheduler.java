@@ -0,0 +1,92 @@
+package com.devji.account_book.report.service;
+
+import com.devji.account_book.datasource.shard.ShardRouter;
+import com.devji.account_book.report.config.ReportProperties;
+import com.devji.account_book.report.entity.ReportFormat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Array;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 매월 전월 명세서 작업을 만든다 (그 달에 거래가 있었던 사용자 x 설정한 형식)
+ * 사용자를 enqueue-batch-size명씩 나눠서 INSERT하고, 거래가 있었는지는 balance_days(PK 조회)로 확인하므로 거래 테이블을 읽지 않는다.
+ * (user_id, report_month, format) UNIQUE + ON CONFLICT DO NOTHING이라 여러 노드에서 동시에 돌거나 다시 돌려도 한 번만 만들어진다.
+ * 실제 생성은 ReportWorker가 off-peak 시간대에 나눠서 처리한다.
+ */
+@Slf4j
+@Service
+public class ReportScheduler {
+
+    private static final String SELECT_USERS_SQL = "SELECT id FROM users WHERE id > ? AND NOT moved_out ORDER BY id LIMIT ?";
+    private static final String ENQUEUE_SQL = "INSERT INTO report_jobs (user_id, report_month, format, status, created_at) " +
+            "SELECT u.id, ?, f.format, 'PENDING', ? FROM users u CROSS JOIN unnest(?) AS f(format) " +
+            "WHERE u.id BETWEEN ? AND ? AND NOT u.moved_out " +
+            "AND EXISTS (SELECT 1 FROM balance_days d WHERE d.user_id = u.id AND d.balance_date BETWEEN ? AND ?) " +
+            "ON CONFLICT (user_id, report_month, format) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ReportProperties properties;
+
+    public ReportScheduler(JdbcTemplate jdbcTemplate, ShardRouter shardRouter, ReportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.report.schedule-cron:0 0 1 1 * *}")
+    public void enqueueLastMonth() {
+        if (properties.isEnabled() && !properties.getFormats().isEmpty()) {
+            enqueue(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    // 만든 작업 수
+    public int enqueue(YearMonth month) {
+        AtomicInteger created = new AtomicInteger();
+        shardRouter.forEachShard(shard -> {
+            int count = enqueueShard(month);
+            created.addAndGet(count);
+            log.info("Enqueued {} report jobs for {} on shard {}", count, month, shard);
+        });
+        return created.get();
+    }
+
+    private int enqueueShard(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        String[] formats = properties.getFormats().stream().map(ReportFormat::name).toArray(String[]::new);
+        long lastId = 0;
+        int created = 0;
+        while (true) {
+            List<Long> userIds = jdbcTemplate.queryForList(SELECT_USERS_SQL, Long.class, lastId, properties.getEnqueueBatchSize());
+            if (userIds.isEmpty()) {
+                return created;
+            }
+            long firstId = userIds.get(0);
+            long batchLastId = userIds.get(userIds.size() - 1);
+            LocalDateTime now = LocalDateTime.now();
+            created += jdbcTemplate.update(con -> {
+                var ps = con.prepareStatement(ENQUEUE_SQL);
+                Array formatArray = con.createArrayOf("varchar", formats);
+                ps.setObject(1, start);
+                ps.setObject(2, now);
+                ps.setArray(3, formatArray);
+                ps.setLong(4, firstId);
+                ps.setLong(5, batchLastId);
+                ps.setObject(6, start);
+                ps.setObject(7, end);
+                return ps;
+            });
+            lastId = batchLastId;
+        }
+    }
+}
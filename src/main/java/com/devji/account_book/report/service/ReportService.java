@@ -0,0 +1,125 @@
+package com.devji.account_book.report.service;
+
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.expense.exception.ConflictException;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
+import com.devji.account_book.report.dto.ReportJobDto;
+import com.devji.account_book.report.entity.ReportFormat;
+import com.devji.account_book.report.entity.ReportJob;
+import com.devji.account_book.report.entity.ReportJobStatus;
+import com.devji.account_book.report.repository.ReportJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/*
+ * 명세서 요청 접수와 조회/내려받기
+ * 직접 요청한 명세서도 작업 큐에 넣기만 하고 바로 응답한다 (ReportWorker가 off-peak 밖에서도 낮은 속도로 처리).
+ * 한 달, 한 형식에 작업은 하나: 이미 있으면 그 작업을 돌려주고, 실패한 작업이면 다시 대기시킨다.
+ * 완료된 작업이라도 만든 뒤에 명세서 내용이 바뀌었으면 다시 대기시킨다.
+ * - 말일까지의 거래가 바뀜 (전월 잔액도 달라지므로 이전 달 포함)
+ * - 말일 잔액이 달라짐 (그 달의 거래를 말일 이후로 옮기면 옮긴 뒤의 날짜로는 찾을 수 없다)
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportService {
+
+    // 삭제 표시도 change_seq를 올리므로 삭제된 거래까지 본다 (idx_transactions_user_change_seq)
+    private static final String CHANGED_SINCE_SQL = "SELECT EXISTS (SELECT 1 FROM transactions " +
+            "WHERE user_id = ? AND change_seq > ? AND transaction_date <= ?)";
+
+    private final ReportJobRepository reportJobRepository;
+    private final ArchiveStore archiveStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final BalanceService balanceService;
+
+    public ReportJobDto request(long userId, YearMonth month, ReportFormat format) {
+        if (!month.isBefore(YearMonth.now())) {
+            throw new UnprocessableRequestException("지난 달까지의 명세서만 만들 수 있습니다.");
+        }
+        LocalDate reportMonth = month.atDay(1);
+        ReportJob job = reportJobRepository.findByUserIdAndReportMonthAndFormat(userId, reportMonth, format)
+                .orElse(null);
+        if (job == null) {
+            try {
+                job = reportJobRepository.save(ReportJob.builder()
+                        .userId(userId)
+                        .reportMonth(reportMonth)
+                        .format(format)
+                        .status(ReportJobStatus.PENDING)
+                        .requested(true)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                // 같은 요청이 동시에 들어왔거나 월간 작업이 먼저 만들어짐
+                job = reportJobRepository.findByUserIdAndReportMonthAndFormat(userId, reportMonth, format).orElseThrow();
+            }
+        } else if (job.getStatus() == ReportJobStatus.FAILED || isStale(job)) {
+            job.setStatus(ReportJobStatus.PENDING);
+            job.setRequested(true);
+            job.setAttempts(0);
+            job.setErrorMessage(null);
+            job.setFinishedAt(null);
+            job = reportJobRepository.save(job);
+        } else if (job.getStatus() == ReportJobStatus.PENDING && !job.getRequested()) {
+            // 기다리는 사용자가 생겼으므로 off-peak 시간대 밖에서도 처리
+            job.setRequested(true);
+            job = reportJobRepository.save(job);
+        }
+        return ReportJobDto.from(job);
+    }
+
+    // 완료된 뒤에 명세서 내용(그 달의 거래, 전월 잔액)이 바뀌었는지
+    private boolean isStale(ReportJob job) {
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            return false;
+        }
+        // source_version을 기록하기 전에 만든 명세서
+        if (job.getSourceVersion() == null || job.getClosingBalance() == null) {
+            return true;
+        }
+        LocalDate monthEnd = YearMonth.from(job.getReportMonth()).atEndOfMonth();
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(CHANGED_SINCE_SQL, Boolean.class,
+                job.getUserId(), job.getSourceVersion(), monthEnd))) {
+            return true;
+        }
+        return balanceService.getBalance(job.getUserId(), monthEnd).getBalance().compareTo(job.getClosingBalance()) != 0;
+    }
+
+    public ReportJobDto getJob(long userId, Long jobId) {
+        return ReportJobDto.from(findJob(userId, jobId));
+    }
+
+    public List<ReportJobDto> getRecentJobs(long userId) {
+        return reportJobRepository.findTop24ByUserIdOrderByReportMonthDescFormatAsc(userId).stream()
+                .map(ReportJobDto::from)
+                .toList();
+    }
+
+    public Download download(long userId, Long jobId) throws IOException {
+        ReportJob job = findJob(userId, jobId);
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            throw new ConflictException("아직 만들어지지 않은 명세서입니다.");
+        }
+        String fileName = "account-book-" + YearMonth.from(job.getReportMonth()) + "." + job.getFormat().getExtension();
+        return new Download(fileName, job.getFormat(), archiveStore.open(job.getStorageKey()));
+    }
+
+    private ReportJob findJob(long userId, Long jobId) {
+        return reportJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new NotFoundException("명세서를 찾을 수 없습니다."));
+    }
+
+    public record Download(String fileName, ReportFormat format, ByteBuffer content) {
+    }
+}
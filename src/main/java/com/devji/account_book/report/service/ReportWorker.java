@@ -0,0 +1,182 @@
+package com.devji.account_book.report.service;
+
+import com.devji.account_book.datasource.shard.ShardRouter;
+import com.devji.account_book.report.config.ReportProperties;
+import com.devji.account_book.report.entity.ReportFormat;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 명세서 작업 큐 처리 (report_jobs 테이블, 노드마다 하나)
+ * - poll-interval-ms마다 빈 스레드 수와 속도 제한(jobs-per-second) 안에서만 FOR UPDATE SKIP LOCKED로 작업을 가져간다
+ *   여러 노드가 동시에 돌아도 같은 작업을 나눠 갖지 않는다
+ * - off-peak 시간대(window-start ~ window-end) 밖에서는 사용자가 직접 요청한 작업만 off-window-jobs-per-second로 처리
+ * - 가져간 작업은 lease_until까지 이 노드 것이고, 생성 중에는 주기적으로 lease를 늘린다
+ *   노드가 죽으면 lease가 지난 뒤 다른 노드가 처음부터 다시 만든다 (attempts가 max-attempts에 닿으면 FAILED)
+ * - attempts는 작업을 가져갈 때마다 늘어나는 번호라서, lease를 잃은 늦은 작업자의 결과는 반영되지 않는다
+ * 샤딩을 쓰면 샤드마다 같은 방식으로 가져간다.
+ */
+@Slf4j
+@Component
+public class ReportWorker {
+
+    private static final String CLAIM_SQL = "UPDATE report_jobs SET status = 'RUNNING', attempts = attempts + 1, " +
+            "lease_until = ?, started_at = ?, error_message = NULL " +
+            "WHERE id IN (SELECT id FROM report_jobs " +
+            "WHERE (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < ?)) AND attempts < ? AND (? OR requested) " +
+            "ORDER BY requested DESC, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, user_id, report_month, format, attempts";
+    private static final String EXPIRE_SQL = "UPDATE report_jobs SET status = 'FAILED', finished_at = ?, " +
+            "error_message = '명세서를 만드는 중 작업이 반복해서 중단되었습니다.' " +
+            "WHERE status = 'RUNNING' AND lease_until < ? AND attempts >= ?";
+    private static final String RENEW_SQL = "UPDATE report_jobs SET lease_until = ? WHERE id = ? AND attempts = ? AND status = 'RUNNING'";
+    private static final String COMPLETE_SQL = "UPDATE report_jobs SET status = 'COMPLETED', storage_key = ?, file_size = ?, " +
+            "row_count = ?, source_version = ?, closing_balance = ?, lease_until = NULL, finished_at = ? WHERE id = ? AND attempts = ? AND status = 'RUNNING'";
+    // 남은 시도가 있으면 PENDING으로 돌려서 나중에 다시
+    private static final String FAIL_SQL = "UPDATE report_jobs SET status = CASE WHEN attempts < ? THEN 'PENDING' ELSE 'FAILED' END, " +
+            "error_message = ?, lease_until = NULL, finished_at = CASE WHEN attempts < ? THEN NULL ELSE ? END " +
+            "WHERE id = ? AND attempts = ? AND status = 'RUNNING'";
+    // 가져갔지만 스레드가 없어서 시작하지 못한 작업 (시도 횟수에 넣지 않음)
+    private static final String RELEASE_SQL = "UPDATE report_jobs SET status = 'PENDING', attempts = attempts - 1, lease_until = NULL " +
+            "WHERE id = ? AND attempts = ? AND status = 'RUNNING'";
+    private static final String RENDER_METRIC = "reports.render";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReportRenderer renderer;
+    private final ShardRouter shardRouter;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final ReportProperties properties;
+    // 이 노드에서 만들고 있는 작업 (lease 연장용)
+    private final Map<Long, ClaimedJob> running = new ConcurrentHashMap<>();
+
+    // 속도 제한 (token bucket, poll은 fixedDelay라 한 번에 하나만 실행된다)
+    private double permits;
+    private long lastRefill = System.nanoTime();
+
+    public ReportWorker(JdbcTemplate jdbcTemplate,
+                        ReportRenderer renderer,
+                        ShardRouter shardRouter,
+                        @Qualifier("reportExecutor") ThreadPoolTaskExecutor executor,
+                        MeterRegistry meterRegistry,
+                        ReportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.renderer = renderer;
+        this.shardRouter = shardRouter;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.report.poll-interval-ms:1000}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        boolean inWindow = inWindow(LocalTime.now());
+        refill(inWindow ? properties.getJobsPerSecond() : properties.getOffWindowJobsPerSecond());
+        shardRouter.forEachShard(shard -> {
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update(EXPIRE_SQL, now, now, properties.getMaxAttempts());
+            int capacity = Math.min((int) permits, properties.getWorkerThreads() - running.size());
+            if (capacity <= 0) {
+                return;
+            }
+            List<ClaimedJob> claimed = jdbcTemplate.query(CLAIM_SQL,
+                    (rs, rowNum) -> new ClaimedJob(shard, rs.getLong(1), rs.getLong(2),
+                            YearMonth.from(rs.getObject(3, LocalDate.class)), ReportFormat.valueOf(rs.getString(4)), rs.getInt(5)),
+                    now.plus(properties.getLease()), now, now, properties.getMaxAttempts(), inWindow, capacity);
+            permits -= claimed.size();
+            claimed.forEach(this::start);
+        });
+    }
+
+    // 작업 시간이 lease보다 길어도 다른 노드가 가져가지 않도록 (lease의 1/3마다)
+    @Scheduled(fixedDelayString = "${app.report.lease-renew-interval-ms:100000}")
+    public void renewLeases() {
+        for (ClaimedJob job : running.values()) {
+            try {
+                shardRouter.runOn(job.shard(), () -> jdbcTemplate.update(RENEW_SQL,
+                        LocalDateTime.now().plus(properties.getLease()), job.id(), job.attempt()));
+            } catch (Exception e) {
+                log.warn("Failed to renew lease of report job {}: {}", job.id(), e.toString());
+            }
+        }
+    }
+
+    private void start(ClaimedJob job) {
+        running.put(job.id(), job);
+        try {
+            executor.execute(() -> shardRouter.runOn(job.shard(), () -> run(job)));
+        } catch (TaskRejectedException e) {
+            running.remove(job.id());
+            jdbcTemplate.update(RELEASE_SQL, job.id(), job.attempt());
+        }
+    }
+
+    void run(ClaimedJob job) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "completed";
+        try {
+            ReportRenderer.Rendered rendered = renderer.render(job.id(), job.userId(), job.month(), job.format());
+            int updated = jdbcTemplate.update(COMPLETE_SQL, rendered.storageKey(), rendered.fileSize(), rendered.rowCount(),
+                    rendered.sourceVersion(), rendered.closingBalance(), LocalDateTime.now(), job.id(), job.attempt());
+            if (updated == 0) {
+                // lease를 잃었고 다른 노드가 다시 만들고 있음 (같은 위치에 쓰므로 파일은 그대로 둔다)
+                result = "lost_lease";
+                log.warn("Report job {} was taken over by another worker", job.id());
+            } else {
+                log.debug("Rendered {} report of user {} for {} ({} rows, {} bytes)",
+                        job.format(), job.userId(), job.month(), rendered.rowCount(), rendered.fileSize());
+            }
+        } catch (Exception e) {
+            result = "failed";
+            log.error("Report job {} failed (attempt {})", job.id(), job.attempt(), e);
+            LocalDateTime now = LocalDateTime.now();
+            jdbcTemplate.update(FAIL_SQL, properties.getMaxAttempts(), "명세서를 만드는 중 오류가 발생했습니다.",
+                    properties.getMaxAttempts(), now, job.id(), job.attempt());
+        } finally {
+            running.remove(job.id());
+            sample.stop(meterRegistry.timer(RENDER_METRIC, "format", job.format().name(), "result", result));
+        }
+    }
+
+    private void refill(double perSecond) {
+        long now = System.nanoTime();
+        if (perSecond <= 0) {
+            permits = 0;
+            lastRefill = now;
+            return;
+        }
+        // 최대 1초 분량까지만 모아 둔다 (쉬는 동안 쌓인 허용량이 한꺼번에 몰리지 않도록)
+        permits = Math.min(Math.max(1, perSecond), permits + perSecond * (now - lastRefill) / 1e9);
+        lastRefill = now;
+    }
+
+    // 자정을 넘어가는 시간대(예: 22:00 ~ 06:00)도 허용, 시작과 끝이 같으면 하루 종일
+    boolean inWindow(LocalTime time) {
+        LocalTime start = properties.getWindowStart();
+        LocalTime end = properties.getWindowEnd();
+        return start.isBefore(end)
+                ? !time.isBefore(start) && time.isBefore(end)
+                : !time.isBefore(start) || time.isBefore(end);
+    }
+
+    record ClaimedJob(int shard, long id, long userId, YearMonth month, ReportFormat format, int attempt) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.devji.account_book.report.writer;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * UTF-8 CSV (엑셀에서 한글이 깨지지 않도록 BOM), 가져오기의 default 열 매핑과 같은 열 이름이라 그대로 다시 올릴 수 있다.
+ * 합계 행은 넣지 않는다 (다른 프로그램에서 거래로 읽히지 않도록).
+ */
+class CsvReportWriter implements ReportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final Writer writer;
+
+    CsvReportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(BOM);
+        writer.write("date,type,category,amount,description\r\n");
+    }
+
+    @Override
+    public void writeRow(ReportRow row) throws IOException {
+        writer.write(row.transactionDate().toString());
+        writer.write(',');
+        writer.write(row.type().name());
+        writer.write(',');
+        writeField(row.category());
+        writer.write(',');
+        // 가져오기 default 매핑은 부호로 수입/지출을 구분
+        writer.write((row.type() == TransactionType.EXPENSE ? row.amount().negate() : row.amount()).toPlainString());
+        writer.write(',');
+        writeField(row.description());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish(ReportSummary summary) throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    // RFC 4180 따옴표 규칙, 수식으로 시작하는 값은 엑셀이 실행하지 않도록 앞에 '
+    private void writeField(String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,112 @@
+package com.devji.account_book.report.writer;
+
+import com.devji.account_book.expense.entity.TransactionType;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.BaseFont;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+
+/*
+ * A4 PDF (OpenPDF)
+ * 거래 표는 완료되지 않은 표(setComplete(false))로 두고 FLUSH_ROWS 행마다 문서에 넘겨서
+ * 이미 넘긴 행은 페이지로 기록되고 메모리에서 빠진다. 머리 행은 페이지마다 반복.
+ */
+class PdfReportWriter implements ReportWriter {
+
+    private static final int FLUSH_ROWS = 200;
+    private static final float[] COLUMN_WIDTHS = {14, 8, 16, 18, 44};
+
+    // writer 하나는 작업 스레드 하나만 쓴다 (DecimalFormat은 스레드 안전하지 않음)
+    private final DecimalFormat amountFormat = new DecimalFormat("#,##0.##");
+    private final Document document;
+    private final PdfPTable table;
+    private final Font font;
+    private final Font boldFont;
+    private int unflushedRows;
+
+    PdfReportWriter(ReportHeader header, OutputStream out, String fontPath) throws IOException {
+        BaseFont baseFont = fontPath != null && !fontPath.isBlank()
+                ? BaseFont.createFont(fontPath, BaseFont.IDENTITY_H, BaseFont.EMBEDDED)
+                : BaseFont.createFont(BaseFont.HELVETICA, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+        this.font = new Font(baseFont, 9);
+        this.boldFont = new Font(baseFont, 9, Font.BOLD);
+        this.document = new Document(PageSize.A4, 36, 36, 36, 36);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+            document.add(new Paragraph(header.month() + " 명세서", new Font(baseFont, 16, Font.BOLD)));
+            document.add(new Paragraph(header.userName() + " / 전월 이월 " + amount(header.openingBalance()), font));
+            document.add(new Paragraph(" ", font));
+
+            table = new PdfPTable(COLUMN_WIDTHS);
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);
+            table.setComplete(false);
+            for (String title : new String[]{"날짜", "구분", "카테고리", "금액", "내용"}) {
+                table.addCell(cell(title, boldFont, Element.ALIGN_CENTER));
+            }
+        } catch (DocumentException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void writeRow(ReportRow row) throws IOException {
+        table.addCell(cell(row.transactionDate().toString(), font, Element.ALIGN_LEFT));
+        table.addCell(cell(row.type() == TransactionType.INCOME ? "수입" : "지출", font, Element.ALIGN_CENTER));
+        table.addCell(cell(row.category(), font, Element.ALIGN_LEFT));
+        table.addCell(cell(amount(row.amount()), font, Element.ALIGN_RIGHT));
+        table.addCell(cell(row.description(), font, Element.ALIGN_LEFT));
+        if (++unflushedRows >= FLUSH_ROWS) {
+            add(table);
+            unflushedRows = 0;
+        }
+    }
+
+    @Override
+    public void finish(ReportSummary summary) throws IOException {
+        table.setComplete(true);
+        add(table);
+        add(new Paragraph(" ", font));
+        add(new Paragraph("거래 " + summary.rowCount() + "건 / 수입 " + amount(summary.income())
+                + " / 지출 " + amount(summary.expense()) + " / 월말 잔액 " + amount(summary.closingBalance()), boldFont));
+    }
+
+    @Override
+    public void close() {
+        if (document.isOpen()) {
+            document.close();
+        }
+    }
+
+    private void add(Element element) throws IOException {
+        try {
+            document.add(element);
+        } catch (DocumentException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static PdfPCell cell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
+        cell.setHorizontalAlignment(alignment);
+        cell.setPadding(3);
+        return cell;
+    }
+
+    private String amount(BigDecimal value) {
+        return amountFormat.format(value);
+    }
+}
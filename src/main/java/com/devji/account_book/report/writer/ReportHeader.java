@@ -0,0 +1,8 @@
+package com.devji.account_book.report.writer;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+// openingBalance: 전월 말 잔액
+public record ReportHeader(String userName, YearMonth month, BigDecimal openingBalance) {
+}
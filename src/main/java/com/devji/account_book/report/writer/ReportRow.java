@@ -0,0 +1,10 @@
+package com.devji.account_book.report.writer;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ReportRow(LocalDate transactionDate, TransactionType type, String category, BigDecimal amount,
+                        String description) {
+}
@@ -0,0 +1,6 @@
+package com.devji.account_book.report.writer;
+
+import java.math.BigDecimal;
+
+public record ReportSummary(int rowCount, BigDecimal income, BigDecimal expense, BigDecimal closingBalance) {
+}
@@ -0,0 +1,28 @@
+package com.devji.account_book.report.writer;
+
+import com.devji.account_book.report.entity.ReportFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+ * 월간 명세서 출력
+ * 거래는 날짜순으로 한 행씩 받아서 바로 내보낸다 (한 달치 전체를 메모리에 모으지 않음).
+ * 합계는 끝까지 읽어야 알 수 있으므로 finish에서 받는다.
+ */
+public interface ReportWriter extends Closeable {
+
+    void writeRow(ReportRow row) throws IOException;
+
+    // 마지막 행 다음에 한 번, 이후에는 close만
+    void finish(ReportSummary summary) throws IOException;
+
+    // pdfFontPath: 한글 글꼴 (PDF만, null이면 기본 글꼴)
+    static ReportWriter open(ReportFormat format, ReportHeader header, OutputStream out, String pdfFontPath) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReportWriter(out);
+            case PDF -> new PdfReportWriter(header, out, pdfFontPath);
+        };
+    }
+}
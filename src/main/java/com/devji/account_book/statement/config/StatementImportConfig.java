@@ -0,0 +1,41 @@
+package com.devji.account_book.statement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/*
+ * 가져오기 작업용 스레드 풀 두 개 (둘 다 크기와 대기열이 고정)
+ * - importJobExecutor: 작업 하나가 스레드 하나를 차지하고 파일 읽기 + DB 반영을 순서대로 처리, 가득 차면 업로드를 거절
+ * - importParseExecutor: 읽어 둔 레코드 청크를 행으로 변환, 가득 차면 호출한 작업 스레드가 직접 처리 (자연스러운 역압)
+ */
+@Configuration
+@EnableConfigurationProperties(StatementImportProperties.class)
+public class StatementImportConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor importJobExecutor(StatementImportProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("import-job-");
+        executor.setCorePoolSize(properties.getMaxConcurrentJobs());
+        executor.setMaxPoolSize(properties.getMaxConcurrentJobs());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor importParseExecutor(StatementImportProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("import-parse-");
+        executor.setCorePoolSize(properties.getParseThreads());
+        executor.setMaxPoolSize(properties.getParseThreads());
+        executor.setQueueCapacity(properties.getParseThreads() * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
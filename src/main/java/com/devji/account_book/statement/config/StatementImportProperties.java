@@ -0,0 +1,32 @@
+package com.devji.account_book.statement.config;
+
+import com.devji.account_book.statement.parser.ColumnMapping;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.import")
+public class StatementImportProperties {
+
+    // 한 트랜잭션으로 반영하는 행 수 (변경 버전도 청크마다 한 번만 증가)
+    private int chunkSize = 1000;
+
+    // 레코드 -> 행 변환 작업 스레드 (모든 가져오기 작업이 공유)
+    private int parseThreads = 4;
+
+    // 동시에 실행하는 가져오기 작업 수, 나머지는 queue-capacity까지 대기
+    private int maxConcurrentJobs = 2;
+
+    private int queueCapacity = 20;
+
+    // 파일에 카테고리 열이 없고(비어 있고) 맞는 분류 규칙도 없을 때
+    private String defaultCategory = "기타";
+
+    // 은행/카드사별 열 매핑 (요청에서 mappingName으로 선택, 없으면 default)
+    private Map<String, ColumnMapping> mappings = new LinkedHashMap<>();
+}
@@ -0,0 +1,55 @@
+package com.devji.account_book.statement.controller;
+
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.statement.dto.ImportJobDto;
+import com.devji.account_book.statement.entity.StatementFormat;
+import com.devji.account_book.statement.parser.ColumnMapping;
+import com.devji.account_book.statement.service.StatementImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class StatementImportController {
+
+    private final StatementImportService statementImportService;
+
+    // 명세서 업로드 (multipart: file, 선택 format/mappingName, 또는 JSON 파트 mapping으로 열 매핑 직접 지정)
+    // 202 + Location: 진행 상황은 GET /api/imports/{id}로 조회
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDto> upload(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) StatementFormat format,
+            @RequestParam(required = false) String mappingName,
+            @RequestPart(value = "mapping", required = false) ColumnMapping mapping) throws IOException {
+        long userId = principalDetails.getUser().getId();
+        ImportJobDto job = statementImportService.submit(userId, file, format, mappingName, mapping);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/imports/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDto> getJob(
+            @AuthenticationPrincipal PrincipalDetails principalDetails,
+            @PathVariable Long id) {
+        return ResponseEntity.ok(statementImportService.getJob(principalDetails.getUser().getId(), id));
+    }
+
+    // 최근 20건
+    @GetMapping
+    public ResponseEntity<List<ImportJobDto>> getRecentJobs(@AuthenticationPrincipal PrincipalDetails principalDetails) {
+        return ResponseEntity.ok(statementImportService.getRecentJobs(principalDetails.getUser().getId()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.devji.account_book.statement.dto;
+
+import com.devji.account_book.statement.entity.ImportJob;
+import com.devji.account_book.statement.entity.ImportJobStatus;
+import com.devji.account_book.statement.entity.StatementFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDto {
+    private Long id;
+    private ImportJobStatus status;
+    private StatementFormat format;
+    private String mappingName;
+    private String fileName;
+    private long fileSize;
+
+    // 읽은 바이트 기준 진행률 (0 ~ 100), 전체 행 수는 끝까지 읽어야 알 수 있으므로
+    private int progressPercent;
+
+    private int processedRows;
+    private int insertedRows;
+    private int duplicateRows;
+    private int failedRows;
+
+    // 실패 사유, 완료된 작업이면 첫 번째 실패 행 설명
+    private String errorMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public static ImportJobDto from(ImportJob job) {
+        int progress;
+        if (job.getStatus() == ImportJobStatus.COMPLETED) {
+            progress = 100;
+        } else if (job.getFileSize() == 0) {
+            progress = 0;
+        } else {
+            progress = (int) Math.min(99, job.getBytesRead() * 100 / job.getFileSize());
+        }
+        return ImportJobDto.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .format(job.getFormat())
+                .mappingName(job.getMappingName())
+                .fileName(job.getFileName())
+                .fileSize(job.getFileSize())
+                .progressPercent(progress)
+                .processedRows(job.getProcessedRows())
+                .insertedRows(job.getInsertedRows())
+                .duplicateRows(job.getDuplicateRows())
+                .failedRows(job.getFailedRows())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
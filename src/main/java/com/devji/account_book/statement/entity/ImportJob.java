@@ -0,0 +1,79 @@
+package com.devji.account_book.statement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 명세서 파일 가져오기 작업 (진행 상황은 청크를 반영할 때마다 갱신)
+@Entity
+@Table(name = "import_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatementFormat format;
+
+    // app.import.mappings의 이름 (요청에 직접 지정한 매핑이면 null)
+    private String mappingName;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    // ArchiveStore 안에서의 위치
+    @Column(nullable = false, length = 512)
+    private String storageKey;
+
+    @Column(nullable = false)
+    private Long fileSize;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long bytesRead = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer processedRows = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer insertedRows = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer duplicateRows = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer failedRows = 0;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,5 @@
+package com.devji.account_book.statement.entity;
+
+public enum ImportJobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,23 @@
+package com.devji.account_book.statement.entity;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum StatementFormat {
+    CSV, OFX;
+
+    // 파일 확장자로 형식 추정 (.txt는 은행에서 내려받은 구분자 파일로 보고 CSV로 처리)
+    public static Optional<StatementFormat> fromFileName(String fileName) {
+        if (fileName == null) {
+            return Optional.empty();
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv") || lower.endsWith(".txt")) {
+            return Optional.of(CSV);
+        }
+        if (lower.endsWith(".ofx") || lower.endsWith(".qfx")) {
+            return Optional.of(OFX);
+        }
+        return Optional.empty();
+    }
+}
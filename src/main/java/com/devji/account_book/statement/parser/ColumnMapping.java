@@ -0,0 +1,44 @@
+package com.devji.account_book.statement.parser;
+
+import lombok.Data;
+
+/*
+ * CSV 명세서 열 매핑 (app.import.mappings.* 또는 업로드 요청의 mapping 파트)
+ * 열은 헤더 이름으로 지정하고, 헤더가 없는 파일(header: false)은 0부터 시작하는 열 번호로 지정한다.
+ * 금액은 부호 있는 금액 열 하나(amount-column) 또는 출금/입금 열 두 개 중 하나로 지정
+ * OFX 파일은 charset만 사용
+ */
+@Data
+public class ColumnMapping {
+
+    // 국내 은행 파일은 대부분 EUC-KR(MS949)
+    private String charset = "UTF-8";
+
+    private char delimiter = ',';
+
+    // 헤더 앞의 안내 문구 줄 수 (조회 기간, 계좌번호 등)
+    private int skipLines = 0;
+
+    private boolean header = true;
+
+    private String dateColumn = "date";
+
+    // 뒤에 시각이 붙어 있어도 날짜 부분만 읽는다 (예: 2025.01.05 13:22:10)
+    private String dateFormat = "yyyy-MM-dd";
+
+    // 부호 있는 금액 (음수 = 지출)
+    private String amountColumn = "amount";
+
+    // 카드 명세서처럼 양수가 결제 금액인 경우
+    private boolean positiveIsExpense = false;
+
+    // 출금(지출) / 입금(수입) 금액, 지정하면 amount-column 대신 사용
+    private String withdrawalColumn;
+
+    private String depositColumn;
+
+    private String descriptionColumn = "description";
+
+    // 없으면 기본 카테고리로 저장
+    private String categoryColumn;
+}
@@ -0,0 +1,211 @@
+package com.devji.account_book.statement.parser;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 구분자 파일 (RFC 4180 따옴표 규칙, 따옴표 안의 줄바꿈 허용)
+ * 생성할 때 skip-lines와 헤더까지 읽어서 열 위치를 정해 두고, 이후에는 한 줄씩만 읽는다.
+ */
+class CsvStatementParser implements StatementParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final char delimiter;
+    private final boolean positiveIsExpense;
+    private final DateTimeFormatter dateFormatter;
+    private final int dateIndex;
+    private final int amountIndex;
+    private final int withdrawalIndex;
+    private final int depositIndex;
+    private final int descriptionIndex;
+    private final int categoryIndex;
+
+    CsvStatementParser(Reader source, ColumnMapping mapping) throws IOException {
+        this.reader = new BufferedReader(source, BUFFER_SIZE);
+        this.delimiter = mapping.getDelimiter();
+        this.positiveIsExpense = mapping.isPositiveIsExpense();
+        try {
+            this.dateFormatter = DateTimeFormatter.ofPattern(mapping.getDateFormat());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다: " + mapping.getDateFormat());
+        }
+
+        skipBom();
+        for (int i = 0; i < mapping.getSkipLines(); i++) {
+            if (reader.readLine() == null) {
+                break;
+            }
+        }
+        List<String> header = List.of();
+        if (mapping.isHeader()) {
+            String headerRecord = nextRecord();
+            if (headerRecord == null) {
+                throw new IllegalArgumentException("헤더 행이 없습니다.");
+            }
+            header = split(headerRecord).stream().map(String::trim).toList();
+        }
+
+        this.dateIndex = requiredColumn(header, mapping.getDateColumn());
+        if (mapping.getWithdrawalColumn() != null || mapping.getDepositColumn() != null) {
+            this.amountIndex = -1;
+            this.withdrawalIndex = optionalColumn(header, mapping.getWithdrawalColumn());
+            this.depositIndex = optionalColumn(header, mapping.getDepositColumn());
+            if (withdrawalIndex < 0 && depositIndex < 0) {
+                throw new IllegalArgumentException("파일에 출금/입금 금액 열이 없습니다.");
+            }
+        } else {
+            this.amountIndex = requiredColumn(header, mapping.getAmountColumn());
+            this.withdrawalIndex = -1;
+            this.depositIndex = -1;
+        }
+        this.descriptionIndex = requiredColumn(header, mapping.getDescriptionColumn());
+        this.categoryIndex = optionalColumn(header, mapping.getCategoryColumn());
+    }
+
+    @Override
+    public String nextRecord() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        if (!hasOpenQuote(line)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        while (hasOpenQuote(record)) {
+            String next = reader.readLine();
+            if (next == null) {
+                break;
+            }
+            record.append('\n').append(next);
+        }
+        return record.toString();
+    }
+
+    @Override
+    public StatementRow parse(String record) {
+        List<String> fields = split(record);
+        LocalDate date = StatementValues.date(field(fields, dateIndex), dateFormatter);
+
+        BigDecimal signed;
+        if (amountIndex >= 0) {
+            signed = StatementValues.amount(field(fields, amountIndex));
+            if (signed != null && positiveIsExpense) {
+                signed = signed.negate();
+            }
+        } else {
+            BigDecimal withdrawal = StatementValues.amount(field(fields, withdrawalIndex));
+            BigDecimal deposit = StatementValues.amount(field(fields, depositIndex));
+            signed = (deposit == null ? BigDecimal.ZERO : deposit)
+                    .subtract(withdrawal == null ? BigDecimal.ZERO : withdrawal.abs());
+        }
+        if (signed == null || signed.signum() == 0) {
+            throw new StatementParseException("금액이 없습니다.");
+        }
+
+        return new StatementRow(
+                date,
+                signed.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME,
+                signed.abs(),
+                StatementValues.description(field(fields, descriptionIndex)),
+                StatementValues.blankToNull(field(fields, categoryIndex)));
+    }
+
+    private List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void skipBom() throws IOException {
+        reader.mark(1);
+        if (reader.read() != BOM) {
+            reader.reset();
+        }
+    }
+
+    private static boolean hasOpenQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    // 지정하지 않았거나 파일에 없으면 -1
+    private static int optionalColumn(List<String> header, String column) {
+        if (column == null || column.isBlank()) {
+            return -1;
+        }
+        int index = header.indexOf(column.trim());
+        if (index >= 0) {
+            return index;
+        }
+        try {
+            return Integer.parseInt(column.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // 헤더 이름, 헤더에 없으면 0부터 시작하는 열 번호
+    private static int requiredColumn(List<String> header, String column) {
+        if (column == null || column.isBlank()) {
+            throw new IllegalArgumentException("열 매핑이 비어 있습니다.");
+        }
+        int index = header.indexOf(column.trim());
+        if (index >= 0) {
+            return index;
+        }
+        try {
+            return Integer.parseInt(column.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("파일에 '" + column + "' 열이 없습니다.");
+        }
+    }
+}
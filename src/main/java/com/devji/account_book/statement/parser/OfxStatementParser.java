@@ -0,0 +1,97 @@
+package com.devji.account_book.statement.parser;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * OFX 1.x(SGML) / 2.x(XML) 명세서의 <STMTTRN> 블록만 순서대로 읽는다.
+ * 줄바꿈 없이 한 줄로 된 파일도 있어서 줄 단위가 아니라 문자 버퍼에서 블록 경계를 찾는다.
+ * SGML은 닫는 태그가 없으므로 값은 다음 '<' 앞까지
+ */
+class OfxStatementParser implements StatementParser {
+
+    private static final String START = "<STMTTRN>";
+    private static final String END = "</STMTTRN>";
+    private static final int READ_SIZE = 16 * 1024;
+    private static final Pattern ELEMENT = Pattern.compile("<([A-Z0-9.]+)>([^<]*)");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Reader reader;
+    private final char[] readBuffer = new char[READ_SIZE];
+    private final StringBuilder buffer = new StringBuilder();
+    private boolean eof;
+
+    OfxStatementParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public String nextRecord() throws IOException {
+        while (true) {
+            int start = buffer.indexOf(START);
+            if (start >= 0) {
+                int end = buffer.indexOf(END, start);
+                if (end >= 0) {
+                    String record = buffer.substring(start + START.length(), end);
+                    buffer.delete(0, end + END.length());
+                    return record;
+                }
+            } else if (buffer.length() > START.length()) {
+                // 블록 밖의 내용은 태그가 잘려 있을 수 있는 끝부분만 남기고 버린다
+                buffer.delete(0, buffer.length() - START.length());
+            }
+            if (eof) {
+                return null;
+            }
+            int read = reader.read(readBuffer);
+            if (read < 0) {
+                eof = true;
+            } else {
+                buffer.append(readBuffer, 0, read);
+            }
+        }
+    }
+
+    @Override
+    public StatementRow parse(String record) {
+        Map<String, String> values = new HashMap<>();
+        Matcher matcher = ELEMENT.matcher(record);
+        while (matcher.find()) {
+            values.putIfAbsent(matcher.group(1), unescape(matcher.group(2).trim()));
+        }
+
+        // DTPOSTED: YYYYMMDD[HHMMSS[.XXX]][[-9:KST]]
+        String posted = values.get("DTPOSTED");
+        if (posted == null || posted.length() < 8) {
+            throw new StatementParseException("거래일이 없습니다.");
+        }
+        BigDecimal signed = StatementValues.amount(values.get("TRNAMT"));
+        if (signed == null || signed.signum() == 0) {
+            throw new StatementParseException("금액이 없습니다.");
+        }
+        String name = StatementValues.blankToNull(values.get("NAME"));
+        String description = name != null ? name : values.get("MEMO");
+
+        return new StatementRow(
+                StatementValues.date(posted.substring(0, 8), DATE),
+                signed.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME,
+                signed.abs(),
+                StatementValues.description(description),
+                null);
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&amp;", "&");
+    }
+}
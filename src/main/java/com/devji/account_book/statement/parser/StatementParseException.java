@@ -0,0 +1,9 @@
+package com.devji.account_book.statement.parser;
+
+// 행 하나를 해석하지 못한 경우 (작업 전체가 아니라 해당 행만 실패로 센다)
+public class StatementParseException extends RuntimeException {
+
+    public StatementParseException(String message) {
+        super(message);
+    }
+}
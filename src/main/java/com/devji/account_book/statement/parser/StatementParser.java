@@ -0,0 +1,27 @@
+package com.devji.account_book.statement.parser;
+
+import com.devji.account_book.statement.entity.StatementFormat;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+ * 명세서 파서
+ * 원본 레코드를 나누는 일(nextRecord)은 읽기 스레드 하나가 순서대로 하고,
+ * 레코드를 행으로 바꾸는 일(parse)은 여러 작업 스레드가 동시에 처리한다.
+ */
+public interface StatementParser {
+
+    // 다음 원본 레코드 (CSV 한 행, OFX STMTTRN 블록 하나), 끝이면 null
+    String nextRecord() throws IOException;
+
+    // 스레드 안전해야 함, 해석할 수 없으면 StatementParseException
+    StatementRow parse(String record);
+
+    static StatementParser open(StatementFormat format, ColumnMapping mapping, Reader reader) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvStatementParser(reader, mapping);
+            case OFX -> new OfxStatementParser(reader);
+        };
+    }
+}
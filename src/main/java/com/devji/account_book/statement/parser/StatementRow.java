@@ -0,0 +1,16 @@
+package com.devji.account_book.statement.parser;
+
+import com.devji.account_book.expense.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 명세서 한 행 (amount는 항상 양수, 방향은 type), category는 파일에 없으면 null
+public record StatementRow(
+        LocalDate transactionDate,
+        TransactionType type,
+        BigDecimal amount,
+        String description,
+        String category
+) {
+}
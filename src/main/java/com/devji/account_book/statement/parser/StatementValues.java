@@ -0,0 +1,78 @@
+package com.devji.account_book.statement.parser;
+
+import java.math.BigDecimal;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Pattern;
+
+// 형식에 상관없이 쓰는 값 변환
+final class StatementValues {
+
+    // transactions.description 길이
+    private static final int DESCRIPTION_MAX_LENGTH = 255;
+    private static final String EMPTY_DESCRIPTION = "(내용 없음)";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private StatementValues() {
+    }
+
+    // "1,234,000원", "₩ 12,000", "(5,000)" 같은 표기 허용, 빈 값이면 null
+    static BigDecimal amount(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(text.length());
+        boolean negative = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.') {
+                digits.append(c);
+            } else if (c == '-' || c == '(') {
+                negative = true;
+            }
+        }
+        if (digits.isEmpty()) {
+            return null;
+        }
+        try {
+            BigDecimal value = new BigDecimal(digits.toString());
+            return negative ? value.negate() : value;
+        } catch (NumberFormatException e) {
+            throw new StatementParseException("금액을 읽을 수 없습니다: " + text);
+        }
+    }
+
+    // 뒤에 시각 등이 더 붙어 있어도 앞부분의 날짜만 읽는다
+    static LocalDate date(String text, DateTimeFormatter formatter) {
+        if (text == null || text.isBlank()) {
+            throw new StatementParseException("거래일이 없습니다.");
+        }
+        try {
+            return LocalDate.from(formatter.parse(text.trim(), new ParsePosition(0)));
+        } catch (DateTimeException e) {
+            throw new StatementParseException("거래일을 읽을 수 없습니다: " + text);
+        }
+    }
+
+    // 연속 공백을 하나로, 컬럼 길이에 맞춰 자름 (지문 계산 전에 정규화해야 같은 거래가 같은 지문이 됨)
+    static String description(String text) {
+        if (text == null || text.isBlank()) {
+            return EMPTY_DESCRIPTION;
+        }
+        String normalized = WHITESPACE.matcher(text.trim()).replaceAll(" ");
+        if (normalized.length() <= DESCRIPTION_MAX_LENGTH) {
+            return normalized;
+        }
+        int end = DESCRIPTION_MAX_LENGTH;
+        if (Character.isHighSurrogate(normalized.charAt(end - 1))) {
+            end--;
+        }
+        return normalized.substring(0, end);
+    }
+
+    static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+}
@@ -0,0 +1,51 @@
+package com.devji.account_book.statement.repository;
+
+import com.devji.account_book.statement.entity.ImportJob;
+import com.devji.account_book.statement.entity.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndUserId(Long id, Long userId);
+
+    List<ImportJob> findTop20ByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // PENDING -> RUNNING (이미 다른 곳에서 시작한 작업이면 0)
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :running, j.startedAt = :now WHERE j.id = :id AND j.status = :pending")
+    int markRunning(@Param("id") Long id,
+                    @Param("pending") ImportJobStatus pending,
+                    @Param("running") ImportJobStatus running,
+                    @Param("now") LocalDateTime now);
+
+    // 청크 하나를 반영한 트랜잭션 안에서 호출 (진행 상황과 실제 반영된 행이 항상 일치)
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.bytesRead = :bytesRead, " +
+            "j.processedRows = j.processedRows + :processed, " +
+            "j.insertedRows = j.insertedRows + :inserted, " +
+            "j.duplicateRows = j.duplicateRows + :duplicates, " +
+            "j.failedRows = j.failedRows + :failed " +
+            "WHERE j.id = :id")
+    int addProgress(@Param("id") Long id,
+                    @Param("bytesRead") long bytesRead,
+                    @Param("processed") int processed,
+                    @Param("inserted") int inserted,
+                    @Param("duplicates") int duplicates,
+                    @Param("failed") int failed);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.errorMessage = :errorMessage, j.finishedAt = :now WHERE j.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") ImportJobStatus status,
+               @Param("errorMessage") String errorMessage,
+               @Param("now") LocalDateTime now);
+}
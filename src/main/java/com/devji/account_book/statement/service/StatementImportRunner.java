@@ -0,0 +1,410 @@
+package com.devji.account_book.statement.service;
+
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.balance.service.BalanceDelta;
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.datasource.ReadYourWritesTracker;
+import com.devji.account_book.datasource.shard.ShardRouter;
+import com.devji.account_book.expense.event.TransactionChangedEvent;
+import com.devji.account_book.expense.event.TransactionEventType;
+import com.devji.account_book.expense.service.CategoryDictionary;
+import com.devji.account_book.expense.service.CategoryRuleMatcher;
+import com.devji.account_book.expense.service.CategoryRuleService;
+import com.devji.account_book.expense.service.ChangeVersionService;
+import com.devji.account_book.expense.service.TransactionFingerprint;
+import com.devji.account_book.expense.service.TransactionPartitionManager;
+import com.devji.account_book.ledger.service.LedgerAccessService;
+import com.devji.account_book.statement.config.StatementImportProperties;
+import com.devji.account_book.statement.entity.ImportJob;
+import com.devji.account_book.statement.entity.ImportJobStatus;
+import com.devji.account_book.statement.parser.ColumnMapping;
+import com.devji.account_book.statement.parser.StatementParseException;
+import com.devji.account_book.statement.parser.StatementParser;
+import com.devji.account_book.statement.parser.StatementRow;
+import com.devji.account_book.statement.repository.ImportJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.sql.Array;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/*
+ * 명세서 가져오기 실행 (작업 하나 = import-job 스레드 하나)
+ * 1. 저장된 파일을 스트림으로 읽으면서 chunk-size개씩 원본 레코드를 모은다 (파일 전체를 메모리에 올리지 않음)
+ * 2. 레코드 -> 행 변환은 import-parse 풀에서 병렬로, 미리 보내 두는 청크 수를 제한해서 메모리 사용량을 고정
+ * 3. 청크 결과는 파일 순서대로 하나씩 반영: 한 트랜잭션에서 사용자 잠금 -> 중복 제거 -> batch INSERT + 잔액 갱신 + 진행 상황 갱신
+ *
+ * 중복 판별은 지문(TransactionFingerprint)별 건수로 한다.
+ * 파일 안에서 같은 지문의 n번째 행은 DB에 같은 지문이 n건 이상 있으면 중복으로 보므로,
+ * 같은 날 같은 금액의 거래 두 건은 둘 다 들어가고 같은 파일을 다시 올리면 한 건도 추가되지 않는다.
+ * 삭제 표시된 거래도 건수에 포함 (사용자가 지운 거래를 다시 살리지 않도록), 아카이브로 옮겨진 거래는 비교 대상이 아님
+ */
+@Slf4j
+@Component
+public class StatementImportRunner {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions (user_id, ledger_id, type, category_id, amount, description, " +
+            "transaction_date, created_at, updated_at, change_seq, deleted, version, dedup_hash) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0, ?)";
+    private static final String LOCK_USER_SQL = "SELECT id FROM users WHERE id = ? FOR UPDATE";
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 1000;
+
+    private final ImportJobRepository importJobRepository;
+    private final ArchiveStore archiveStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CategoryDictionary categoryDictionary;
+    private final CategoryRuleService categoryRuleService;
+    private final ChangeVersionService changeVersionService;
+    private final BalanceService balanceService;
+    private final LedgerAccessService ledgerAccessService;
+    private final TransactionPartitionManager partitionManager;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatementImportProperties properties;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final ThreadPoolTaskExecutor parseExecutor;
+
+    public StatementImportRunner(ImportJobRepository importJobRepository,
+                                 ArchiveStore archiveStore,
+                                 JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 CategoryDictionary categoryDictionary,
+                                 CategoryRuleService categoryRuleService,
+                                 ChangeVersionService changeVersionService,
+                                 BalanceService balanceService,
+                                 LedgerAccessService ledgerAccessService,
+                                 TransactionPartitionManager partitionManager,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 ShardRouter shardRouter,
+                                 ApplicationEventPublisher eventPublisher,
+                                 StatementImportProperties properties,
+                                 @Qualifier("importJobExecutor") ThreadPoolTaskExecutor jobExecutor,
+                                 @Qualifier("importParseExecutor") ThreadPoolTaskExecutor parseExecutor) {
+        this.importJobRepository = importJobRepository;
+        this.archiveStore = archiveStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.categoryDictionary = categoryDictionary;
+        this.categoryRuleService = categoryRuleService;
+        this.changeVersionService = changeVersionService;
+        this.balanceService = balanceService;
+        this.ledgerAccessService = ledgerAccessService;
+        this.partitionManager = partitionManager;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.jobExecutor = jobExecutor;
+        this.parseExecutor = parseExecutor;
+    }
+
+    // 대기열이 가득 차면 TaskRejectedException
+    // 작업 스레드에는 로그인 사용자가 없으므로 요청을 받은 샤드를 넘겨서 같은 샤드에 쓴다
+    public void submit(long jobId, ColumnMapping mapping) {
+        int shard = shardRouter.currentShard();
+        jobExecutor.execute(() -> shardRouter.runOn(shard, () -> run(jobId, mapping)));
+    }
+
+    void run(long jobId, ColumnMapping mapping) {
+        Integer claimed = transactionTemplate.execute(status -> importJobRepository.markRunning(
+                jobId, ImportJobStatus.PENDING, ImportJobStatus.RUNNING, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+        long started = System.nanoTime();
+        try {
+            ImportState state = importFile(job, mapping);
+            finish(jobId, ImportJobStatus.COMPLETED, state.firstError);
+            archiveStore.delete(job.getStorageKey());
+            log.info("Imported statement job {} of user {}: {} inserted, {} duplicates, {} failed in {} ms",
+                    jobId, job.getUserId(), state.inserted, state.duplicates, state.failed,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IllegalArgumentException e) {
+            // 열 매핑/형식 문제 (사용자가 고칠 수 있는 오류), 파일은 남겨 둠
+            log.info("Statement import job {} rejected: {}", jobId, e.getMessage());
+            finish(jobId, ImportJobStatus.FAILED, e.getMessage());
+        } catch (Exception e) {
+            log.error("Statement import job {} failed", jobId, e);
+            finish(jobId, ImportJobStatus.FAILED, "가져오기 중 오류가 발생했습니다. 같은 파일을 다시 올리면 반영되지 않은 행만 추가됩니다.");
+        }
+    }
+
+    private ImportState importFile(ImportJob job, ColumnMapping mapping) throws IOException, InterruptedException {
+        ByteBuffer file = archiveStore.open(job.getStorageKey());
+        Reader reader = new InputStreamReader(new ByteBufferInputStream(file), Charset.forName(mapping.getCharset()));
+        StatementParser parser = StatementParser.open(job.getFormat(), mapping, reader);
+
+        // 가져온 거래는 개인 장부로
+        ImportState state = new ImportState(job.getId(), job.getUserId(), ledgerAccessService.personalLedgerId(job.getUserId()));
+        int chunkSize = properties.getChunkSize();
+        int window = Math.max(1, properties.getParseThreads() * 2);
+        Deque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+        long recordNumber = 0;
+        try {
+            boolean more = true;
+            while (more) {
+                List<String> records = new ArrayList<>(chunkSize);
+                String record;
+                while (records.size() < chunkSize && (record = parser.nextRecord()) != null) {
+                    records.add(record);
+                }
+                more = records.size() == chunkSize;
+                if (records.isEmpty()) {
+                    break;
+                }
+                long firstRecord = recordNumber + 1;
+                long bytesRead = file.position();
+                recordNumber += records.size();
+                pending.addLast(parseExecutor.submit(() -> parseChunk(parser, records, firstRecord, bytesRead)));
+                if (pending.size() >= window) {
+                    apply(state, await(pending.removeFirst()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                apply(state, await(pending.removeFirst()));
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+        return state;
+    }
+
+    private static ParsedChunk parseChunk(StatementParser parser, List<String> records, long firstRecord, long bytesRead) {
+        List<StatementRow> rows = new ArrayList<>(records.size());
+        int failed = 0;
+        String firstError = null;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                rows.add(parser.parse(records.get(i)));
+            } catch (StatementParseException e) {
+                failed++;
+                if (firstError == null) {
+                    firstError = (firstRecord + i) + "번째 행: " + e.getMessage();
+                }
+            }
+        }
+        return new ParsedChunk(rows, failed, firstError, bytesRead);
+    }
+
+    // 청크 하나 반영 (파일 순서대로 import-job 스레드에서만 호출)
+    private void apply(ImportState state, ParsedChunk chunk) {
+        List<PreparedRow> prepared = new ArrayList<>(chunk.rows().size());
+        CategoryRuleMatcher matcher = categoryRuleService.matcher(state.userId);
+        for (StatementRow row : chunk.rows()) {
+            byte[] hash = TransactionFingerprint.of(row.type(), row.amount(), row.transactionDate(), row.description());
+            prepared.add(new PreparedRow(row, categoryId(state.userId, row, matcher), hash, Fingerprint.of(hash)));
+            // 과거 명세서의 행이 default 파티션에 쌓이지 않도록 해당 월 파티션을 먼저 만든다
+            YearMonth month = YearMonth.from(row.transactionDate());
+            if (state.partitionedMonths.add(month)) {
+                partitionManager.ensurePartition(month);
+            }
+        }
+        // 같은 사용자의 다른 가져오기 작업(동시에 max-concurrent-jobs개)과 겹치지 않도록
+        // users 행을 먼저 잠그고 같은 트랜잭션에서 기존 건수를 읽은 뒤 INSERT (잠그기 전에 읽으면 둘 다 0건을 보고 중복 삽입)
+        List<PreparedRow> inserts = transactionTemplate.execute(status -> {
+            jdbcTemplate.query(LOCK_USER_SQL, rs -> {
+            }, state.userId);
+            Map<Fingerprint, Integer> existingCounts = loadExistingCounts(state.userId, prepared);
+
+            List<PreparedRow> accepted = new ArrayList<>(prepared.size());
+            for (PreparedRow row : prepared) {
+                int seen = state.fileCounts.merge(row.fingerprint(), 1, Integer::sum);
+                if (seen > existingCounts.getOrDefault(row.fingerprint(), 0)) {
+                    accepted.add(row);
+                }
+            }
+            if (!accepted.isEmpty()) {
+                readYourWritesTracker.markWrite(state.userId);
+                long changeSeq = changeVersionService.bump(state.userId);
+                LocalDateTime now = LocalDateTime.now();
+                jdbcTemplate.batchUpdate(INSERT_SQL, accepted, accepted.size(), (ps, row) -> {
+                    ps.setLong(1, state.userId);
+                    ps.setLong(2, state.ledgerId);
+                    ps.setString(3, row.row().type().name());
+                    ps.setInt(4, row.categoryId());
+                    ps.setBigDecimal(5, row.row().amount());
+                    ps.setString(6, row.row().description());
+                    ps.setObject(7, row.row().transactionDate());
+                    ps.setObject(8, now);
+                    ps.setObject(9, now);
+                    ps.setLong(10, changeSeq);
+                    ps.setBytes(11, row.hash());
+                });
+                BalanceDelta balanceDelta = new BalanceDelta();
+                accepted.forEach(row -> balanceDelta.add(row.row().type(), row.row().amount(), row.row().transactionDate()));
+                balanceService.apply(state.userId, balanceDelta);
+                // 목록/ETag는 변경 버전으로 갱신되고, 실시간 구독 중인 클라이언트에는 다시 조회하라고 알린다
+                eventPublisher.publishEvent(new TransactionChangedEvent(state.userId, changeSeq, TransactionEventType.IMPORTED, null));
+            }
+            importJobRepository.addProgress(state.jobId, chunk.bytesRead(),
+                    chunk.rows().size() + chunk.failed(), accepted.size(), prepared.size() - accepted.size(), chunk.failed());
+            return accepted;
+        });
+        int duplicates = prepared.size() - inserts.size();
+
+        state.inserted += inserts.size();
+        state.duplicates += duplicates;
+        state.failed += chunk.failed();
+        if (state.firstError == null) {
+            state.firstError = chunk.firstError();
+        }
+    }
+
+    // 파일의 카테고리 열 -> 분류 규칙 -> 기본 카테고리 순서
+    private int categoryId(long userId, StatementRow row, CategoryRuleMatcher matcher) {
+        if (row.category() != null) {
+            return categoryDictionary.resolveId(userId, row.category());
+        }
+        Integer matched = matcher.match(row.type(), row.amount(), row.description());
+        return matched != null ? matched : categoryDictionary.resolveId(userId, properties.getDefaultCategory());
+    }
+
+    /*
+     * 이번 청크 지문들의 현재 건수 (idx_transactions_user_dedup_hash, 날짜 범위로 파티션 pruning)
+     * 앞 청크에서 이 작업이 넣은 행도 포함되므로, 파일에서 n번째로 나온 지문은 건수가 n보다 작을 때만 넣는다.
+     * 청크마다 잠근 뒤 다시 읽어야 그 사이 다른 작업이 넣은 행까지 센다.
+     */
+    private Map<Fingerprint, Integer> loadExistingCounts(long userId, List<PreparedRow> rows) {
+        Map<Fingerprint, Integer> counts = new HashMap<>();
+        if (rows.isEmpty()) {
+            return counts;
+        }
+        Map<Fingerprint, byte[]> hashes = new HashMap<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (PreparedRow row : rows) {
+            if (hashes.putIfAbsent(row.fingerprint(), row.hash()) != null) {
+                continue;
+            }
+            LocalDate date = row.row().transactionDate();
+            from = from == null || date.isBefore(from) ? date : from;
+            to = to == null || date.isAfter(to) ? date : to;
+        }
+
+        LocalDate rangeFrom = from;
+        LocalDate rangeTo = to;
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(
+                    "SELECT dedup_hash, COUNT(*) FROM transactions " +
+                            "WHERE user_id = ? AND transaction_date BETWEEN ? AND ? AND dedup_hash = ANY(?) " +
+                            "GROUP BY dedup_hash");
+            Array array = con.createArrayOf("bytea", hashes.values().toArray(new byte[0][]));
+            ps.setLong(1, userId);
+            ps.setObject(2, rangeFrom);
+            ps.setObject(3, rangeTo);
+            ps.setArray(4, array);
+            return ps;
+        }, rs -> {
+            counts.put(Fingerprint.of(rs.getBytes(1)), rs.getInt(2));
+        });
+        return counts;
+    }
+
+    private void finish(long jobId, ImportJobStatus status, String errorMessage) {
+        String message = errorMessage != null && errorMessage.length() > ERROR_MESSAGE_MAX_LENGTH
+                ? errorMessage.substring(0, ERROR_MESSAGE_MAX_LENGTH)
+                : errorMessage;
+        transactionTemplate.executeWithoutResult(s ->
+                importJobRepository.finish(jobId, status, message, LocalDateTime.now()));
+    }
+
+    private static ParsedChunk await(Future<ParsedChunk> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static final class ImportState {
+        private final long jobId;
+        private final long userId;
+        private final long ledgerId;
+        // 지문별 파일에서 지금까지 나온 건수
+        private final Map<Fingerprint, Integer> fileCounts = new HashMap<>();
+        private final Set<YearMonth> partitionedMonths = new HashSet<>();
+        private int inserted;
+        private int duplicates;
+        private int failed;
+        private String firstError;
+
+        private ImportState(long jobId, long userId, long ledgerId) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.ledgerId = ledgerId;
+        }
+    }
+
+    private record ParsedChunk(List<StatementRow> rows, int failed, String firstError, long bytesRead) {
+    }
+
+    private record PreparedRow(StatementRow row, int categoryId, byte[] hash, Fingerprint fingerprint) {
+    }
+
+    // 16바이트 md5를 map 키로 쓰기 위한 값 (byte[]는 equals/hashCode가 내용 기준이 아님)
+    private record Fingerprint(long high, long low) {
+        static Fingerprint of(byte[] hash) {
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new Fingerprint(buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    // memory-map된 파일을 InputStream으로 (읽은 위치 = 진행 상황)
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
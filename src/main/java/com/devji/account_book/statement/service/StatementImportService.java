@@ -0,0 +1,134 @@
+package com.devji.account_book.statement.service;
+
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
+import com.devji.account_book.statement.config.StatementImportProperties;
+import com.devji.account_book.statement.dto.ImportJobDto;
+import com.devji.account_book.statement.entity.ImportJob;
+import com.devji.account_book.statement.entity.ImportJobStatus;
+import com.devji.account_book.statement.entity.StatementFormat;
+import com.devji.account_book.statement.parser.ColumnMapping;
+import com.devji.account_book.statement.repository.ImportJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/*
+ * 명세서 업로드 접수와 작업 조회
+ * 파일은 ArchiveStore(imports/ 아래)에 저장한 뒤 작업만 만들고 바로 응답, 실제 반영은 StatementImportRunner가 비동기로 처리
+ * 완료된 작업의 파일은 지우고, 실패한 작업의 파일은 원인 확인용으로 남긴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementImportService {
+
+    private static final String DEFAULT_MAPPING = "default";
+
+    private final ImportJobRepository importJobRepository;
+    private final ArchiveStore archiveStore;
+    private final StatementImportRunner importRunner;
+    private final StatementImportProperties properties;
+
+    public ImportJobDto submit(long userId, MultipartFile file, StatementFormat format, String mappingName,
+                               ColumnMapping customMapping) throws IOException {
+        if (file.isEmpty()) {
+            throw new UnprocessableRequestException("빈 파일입니다.");
+        }
+        String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : "statement";
+        StatementFormat resolvedFormat = format != null ? format : StatementFormat.fromFileName(fileName)
+                .orElseThrow(() -> new UnprocessableRequestException(unsupportedFormatMessage(fileName)));
+        ColumnMapping mapping = resolveMapping(mappingName, customMapping);
+        if (!Charset.isSupported(mapping.getCharset())) {
+            throw new UnprocessableRequestException("지원하지 않는 문자 인코딩입니다: " + mapping.getCharset());
+        }
+
+        String key = "imports/" + userId + "/" + UUID.randomUUID();
+        Path temp = Files.createTempFile("import-", ".upload");
+        long size;
+        try {
+            file.transferTo(temp);
+            size = archiveStore.put(key, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .userId(userId)
+                .status(ImportJobStatus.PENDING)
+                .format(resolvedFormat)
+                .mappingName(customMapping != null ? null : mappingNameOrDefault(mappingName))
+                .fileName(fileName.length() > 255 ? fileName.substring(0, 255) : fileName)
+                .storageKey(key)
+                .fileSize(size)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        try {
+            importRunner.submit(job.getId(), mapping);
+        } catch (TaskRejectedException e) {
+            log.warn("Statement import queue is full, rejecting job {} of user {}", job.getId(), userId);
+            job.setStatus(ImportJobStatus.FAILED);
+            job.setErrorMessage("대기 중인 가져오기 작업이 많습니다.");
+            job.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            archiveStore.delete(key);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "대기 중인 가져오기 작업이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        log.info("Accepted statement import job {} of user {} ({}, {} bytes)", job.getId(), userId, resolvedFormat, size);
+        return ImportJobDto.from(job);
+    }
+
+    public ImportJobDto getJob(long userId, Long jobId) {
+        return importJobRepository.findByIdAndUserId(jobId, userId)
+                .map(ImportJobDto::from)
+                .orElseThrow(() -> new NotFoundException("가져오기 작업을 찾을 수 없습니다."));
+    }
+
+    public List<ImportJobDto> getRecentJobs(long userId) {
+        return importJobRepository.findTop20ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(ImportJobDto::from)
+                .toList();
+    }
+
+    private ColumnMapping resolveMapping(String mappingName, ColumnMapping customMapping) {
+        if (customMapping != null) {
+            return customMapping;
+        }
+        String name = mappingNameOrDefault(mappingName);
+        ColumnMapping mapping = properties.getMappings().get(name);
+        if (mapping != null) {
+            return mapping;
+        }
+        if (DEFAULT_MAPPING.equals(name)) {
+            return new ColumnMapping();
+        }
+        throw new UnprocessableRequestException("등록되지 않은 열 매핑입니다: " + name);
+    }
+
+    private static String mappingNameOrDefault(String mappingName) {
+        return mappingName == null || mappingName.isBlank() ? DEFAULT_MAPPING : mappingName;
+    }
+
+    private static String unsupportedFormatMessage(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".xls") || lower.endsWith(".xlsx")) {
+            return "엑셀 파일은 CSV로 저장한 뒤 올려주세요.";
+        }
+        return "지원하지 않는 파일 형식입니다. (CSV, OFX)";
+    }
+}
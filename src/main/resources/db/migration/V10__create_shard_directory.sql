@@ -0,0 +1,20 @@
+-- 사용자 -> 샤드 디렉터리 (app.datasource.shards.strategy=DIRECTORY, shard 0의 테이블만 사용)
+-- 샤드마다 users.email이 따로 unique이므로 이메일 중복 가입은 이 테이블의 unique 제약으로 막는다
+CREATE TABLE shard_directory
+(
+    user_id    BIGINT PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    shard_id   INTEGER      NOT NULL,
+    -- 이동 중인 대상 샤드 (ShardMoveService)
+    moving_to  INTEGER,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_shard_directory_email UNIQUE (email)
+);
+
+-- 샤딩 이전 사용자는 모두 shard 0
+INSERT INTO shard_directory (user_id, email, shard_id, updated_at)
+SELECT id, email, 0, now()
+FROM users;
+
+-- 다른 샤드로 옮겨진 사용자 (정리되기 전까지 원래 샤드에 남아 있는 행, 이 행으로는 더 이상 쓰지 못함)
+ALTER TABLE users ADD COLUMN moved_out BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,28 @@
+-- 월간 명세서(CSV/PDF) 생성 작업 큐
+-- 작업자는 FOR UPDATE SKIP LOCKED로 가져가면서 lease_until을 정하고, 생성 중에는 주기적으로 늘린다.
+-- 노드가 죽으면 lease가 지난 RUNNING 작업을 다른 노드가 다시 가져간다 (max-attempts까지).
+CREATE TABLE report_jobs
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT       NOT NULL,
+    -- 그 달 1일
+    report_month  DATE         NOT NULL,
+    format        VARCHAR(10)  NOT NULL CHECK (format IN ('CSV', 'PDF')),
+    status        VARCHAR(20)  NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    -- 사용자가 직접 요청한 작업 (off-peak 시간 밖에서도 낮은 속도로 처리)
+    requested     BOOLEAN      NOT NULL DEFAULT FALSE,
+    attempts      INTEGER      NOT NULL DEFAULT 0,
+    lease_until   TIMESTAMP(6),
+    storage_key   VARCHAR(512),
+    file_size     BIGINT,
+    row_count     INTEGER,
+    error_message VARCHAR(1000),
+    created_at    TIMESTAMP(6) NOT NULL,
+    started_at    TIMESTAMP(6),
+    finished_at   TIMESTAMP(6),
+    CONSTRAINT uk_report_jobs_user_month_format UNIQUE (user_id, report_month, format)
+);
+
+CREATE INDEX idx_report_jobs_user_month ON report_jobs (user_id, report_month DESC);
+-- 가져갈 작업 찾기 (끝난 작업은 인덱스에 남지 않음)
+CREATE INDEX idx_report_jobs_queue ON report_jobs (id) WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,5 @@
+-- 명세서를 만든 시점의 users.change_version과 말일 잔액
+-- 요청 시 그 뒤에 바뀐 거래(change_seq > source_version) 중 말일까지의 거래가 있거나,
+-- 말일 잔액이 달라졌으면(말일 이후로 날짜를 옮긴 거래) 다시 만든다.
+ALTER TABLE report_jobs ADD COLUMN source_version BIGINT;
+ALTER TABLE report_jobs ADD COLUMN closing_balance NUMERIC(17, 2);
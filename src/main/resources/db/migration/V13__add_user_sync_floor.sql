@@ -0,0 +1,6 @@
+-- 동기화 기준선: 이 change_seq 이하의 삭제 표시(tombstone)는 지워졌을 수 있다 (TombstonePurgeJob, 아카이브)
+-- token의 change_seq가 이보다 작으면 삭제를 놓칠 수 있으므로 클라이언트가 처음부터 다시 동기화한다
+ALTER TABLE users ADD COLUMN sync_floor BIGINT NOT NULL DEFAULT 0;
+
+-- 보관 기간이 지난 삭제 표시 찾기
+CREATE INDEX idx_transactions_deleted_updated_at ON transactions (updated_at) WHERE deleted;
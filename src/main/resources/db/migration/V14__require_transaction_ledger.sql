@@ -0,0 +1,27 @@
+-- 모든 거래는 장부에 속한다 (ledger_id NOT NULL)
+-- LedgerBackfillJob이 채우지 못하고 남은 행(V9 이전 거래, ledger_id 없이 쓰던 reactive 모듈의 거래)을 작성자의 개인 장부로 옮긴 뒤 제약을 건다.
+-- 남은 행은 idx_transactions_ledger_missing으로 찾으므로, backfill이 끝난 DB에서는 UPDATE가 바로 끝나고 NOT NULL 검사(전체 스캔)만 남는다.
+
+-- 개인 장부가 없는 작성자 (V9 이후 가입했지만 아직 장부를 만들기 전)
+INSERT INTO ledgers (name, personal, owner_user_id, created_at)
+SELECT DISTINCT '내 가계부', TRUE, t.user_id, now()
+FROM transactions t
+WHERE t.ledger_id IS NULL
+ON CONFLICT (owner_user_id) WHERE personal DO NOTHING;
+
+INSERT INTO ledger_members (ledger_id, user_id, role, joined_at)
+SELECT l.id, l.owner_user_id, 'OWNER', now()
+FROM ledgers l
+WHERE l.personal
+ON CONFLICT (ledger_id, user_id) DO NOTHING;
+
+UPDATE transactions t
+SET ledger_id = l.id
+FROM ledgers l
+WHERE t.ledger_id IS NULL
+  AND l.owner_user_id = t.user_id
+  AND l.personal;
+
+ALTER TABLE transactions ALTER COLUMN ledger_id SET NOT NULL;
+
+DROP INDEX idx_transactions_ledger_missing;
@@ -0,0 +1,40 @@
+-- ddl-auto: update 시절 Hibernate가 만들던 스키마
+-- 기존 DB에도 baseline(0) 이후 그대로 적용되도록 모든 구문을 멱등하게 작성한다.
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL UNIQUE,
+    password   VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    role       VARCHAR(255) CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE IF NOT EXISTS categories
+(
+    id      INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    name    VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_categories_user_name UNIQUE (user_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS transactions
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT         NOT NULL,
+    type             VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category         VARCHAR(255),
+    category_id      INTEGER,
+    amount           NUMERIC(15, 2) NOT NULL,
+    description      VARCHAR(255)   NOT NULL,
+    transaction_date DATE           NOT NULL,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6)
+);
+
+-- category_id 도입 이전 스키마 보정
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS category_id INTEGER;
+ALTER TABLE transactions ALTER COLUMN category DROP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category ON transactions (user_id, category_id);
@@ -0,0 +1,91 @@
+-- transactions를 transaction_date 기준 월별 파티션 테이블로 전환
+--
+-- 서비스 중단이 필요한 마이그레이션이다.
+-- PostgreSQL은 일반 테이블을 그 자리에서 파티션 테이블로 바꿀 수 없어서 모든 행을 새 테이블로 복사해야 하고,
+-- 2번의 RENAME부터 커밋까지 transactions에 ACCESS EXCLUSIVE 잠금이 걸려 읽기/쓰기가 모두 기다린다.
+-- 중단 시간은 거래 행 수에 비례하므로 (복사 + 인덱스 두 개 생성) 배포 전에 운영 데이터 사본으로 재서 점검 시간을 잡는다.
+--
+-- category_id backfill도 그래서 배치로 따로 돌리지 않고 4번 복사에서 함께 채운다.
+-- 온라인 배치 backfill(이전 CategoryBackfillService)을 먼저 끝내도 이 복사 시간은 줄지 않고,
+-- 복사 전에 전체 UPDATE를 하면 모든 행을 한 번 더 쓰게 된다 (WAL, dead tuple).
+-- 1번은 transactions를 읽기만 하므로 (행 잠금 없음) 쓰기를 막지 않는다.
+
+-- 1. 아직 categories에 없는 category 문자열 등록 (전역 카테고리에 같은 이름이 있으면 그것을 씀)
+INSERT INTO categories (user_id, name)
+SELECT DISTINCT t.user_id, btrim(t.category)
+FROM transactions t
+WHERE t.category_id IS NULL
+  AND t.category IS NOT NULL
+  AND NOT EXISTS (SELECT 1 FROM categories g WHERE g.user_id IS NULL AND g.name = btrim(t.category))
+ON CONFLICT (user_id, name) DO NOTHING;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_categories_global_name ON categories (name) WHERE user_id IS NULL;
+
+-- 2. 기존 테이블은 잠시 옆으로 옮겨두고 파티션 테이블 생성
+ALTER TABLE transactions RENAME TO transactions_legacy;
+ALTER INDEX idx_transactions_user_category RENAME TO idx_transactions_legacy_user_category;
+
+CREATE SEQUENCE transactions_pk_seq;
+SELECT setval('transactions_pk_seq', COALESCE((SELECT MAX(id) FROM transactions_legacy), 0) + 1, false);
+
+-- 파티션 테이블의 PK에는 파티션 키가 포함되어야 한다
+CREATE TABLE transactions
+(
+    id               BIGINT         NOT NULL DEFAULT nextval('transactions_pk_seq'),
+    user_id          BIGINT         NOT NULL,
+    type             VARCHAR(255)   NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category_id      INTEGER        NOT NULL REFERENCES categories (id),
+    amount           NUMERIC(15, 2) NOT NULL,
+    description      VARCHAR(255)   NOT NULL,
+    transaction_date DATE           NOT NULL,
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE transactions_pk_seq OWNED BY transactions.id;
+
+CREATE INDEX idx_transactions_user_date ON transactions (user_id, transaction_date DESC, created_at DESC);
+CREATE INDEX idx_transactions_user_category ON transactions (user_id, category_id);
+
+-- 월별 파티션 범위를 벗어난 날짜(오타 등)는 default 파티션으로
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- 3. 기존 데이터 범위(최대 10년)부터 3개월 뒤까지 월별 파티션 생성
+DO
+$$
+    DECLARE
+        from_month DATE := date_trunc('month', GREATEST(
+                COALESCE((SELECT MIN(transaction_date) FROM transactions_legacy), CURRENT_DATE),
+                CURRENT_DATE - INTERVAL '10 years'))::date;
+        to_month   DATE := (date_trunc('month', GREATEST(
+                COALESCE((SELECT MAX(transaction_date) FROM transactions_legacy), CURRENT_DATE),
+                CURRENT_DATE)) + INTERVAL '3 months')::date;
+    BEGIN
+        WHILE from_month <= to_month
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                               'transactions_' || to_char(from_month, 'YYYYMM'),
+                               from_month,
+                               (from_month + INTERVAL '1 month')::date);
+                from_month := (from_month + INTERVAL '1 month')::date;
+            END LOOP;
+    END
+$$;
+
+-- 4. 데이터 이관 (category_id가 비어 있는 행은 사용자 카테고리 -> 전역 카테고리 순으로 채움) 후 기존 테이블 제거
+INSERT INTO transactions (id, user_id, type, category_id, amount, description, transaction_date, created_at, updated_at)
+SELECT t.id,
+       t.user_id,
+       t.type,
+       COALESCE(t.category_id,
+                (SELECT c.id FROM categories c WHERE c.user_id = t.user_id AND c.name = btrim(t.category)),
+                (SELECT g.id FROM categories g WHERE g.user_id IS NULL AND g.name = btrim(t.category))),
+       t.amount,
+       t.description,
+       t.transaction_date,
+       t.created_at,
+       t.updated_at
+FROM transactions_legacy t;
+
+DROP TABLE transactions_legacy;
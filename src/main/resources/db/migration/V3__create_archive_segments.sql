@@ -0,0 +1,14 @@
+-- 오래된 거래를 (사용자, 연도) 단위 압축 파일로 옮긴 기록
+CREATE TABLE archive_segments
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT       NOT NULL,
+    archive_year     INTEGER      NOT NULL,
+    storage_key      VARCHAR(512) NOT NULL,
+    row_count        INTEGER      NOT NULL,
+    min_date         DATE         NOT NULL,
+    max_date         DATE         NOT NULL,
+    compressed_bytes BIGINT       NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_archive_segments_user_year UNIQUE (user_id, archive_year)
+);
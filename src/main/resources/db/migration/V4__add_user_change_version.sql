@@ -0,0 +1,2 @@
+-- 사용자별 거래 변경 버전 (거래 생성/수정/삭제마다 1씩 증가, ETag 생성에 사용)
+ALTER TABLE users ADD COLUMN change_version BIGINT NOT NULL DEFAULT 0;
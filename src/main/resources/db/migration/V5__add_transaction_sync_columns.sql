@@ -0,0 +1,7 @@
+-- 델타 동기화: 변경 순번, 삭제 표시(tombstone), 낙관적 잠금 버전
+ALTER TABLE transactions ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN deleted BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE transactions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- 동기화 조회 (user_id, change_seq, id) > 토큰
+CREATE INDEX idx_transactions_user_change_seq ON transactions (user_id, change_seq, id);
@@ -0,0 +1,34 @@
+-- 은행/카드사 명세서 파일 가져오기 작업
+CREATE TABLE import_jobs
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT       NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    format         VARCHAR(10)  NOT NULL,
+    mapping_name   VARCHAR(50),
+    file_name      VARCHAR(255) NOT NULL,
+    storage_key    VARCHAR(512) NOT NULL,
+    file_size      BIGINT       NOT NULL,
+    bytes_read     BIGINT       NOT NULL DEFAULT 0,
+    processed_rows INTEGER      NOT NULL DEFAULT 0,
+    inserted_rows  INTEGER      NOT NULL DEFAULT 0,
+    duplicate_rows INTEGER      NOT NULL DEFAULT 0,
+    failed_rows    INTEGER      NOT NULL DEFAULT 0,
+    error_message  VARCHAR(1000),
+    created_at     TIMESTAMP(6) NOT NULL,
+    started_at     TIMESTAMP(6),
+    finished_at    TIMESTAMP(6)
+);
+
+CREATE INDEX idx_import_jobs_user_created ON import_jobs (user_id, created_at DESC);
+
+-- 중복 판별용 지문: md5(거래일 | 부호 있는 금액(지출은 음수) | 설명), TransactionFingerprint와 같은 규칙
+ALTER TABLE transactions ADD COLUMN dedup_hash BYTEA;
+
+UPDATE transactions
+SET dedup_hash = decode(md5(transaction_date::text || '|' ||
+                            (CASE WHEN type = 'EXPENSE' THEN -amount ELSE amount END)::text || '|' ||
+                            description), 'hex');
+
+-- 같은 지문이 여러 건일 수 있으므로(같은 날 같은 금액의 커피 두 잔) UNIQUE가 아닌 일반 인덱스
+CREATE INDEX idx_transactions_user_dedup_hash ON transactions (user_id, dedup_hash);
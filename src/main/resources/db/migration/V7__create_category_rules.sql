@@ -0,0 +1,64 @@
+-- 자동 분류 규칙 (user_id가 NULL이면 모든 사용자에게 적용되는 전역 규칙)
+-- 조건(keyword, pattern, 금액 범위, 거래 유형)은 모두 만족해야 하고, 여러 규칙이 맞으면 priority가 작은 규칙이 이긴다.
+CREATE TABLE category_rules
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT,
+    priority         INTEGER      NOT NULL DEFAULT 100,
+    keyword          VARCHAR(100),
+    pattern          VARCHAR(255),
+    min_amount       NUMERIC(15, 2),
+    max_amount       NUMERIC(15, 2),
+    transaction_type VARCHAR(20) CHECK (transaction_type IN ('INCOME', 'EXPENSE')),
+    category_id      INTEGER      NOT NULL REFERENCES categories (id),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_category_rules_condition
+        CHECK (keyword IS NOT NULL OR pattern IS NOT NULL OR min_amount IS NOT NULL OR max_amount IS NOT NULL)
+);
+
+CREATE INDEX idx_category_rules_user ON category_rules (user_id);
+
+-- 기본 전역 규칙에서 쓰는 전역 카테고리
+INSERT INTO categories (user_id, name)
+VALUES (NULL, '카페'),
+       (NULL, '편의점'),
+       (NULL, '교통'),
+       (NULL, '식비'),
+       (NULL, '쇼핑'),
+       (NULL, '통신'),
+       (NULL, '구독'),
+       (NULL, '급여')
+ON CONFLICT (name) WHERE user_id IS NULL DO NOTHING;
+
+-- 기본 전역 규칙 (사용자 규칙 기본 priority 100보다 뒤에 적용되도록 1000, '쿠팡이츠'는 '쿠팡'보다 먼저)
+INSERT INTO category_rules (user_id, priority, keyword, transaction_type, category_id, created_at, updated_at)
+SELECT NULL, r.priority, r.keyword, r.transaction_type, c.id, now(), now()
+FROM (VALUES ('스타벅스', 'EXPENSE', '카페', 1000),
+             ('starbucks', 'EXPENSE', '카페', 1000),
+             ('투썸', 'EXPENSE', '카페', 1000),
+             ('이디야', 'EXPENSE', '카페', 1000),
+             ('메가커피', 'EXPENSE', '카페', 1000),
+             ('빽다방', 'EXPENSE', '카페', 1000),
+             ('gs25', 'EXPENSE', '편의점', 1000),
+             ('cu ', 'EXPENSE', '편의점', 1000),
+             ('세븐일레븐', 'EXPENSE', '편의점', 1000),
+             ('이마트24', 'EXPENSE', '편의점', 1000),
+             ('카카오t', 'EXPENSE', '교통', 1000),
+             ('택시', 'EXPENSE', '교통', 1000),
+             ('티머니', 'EXPENSE', '교통', 1000),
+             ('코레일', 'EXPENSE', '교통', 1000),
+             ('배달의민족', 'EXPENSE', '식비', 1000),
+             ('요기요', 'EXPENSE', '식비', 1000),
+             ('쿠팡이츠', 'EXPENSE', '식비', 990),
+             ('쿠팡', 'EXPENSE', '쇼핑', 1000),
+             ('11번가', 'EXPENSE', '쇼핑', 1000),
+             ('g마켓', 'EXPENSE', '쇼핑', 1000),
+             ('skt', 'EXPENSE', '통신', 1000),
+             ('lg u+', 'EXPENSE', '통신', 1000),
+             ('넷플릭스', 'EXPENSE', '구독', 1000),
+             ('netflix', 'EXPENSE', '구독', 1000),
+             ('유튜브프리미엄', 'EXPENSE', '구독', 1000),
+             ('급여', 'INCOME', '급여', 1000),
+             ('월급', 'INCOME', '급여', 1000)) AS r(keyword, transaction_type, category, priority)
+         JOIN categories c ON c.user_id IS NULL AND c.name = r.category;
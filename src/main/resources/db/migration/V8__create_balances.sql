@@ -0,0 +1,53 @@
+-- 사용자별 잔액 (수입 - 지출, 삭제 표시된 거래 제외, 아카이브로 옮겨진 거래 포함)
+-- 거래 쓰기와 같은 트랜잭션에서 갱신되고, 검증 작업이 주기적으로 다시 계산해서 차이(drift)를 기록한다.
+CREATE TABLE user_balances
+(
+    user_id     BIGINT PRIMARY KEY,
+    balance     NUMERIC(17, 2) NOT NULL,
+    updated_at  TIMESTAMP(6)   NOT NULL,
+    verified_at TIMESTAMP(6),
+    -- 마지막 검증에서 발견한 차이 (저장된 잔액 - 다시 계산한 잔액), 일치하면 NULL
+    drift       NUMERIC(17, 2)
+);
+
+-- 거래일별 순증감
+CREATE TABLE balance_days
+(
+    user_id      BIGINT         NOT NULL,
+    balance_date DATE           NOT NULL,
+    net_amount   NUMERIC(17, 2) NOT NULL,
+    PRIMARY KEY (user_id, balance_date)
+);
+
+-- 월말 누적 잔액 (거래가 있는 달만, checkpoint_month는 그 달 1일)
+-- 특정 날짜의 잔액 = 직전 달 체크포인트 + 그 달 1일 ~ 해당 날짜의 balance_days 합 (최대 31행)
+CREATE TABLE balance_checkpoints
+(
+    user_id          BIGINT         NOT NULL,
+    checkpoint_month DATE           NOT NULL,
+    closing_balance  NUMERIC(17, 2) NOT NULL,
+    PRIMARY KEY (user_id, checkpoint_month)
+);
+
+-- 세그먼트에 담긴 거래의 순증감 (검증 작업이 파일을 열지 않고 비교할 수 있도록)
+-- 기존 세그먼트는 NULL, 검증 작업이 처음 재계산할 때 채운다
+ALTER TABLE archive_segments ADD COLUMN net_amount NUMERIC(17, 2);
+
+-- 기존 거래로 채우기 (아카이브 파일에 있는 거래는 SQL로 읽을 수 없으므로 검증 작업의 재계산으로 반영)
+INSERT INTO balance_days (user_id, balance_date, net_amount)
+SELECT user_id, transaction_date, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END)
+FROM transactions
+WHERE deleted = FALSE
+GROUP BY user_id, transaction_date;
+
+INSERT INTO balance_checkpoints (user_id, checkpoint_month, closing_balance)
+SELECT user_id,
+       date_trunc('month', balance_date)::date,
+       SUM(SUM(net_amount)) OVER (PARTITION BY user_id ORDER BY date_trunc('month', balance_date))
+FROM balance_days
+GROUP BY user_id, date_trunc('month', balance_date);
+
+INSERT INTO user_balances (user_id, balance, updated_at)
+SELECT user_id, SUM(net_amount), now()
+FROM balance_days
+GROUP BY user_id;
@@ -0,0 +1,44 @@
+-- 장부: 사용자마다 개인 장부 하나 + 여러 사용자가 함께 쓰는 공유 장부
+CREATE TABLE ledgers
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(100) NOT NULL,
+    personal      BOOLEAN      NOT NULL DEFAULT FALSE,
+    owner_user_id BIGINT       NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_ledgers_personal_owner ON ledgers (owner_user_id) WHERE personal;
+
+CREATE TABLE ledger_members
+(
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ledger_id BIGINT       NOT NULL REFERENCES ledgers (id) ON DELETE CASCADE,
+    user_id   BIGINT       NOT NULL,
+    role      VARCHAR(20)  NOT NULL CHECK (role IN ('OWNER', 'EDITOR', 'VIEWER')),
+    joined_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_ledger_members_ledger_user UNIQUE (ledger_id, user_id)
+);
+
+CREATE INDEX idx_ledger_members_user ON ledger_members (user_id);
+
+-- 거래가 속한 장부 (user_id는 작성자)
+-- 기존 거래는 애플리케이션의 LedgerBackfillJob이 작은 배치로 나눠서 개인 장부로 채운다 (테이블 전체 UPDATE로 오래 잠그지 않도록)
+ALTER TABLE transactions ADD COLUMN ledger_id BIGINT;
+
+-- 장부별 목록 조회 (idx_transactions_user_date와 같은 정렬)
+-- 엔티티의 @SQLRestriction(deleted = false) 조건과 같은 부분 인덱스라 목록/건수 조회가 이 인덱스 범위 스캔 하나로 끝난다
+CREATE INDEX idx_transactions_ledger_date ON transactions (ledger_id, transaction_date DESC, created_at DESC)
+    WHERE deleted = FALSE;
+-- 아직 장부가 없는 거래 찾기 (backfill이 끝나면 비어 있는 인덱스)
+CREATE INDEX idx_transactions_ledger_missing ON transactions (user_id) WHERE ledger_id IS NULL;
+
+-- 기존 사용자의 개인 장부
+INSERT INTO ledgers (name, personal, owner_user_id, created_at)
+SELECT '내 가계부', TRUE, id, now()
+FROM users;
+
+INSERT INTO ledger_members (ledger_id, user_id, role, joined_at)
+SELECT id, owner_user_id, 'OWNER', now()
+FROM ledgers
+WHERE personal;
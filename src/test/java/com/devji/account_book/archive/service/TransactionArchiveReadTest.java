@@ -0,0 +1,208 @@
+package com.devji.account_book.archive.service;
+
+import com.devji.account_book.archive.repository.ArchiveSegmentRepository;
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.archive.store.LocalArchiveStore;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 아카이브된 연도를 로컬 파일 저장소(S3 대신)에 두고 목록/기간 조회가 테이블과 세그먼트를 이어서 읽는지
+ * 저장소를 감싸서 어떤 세그먼트를 열었는지 기록하고, 페이지에 걸치지 않는 연도는 풀지 않는지 확인한다
+ */
+@SpringBootTest(properties = "app.archive.enabled=true")
+class TransactionArchiveReadTest extends IntegrationTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(LocalDate.now().getYear() - 5, 1, 1);
+    private static final int Y1 = CUTOFF.getYear() - 1;
+    private static final int Y2 = CUTOFF.getYear() - 2;
+    private static final int Y3 = CUTOFF.getYear() - 3;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws Exception {
+        registry.add("app.archive.local.path", Files.createTempDirectory("archive-test")::toString);
+        registry.add("app.archive.retention-years", () -> 5);
+    }
+
+    @TestConfiguration
+    static class OpenRecordingConfig {
+
+        @Bean
+        @Primary
+        OpenRecordingArchiveStore openRecordingArchiveStore(LocalArchiveStore localArchiveStore) {
+            return new OpenRecordingArchiveStore(localArchiveStore);
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionArchiveService archiveService;
+
+    @Autowired
+    private ArchiveSegmentRepository archiveSegmentRepository;
+
+    @Autowired
+    private OpenRecordingArchiveStore archiveStore;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        userId = createUser().getId();
+
+        create(LocalDate.of(Y3, 2, 1), "3000");
+        create(LocalDate.of(Y3, 5, 1), "3100");
+        create(LocalDate.of(Y3, 11, 1), "3200");
+        create(LocalDate.of(Y2, 1, 10), "2000");
+        create(LocalDate.of(Y2, 3, 5), "2100");
+        create(LocalDate.of(Y2, 9, 20), "2200");
+        create(LocalDate.of(Y1, 4, 1), "1000");
+        create(LocalDate.of(Y1, 8, 1), "1100");
+        create(LocalDate.of(Y1, 12, 31), "1200");
+        archiveService.archive(userId, Y3);
+        archiveService.archive(userId, Y2);
+        archiveService.archive(userId, Y1);
+
+        // 아카이브 뒤에 소급 입력되어 테이블에 남은 거래 (같은 연도 세그먼트와 섞여서 나와야 함)
+        create(LocalDate.of(Y2, 6, 15), "2150");
+        create(CUTOFF.plusDays(10), "500");
+        create(LocalDate.now(), "100");
+        archiveStore.opened.clear();
+    }
+
+    @Test
+    void pagesAcrossTableAndArchiveMatchTheFullExport() {
+        List<Long> expected = ids(transactionService.exportTransactions(userId, LocalDate.of(Y3, 1, 1), LocalDate.now()));
+        assertThat(expected).hasSize(12);
+
+        List<Long> paged = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<TransactionDto> result = transactionService.getTransactions(userId, page, 5);
+            assertThat(result.getTotalElements()).isEqualTo(12);
+            paged.addAll(ids(result.getContent()));
+        }
+        assertThat(paged).isEqualTo(expected);
+        assertThat(amounts(transactionService.getTransactions(userId, 0, 12).getContent()))
+                .containsExactly("100", "500", "1200", "1100", "1000", "2200", "2150", "2100", "2000", "3200", "3100", "3000");
+    }
+
+    @Test
+    void deepPageDecodesOnlyTheSegmentsItOverlaps() {
+        // 최근 2건 + Y1 3건을 건너뛰면 Y2(세그먼트 3건 + 테이블 1건)부터
+        Page<TransactionDto> page = transactionService.getTransactions(userId, 1, 5);
+
+        assertThat(amounts(page.getContent())).containsExactly("2200", "2150", "2100", "2000", "3200");
+        assertThat(archiveStore.opened).containsExactlyInAnyOrder(key(Y2), key(Y3));
+
+        archiveStore.opened.clear();
+        assertThat(amounts(transactionService.getTransactions(userId, 2, 5).getContent())).containsExactly("3100", "3000");
+        assertThat(archiveStore.opened).containsExactly(key(Y3));
+
+        // 최근 거래로 페이지가 다 차면 세그먼트를 열지 않는다
+        archiveStore.opened.clear();
+        transactionService.getTransactions(userId, 0, 2);
+        assertThat(archiveStore.opened).isEmpty();
+    }
+
+    @Test
+    void dateRangeCountsCoveredSegmentsFromTheCatalog() {
+        LocalDate start = LocalDate.of(Y2, 6, 1);
+        LocalDate end = LocalDate.of(Y1, 12, 31);
+
+        Page<TransactionDto> first = transactionService.getTransactionsByDateRange(userId, start, end, 0, 3);
+
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(amounts(first.getContent())).containsExactly("1200", "1100", "1000");
+        // Y1은 기간 안에 통째로 들어가서 row_count로 세고 페이지를 채울 때만 연다, Y2는 경계라 세기 위해 연다
+        assertThat(archiveStore.opened).containsExactlyInAnyOrder(key(Y2), key(Y1));
+
+        archiveStore.opened.clear();
+        Page<TransactionDto> second = transactionService.getTransactionsByDateRange(userId, start, end, 1, 3);
+        assertThat(amounts(second.getContent())).containsExactly("2200", "2150");
+        assertThat(archiveStore.opened).containsExactly(key(Y2));
+
+        assertThat(ids(transactionService.exportTransactions(userId, start, end)))
+                .containsExactlyElementsOf(ids(concat(first.getContent(), second.getContent())));
+    }
+
+    private void create(LocalDate date, String amount) {
+        transactionService.createTransaction(userId, TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal(amount))
+                .description("점심 " + amount)
+                .transactionDate(date)
+                .build());
+    }
+
+    private String key(int year) {
+        return archiveSegmentRepository.findByUserIdAndYear(userId, year).orElseThrow().getStorageKey();
+    }
+
+    private static List<Long> ids(List<TransactionDto> transactions) {
+        return transactions.stream().map(TransactionDto::getId).toList();
+    }
+
+    private static List<String> amounts(List<TransactionDto> transactions) {
+        return transactions.stream().map(transaction -> transaction.getAmount().stripTrailingZeros().toPlainString()).toList();
+    }
+
+    private static List<TransactionDto> concat(List<TransactionDto> first, List<TransactionDto> second) {
+        List<TransactionDto> result = new ArrayList<>(first);
+        result.addAll(second);
+        return result;
+    }
+
+    // 로컬 저장소에 넘기면서 연 세그먼트 key를 기록
+    static class OpenRecordingArchiveStore implements ArchiveStore {
+
+        private final ArchiveStore delegate;
+        private final List<String> opened = new CopyOnWriteArrayList<>();
+
+        OpenRecordingArchiveStore(ArchiveStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long put(String key, Path source) throws IOException {
+            return delegate.put(key, source);
+        }
+
+        @Override
+        public ByteBuffer open(String key) throws IOException {
+            opened.add(key);
+            return delegate.open(key);
+        }
+
+        @Override
+        public void delete(String key) throws IOException {
+            delegate.delete(key);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.devji.account_book.auth.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static com.devji.account_book.auth.util.JwtUtil.ACCESS_TOKEN_COOKIE_NAME;
+import static com.devji.account_book.auth.util.JwtUtil.findCookieValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    @Test
+    void findsValueAmongOtherCookies() {
+        assertThat(findCookieValue("accessToken=xyz", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("a=1; accessToken=xyz; b=2", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("a=1;accessToken=xyz", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("a=1; b=2", ACCESS_TOKEN_COOKIE_NAME)).isNull();
+        assertThat(findCookieValue("", ACCESS_TOKEN_COOKIE_NAME)).isNull();
+    }
+
+    @Test
+    void stripsQuotesAroundValue() {
+        assertThat(findCookieValue("a=1; accessToken=\"xyz\"; b=2", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("accessToken=\"\"", ACCESS_TOKEN_COOKIE_NAME)).isEmpty();
+        // 한쪽에만 있는 따옴표는 값의 일부
+        assertThat(findCookieValue("accessToken=\"xyz", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("\"xyz");
+        assertThat(findCookieValue("accessToken=\"", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("\"");
+    }
+
+    @Test
+    void ignoresCookiesWhoseNameStartsWithTheName() {
+        assertThat(findCookieValue("accessTokenX=bad; accessToken=good", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("good");
+        assertThat(findCookieValue("accessTokenX=bad", ACCESS_TOKEN_COOKIE_NAME)).isNull();
+        assertThat(findCookieValue("xaccessToken=bad", ACCESS_TOKEN_COOKIE_NAME)).isNull();
+        // 값 안에 이름이 들어 있어도 다른 쿠키
+        assertThat(findCookieValue("a=accessToken=bad", ACCESS_TOKEN_COOKIE_NAME)).isNull();
+        assertThat(findCookieValue("accessToken", ACCESS_TOKEN_COOKIE_NAME)).isNull();
+    }
+
+    @Test
+    void toleratesWhitespace() {
+        assertThat(findCookieValue("  accessToken=xyz  ", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("a=1 ;\taccessToken=xyz\t; b=2", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("accessToken = xyz", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("accessToken= \"xyz\" ", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("a=1;; ;accessToken=xyz", ACCESS_TOKEN_COOKIE_NAME)).isEqualTo("xyz");
+        assertThat(findCookieValue("accessToken=", ACCESS_TOKEN_COOKIE_NAME)).isEmpty();
+    }
+
+    @Test
+    void readsEveryCookieHeader() {
+        JwtUtil jwtUtil = new JwtUtil();
+
+        // HTTP/2에서는 쿠키마다 Cookie 헤더가 따로 올 수 있다
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.COOKIE, "a=1; b=2");
+        request.addHeader(HttpHeaders.COOKIE, "accessTokenX=bad");
+        request.addHeader(HttpHeaders.COOKIE, "c=3; accessToken=xyz");
+        assertThat(jwtUtil.getAccessTokenFromCookie(request)).isEqualTo("xyz");
+
+        // 앞의 헤더에 있는 것이 우선
+        request.addHeader(HttpHeaders.COOKIE, "accessToken=later");
+        assertThat(jwtUtil.getAccessTokenFromCookie(request)).isEqualTo("xyz");
+
+        assertThat(jwtUtil.getAccessTokenFromCookie(new MockHttpServletRequest())).isNull();
+    }
+}
@@ -0,0 +1,200 @@
+package com.devji.account_book.auth.util;
+
+import com.devji.account_book.auth.service.AuthService;
+import com.devji.account_book.support.TestContainers;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * Redis 컨테이너를 pause해서 응답 없는 Redis를 흉내 낸다 (연결은 살아 있고 명령만 멈춤, 가장 오래 묶이는 경우)
+ * 짧은 command-timeout과 작은 breaker 창으로 장애 감지 -> 503 또는 이 노드가 쓴 토큰만 사용 -> 복구 후 밀린 쓰기 반영까지 확인한다.
+ * 밀린 쓰기가 복구 후 다른 노드에서 새로 쓴 토큰을 덮어쓰거나 지우지 않는지도 확인한다.
+ */
+@SpringBootTest
+@Testcontainers
+class RedisUtilChaosTest {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofMillis(200);
+
+    // pause가 다른 테스트 컨텍스트의 Redis 연결과 breaker에 번지지 않도록 Redis만 따로 띄운다 (DB는 공용)
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        TestContainers.registerPostgres(registry);
+        TestContainers.registerRedis(registry, redis);
+        TestContainers.registerJwt(registry);
+        registry.add("app.redis.command-timeout", () -> COMMAND_TIMEOUT.toMillis() + "ms");
+        registry.add("app.redis.circuit-breaker.sliding-window-size", () -> 4);
+        registry.add("app.redis.circuit-breaker.minimum-calls", () -> 4);
+        registry.add("app.redis.circuit-breaker.wait-in-open-state", () -> "1s");
+        registry.add("app.redis.circuit-breaker.permitted-calls-in-half-open-state", () -> 1);
+    }
+
+    @Autowired
+    private RedisUtil redisUtil;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CircuitBreaker redisCircuitBreaker;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        if (isPaused()) {
+            unpause();
+        }
+        redisCircuitBreaker.reset();
+    }
+
+    @Test
+    void stalledRedisFailsClosedExceptForLocalWritesAndReplaysAfterRecovery() throws Exception {
+        String known = UUID.randomUUID() + "@test.com";
+        String knownToken = jwtUtil.createRefreshToken(known);
+        redisUtil.setRefreshToken(known, knownToken, JwtUtil.REFRESH_TOKEN_TIME);
+
+        pause();
+
+        // 멈춘 Redis를 command-timeout만큼만 기다리고, 장애 전에 저장된 토큰은 503
+        // (다른 노드에서 그사이 로그아웃/재발급했을 수 있으므로 예전에 읽은 값을 돌려주지 않는다)
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> redisUtil.getRefreshToken(known)).isInstanceOf(RedisUnavailableException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(COMMAND_TIMEOUT.multipliedBy(5));
+        assertServiceUnavailable(known);
+
+        // 장애 중 로그인: 로컬에만 저장되고 로그인은 성공
+        String loggedIn = UUID.randomUUID() + "@test.com";
+        String loggedInToken = jwtUtil.createRefreshToken(loggedIn);
+        redisUtil.setRefreshToken(loggedIn, loggedInToken, JwtUtil.REFRESH_TOKEN_TIME);
+        for (int i = 0; i < 4 && redisCircuitBreaker.getState() != CircuitBreaker.State.OPEN; i++) {
+            tryGet(known);
+        }
+        assertThat(redisCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // 열린 뒤에는 Redis를 기다리지 않는다, 이 노드가 쓰지 않은 사용자는 401이 아니라 503
+        String unknown = UUID.randomUUID() + "@test.com";
+        started = System.nanoTime();
+        assertServiceUnavailable(unknown);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(COMMAND_TIMEOUT);
+        assertServiceUnavailable(known);
+        // 장애 중 이 노드에서 로그인한 사용자는 재발급된다
+        assertThat(authService.refresh(jwtUtil.createAccessToken(loggedIn))).isNotNull();
+
+        unpause();
+
+        // wait-in-open-state 뒤 half-open에서 한 번 성공하면 닫히고, 밀린 저장이 Redis에 반영된다
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline
+                && !loggedInToken.equals(storedToken(loggedIn))) {
+            tryGet(known);
+            Thread.sleep(100);
+        }
+        assertThat(redisCircuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(storedToken(loggedIn)).isEqualTo(loggedInToken);
+        assertThat(redisUtil.getRefreshToken(known)).isEqualTo(knownToken);
+    }
+
+    @Test
+    void logoutDuringOutageIsReplayed() throws Exception {
+        String email = UUID.randomUUID() + "@test.com";
+        redisUtil.setRefreshToken(email, jwtUtil.createRefreshToken(email), JwtUtil.REFRESH_TOKEN_TIME);
+
+        pause();
+        redisUtil.deleteRefreshToken(email);
+        unpause();
+
+        // 복구 전에 다시 로그인하지 않았으므로 Redis의 토큰도 지워져야 한다
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline && Boolean.TRUE.equals(redisTemplate.hasKey("RT:" + email))) {
+            for (int i = 0; i < 4; i++) {
+                tryGet(UUID.randomUUID() + "@test.com");
+            }
+            Thread.sleep(100);
+        }
+        assertThat(redisTemplate.hasKey("RT:" + email)).isFalse();
+    }
+
+    @Test
+    void replayDoesNotOverwriteNewerLogins() throws Exception {
+        String loggedIn = UUID.randomUUID() + "@test.com";
+        String loggedOut = UUID.randomUUID() + "@test.com";
+        redisUtil.setRefreshToken(loggedOut, jwtUtil.createRefreshToken(loggedOut), JwtUtil.REFRESH_TOKEN_TIME);
+
+        // 장애 중 이 노드의 로그인/로그아웃은 로컬에 밀린다
+        pause();
+        redisUtil.setRefreshToken(loggedIn, jwtUtil.createRefreshToken(loggedIn), JwtUtil.REFRESH_TOKEN_TIME);
+        redisUtil.deleteRefreshToken(loggedOut);
+        unpause();
+
+        // 반영하기 전에 다른 노드에서 두 사용자가 다시 로그인
+        Thread.sleep(10);
+        String newerLogin = UUID.randomUUID().toString();
+        String newerAfterLogout = UUID.randomUUID().toString();
+        redisTemplate.opsForValue().set("RT:" + loggedIn, System.currentTimeMillis() + ":" + newerLogin);
+        redisTemplate.opsForValue().set("RT:" + loggedOut, System.currentTimeMillis() + ":" + newerAfterLogout);
+
+        redisUtil.replayPending();
+
+        assertThat(storedToken(loggedIn)).isEqualTo(newerLogin);
+        assertThat(storedToken(loggedOut)).isEqualTo(newerAfterLogout);
+        assertThat(redisUtil.getRefreshToken(loggedIn)).isEqualTo(newerLogin);
+    }
+
+    private String storedToken(String email) {
+        return RedisUtil.tokenOf(redisTemplate.opsForValue().get("RT:" + email));
+    }
+
+    private void assertServiceUnavailable(String email) {
+        assertThatThrownBy(() -> authService.refresh(jwtUtil.createAccessToken(email)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    // breaker 상태를 움직이기 위한 호출 (장애 중 실패는 무시)
+    private void tryGet(String email) {
+        try {
+            redisUtil.getRefreshToken(email);
+        } catch (RedisUnavailableException e) {
+            // 아직 복구 전
+        }
+    }
+
+    private static void pause() {
+        DockerClientFactory.instance().client().pauseContainerCmd(redis.getContainerId()).exec();
+    }
+
+    private static void unpause() {
+        DockerClientFactory.instance().client().unpauseContainerCmd(redis.getContainerId()).exec();
+    }
+
+    private static boolean isPaused() {
+        return Boolean.TRUE.equals(DockerClientFactory.instance().client()
+                .inspectContainerCmd(redis.getContainerId()).exec().getState().getPaused());
+    }
+}
@@ -0,0 +1,130 @@
+package com.devji.account_book.balance.service;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BalanceServiceTest extends IntegrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private BalanceVerificationJob verificationJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+    }
+
+    @Test
+    void backdatedWritesShiftLaterCheckpoints() {
+        transactionService.createTransaction(userId, request(TransactionType.INCOME, "3000000", "2026-03-25"));
+        transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "50000", "2026-05-10"));
+        TransactionDto backdated = transactionService.createTransaction(userId,
+                request(TransactionType.EXPENSE, "200000", "2026-01-15"));
+
+        assertThat(balance(null)).isEqualByComparingTo("2750000");
+        assertThat(balance("2026-01-14")).isEqualByComparingTo("0");
+        assertThat(balance("2026-02-28")).isEqualByComparingTo("-200000");
+        assertThat(balance("2026-04-30")).isEqualByComparingTo("2800000");
+        assertThat(balance("2026-05-10")).isEqualByComparingTo("2750000");
+
+        // 1월 지출을 4월 수입으로 바꾸면 1~3월 잔액은 올라가고 4월 이후는 +400000
+        TransactionDto update = request(TransactionType.INCOME, "200000", "2026-04-01");
+        update.setVersion(backdated.getVersion());
+        TransactionDto updated = transactionService.updateTransaction(userId, backdated.getId(), update);
+
+        assertThat(balance("2026-02-28")).isEqualByComparingTo("0");
+        assertThat(balance("2026-04-01")).isEqualByComparingTo("3200000");
+        assertThat(balance(null)).isEqualByComparingTo("3150000");
+
+        transactionService.deleteTransaction(userId, updated.getId(), updated.getVersion());
+
+        assertThat(balance("2026-04-01")).isEqualByComparingTo("3000000");
+        assertThat(balance(null)).isEqualByComparingTo("2950000");
+        assertThat(verificationJob.verify(userId)).isTrue();
+    }
+
+    @Test
+    void concurrentWritesKeepCheckpointsConsistent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<TransactionDto>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                // 뒤쪽 달이 먼저 만들어지는 경우도 섞이도록 달을 거꾸로
+                String date = LocalDate.of(2026, 12 - i % 12, 1 + i % 28).toString();
+                futures.add(executor.submit(() -> transactionService.createTransaction(userId,
+                        request(TransactionType.EXPENSE, "1000", date))));
+            }
+            for (Future<TransactionDto> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(balance(null)).isEqualByComparingTo("-64000");
+        assertThat(verificationJob.verify(userId)).isTrue();
+    }
+
+    @Test
+    void verificationFlagsAndRepairsDrift() {
+        transactionService.createTransaction(userId, request(TransactionType.INCOME, "100000", "2026-06-01"));
+        transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "30000", "2026-07-01"));
+        // 서비스를 거치지 않은 쓰기
+        jdbcTemplate.update("UPDATE transactions SET amount = 40000 WHERE user_id = ? AND type = 'EXPENSE'", userId);
+
+        assertThat(verificationJob.verify(userId)).isFalse();
+
+        BigDecimal drift = jdbcTemplate.queryForObject(
+                "SELECT drift FROM user_balances WHERE user_id = ?", BigDecimal.class, userId);
+        assertThat(drift).isEqualByComparingTo("10000");
+        assertThat(balance(null)).isEqualByComparingTo("60000");
+        assertThat(balance("2026-06-30")).isEqualByComparingTo("100000");
+        assertThat(verificationJob.verify(userId)).isTrue();
+    }
+
+    private BigDecimal balance(String asOf) {
+        return asOf == null
+                ? balanceService.getBalance(userId).getBalance()
+                : balanceService.getBalance(userId, LocalDate.parse(asOf)).getBalance();
+    }
+
+    private static TransactionDto request(TransactionType type, String amount, String date) {
+        return TransactionDto.builder()
+                .type(type)
+                .category(type == TransactionType.INCOME ? "급여" : "식비")
+                .amount(new BigDecimal(amount))
+                .description("잔액 테스트")
+                .transactionDate(LocalDate.parse(date))
+                .build();
+    }
+}
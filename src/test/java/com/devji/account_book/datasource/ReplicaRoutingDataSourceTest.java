@@ -0,0 +1,221 @@
+package com.devji.account_book.datasource;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.repository.UserRepository;
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.support.TestContainers;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * PostgreSQL 컨테이너 두 개를 primary, replica로 두고 커넥션이 어느 쪽으로 가는지 current_database()로 확인한다
+ * 두 DB는 복제로 이어져 있지 않아서 primary에 쓴 데이터가 replica에 보이지 않는다 (복제가 끝없이 밀린 replica와 같음).
+ * replica 컨테이너를 pause해서 응답 없는 replica -> primary로 넘김 -> 헬스 체크로 복구까지 본다.
+ */
+@SpringBootTest
+@Testcontainers
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration STICKY_WINDOW = Duration.ofSeconds(2);
+    private static final Duration REMOTE_MISS_TTL = Duration.ofMillis(300);
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("account_book");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("account_book_replica");
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        // 애플리케이션의 읽기 전용 조회(기동 시 카테고리 적재 등)가 replica에서도 돌도록 스키마만 같게 만든다
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        // replica 풀은 primary 풀 설정을 복사하므로 멈춘 replica를 기다리는 시간도 이 값을 따른다
+        registry.add("spring.datasource.hikari.connection-timeout", () -> "500ms");
+        registry.add("spring.datasource.hikari.validation-timeout", () -> "250ms");
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.urls[0]", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.sticky-window", () -> STICKY_WINDOW.toMillis() + "ms");
+        registry.add("app.datasource.replica.remote-miss-ttl", () -> REMOTE_MISS_TTL.toMillis() + "ms");
+        // 헬스 체크는 테스트에서 직접 호출
+        registry.add("app.datasource.replica.health-check-interval", () -> "1h");
+        TestContainers.registerRedis(registry, TestContainers.REDIS);
+        TestContainers.registerJwt(registry);
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (isPaused()) {
+            unpause();
+        }
+        routingDataSource.checkHealth();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        User user = createUser();
+
+        assertThat(database(true)).isEqualTo("account_book_replica");
+        assertThat(database(false)).isEqualTo("account_book");
+
+        // 로그인하지 않은 읽기는 read-your-writes 대상이 아니므로 아직 복제되지 않은 replica를 본다
+        assertThat(userExists(true, user.getId())).isFalse();
+        assertThat(userExists(false, user.getId())).isTrue();
+    }
+
+    @Test
+    void recentWriterReadsFromThePrimaryUntilTheStickyWindowPasses() throws Exception {
+        User writer = createUser();
+        User other = createUser();
+
+        readYourWritesTracker.markWrite(writer.getId());
+
+        loginAs(writer);
+        assertThat(database(true)).isEqualTo("account_book");
+        assertThat(userExists(true, writer.getId())).isTrue();
+        loginAs(other);
+        assertThat(database(true)).isEqualTo("account_book_replica");
+
+        Thread.sleep(STICKY_WINDOW.plusMillis(200).toMillis());
+        loginAs(writer);
+        assertThat(database(true)).isEqualTo("account_book_replica");
+    }
+
+    @Test
+    void writeOnAnotherNodeIsFoundInRedisAndMissesAreRememberedBriefly() throws Exception {
+        User remoteWriter = createUser();
+        User user = createUser();
+
+        // 다른 노드가 남긴 쓰기 기록
+        redisTemplate.opsForValue().set("RYW:" + remoteWriter.getId(), Long.toString(System.currentTimeMillis()), STICKY_WINDOW);
+        loginAs(remoteWriter);
+        assertThat(database(true)).isEqualTo("account_book");
+
+        // 쓰기 기록이 없다고 확인한 사용자는 remote-miss-ttl 동안 Redis를 다시 보지 않는다
+        loginAs(user);
+        assertThat(database(true)).isEqualTo("account_book_replica");
+        redisTemplate.opsForValue().set("RYW:" + user.getId(), Long.toString(System.currentTimeMillis()), STICKY_WINDOW);
+        assertThat(database(true)).isEqualTo("account_book_replica");
+
+        Thread.sleep(REMOTE_MISS_TTL.plusMillis(100).toMillis());
+        assertThat(database(true)).isEqualTo("account_book");
+
+        // 이 노드에서 쓰면 기억해 둔 결과와 상관없이 바로 primary
+        User local = createUser();
+        loginAs(local);
+        assertThat(database(true)).isEqualTo("account_book_replica");
+        readYourWritesTracker.markWrite(local.getId());
+        assertThat(database(true)).isEqualTo("account_book");
+    }
+
+    @Test
+    void unresponsiveReplicaFailsOverToThePrimaryAndRecoversAfterHealthCheck() throws Exception {
+        assertThat(database(true)).isEqualTo("account_book_replica");
+
+        pause();
+        // 풀에 남은 커넥션도 검증을 거치도록 Hikari의 검증 생략 구간(500ms)을 넘긴다
+        Thread.sleep(600);
+
+        long started = System.nanoTime();
+        assertThat(database(true)).isEqualTo("account_book");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(3));
+
+        // 비정상으로 표시된 뒤에는 replica를 기다리지 않고 바로 primary
+        started = System.nanoTime();
+        assertThat(database(true)).isEqualTo("account_book");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(250));
+
+        unpause();
+        routingDataSource.checkHealth();
+        assertThat(database(true)).isEqualTo("account_book_replica");
+    }
+
+    private String database(boolean readOnly) {
+        return transaction(readOnly).execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+
+    private boolean userExists(boolean readOnly, long userId) {
+        return Boolean.TRUE.equals(transaction(readOnly).execute(status -> jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE id = ?)", Boolean.class, userId)));
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private User createUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("password")
+                .name("tester")
+                .build());
+    }
+
+    private static void loginAs(User user) {
+        PrincipalDetails principal = new PrincipalDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static void pause() {
+        DockerClientFactory.instance().client().pauseContainerCmd(replica.getContainerId()).exec();
+    }
+
+    private static void unpause() {
+        DockerClientFactory.instance().client().unpauseContainerCmd(replica.getContainerId()).exec();
+    }
+
+    private static boolean isPaused() {
+        return Boolean.TRUE.equals(DockerClientFactory.instance().client()
+                .inspectContainerCmd(replica.getContainerId()).exec().getState().getPaused());
+    }
+}
@@ -0,0 +1,185 @@
+package com.devji.account_book.datasource.shard;
+
+import com.devji.account_book.auth.dto.SignupRequest;
+import com.devji.account_book.auth.security.PrincipalDetails;
+import com.devji.account_book.auth.security.PrincipalDetailsService;
+import com.devji.account_book.auth.service.AuthService;
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.exception.ShardMovedException;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.support.TestContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 로컬 PostgreSQL 컨테이너 두 개를 shard 0, 1로 사용 (공용 DB에는 샤드 없이 만든 다른 테스트의 사용자가 있으므로 따로 띄운다)
+@SpringBootTest
+@Testcontainers
+class ShardMoveServiceTest {
+
+    @Container
+    static PostgreSQLContainer<?> shard0 = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> shard1 = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    // @ServiceConnection은 DataSourceProperties를 거치지 않으므로 shard 0도 URL로 지정 (두 컨테이너의 계정은 같음)
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", shard0::getJdbcUrl);
+        registry.add("spring.datasource.username", shard0::getUsername);
+        registry.add("spring.datasource.password", shard0::getPassword);
+        registry.add("app.datasource.shards.enabled", () -> "true");
+        registry.add("app.datasource.shards.urls[0]", shard1::getJdbcUrl);
+        registry.add("app.datasource.shards.copy-batch-size", () -> "50");
+        TestContainers.registerRedis(registry, TestContainers.REDIS);
+        TestContainers.registerJwt(registry);
+    }
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private PrincipalDetailsService principalDetailsService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private ShardMoveService shardMoveService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource routing;
+
+    @AfterEach
+    void clearPrincipal() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void signupPlacesUsersOnTheirShardAndRoutesRequests() {
+        int[] users = new int[2];
+        for (int i = 0; i < 40; i++) {
+            PrincipalDetails principal = signup();
+            long userId = principal.getUser().getId();
+            int shard = shardRouter.shardOfUser(userId);
+            users[shard]++;
+
+            assertThat(count(shard, "SELECT count(*) FROM users WHERE id = ?", userId)).isEqualTo(1);
+            assertThat(count(1 - shard, "SELECT count(*) FROM users WHERE id = ?", userId)).isZero();
+            // 샤드마다 id 범위가 다르다
+            assertThat(userId >>> ShardSchemaInitializer.ID_SHIFT).isEqualTo(shard);
+
+            login(principal);
+            transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "1000", "2026-03-01"));
+            assertThat(count(shard, "SELECT count(*) FROM transactions WHERE user_id = ?", userId)).isEqualTo(1);
+        }
+        assertThat(users[0]).isPositive();
+        assertThat(users[1]).isPositive();
+    }
+
+    @Test
+    void moveKeepsWritesMadeDuringCopy() throws Exception {
+        PrincipalDetails principal = signup();
+        long userId = principal.getUser().getId();
+        int source = shardRouter.shardOfUser(userId);
+        int target = 1 - source;
+        login(principal);
+        for (int i = 0; i < 300; i++) {
+            transactionService.createTransaction(userId,
+                    request(TransactionType.EXPENSE, "100", LocalDate.of(2025, 1 + i % 12, 1 + i % 28).toString()));
+        }
+
+        // 이동하는 동안 계속 쓰기 (전환 직후의 쓰기는 503이 나고 다시 시도하면 target으로 간다)
+        AtomicBoolean moving = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Integer> writer = executor.submit(() -> {
+            login(principal);
+            int written = 0;
+            int retries = 0;
+            while (moving.get() || written < 20) {
+                try {
+                    transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "100", "2026-02-01"));
+                    written++;
+                } catch (ShardMovedException e) {
+                    retries++;
+                }
+            }
+            assertThat(retries).isLessThan(100);
+            return written;
+        });
+        ShardMoveService.MoveResult result;
+        try {
+            result = shardMoveService.move(userId, target);
+        } finally {
+            moving.set(false);
+        }
+        int written = writer.get();
+        executor.shutdown();
+
+        assertThat(result.toShard()).isEqualTo(target);
+        assertThat(shardRouter.shardOfUser(userId)).isEqualTo(target);
+        assertThat(count(target, "SELECT count(*) FROM transactions WHERE user_id = ? AND NOT deleted", userId))
+                .isEqualTo(300 + written);
+        assertThat(count(source, "SELECT count(*) FROM users WHERE id = ? AND moved_out", userId)).isEqualTo(1);
+
+        // 이후 요청은 target에서 처리되고 잔액도 이어진다
+        assertThat(principalDetailsService.loadUserByUsername(principal.getUsername())).isNotNull();
+        transactionService.createTransaction(userId, request(TransactionType.INCOME, "1000000", "2026-03-01"));
+        BigDecimal expected = new BigDecimal(1_000_000 - 100L * (300 + written));
+        assertThat(balanceService.getBalance(userId).getBalance()).isEqualByComparingTo(expected);
+    }
+
+    private PrincipalDetails signup() {
+        String email = UUID.randomUUID() + "@test.com";
+        authService.signup(new SignupRequest(email, "password", "tester"));
+        return (PrincipalDetails) principalDetailsService.loadUserByUsername(email);
+    }
+
+    private static void login(PrincipalDetails principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private long count(int shard, String sql, long userId) {
+        Long count = new JdbcTemplate(routing.shard(shard)).queryForObject(sql, Long.class, userId);
+        return count == null ? 0 : count;
+    }
+
+    private static TransactionDto request(TransactionType type, String amount, String date) {
+        return TransactionDto.builder()
+                .type(type)
+                .category(type == TransactionType.INCOME ? "급여" : "식비")
+                .amount(new BigDecimal(amount))
+                .description("샤드 테스트")
+                .transactionDate(LocalDate.parse(date))
+                .build();
+    }
+}
@@ -0,0 +1,235 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.expense.dto.SyncChange;
+import com.devji.account_book.expense.dto.SyncMutation;
+import com.devji.account_book.expense.dto.SyncMutationRequest;
+import com.devji.account_book.expense.dto.SyncMutationResult;
+import com.devji.account_book.expense.dto.SyncResponse;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TombstonePurgeJob;
+import com.devji.account_book.support.IntegrationTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 오프라인 클라이언트의 동기화 흐름을 엔드포인트로 확인
+ * 생성 -> 동기화 -> 수정 -> 삭제 -> 동기화 순서로 token을 이어 받으면서 변경분과 삭제 표시가 한 번씩만 오는지,
+ * 삭제 표시가 정리된 뒤의 오래된 token은 resetRequired로 처음부터 다시 받게 하는지
+ */
+@AutoConfigureMockMvc
+class SyncControllerTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TombstonePurgeJob tombstonePurgeJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+        accessToken = jwtUtil.createAccessToken(user.getEmail());
+    }
+
+    @Test
+    void createSyncUpdateDeleteSyncRoundTrip() throws Exception {
+        // 처음 동기화 (token 없음)
+        SyncResponse empty = sync(null, 500);
+        assertThat(empty.getChanges()).isEmpty();
+        assertThat(empty.isResetRequired()).isFalse();
+
+        List<SyncMutationResult> created = mutate(
+                SyncMutation.builder().clientMutationId("c1").op(SyncMutation.Operation.CREATE).transaction(request("점심", "9000")).build(),
+                SyncMutation.builder().clientMutationId("c2").op(SyncMutation.Operation.CREATE).transaction(request("저녁", "15000")).build());
+        assertThat(created).extracting(SyncMutationResult::getStatus)
+                .containsExactly(SyncMutationResult.Status.APPLIED, SyncMutationResult.Status.APPLIED);
+        TransactionDto lunch = created.get(0).getTransaction();
+        TransactionDto dinner = created.get(1).getTransaction();
+
+        SyncResponse first = sync(null, 500);
+        assertThat(first.getChanges()).extracting(change -> change.getTransaction().getId())
+                .containsExactly(lunch.getId(), dinner.getId());
+        assertThat(first.getChanges()).noneMatch(SyncChange::isDeleted);
+        assertThat(first.isHasMore()).isFalse();
+        String afterCreate = first.getNextToken();
+
+        // 이어서 받으면 바뀐 것이 없다 (token은 그대로)
+        SyncResponse unchanged = sync(afterCreate, 500);
+        assertThat(unchanged.getChanges()).isEmpty();
+        assertThat(unchanged.getNextToken()).isEqualTo(afterCreate);
+
+        lunch.setDescription("점심 (회식)");
+        List<SyncMutationResult> updated = mutate(SyncMutation.builder()
+                .clientMutationId("u1").op(SyncMutation.Operation.UPDATE)
+                .id(lunch.getId()).version(lunch.getVersion()).transaction(lunch).build());
+        assertThat(updated.get(0).getStatus()).isEqualTo(SyncMutationResult.Status.APPLIED);
+        long updatedVersion = updated.get(0).getTransaction().getVersion();
+        assertThat(updatedVersion).isGreaterThan(lunch.getVersion());
+
+        // 예전 버전으로 다시 고치면 충돌, 현재 서버 상태를 같이 돌려준다
+        List<SyncMutationResult> stale = mutate(SyncMutation.builder()
+                .clientMutationId("u2").op(SyncMutation.Operation.UPDATE)
+                .id(lunch.getId()).version(lunch.getVersion()).transaction(lunch).build());
+        assertThat(stale.get(0).getStatus()).isEqualTo(SyncMutationResult.Status.CONFLICT);
+        assertThat(stale.get(0).getTransaction().getVersion()).isEqualTo(updatedVersion);
+
+        List<SyncMutationResult> deleted = mutate(SyncMutation.builder()
+                .clientMutationId("d1").op(SyncMutation.Operation.DELETE)
+                .id(dinner.getId()).version(dinner.getVersion()).build());
+        assertThat(deleted.get(0).getStatus()).isEqualTo(SyncMutationResult.Status.APPLIED);
+
+        // 수정 1건 + 삭제 표시 1건만, change_seq 순서로
+        SyncResponse second = sync(afterCreate, 500);
+        assertThat(second.getChanges()).hasSize(2);
+        SyncChange update = second.getChanges().get(0);
+        assertThat(update.isDeleted()).isFalse();
+        assertThat(update.getTransaction().getId()).isEqualTo(lunch.getId());
+        assertThat(update.getTransaction().getDescription()).isEqualTo("점심 (회식)");
+        assertThat(update.getTransaction().getVersion()).isEqualTo(updatedVersion);
+        SyncChange tombstone = second.getChanges().get(1);
+        assertThat(tombstone.isDeleted()).isTrue();
+        assertThat(tombstone.getTransaction().getId()).isEqualTo(dinner.getId());
+        assertThat(tombstone.getTransaction().getDescription()).isNull();
+        assertThat(tombstone.getChangeSeq()).isGreaterThan(update.getChangeSeq());
+
+        SyncResponse caughtUp = sync(second.getNextToken(), 500);
+        assertThat(caughtUp.getChanges()).isEmpty();
+        assertThat(caughtUp.getNextToken()).isEqualTo(second.getNextToken());
+    }
+
+    @Test
+    void limitSplitsChangesIntoContinuationPages() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mutate(SyncMutation.builder().clientMutationId("c" + i).op(SyncMutation.Operation.CREATE)
+                    .transaction(request("거래 " + i, "1000")).build());
+        }
+
+        String token = null;
+        int received = 0;
+        int pages = 0;
+        SyncResponse page;
+        do {
+            page = sync(token, 2);
+            received += page.getChanges().size();
+            token = page.getNextToken();
+            pages++;
+        } while (page.isHasMore());
+
+        assertThat(received).isEqualTo(5);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void tokenOlderThanPurgedTombstonesRequiresReset() throws Exception {
+        List<SyncMutationResult> created = mutate(
+                SyncMutation.builder().clientMutationId("c1").op(SyncMutation.Operation.CREATE).transaction(request("남김", "1000")).build(),
+                SyncMutation.builder().clientMutationId("c2").op(SyncMutation.Operation.CREATE).transaction(request("지움", "2000")).build());
+        String beforeDelete = sync(null, 500).getNextToken();
+
+        TransactionDto removed = created.get(1).getTransaction();
+        mutate(SyncMutation.builder().clientMutationId("d1").op(SyncMutation.Operation.DELETE)
+                .id(removed.getId()).version(removed.getVersion()).build());
+        String afterDelete = sync(beforeDelete, 500).getNextToken();
+
+        // 보관 기간이 지난 것처럼 삭제 시각을 당겨서 정리
+        jdbcTemplate.update("UPDATE transactions SET updated_at = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(100), removed.getId());
+        assertThat(tombstonePurgeJob.purge(LocalDateTime.now().minusDays(90))).isGreaterThanOrEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM transactions WHERE id = ?", Integer.class, removed.getId()))
+                .isZero();
+
+        // 삭제를 받기 전의 token은 이어서 받을 수 없다
+        SyncResponse expired = sync(beforeDelete, 500);
+        assertThat(expired.isResetRequired()).isTrue();
+        assertThat(expired.getChanges()).isEmpty();
+        assertThat(expired.getNextToken()).isNull();
+
+        // 삭제까지 받은 token은 그대로 이어진다
+        SyncResponse current = sync(afterDelete, 500);
+        assertThat(current.isResetRequired()).isFalse();
+        assertThat(current.getChanges()).isEmpty();
+
+        // 처음부터 다시 받으면 남은 거래만
+        SyncResponse reset = sync(null, 500);
+        assertThat(reset.isResetRequired()).isFalse();
+        assertThat(reset.getChanges()).extracting(change -> change.getTransaction().getDescription()).containsExactly("남김");
+    }
+
+    @Test
+    void malformedTokenIsRejected() throws Exception {
+        mockMvc.perform(authenticated(get("/api/sync/transactions").param("token", "abc")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private SyncResponse sync(String token, int limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/sync/transactions").param("limit", Integer.toString(limit));
+        if (token != null) {
+            request.param("token", token);
+        }
+        byte[] body = mockMvc.perform(authenticated(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, SyncResponse.class);
+    }
+
+    private List<SyncMutationResult> mutate(SyncMutation... mutations) throws Exception {
+        byte[] body = mockMvc.perform(authenticated(post("/api/sync/transactions"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new SyncMutationRequest(List.of(mutations)))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return objectMapper.readValue(body, new TypeReference<>() {
+        });
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder builder) {
+        return builder
+                .header(HttpHeaders.COOKIE, JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + accessToken)
+                .accept(MediaType.APPLICATION_JSON);
+    }
+
+    private static TransactionDto request(String description, String amount) {
+        return TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal(amount))
+                .description(description)
+                .transactionDate(LocalDate.now())
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import static com.devji.account_book.support.AllocationProfiler.assertMaxBytesPerCall;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로그인한 사용자의 거래 목록 요청(GET /api/transactions, 20건) 하나가 요청 스레드에서 할당하는 바이트 상한
+ * 쿠키 읽기, JWT 검증, 사용자 조회, 필터 체인, 페이지 캐시, JSON 직렬화까지 실제 Tomcat을 거친 전체 요청 기준
+ * 상한은 -Dallocation.list.max-bytes로 바꿀 수 있다 (핫패스를 줄였으면 같이 낮춘다).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("prod")
+class TransactionListAllocationTest extends IntegrationTest {
+
+    private static final long MAX_BYTES_PER_REQUEST = Long.getLong("allocation.list.max-bytes", 192 * 1024);
+    // JIT 컴파일, 커넥션 풀, 카테고리 사전, 페이지 캐시가 자리 잡을 때까지
+    private static final int WARMUP_REQUESTS = 2000;
+    private static final int MEASURED_REQUESTS = 500;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private HttpRequest listRequest;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        for (int i = 0; i < 30; i++) {
+            transactionService.createTransaction(user.getId(), TransactionDto.builder()
+                    .type(TransactionType.EXPENSE)
+                    .category("식비")
+                    .amount(new BigDecimal("10000"))
+                    .description("거래 " + i)
+                    .transactionDate(LocalDate.now().minusDays(i))
+                    .build());
+        }
+        listRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions?page=0&size=20"))
+                .header("Cookie", "theme=dark; " + JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + jwtUtil.createAccessToken(user.getEmail()))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    @Test
+    void authenticatedListRequestStaysWithinAllocationBudget() {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            send();
+        }
+        assertMaxBytesPerCall(MAX_BYTES_PER_REQUEST, MEASURED_REQUESTS,
+                thread -> thread.contains("-exec-"),
+                () -> {
+                    for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                        send();
+                    }
+                });
+    }
+
+    private void send() {
+        try {
+            HttpResponse<Void> response = client.send(listRequest, HttpResponse.BodyHandlers.discarding());
+            assertThat(response.statusCode()).isEqualTo(200);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
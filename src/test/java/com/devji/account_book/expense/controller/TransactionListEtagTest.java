@@ -0,0 +1,175 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.support.IntegrationTest;
+import com.devji.account_book.support.QueryCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.devji.account_book.support.QueryCounter.assertMaxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 거래 목록의 조건부 요청 (ETag = 사용자 변경 버전 + page + size)
+ * 같은 버전이면 거래 테이블을 읽지 않고 304, 쓰기가 있으면 ETag가 바뀌어 200
+ * 몇 초마다 목록을 다시 받는 클라이언트를 흉내 내서 304 비율도 확인한다
+ */
+@AutoConfigureMockMvc
+@Import(QueryCounter.Config.class)
+class TransactionListEtagTest extends IntegrationTest {
+
+    private static final String LIST = "/api/transactions?page=0&size=20";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private long userId;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+        accessToken = jwtUtil.createAccessToken(user.getEmail());
+        transactionService.createTransaction(userId, request("점심"));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutReadingTransactions() throws Exception {
+        MvcResult first = mockMvc.perform(authenticated(get(LIST)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"v");
+
+        // 사용자 조회(JWT 필터) 한 번뿐, 페이지 조회 + count는 나가지 않는다
+        MvcResult notModified = assertMaxStatements(1, () -> mockMvc.perform(authenticated(get(LIST))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn());
+        assertThat(notModified.getResponse().getContentAsByteArray()).isEmpty();
+
+        // 페이지 크기가 다르면 다른 응답이므로 ETag도 다르다
+        mockMvc.perform(authenticated(get("/api/transactions?page=0&size=10"))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writeChangesTheEtag() throws Exception {
+        String before = etag(mockMvc.perform(authenticated(get(LIST))).andReturn());
+
+        TransactionDto created = transactionService.createTransaction(userId, request("저녁"));
+        MvcResult afterCreate = mockMvc.perform(authenticated(get(LIST))
+                        .header(HttpHeaders.IF_NONE_MATCH, before))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andReturn();
+        String afterCreateEtag = etag(afterCreate);
+        assertThat(afterCreateEtag).isNotEqualTo(before);
+
+        created.setDescription("야식");
+        transactionService.updateTransaction(userId, created.getId(), created);
+        String afterUpdateEtag = etag(mockMvc.perform(authenticated(get(LIST))
+                        .header(HttpHeaders.IF_NONE_MATCH, afterCreateEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").value("야식"))
+                .andReturn());
+        assertThat(afterUpdateEtag).isNotEqualTo(afterCreateEtag);
+
+        transactionService.deleteTransaction(userId, created.getId(), null);
+        mockMvc.perform(authenticated(get(LIST))
+                        .header(HttpHeaders.IF_NONE_MATCH, afterUpdateEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void pollingClientMostlyGetsNotModified() throws Exception {
+        int polls = 50;
+        int writeEvery = 10;
+        double before = notModifiedCount();
+
+        String etag = null;
+        int notModified = 0;
+        for (int i = 0; i < polls; i++) {
+            // 다른 기기에서 가끔 거래 입력
+            if (i % writeEvery == writeEvery / 2) {
+                transactionService.createTransaction(userId, request("거래 " + i));
+            }
+            MockHttpServletRequestBuilder poll = authenticated(get(LIST));
+            if (etag != null) {
+                poll.header(HttpHeaders.IF_NONE_MATCH, etag);
+            }
+            MvcResult result = mockMvc.perform(poll).andReturn();
+            if (result.getResponse().getStatus() == 304) {
+                notModified++;
+            } else {
+                assertThat(result.getResponse().getStatus()).isEqualTo(200);
+                etag = etag(result);
+            }
+        }
+
+        // 첫 요청과 쓰기 직후 요청만 200 (50번 중 6번)
+        int writes = polls / writeEvery;
+        assertThat(notModified).isEqualTo(polls - 1 - writes);
+        assertThat((double) notModified / polls).isGreaterThanOrEqualTo(0.85);
+        assertThat(notModifiedCount() - before).isEqualTo(notModified);
+    }
+
+    private double notModifiedCount() {
+        return meterRegistry.counter("transactions.list.requests", "result", "not_modified").count();
+    }
+
+    private static String etag(MvcResult result) {
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder builder) {
+        return builder
+                .header(HttpHeaders.COOKIE, JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + accessToken)
+                .accept(MediaType.APPLICATION_JSON);
+    }
+
+    private static TransactionDto request(String description) {
+        return TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal("10000"))
+                .description(description)
+                .transactionDate(LocalDate.now())
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.ledger.dto.LedgerDto;
+import com.devji.account_book.ledger.service.LedgerAccessService;
+import com.devji.account_book.ledger.service.LedgerService;
+import com.devji.account_book.support.IntegrationTest;
+import com.devji.account_book.support.QueryCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.devji.account_book.support.QueryCounter.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/*
+ * 운영 프로필 설정으로 주요 엔드포인트 요청 하나의 SQL 문장 수 상한 확인 (N+1 등 회귀 방지)
+ * JWT 필터의 사용자 조회부터 잔액 갱신(JdbcTemplate)까지 요청 스레드가 DataSource로 보낸 문장을 모두 센다
+ */
+@ActiveProfiles("prod")
+@AutoConfigureMockMvc
+@Import(QueryCounter.Config.class)
+class TransactionQueryCountTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LedgerAccessService ledgerAccessService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private long userId;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User user = createUser();
+        userId = user.getId();
+        accessToken = jwtUtil.createAccessToken(user.getEmail());
+        ledgerAccessService.ensurePersonalLedger(userId);
+        // 카테고리 사전, 장부 권한 캐시 적재 (처음 쓰는 카테고리는 조회/생성 문장이 추가로 나감)
+        mockMvc.perform(json(post("/api/transactions"), request("점심"))).andExpect(status().isCreated());
+    }
+
+    @Test
+    void createIssuesAtMostEightStatements() throws Exception {
+        // 사용자 조회, 변경 버전 증가 + 조회, INSERT, 잔액 + 일별 + 체크포인트 생성 + 체크포인트 이동
+        assertMaxStatements(8, () -> mockMvc.perform(json(post("/api/transactions"), request("저녁")))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void updateIssuesAtMostNineStatements() throws Exception {
+        TransactionDto created = transactionService.createTransaction(userId, request("저녁"));
+        // 사용자 조회, 거래 조회, 변경 버전 증가 + 조회, UPDATE, 잔액 + 일별 + 체크포인트 생성 + 체크포인트 이동
+        assertMaxStatements(9, () -> mockMvc.perform(json(put("/api/transactions/" + created.getId()), request("야식")))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void listIssuesAtMostThreeStatements() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            transactionService.createTransaction(userId, request("거래 " + i));
+        }
+        // 사용자 조회, 페이지 조회 + count (카테고리 이름은 사전에서 변환하므로 행 수와 무관)
+        assertMaxStatements(3, () -> authenticated(get("/api/transactions?page=0&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20)));
+    }
+
+    @Test
+    void ledgerListIssuesAtMostThreeStatements() throws Exception {
+        long ledgerId = ledgerService.createLedger(userId, LedgerDto.builder().name("공유").build()).getId();
+        for (int i = 0; i < 30; i++) {
+            TransactionDto request = request("공유 거래 " + i);
+            request.setLedgerId(ledgerId);
+            mockMvc.perform(json(post("/api/transactions"), request)).andExpect(status().isCreated());
+        }
+        // 사용자 조회, 권한은 캐시에서, 페이지 조회 + count (행마다 권한 확인 없음)
+        assertMaxStatements(3, () -> authenticated(get("/api/ledgers/" + ledgerId + "/transactions?page=0&size=20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.totalElements").value(30)));
+    }
+
+    private ResultActions authenticated(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder
+                .header(HttpHeaders.COOKIE, JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + accessToken)
+                .accept(MediaType.APPLICATION_JSON));
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder builder, TransactionDto body) throws Exception {
+        return builder
+                .header(HttpHeaders.COOKIE, JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + accessToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(body));
+    }
+
+    private static TransactionDto request(String description) {
+        return TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal("10000"))
+                .description(description)
+                .transactionDate(LocalDate.now())
+                .build();
+    }
+}
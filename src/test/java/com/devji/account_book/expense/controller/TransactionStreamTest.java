@@ -0,0 +1,343 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.expense.service.TransactionStreamService;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 거래 변경 SSE 스트림을 실제 Tomcat + Redis pub/sub으로 확인
+ * - 끊긴 사이의 변경을 Last-Event-ID로 replay, 버퍼를 넘는 공백이면 reset
+ * - Redis를 거쳐 오는 이벤트가 버전 순서대로 도착
+ * - timeout/클라이언트 종료 시 연결 정리, 유휴 연결의 heartbeat
+ * - 연결 수백 개를 열어 두었을 때 연결당 힙 사용량 (같은 JVM의 HttpClient 버퍼 포함,
+ *   상한은 -Dstream.memory.max-bytes-per-connection으로 바꿀 수 있다)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.stream.heartbeat-interval-ms=200",
+        "app.stream.replay-size=5"
+})
+class TransactionStreamTest extends IntegrationTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+    private static final long MAX_BYTES_PER_CONNECTION = Long.getLong("stream.memory.max-bytes-per-connection", 128 * 1024);
+    private static final int LOAD_CONNECTIONS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionStreamService transactionStreamService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final List<EventStream> opened = new ArrayList<>();
+
+    private long userId;
+    private String accessToken;
+    private int baseline;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+        accessToken = jwtUtil.createAccessToken(user.getEmail());
+        baseline = transactionStreamService.connectionCount();
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(EventStream::close);
+        // 끊긴 연결은 다음 heartbeat 전송이 실패하면서 정리된다
+        await(() -> transactionStreamService.connectionCount() == baseline);
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysTheGap() throws Exception {
+        EventStream stream = connect(null);
+        create("1");
+        create("2");
+        assertThat(stream.nextEvent().id()).isEqualTo("1");
+        SseEvent last = stream.nextEvent();
+        assertThat(last.id()).isEqualTo("2");
+        stream.close();
+
+        // 끊겨 있는 동안의 변경
+        TransactionDto third = create("3");
+        transactionService.deleteTransaction(userId, third.getId(), null);
+
+        EventStream resumed = connect(last.id());
+        SseEvent created = resumed.nextEvent();
+        assertThat(created.id()).isEqualTo("3");
+        assertThat(created.name()).isEqualTo("created");
+        assertThat(created.data()).contains("거래 3");
+        SseEvent deleted = resumed.nextEvent();
+        assertThat(deleted.id()).isEqualTo("4");
+        assertThat(deleted.name()).isEqualTo("deleted");
+
+        // replay 뒤에는 실시간 이벤트가 이어진다
+        create("5");
+        assertThat(resumed.nextEvent().id()).isEqualTo("5");
+    }
+
+    @Test
+    void gapLongerThanTheReplayBufferAsksForReset() throws Exception {
+        create("1");
+        // replay-size(5)보다 많이 밀림 -> 버퍼에는 3~7만 남음
+        for (int i = 2; i <= 7; i++) {
+            create(Integer.toString(i));
+        }
+
+        EventStream stream = connect("1");
+        assertThat(stream.nextEvent().name()).isEqualTo("reset");
+
+        // 버퍼 안에서 이어지는 경우는 reset 없이 replay
+        EventStream recent = connect("4");
+        assertThat(recent.nextEvent().id()).isEqualTo("5");
+        assertThat(recent.nextEvent().id()).isEqualTo("6");
+        assertThat(recent.nextEvent().id()).isEqualTo("7");
+    }
+
+    @Test
+    void eventsRelayedThroughRedisArriveInVersionOrder() throws Exception {
+        EventStream first = connect(null);
+        EventStream second = connect(null);
+
+        List<Long> ids = new ArrayList<>();
+        TransactionDto transaction = create("100");
+        for (int i = 0; i < 30; i++) {
+            transaction.setAmount(new BigDecimal(101 + i));
+            transaction = transactionService.updateTransaction(userId, transaction.getId(), transaction);
+        }
+        transactionService.deleteTransaction(userId, transaction.getId(), null);
+
+        for (EventStream stream : List.of(first, second)) {
+            ids.clear();
+            for (int i = 0; i < 32; i++) {
+                ids.add(Long.parseLong(stream.nextEvent().id()));
+            }
+            assertThat(ids).isSorted().doesNotHaveDuplicates().hasSize(32);
+            assertThat(ids.get(0)).isEqualTo(1);
+            assertThat(ids.get(31)).isEqualTo(32);
+        }
+    }
+
+    @Test
+    void timedOutEmitterIsRemoved() throws Exception {
+        Duration timeout = (Duration) ReflectionTestUtils.getField(transactionStreamService, "timeout");
+        ReflectionTestUtils.setField(transactionStreamService, "timeout", Duration.ofMillis(500));
+        try {
+            EventStream stream = connect(null);
+            assertThat(transactionStreamService.connectionCount()).isEqualTo(baseline + 1);
+
+            assertThat(stream.ended.await(WAIT.toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+            await(() -> transactionStreamService.connectionCount() == baseline);
+        } finally {
+            ReflectionTestUtils.setField(transactionStreamService, "timeout", timeout);
+        }
+    }
+
+    @Test
+    void idleConnectionReceivesHeartbeats() throws Exception {
+        EventStream stream = connect(null);
+
+        assertThat(stream.next().comment()).isEqualTo("ping");
+        assertThat(stream.next().comment()).isEqualTo("ping");
+    }
+
+    @Test
+    void openConnectionsStayWithinMemoryBudget() throws Exception {
+        long before = usedHeapAfterGc();
+
+        List<EventStream> streams = new ArrayList<>(LOAD_CONNECTIONS);
+        for (int i = 0; i < LOAD_CONNECTIONS; i++) {
+            streams.add(open(null));
+        }
+        for (EventStream stream : streams) {
+            stream.connected.get(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        assertThat(transactionStreamService.connectionCount()).isEqualTo(baseline + LOAD_CONNECTIONS);
+
+        // 변경 하나가 모든 연결로 퍼진다
+        create("1");
+        for (EventStream stream : streams) {
+            assertThat(stream.nextEvent().id()).isEqualTo("1");
+        }
+
+        long perConnection = (usedHeapAfterGc() - before) / LOAD_CONNECTIONS;
+        assertThat(perConnection)
+                .as("heap bytes per open stream")
+                .isLessThanOrEqualTo(MAX_BYTES_PER_CONNECTION);
+    }
+
+    private TransactionDto create(String amount) {
+        return transactionService.createTransaction(userId, TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal(amount))
+                .description("거래 " + amount)
+                .transactionDate(LocalDate.now())
+                .build());
+    }
+
+    // 연결이 등록될 때까지 (응답 헤더는 구독자를 등록한 뒤에 나간다)
+    private EventStream connect(String lastEventId) throws Exception {
+        EventStream stream = open(lastEventId);
+        stream.connected.get(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+        return stream;
+    }
+
+    private EventStream open(String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions/stream"))
+                .header("Cookie", JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + accessToken)
+                .header("Accept", "text/event-stream")
+                .GET();
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        EventStream stream = new EventStream();
+        stream.connected = client.sendAsync(request.build(), HttpResponse.BodyHandlers.fromLineSubscriber(stream))
+                .thenApply(response -> {
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    return response;
+                });
+        opened.add(stream);
+        return stream;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within " + WAIT);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // 이벤트 하나 (comment가 있으면 heartbeat 같은 주석 줄)
+    private record SseEvent(String id, String name, String data, String comment) {
+    }
+
+    // text/event-stream 줄을 읽어 이벤트 단위로 모은다
+    private static final class EventStream implements Flow.Subscriber<String> {
+
+        private final BlockingQueue<SseEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private CompletableFuture<?> connected;
+        private volatile Flow.Subscription subscription;
+        private String id;
+        private String name;
+        private StringBuilder data;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.isEmpty()) {
+                if (id != null || name != null || data != null) {
+                    events.add(new SseEvent(id, name, data == null ? null : data.toString(), null));
+                }
+                id = null;
+                name = null;
+                data = null;
+            } else if (line.startsWith(":")) {
+                events.add(new SseEvent(null, null, null, line.substring(1)));
+            } else if (line.startsWith("id:")) {
+                id = line.substring(3);
+            } else if (line.startsWith("event:")) {
+                name = line.substring(6);
+            } else if (line.startsWith("data:")) {
+                data = data == null ? new StringBuilder() : data.append('\n');
+                data.append(line.substring(5));
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            ended.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            ended.countDown();
+        }
+
+        SseEvent next() throws InterruptedException {
+            SseEvent event = events.poll(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+            if (event == null) {
+                throw new AssertionError("no event within " + WAIT);
+            }
+            return event;
+        }
+
+        // heartbeat는 건너뛰고 다음 이벤트
+        SseEvent nextEvent() throws InterruptedException {
+            SseEvent event = next();
+            while (event.comment() != null) {
+                event = next();
+            }
+            return event;
+        }
+
+        void close() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            connected.cancel(true);
+        }
+    }
+}
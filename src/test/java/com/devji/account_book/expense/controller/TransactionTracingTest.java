@@ -0,0 +1,121 @@
+package com.devji.account_book.expense.controller;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.util.JwtUtil;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.support.IntegrationTest;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로그인한 사용자의 거래 목록 요청 하나가 필터 -> 사용자 조회 -> 서비스 -> JDBC / Redis span으로 한 trace에 이어지는지
+ * span은 OTLP 대신 메모리 exporter로 받는다
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability
+class TransactionTracingTest extends IntegrationTest {
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("method");
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    void listRequestIsTracedFromFilterToDatabaseAndRedis() throws Exception {
+        User user = createUser();
+        transactionService.createTransaction(user.getId(), TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal("10000"))
+                .description("점심")
+                .transactionDate(LocalDate.now())
+                .build());
+        flush();
+        exporter.reset();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions?page=0&size=20"))
+                        .header("Cookie", JwtUtil.ACCESS_TOKEN_COOKIE_NAME + "=" + jwtUtil.createAccessToken(user.getEmail()))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        flush();
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        SpanData server = spans.stream()
+                .filter(span -> !span.getParentSpanContext().isValid() && span.getName().startsWith("http get"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("HTTP server span 없음: " + names(spans)));
+        List<SpanData> trace = spans.stream()
+                .filter(span -> span.getTraceId().equals(server.getTraceId()))
+                .toList();
+
+        SpanData jwt = find(trace, "auth.jwt");
+        assertThat(jwt.getAttributes().get(OUTCOME)).isEqualTo("authenticated");
+        assertThat(find(trace, "load principal").getParentSpanId()).isEqualTo(jwt.getSpanId());
+        assertThat(trace).anyMatch(span -> "getTransactions".equals(span.getAttributes().get(METHOD)));
+        assertThat(trace).anyMatch(span -> span.getName().equals("query"));
+        assertThat(trace).anyMatch(span -> "redis".equals(span.getAttributes().get(AttributeKey.stringKey("db.system"))));
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    }
+
+    private static SpanData find(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name + " span 없음: " + names(spans)));
+    }
+
+    private static List<String> names(List<SpanData> spans) {
+        return spans.stream().map(SpanData::getName).toList();
+    }
+}
@@ -0,0 +1,160 @@
+package com.devji.account_book.expense.repository;
+
+import com.devji.account_book.expense.entity.Category;
+import com.devji.account_book.expense.entity.Transaction;
+import com.devji.account_book.expense.entity.TransactionType;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 리포지토리 메서드가 실제로 보내는 SQL(Hibernate 생성, 바인드 파라미터)로 pruning을 확인한다.
+ * pgjdbc는 prepareThreshold(기본 5)번 뒤부터 서버 prepared statement를 쓰고, PostgreSQL은 그 뒤 generic plan을 고를 수 있다.
+ * generic plan에서는 파라미터 값을 모르므로 계획 시점이 아니라 실행 시작 시점에 파티션을 걸러낸다 (Subplans Removed).
+ * 그래서 같은 SQL을 PREPARE하고 custom/generic plan을 각각 강제해서 EXPLAIN EXECUTE로 남는 파티션을 본다.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.devji.account_book.expense.repository.TransactionPartitionPruningTest$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class TransactionPartitionPruningTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void dateRangeQueryOnlyScansMatchingPartition() {
+        YearMonth month = YearMonth.now();
+        Category category = categoryRepository.save(Category.builder().userId(1L).name("식비").build());
+        for (int i = 0; i < 3; i++) {
+            transactionRepository.save(transaction(category, month.plusMonths(i).atDay(10)));
+        }
+        transactionRepository.flush();
+
+        // 페이지가 가득 차야 count 쿼리도 나간다
+        SqlCapture.CAPTURED.clear();
+        Page<Transaction> result = transactionRepository
+                .findByUserIdAndTransactionDateBetweenOrderByTransactionDateDescCreatedAtDesc(
+                        1L, month.atDay(1), month.atEndOfMonth(), PageRequest.of(0, 1));
+        assertThat(result.getTotalElements()).isEqualTo(1);
+
+        List<String> queries = SqlCapture.CAPTURED.stream()
+                .filter(sql -> sql.toLowerCase().contains("from transactions"))
+                .toList();
+        // 목록 + count
+        assertThat(queries).hasSize(2);
+
+        for (String sql : queries) {
+            for (String planCacheMode : List.of("force_custom_plan", "force_generic_plan")) {
+                String plan = explainExecute(sql, planCacheMode, month);
+                assertThat(plan).as("%s\n%s", planCacheMode, plan).contains(partitionName(month));
+                assertThat(plan).as("%s\n%s", planCacheMode, plan)
+                        .doesNotContain(partitionName(month.plusMonths(1)))
+                        .doesNotContain(partitionName(month.plusMonths(2)))
+                        .doesNotContain(partitionName(month.minusMonths(1)))
+                        .doesNotContain("transactions_default");
+            }
+        }
+    }
+
+    // ?를 $1, $2, ...로 바꿔 PREPARE, 앞의 세 파라미터는 (user_id, 시작일, 종료일), 나머지(offset/limit)는 20
+    private String explainExecute(String sql, String planCacheMode, YearMonth month) {
+        StringBuilder prepared = new StringBuilder();
+        int parameters = 0;
+        for (char c : stripComments(sql).toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++parameters);
+            } else {
+                prepared.append(c);
+            }
+        }
+        StringJoiner values = new StringJoiner(", ");
+        values.add("1").add("'" + month.atDay(1) + "'").add("'" + month.atEndOfMonth() + "'");
+        for (int i = 3; i < parameters; i++) {
+            values.add("20");
+        }
+        String preparedSql = prepared.toString();
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = " + planCacheMode);
+                statement.execute("PREPARE pruning_check AS " + preparedSql);
+                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE pruning_check(" + values + ")")) {
+                    StringJoiner plan = new StringJoiner("\n");
+                    while (rs.next()) {
+                        plan.add(rs.getString(1));
+                    }
+                    return plan.toString();
+                } finally {
+                    statement.execute("DEALLOCATE pruning_check");
+                    statement.execute("RESET plan_cache_mode");
+                }
+            }
+        });
+    }
+
+    // hibernate.use_sql_comments가 붙이는 /* ... */ 주석 제거
+    private static String stripComments(String sql) {
+        return sql.replaceAll("(?s)/\\*.*?\\*/", " ").trim();
+    }
+
+    private static Transaction transaction(Category category, LocalDate date) {
+        return Transaction.builder()
+                .userId(1L)
+                .ledgerId(1L)
+                .type(TransactionType.EXPENSE)
+                .categoryId(category.getId())
+                .amount(new BigDecimal("12000"))
+                .description("점심")
+                .transactionDate(date)
+                .changeSeq(1L)
+                .build();
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "transactions_" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+    }
+
+    // Hibernate가 JDBC로 보내기 직전의 SQL을 모은다
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+}
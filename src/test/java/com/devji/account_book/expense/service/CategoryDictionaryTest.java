@@ -0,0 +1,96 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryDictionaryTest extends IntegrationTest {
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser().getId();
+    }
+
+    @Test
+    void userCategoryWinsOverCachedGlobalWithTheSameName() {
+        // 전역 '식비'는 기동 시 캐시에 올라가 있다
+        int global = categoryDictionary.resolveId(createUser().getId(), "식비");
+        assertThat(categoryId(null, "식비")).isEqualTo(global);
+
+        // V7 이전부터 있던 사용자 전용 '식비' (아직 이 노드 캐시에 없음)
+        jdbcTemplate.update("INSERT INTO categories (user_id, name) VALUES (?, '식비')", userId);
+        int own = categoryId(userId, "식비");
+
+        assertThat(categoryDictionary.resolveId(userId, "식비")).isEqualTo(own);
+        assertThat(categoryDictionary.resolveId(userId, " 식비 ")).isEqualTo(own);
+        assertThat(categoryDictionary.getName(own)).isEqualTo("식비");
+    }
+
+    @Test
+    void newNameIsCreatedOncePerUserAndInterned() {
+        int first = categoryDictionary.resolveId(userId, "반려동물");
+        assertThat(categoryDictionary.resolveId(userId, "반려동물")).isEqualTo(first);
+        assertThat(categoryId(userId, "반려동물")).isEqualTo(first);
+
+        // 다른 사용자는 자기 카테고리를 따로 갖는다
+        long other = createUser().getId();
+        int otherId = categoryDictionary.resolveId(other, "반려동물");
+        assertThat(otherId).isNotEqualTo(first);
+
+        // 같은 이름은 같은 String 인스턴스
+        assertThat(categoryDictionary.getName(first)).isSameAs(categoryDictionary.getName(otherId));
+        assertThat(categoryDictionary.getName(-1)).isNull();
+        assertThat(categoryDictionary.getName(null)).isNull();
+    }
+
+    @Test
+    void concurrentCreatesOfTheSameNameShareOneRow() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return categoryDictionary.resolveId(userId, "동시 생성");
+                }));
+            }
+            start.countDown();
+            int expected = futures.get(0).get();
+            for (Future<Integer> future : futures) {
+                assertThat(future.get()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM categories WHERE user_id = ? AND name = '동시 생성'", Integer.class, userId))
+                .isEqualTo(1);
+    }
+
+    private Integer categoryId(Long owner, String name) {
+        List<Integer> ids = owner == null
+                ? jdbcTemplate.queryForList("SELECT id FROM categories WHERE user_id IS NULL AND name = ?", Integer.class, name)
+                : jdbcTemplate.queryForList("SELECT id FROM categories WHERE user_id = ? AND name = ?", Integer.class, owner, name);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+}
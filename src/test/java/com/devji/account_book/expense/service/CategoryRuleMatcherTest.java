@@ -0,0 +1,98 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.expense.entity.CategoryRule;
+import com.devji.account_book.expense.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CategoryRuleMatcherTest {
+
+    private static final int CAFE = 1;
+    private static final int FOOD = 2;
+    private static final int SHOPPING = 3;
+    private static final int BIG_SPENDING = 4;
+    private static final int SALARY = 5;
+
+    @Test
+    void keywordMatchIsCaseInsensitiveAndFindsOverlappingKeywords() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+                rule(1L, null, 1000, "starbucks", null, CAFE),
+                rule(2L, null, 1000, "쿠팡", null, SHOPPING),
+                rule(3L, null, 990, "쿠팡이츠", null, FOOD)));
+
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("5600"), "STARBUCKS 강남점")).isEqualTo(CAFE);
+        // '쿠팡'이 먼저 끝나지만 '쿠팡이츠' 규칙의 우선순위가 높다
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("18000"), "쿠팡이츠 주문")).isEqualTo(FOOD);
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("32000"), "쿠팡 로켓배송")).isEqualTo(SHOPPING);
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("32000"), "동네 마트")).isNull();
+    }
+
+    @Test
+    void userRuleWinsOverGlobalRuleWithSamePriority() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+                rule(1L, null, 100, "스타벅스", null, CAFE),
+                rule(2L, 7L, 100, "스타벅스", null, FOOD)));
+
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("5600"), "스타벅스")).isEqualTo(FOOD);
+    }
+
+    @Test
+    void decisionListAppliesAmountRangeTypeAndPattern() {
+        CategoryRule bigSpending = rule(1L, 7L, 50, null, null, BIG_SPENDING);
+        bigSpending.setMinAmount(amount("1000000"));
+        bigSpending.setTransactionType(TransactionType.EXPENSE);
+        CategoryRule salary = rule(2L, 7L, 100, null, "^(급여|상여)", SALARY);
+        salary.setTransactionType(TransactionType.INCOME);
+
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+                rule(3L, null, 1000, "쿠팡", null, SHOPPING), bigSpending, salary));
+
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("1500000"), "쿠팡 노트북")).isEqualTo(BIG_SPENDING);
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("15000"), "쿠팡 생수")).isEqualTo(SHOPPING);
+        assertThat(matcher.match(TransactionType.INCOME, amount("3200000"), "급여 10월")).isEqualTo(SALARY);
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("3200"), "급여 통장 수수료")).isNull();
+    }
+
+    @Test
+    void keywordRuleWithPatternChecksBoth() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+                rule(1L, 7L, 100, "gs25", "gs25\\s+역삼", FOOD),
+                rule(2L, null, 1000, "gs25", null, SHOPPING)));
+
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("3000"), "GS25 역삼점")).isEqualTo(FOOD);
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("3000"), "GS25 선릉점")).isEqualTo(SHOPPING);
+    }
+
+    @Test
+    void catastrophicPatternTimesOutAndLowerRulesStillApply() {
+        CategoryRuleMatcher matcher = CategoryRuleMatcher.compile(List.of(
+                rule(1L, 7L, 10, null, "(.*a){25}", FOOD),
+                rule(2L, null, 1000, "aaaa", null, SHOPPING)), Duration.ofMillis(20));
+        // 제한이 없으면 a 24개를 25묶음으로 나누는 경우를 모두 역추적한다 (수 초 이상)
+        String description = "a".repeat(24) + "b".repeat(20);
+
+        long started = System.nanoTime();
+        assertThat(matcher.match(TransactionType.EXPENSE, amount("1000"), description)).isEqualTo(SHOPPING);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    private static CategoryRule rule(Long id, Long userId, int priority, String keyword, String pattern, int categoryId) {
+        return CategoryRule.builder()
+                .id(id)
+                .userId(userId)
+                .priority(priority)
+                .keyword(keyword)
+                .pattern(pattern)
+                .categoryId(categoryId)
+                .build();
+    }
+
+    private static BigDecimal amount(String value) {
+        return new BigDecimal(value);
+    }
+}
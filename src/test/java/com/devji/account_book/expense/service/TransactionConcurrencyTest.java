@@ -0,0 +1,174 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.exception.IdempotencyKeyException;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TransactionConcurrencyTest extends IntegrationTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+    }
+
+    @Test
+    void concurrentUpdatesWithSameVersionOnlyOneWins() throws Exception {
+        TransactionDto created = transactionService.createTransaction(userId, request("점심", "12000"));
+
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<TransactionDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            TransactionDto update = request("수정 " + i, "15000");
+            update.setVersion(created.getVersion());
+            tasks.add(() -> {
+                try {
+                    return transactionService.updateTransaction(userId, created.getId(), update);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+
+        List<TransactionDto> applied = runConcurrently(tasks).stream().filter(result -> result != null).toList();
+
+        assertThat(applied).hasSize(1);
+        assertThat(conflicts).hasValue(THREADS - 1);
+        assertThat(applied.get(0).getVersion()).isEqualTo(created.getVersion() + 1);
+    }
+
+    @Test
+    void concurrentUpdatesWithoutVersionAreNotLost() throws Exception {
+        TransactionDto created = transactionService.createTransaction(userId, request("점심", "12000"));
+
+        // 버전 없이 보내도 먼저 읽은 상태로 덮어쓰는 요청은 @Version 검사에 걸려야 한다
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<TransactionDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            TransactionDto update = request("수정 " + i, "15000");
+            tasks.add(() -> {
+                try {
+                    return transactionService.updateTransaction(userId, created.getId(), update);
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                    return null;
+                }
+            });
+        }
+
+        long applied = runConcurrently(tasks).stream().filter(result -> result != null).count();
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM transactions WHERE id = ?", Long.class, created.getId());
+
+        assertThat(applied + conflicts.get()).isEqualTo(THREADS);
+        assertThat(version).isEqualTo(created.getVersion() + applied);
+    }
+
+    @Test
+    void retriesWithSameIdempotencyKeyCreateOnlyOneTransaction() throws Exception {
+        String key = UUID.randomUUID().toString();
+        TransactionDto request = request("택시", "8000");
+
+        Set<Long> returnedIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger inProgress = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(() -> {
+                try {
+                    IdempotencyService.Result<TransactionDto> result = idempotencyService.execute(
+                            userId, key, request, TransactionDto.class,
+                            () -> transactionService.createTransaction(userId, request));
+                    returnedIds.add(result.response().getId());
+                } catch (IdempotencyKeyException e) {
+                    inProgress.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        // 처리 중에 온 재시도는 409, 이후 재시도는 처음 응답을 그대로 받는다
+        IdempotencyService.Result<TransactionDto> retry = idempotencyService.execute(
+                userId, key, request, TransactionDto.class,
+                () -> transactionService.createTransaction(userId, request));
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class, userId);
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(returnedIds).hasSize(1);
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response().getId()).isEqualTo(returnedIds.iterator().next());
+    }
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TransactionDto request(String description, String amount) {
+        return TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal(amount))
+                .description(description)
+                .transactionDate(LocalDate.now())
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+package com.devji.account_book.expense.service;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.repository.UserRepository;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.support.TestContainers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 최근 거래 목록 페이지 캐시 (로컬 -> Redis -> DB)
+ * 변경 버전이 오르면 새 키로 다시 읽는지, 같은 키의 동시 미스는 DB를 한 번만 읽는지,
+ * DB 조회가 실패해도 노드 간 락이 남지 않는지, Redis가 멈춰도 DB에서 읽어 응답하는지 확인한다.
+ */
+@SpringBootTest
+@Testcontainers
+class TransactionPageCacheTest {
+
+    private static final Duration COMMAND_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(2);
+
+    // Redis를 pause하는 테스트가 있으므로 공용 컨테이너 대신 따로 띄운다 (DB는 공용)
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        TestContainers.registerPostgres(registry);
+        TestContainers.registerRedis(registry, redis);
+        TestContainers.registerJwt(registry);
+        registry.add("app.redis.command-timeout", () -> COMMAND_TIMEOUT.toMillis() + "ms");
+        registry.add("app.page-cache.lock-timeout", () -> LOCK_TIMEOUT.toMillis() + "ms");
+    }
+
+    @Autowired
+    private TransactionPageCache transactionPageCache;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RedisTemplate<String, byte[]> bytesRedisTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("password")
+                .name("tester")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (isPaused()) {
+            unpause();
+        }
+    }
+
+    @Test
+    void versionBumpReadsTheNewPageUnderANewKey() {
+        transactionService.createTransaction(userId, request("점심"));
+        CountingLoader loader = new CountingLoader(() -> transactionService.getTransactions(userId, 0, 20));
+
+        long version = userRepository.findChangeVersionById(userId);
+        assertThat(transactionPageCache.get(userId, version, 0, 20, loader).getContent()).hasSize(1);
+        assertThat(transactionPageCache.get(userId, version, 0, 20, loader).getContent()).hasSize(1);
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(bytesRedisTemplate.hasKey(key(version))).isTrue();
+
+        // 쓰기로 변경 버전이 오르면 이전 항목을 지우지 않아도 새 키로 DB를 다시 읽는다
+        transactionService.createTransaction(userId, request("저녁"));
+        long bumped = userRepository.findChangeVersionById(userId);
+        assertThat(bumped).isGreaterThan(version);
+        Page<TransactionDto> page = transactionPageCache.get(userId, bumped, 0, 20, loader);
+        assertThat(page.getContent()).extracting(TransactionDto::getDescription).containsExactlyInAnyOrder("점심", "저녁");
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(loader.calls()).isEqualTo(2);
+        assertThat(bytesRedisTemplate.hasKey(key(bumped))).isTrue();
+    }
+
+    @Test
+    void concurrentMissesForTheSameKeyLoadOnce() throws Exception {
+        transactionService.createTransaction(userId, request("점심"));
+        long version = userRepository.findChangeVersionById(userId);
+        CountDownLatch release = new CountDownLatch(1);
+        CountingLoader loader = new CountingLoader(() -> {
+            await(release);
+            return transactionService.getTransactions(userId, 0, 20);
+        });
+
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Page<TransactionDto>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> transactionPageCache.get(userId, version, 0, 20, loader)));
+            }
+            // 모두 같은 키를 기다리는 상태가 되도록 잠깐 둔 뒤 첫 조회를 끝낸다
+            Thread.sleep(300);
+            release.countDown();
+            for (Future<Page<TransactionDto>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getContent())
+                        .extracting(TransactionDto::getDescription).containsExactly("점심");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loader.calls()).isEqualTo(1);
+        assertThat(bytesRedisTemplate.hasKey(key(version) + ":lock")).isFalse();
+    }
+
+    @Test
+    void failedLoadReleasesTheLockForTheNextReader() {
+        long version = userRepository.findChangeVersionById(userId);
+        CountingLoader failing = new CountingLoader(() -> {
+            throw new IllegalStateException("db down");
+        });
+        assertThatThrownBy(() -> transactionPageCache.get(userId, version, 0, 20, failing))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(bytesRedisTemplate.hasKey(key(version) + ":lock")).isFalse();
+
+        // 다음 요청은 남은 락을 lock-timeout까지 기다리지 않고 바로 읽는다
+        CountingLoader loader = new CountingLoader(() -> transactionService.getTransactions(userId, 0, 20));
+        long started = System.nanoTime();
+        assertThat(transactionPageCache.get(userId, version, 0, 20, loader).getContent()).isEmpty();
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(LOCK_TIMEOUT.dividedBy(2));
+        assertThat(loader.calls()).isEqualTo(1);
+    }
+
+    @Test
+    void stalledRedisFallsBackToTheDatabase() {
+        transactionService.createTransaction(userId, request("점심"));
+        long version = userRepository.findChangeVersionById(userId);
+        CountingLoader loader = new CountingLoader(() -> transactionService.getTransactions(userId, 0, 20));
+
+        pause();
+
+        // 조회/락/저장 모두 command-timeout 안에 실패하고 DB에서 읽은 페이지를 돌려준다
+        long started = System.nanoTime();
+        Page<TransactionDto> page = transactionPageCache.get(userId, version, 0, 20, loader);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(COMMAND_TIMEOUT.multipliedBy(10));
+        assertThat(page.getContent()).extracting(TransactionDto::getDescription).containsExactly("점심");
+        assertThat(loader.calls()).isEqualTo(1);
+
+        // 읽은 페이지는 로컬 캐시에 남아 Redis 없이도 다시 DB를 읽지 않는다
+        assertThat(transactionPageCache.get(userId, version, 0, 20, loader).getContent()).hasSize(1);
+        assertThat(loader.calls()).isEqualTo(1);
+
+        // 로컬에 없는 페이지도 DB에서 읽힌다
+        assertThat(transactionPageCache.get(userId, version, 1, 20, loader).getContent()).isEmpty();
+        assertThat(loader.calls()).isEqualTo(2);
+    }
+
+    private String key(long version) {
+        return "TXP:" + userId + ":v" + version + ":0:20";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TransactionDto request(String description) {
+        return TransactionDto.builder()
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal("10000"))
+                .description(description)
+                .transactionDate(LocalDate.now())
+                .build();
+    }
+
+    private static void pause() {
+        DockerClientFactory.instance().client().pauseContainerCmd(redis.getContainerId()).exec();
+    }
+
+    private static void unpause() {
+        DockerClientFactory.instance().client().unpauseContainerCmd(redis.getContainerId()).exec();
+    }
+
+    private static boolean isPaused() {
+        return Boolean.TRUE.equals(DockerClientFactory.instance().client()
+                .inspectContainerCmd(redis.getContainerId()).exec().getState().getPaused());
+    }
+
+    private static final class CountingLoader implements Supplier<Page<TransactionDto>> {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Supplier<Page<TransactionDto>> delegate;
+
+        private CountingLoader(Supplier<Page<TransactionDto>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Page<TransactionDto> get() {
+            calls.incrementAndGet();
+            return delegate.get();
+        }
+
+        int calls() {
+            return calls.get();
+        }
+    }
+}
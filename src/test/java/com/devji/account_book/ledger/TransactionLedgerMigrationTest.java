@@ -0,0 +1,105 @@
+package com.devji.account_book.ledger;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * V14 (transactions.ledger_id NOT NULL)
+ * V13까지 적용한 DB에 ledger_id 없는 거래를 남겨 두고 V14를 적용해서,
+ * 개인 장부가 있는 작성자는 그 장부로, 없는 작성자는 새로 만든 개인 장부(+ OWNER 구성원)로 옮겨지는지 확인한다.
+ */
+@Testcontainers
+class TransactionLedgerMigrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        flyway("13").migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @Test
+    void remainingRowsMoveIntoTheAuthorsPersonalLedgerBeforeTheConstraint() {
+        long categoryId = jdbcTemplate.queryForObject("INSERT INTO categories (name) VALUES ('식비') RETURNING id", Long.class);
+
+        // 개인 장부가 있는 사용자 (backfill 중 남은 행)
+        long withLedger = user("with-ledger@test.com");
+        long personalLedgerId = jdbcTemplate.queryForObject(
+                "INSERT INTO ledgers (name, personal, owner_user_id, created_at) VALUES ('내 가계부', TRUE, ?, now()) RETURNING id",
+                Long.class, withLedger);
+        jdbcTemplate.update("INSERT INTO ledger_members (ledger_id, user_id, role, joined_at) VALUES (?, ?, 'OWNER', now())",
+                personalLedgerId, withLedger);
+        long sharedLedgerId = jdbcTemplate.queryForObject(
+                "INSERT INTO ledgers (name, personal, owner_user_id, created_at) VALUES ('공유', FALSE, ?, now()) RETURNING id",
+                Long.class, withLedger);
+        long missing = transaction(withLedger, null, categoryId, LocalDate.now());
+        long archivedMonth = transaction(withLedger, null, categoryId, LocalDate.now().minusYears(3));
+        long shared = transaction(withLedger, sharedLedgerId, categoryId, LocalDate.now());
+
+        // 개인 장부를 만들기 전에 ledger_id 없이 쓴 사용자 (reactive 모듈)
+        long withoutLedger = user("without-ledger@test.com");
+        long orphan = transaction(withoutLedger, null, categoryId, LocalDate.now());
+
+        flyway(null).migrate();
+
+        assertThat(ledgerOf(missing)).isEqualTo(personalLedgerId);
+        assertThat(ledgerOf(archivedMonth)).isEqualTo(personalLedgerId);
+        assertThat(ledgerOf(shared)).isEqualTo(sharedLedgerId);
+
+        Long createdLedgerId = jdbcTemplate.queryForObject(
+                "SELECT id FROM ledgers WHERE owner_user_id = ? AND personal", Long.class, withoutLedger);
+        assertThat(ledgerOf(orphan)).isEqualTo(createdLedgerId);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT role FROM ledger_members WHERE ledger_id = ? AND user_id = ?", String.class, createdLedgerId, withoutLedger))
+                .isEqualTo("OWNER");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_members WHERE ledger_id = ?", Integer.class, personalLedgerId))
+                .isEqualTo(1);
+
+        assertThatThrownBy(() -> transaction(withLedger, null, categoryId, LocalDate.now()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private long user(String email) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password, name, created_at, role) VALUES (?, 'password', 'tester', now(), 'USER') RETURNING id",
+                Long.class, email);
+    }
+
+    private long transaction(long userId, Long ledgerId, long categoryId, LocalDate date) {
+        return jdbcTemplate.queryForObject("INSERT INTO transactions (user_id, ledger_id, type, category_id, amount, description, " +
+                        "transaction_date, created_at, updated_at) VALUES (?, ?, 'EXPENSE', ?, 1000, '점심', ?, now(), now()) RETURNING id",
+                Long.class, userId, ledgerId, categoryId, date);
+    }
+
+    private Long ledgerOf(long transactionId) {
+        return jdbcTemplate.queryForObject("SELECT ledger_id FROM transactions WHERE id = ?", Long.class, transactionId);
+    }
+
+    private static Flyway flyway(String target) {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration");
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+}
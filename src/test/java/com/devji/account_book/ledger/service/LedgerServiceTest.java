@@ -0,0 +1,175 @@
+package com.devji.account_book.ledger.service;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.exception.ForbiddenException;
+import com.devji.account_book.expense.exception.NotFoundException;
+import com.devji.account_book.expense.exception.UnprocessableRequestException;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.ledger.dto.LedgerDto;
+import com.devji.account_book.ledger.dto.LedgerMemberDto;
+import com.devji.account_book.ledger.entity.LedgerRole;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LedgerServiceTest extends IntegrationTest {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerAccessService ledgerAccessService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User editor;
+    private User viewer;
+    private User stranger;
+    private long ledgerId;
+
+    @BeforeEach
+    void setUp() {
+        owner = user();
+        editor = user();
+        viewer = user();
+        stranger = user();
+        ledgerId = ledgerService.createLedger(owner.getId(), LedgerDto.builder().name("우리집").build()).getId();
+        ledgerService.addMember(owner.getId(), ledgerId, member(editor, LedgerRole.EDITOR));
+        ledgerService.addMember(owner.getId(), ledgerId, member(viewer, LedgerRole.VIEWER));
+    }
+
+    @Test
+    void membersShareLedgerTransactionsByRole() {
+        TransactionDto byOwner = transactionService.createTransaction(owner.getId(), request(ledgerId, "50000"));
+        transactionService.createTransaction(editor.getId(), request(ledgerId, "20000"));
+        // 개인 장부 거래는 공유 장부 목록에 나오지 않는다
+        transactionService.createTransaction(owner.getId(), request(null, "1000"));
+
+        assertThat(transactionService.getLedgerTransactions(viewer.getId(), ledgerId, 0, 20).getTotalElements())
+                .isEqualTo(2);
+        assertThatThrownBy(() -> transactionService.createTransaction(viewer.getId(), request(ledgerId, "1000")))
+                .isInstanceOf(ForbiddenException.class);
+        assertThatThrownBy(() -> transactionService.getLedgerTransactions(stranger.getId(), ledgerId, 0, 20))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> transactionService.deleteTransaction(stranger.getId(), byOwner.getId(), null))
+                .isInstanceOf(NotFoundException.class);
+
+        // EDITOR가 고친 거래도 잔액은 작성자 기준
+        TransactionDto update = request(ledgerId, "80000");
+        update.setVersion(byOwner.getVersion());
+        TransactionDto updated = transactionService.updateTransaction(editor.getId(), byOwner.getId(), update);
+        assertThat(updated.getUserId()).isEqualTo(owner.getId());
+        assertThat(balanceService.getBalance(owner.getId()).getBalance()).isEqualByComparingTo("-81000");
+        assertThat(balanceService.getBalance(editor.getId()).getBalance()).isEqualByComparingTo("-20000");
+    }
+
+    @Test
+    void sharedLedgerKeepsAnOwner() {
+        assertThatThrownBy(() -> ledgerService.removeMember(owner.getId(), ledgerId, owner.getId()))
+                .isInstanceOf(UnprocessableRequestException.class);
+        assertThatThrownBy(() -> ledgerService.updateMemberRole(editor.getId(), ledgerId, viewer.getId(), LedgerRole.EDITOR))
+                .isInstanceOf(ForbiddenException.class);
+
+        // 본인은 나갈 수 있고, 나간 뒤에는 장부가 보이지 않는다
+        ledgerService.removeMember(viewer.getId(), ledgerId, viewer.getId());
+        assertThat(ledgerService.getLedgers(viewer.getId()))
+                .extracting(LedgerDto::getId)
+                .doesNotContain(ledgerId);
+    }
+
+    @Test
+    void ownersLeavingAtTheSameTimeKeepOneOwner() throws Exception {
+        ledgerService.updateMemberRole(owner.getId(), ledgerId, editor.getId(), LedgerRole.OWNER);
+
+        // 두 OWNER가 동시에 나가면 장부 행 잠금 뒤에서 차례로 세므로 한 명만 나갈 수 있다
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (User leaving : List.of(owner, editor)) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ledgerService.removeMember(leaving.getId(), ledgerId, leaving.getId());
+                    return null;
+                }));
+            }
+            start.countDown();
+            int failed = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(UnprocessableRequestException.class);
+                    failed++;
+                }
+            }
+            assertThat(failed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_members WHERE ledger_id = ? AND role = 'OWNER'", Integer.class, ledgerId))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void everyTransactionBelongsToALedger() {
+        TransactionDto created = transactionService.createTransaction(owner.getId(), request(null, "3000"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT ledger_id FROM transactions WHERE id = ?", Long.class, created.getId()))
+                .isEqualTo(ledgerAccessService.personalLedgerId(owner.getId()));
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE transactions SET ledger_id = NULL WHERE id = ?", created.getId()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private User user() {
+        User user = createUser();
+        ledgerAccessService.ensurePersonalLedger(user.getId());
+        return user;
+    }
+
+    private static LedgerMemberDto member(User user, LedgerRole role) {
+        return LedgerMemberDto.builder().email(user.getEmail()).role(role).build();
+    }
+
+    private static TransactionDto request(Long ledgerId, String amount) {
+        return TransactionDto.builder()
+                .ledgerId(ledgerId)
+                .type(TransactionType.EXPENSE)
+                .category("식비")
+                .amount(new BigDecimal(amount))
+                .description("장부 테스트")
+                .transactionDate(LocalDate.now())
+                .build();
+    }
+}
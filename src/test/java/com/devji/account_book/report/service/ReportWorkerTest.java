@@ -0,0 +1,175 @@
+package com.devji.account_book.report.service;
+
+import com.devji.account_book.archive.store.ArchiveStore;
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.expense.dto.TransactionDto;
+import com.devji.account_book.expense.entity.TransactionType;
+import com.devji.account_book.expense.service.TransactionService;
+import com.devji.account_book.report.entity.ReportFormat;
+import com.devji.account_book.report.entity.ReportJobStatus;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReportWorkerTest extends IntegrationTest {
+
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(1);
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws Exception {
+        registry.add("app.archive.local.path", Files.createTempDirectory("report-test")::toString);
+        // 테스트에서 poll을 직접 호출 (시간대는 하루 종일)
+        registry.add("app.report.poll-interval-ms", () -> 3_600_000);
+        registry.add("app.report.window-start", () -> "00:00");
+        registry.add("app.report.window-end", () -> "00:00");
+        registry.add("app.report.fetch-size", () -> 2);
+    }
+
+    @Autowired
+    private ReportScheduler reportScheduler;
+
+    @Autowired
+    private ReportWorker reportWorker;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ArchiveStore archiveStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser();
+        userId = user.getId();
+    }
+
+    @Test
+    void monthlyJobsRenderStreamedCsvAndPdf() throws Exception {
+        transactionService.createTransaction(userId, request(TransactionType.INCOME, "3000000", MONTH.minusMonths(1).atDay(25), "월급"));
+        transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "4500", MONTH.atDay(3), "커피, 라떼"));
+        transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "12000", MONTH.atDay(1), "점심"));
+        transactionService.createTransaction(userId, request(TransactionType.INCOME, "50000", MONTH.atDay(20), "=환급"));
+
+        reportScheduler.enqueue(MONTH);
+        // 다시 돌려도 같은 작업이 늘어나지 않는다
+        reportScheduler.enqueue(MONTH);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_jobs WHERE user_id = ?", Integer.class, userId))
+                .isEqualTo(2);
+
+        runUntilFinished();
+
+        Map<String, Object> csvJob = job("CSV");
+        assertThat(csvJob.get("status")).isEqualTo("COMPLETED");
+        assertThat(csvJob.get("row_count")).isEqualTo(3);
+        String csv = read((String) csvJob.get("storage_key"));
+        assertThat(csv).isEqualTo("\uFEFFdate,type,category,amount,description\r\n"
+                + MONTH.atDay(1) + ",EXPENSE,식비,-12000.00,점심\r\n"
+                + MONTH.atDay(3) + ",EXPENSE,식비,-4500.00,\"커피, 라떼\"\r\n"
+                + MONTH.atDay(20) + ",INCOME,급여,50000.00,'=환급\r\n");
+
+        Map<String, Object> pdfJob = job("PDF");
+        assertThat(pdfJob.get("status")).isEqualTo("COMPLETED");
+        assertThat(read((String) pdfJob.get("storage_key"))).startsWith("%PDF-");
+    }
+
+    @Test
+    void jobOfCrashedWorkerIsResumedAfterLeaseExpires() throws Exception {
+        transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "1000", MONTH.atDay(5), "간식"));
+        // 다른 노드가 가져간 뒤 죽은 작업 (lease가 지남)
+        jdbcTemplate.update("INSERT INTO report_jobs (user_id, report_month, format, status, attempts, lease_until, created_at) " +
+                "VALUES (?, ?, 'CSV', 'RUNNING', 1, now() - interval '1 minute', now())", userId, MONTH.atDay(1));
+
+        runUntilFinished();
+
+        Map<String, Object> resumed = job("CSV");
+        assertThat(resumed.get("status")).isEqualTo("COMPLETED");
+        assertThat(resumed.get("attempts")).isEqualTo(2);
+        assertThat(resumed.get("row_count")).isEqualTo(1);
+    }
+
+    @Test
+    void completedReportIsRegeneratedAfterItsMonthChanges() throws Exception {
+        TransactionDto lunch = transactionService.createTransaction(userId,
+                request(TransactionType.EXPENSE, "12000", MONTH.atDay(1), "점심"));
+        assertThat(reportService.request(userId, MONTH, ReportFormat.CSV).getStatus()).isEqualTo(ReportJobStatus.PENDING);
+        runUntilFinished();
+
+        // 다른 달 이후의 거래만 바뀌었으면 그대로
+        transactionService.createTransaction(userId, request(TransactionType.EXPENSE, "1000", MONTH.plusMonths(1).atDay(1), "다음 달"));
+        assertThat(reportService.request(userId, MONTH, ReportFormat.CSV).getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+
+        // 그 달의 거래를 다음 달로 옮기면 다시 만든다
+        TransactionDto moved = request(TransactionType.EXPENSE, "12000", MONTH.plusMonths(1).atDay(2), "점심");
+        moved.setVersion(lunch.getVersion());
+        transactionService.updateTransaction(userId, lunch.getId(), moved);
+        assertThat(reportService.request(userId, MONTH, ReportFormat.CSV).getStatus()).isEqualTo(ReportJobStatus.PENDING);
+        runUntilFinished();
+        assertThat(job("CSV").get("row_count")).isEqualTo(0);
+
+        // 전월 잔액이 바뀌어도 다시 만든다
+        transactionService.createTransaction(userId, request(TransactionType.INCOME, "5000", MONTH.minusMonths(1).atDay(10), "환급"));
+        assertThat(reportService.request(userId, MONTH, ReportFormat.CSV).getStatus()).isEqualTo(ReportJobStatus.PENDING);
+        runUntilFinished();
+        assertThat(reportService.request(userId, MONTH, ReportFormat.CSV).getStatus()).isEqualTo(ReportJobStatus.COMPLETED);
+    }
+
+    private void runUntilFinished() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline && unfinished() > 0) {
+            reportWorker.poll();
+            Thread.sleep(200);
+        }
+        assertThat(unfinished()).isZero();
+    }
+
+    private int unfinished() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM report_jobs WHERE user_id = ? AND status IN ('PENDING', 'RUNNING')",
+                Integer.class, userId);
+    }
+
+    private Map<String, Object> job(String format) {
+        return jdbcTemplate.queryForMap("SELECT * FROM report_jobs WHERE user_id = ? AND format = ?", userId, format);
+    }
+
+    private String read(String key) throws Exception {
+        ByteBuffer buffer = archiveStore.open(key);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static TransactionDto request(TransactionType type, String amount, LocalDate date, String description) {
+        return TransactionDto.builder()
+                .type(type)
+                .category(type == TransactionType.INCOME ? "급여" : "식비")
+                .amount(new BigDecimal(amount))
+                .description(description)
+                .transactionDate(date)
+                .build();
+    }
+}
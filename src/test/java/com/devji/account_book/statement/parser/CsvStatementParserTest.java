@@ -0,0 +1,143 @@
+package com.devji.account_book.statement.parser;
+
+import com.devji.account_book.expense.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvStatementParserTest {
+
+    private static final Charset MS949 = Charset.forName("MS949");
+
+    // 은행 내려받기 파일: 안내 문구 2줄 뒤 헤더, 출금/입금 열이 따로, 날짜 뒤에 시각
+    private static final String BANK_FILE = """
+            조회기간: 2025.01.01 ~ 2025.01.31
+            계좌번호: 123-456-789012
+            거래일시,적요,출금액,입금액
+            2025.01.05 13:22:10,스타벅스 강남,"5,600",
+            2025.01.07 09:00:00,예금 이자,,120
+            """;
+
+    @Test
+    void defaultMappingReadsSignedAmountsQuotedFieldsAndSkipsBom() throws IOException {
+        String file = "\uFEFFdate,amount,description,category\n"
+                + "2025-01-05,-12000,\"점심, \"\"김밥\"\"\",식비\n"
+                + "\n"
+                + "2025-01-06,\"3,200,000원\",\"급여\n1월\",\n";
+
+        List<StatementRow> rows = parseAll(new CsvStatementParser(new StringReader(file), new ColumnMapping()));
+
+        assertThat(rows).hasSize(2);
+        assertRow(rows.get(0), LocalDate.of(2025, 1, 5), TransactionType.EXPENSE, "12000", "점심, \"김밥\"");
+        assertThat(rows.get(0).category()).isEqualTo("식비");
+        // 따옴표 안의 줄바꿈은 한 행, 설명의 연속 공백은 하나로
+        assertRow(rows.get(1), LocalDate.of(2025, 1, 6), TransactionType.INCOME, "3200000", "급여 1월");
+        assertThat(rows.get(1).category()).isNull();
+    }
+
+    @Test
+    void withdrawalAndDepositColumnsAfterSkippedLines() throws IOException {
+        List<StatementRow> rows = parseAll(new CsvStatementParser(new StringReader(BANK_FILE), bankMapping()));
+
+        assertThat(rows).hasSize(2);
+        assertRow(rows.get(0), LocalDate.of(2025, 1, 5), TransactionType.EXPENSE, "5600", "스타벅스 강남");
+        assertRow(rows.get(1), LocalDate.of(2025, 1, 7), TransactionType.INCOME, "120", "예금 이자");
+    }
+
+    @Test
+    void decodesMs949File() throws IOException {
+        byte[] bytes = BANK_FILE.getBytes(MS949);
+
+        List<StatementRow> rows = parseAll(new CsvStatementParser(
+                new InputStreamReader(new ByteArrayInputStream(bytes), MS949), bankMapping()));
+
+        assertThat(rows).extracting(StatementRow::description).containsExactly("스타벅스 강남", "예금 이자");
+        // 인코딩을 잘못 지정하면 한글 헤더를 찾지 못한다 (행이 깨진 채 들어가지 않음)
+        Reader wrongCharset = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        assertThatThrownBy(() -> new CsvStatementParser(wrongCharset, bankMapping()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void positiveIsExpenseForCardStatements() throws IOException {
+        ColumnMapping mapping = new ColumnMapping();
+        mapping.setDateColumn("이용일");
+        mapping.setDateFormat("yyyy.MM.dd");
+        mapping.setAmountColumn("이용금액");
+        mapping.setDescriptionColumn("가맹점명");
+        mapping.setPositiveIsExpense(true);
+        String file = "이용일,가맹점명,이용금액\n2025.02.01,쿠팡,\"32,000\"\n2025.02.03,쿠팡 취소,(32000)\n";
+
+        List<StatementRow> rows = parseAll(new CsvStatementParser(new StringReader(file), mapping));
+
+        assertRow(rows.get(0), LocalDate.of(2025, 2, 1), TransactionType.EXPENSE, "32000", "쿠팡");
+        assertRow(rows.get(1), LocalDate.of(2025, 2, 3), TransactionType.INCOME, "32000", "쿠팡 취소");
+    }
+
+    @Test
+    void headerlessFileUsesColumnNumbers() throws IOException {
+        ColumnMapping mapping = new ColumnMapping();
+        mapping.setHeader(false);
+        mapping.setDelimiter(';');
+        mapping.setDateColumn("0");
+        mapping.setDescriptionColumn("1");
+        mapping.setAmountColumn("2");
+
+        List<StatementRow> rows = parseAll(new CsvStatementParser(new StringReader("2025-03-01;편의점;-4500\n"), mapping));
+
+        assertRow(rows.get(0), LocalDate.of(2025, 3, 1), TransactionType.EXPENSE, "4500", "편의점");
+    }
+
+    @Test
+    void badRowsFailOneByOneAndBadMappingFailsTheFile() throws IOException {
+        CsvStatementParser parser = new CsvStatementParser(
+                new StringReader("date,amount,description\n"), new ColumnMapping());
+
+        assertThatThrownBy(() -> parser.parse("2025-01-05,,빈 금액")).isInstanceOf(StatementParseException.class);
+        assertThatThrownBy(() -> parser.parse("2025-01-05,0,0원")).isInstanceOf(StatementParseException.class);
+        assertThatThrownBy(() -> parser.parse("어제,1000,날짜 오류")).isInstanceOf(StatementParseException.class);
+        assertThatThrownBy(() -> new CsvStatementParser(new StringReader("일자,금액,내용\n"), new ColumnMapping()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'date'");
+    }
+
+    private static ColumnMapping bankMapping() {
+        ColumnMapping mapping = new ColumnMapping();
+        mapping.setCharset("MS949");
+        mapping.setSkipLines(2);
+        mapping.setDateColumn("거래일시");
+        mapping.setDateFormat("yyyy.MM.dd");
+        mapping.setWithdrawalColumn("출금액");
+        mapping.setDepositColumn("입금액");
+        mapping.setDescriptionColumn("적요");
+        return mapping;
+    }
+
+    static List<StatementRow> parseAll(StatementParser parser) throws IOException {
+        List<StatementRow> rows = new ArrayList<>();
+        String record;
+        while ((record = parser.nextRecord()) != null) {
+            rows.add(parser.parse(record));
+        }
+        return rows;
+    }
+
+    static void assertRow(StatementRow row, LocalDate date, TransactionType type, String amount, String description) {
+        assertThat(row.transactionDate()).isEqualTo(date);
+        assertThat(row.type()).isEqualTo(type);
+        assertThat(row.amount()).isEqualByComparingTo(amount);
+        assertThat(row.description()).isEqualTo(description);
+    }
+}
@@ -0,0 +1,86 @@
+package com.devji.account_book.statement.parser;
+
+import com.devji.account_book.expense.entity.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.devji.account_book.statement.parser.CsvStatementParserTest.assertRow;
+import static com.devji.account_book.statement.parser.CsvStatementParserTest.parseAll;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OfxStatementParserTest {
+
+    @Test
+    void sgmlFileOnOneLineWithoutClosingElementTags() throws IOException {
+        String file = "OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\n\n"
+                + "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><CURDEF>KRW<BANKTRANLIST><DTSTART>20250101"
+                + "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20250105132210.000[9:KST]<TRNAMT>-12000.00<FITID>1"
+                + "<NAME>GS25 &amp; 편의점<MEMO>카드</STMTTRN>"
+                + "<STMTTRN><TRNTYPE>CREDIT<DTPOSTED>20250110<TRNAMT>3200000<FITID>2<MEMO>급여</STMTTRN>"
+                + "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>";
+
+        List<StatementRow> rows = parseAll(new OfxStatementParser(new StringReader(file)));
+
+        assertThat(rows).hasSize(2);
+        assertRow(rows.get(0), LocalDate.of(2025, 1, 5), TransactionType.EXPENSE, "12000", "GS25 & 편의점");
+        // NAME이 없으면 MEMO
+        assertRow(rows.get(1), LocalDate.of(2025, 1, 10), TransactionType.INCOME, "3200000", "급여");
+        assertThat(rows).extracting(StatementRow::category).containsOnlyNulls();
+    }
+
+    @Test
+    void xmlFileWithClosingTagsAndLineBreaks() throws IOException {
+        String file = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <?OFX OFXHEADER="200" VERSION="220"?>
+                <OFX>
+                  <BANKTRANLIST>
+                    <STMTTRN>
+                      <TRNTYPE>DEBIT</TRNTYPE>
+                      <DTPOSTED>20250203</DTPOSTED>
+                      <TRNAMT>-4500</TRNAMT>
+                      <NAME> </NAME>
+                      <MEMO>편의점   간식</MEMO>
+                    </STMTTRN>
+                  </BANKTRANLIST>
+                </OFX>
+                """;
+
+        List<StatementRow> rows = parseAll(new OfxStatementParser(new StringReader(file)));
+
+        assertThat(rows).hasSize(1);
+        assertRow(rows.get(0), LocalDate.of(2025, 2, 3), TransactionType.EXPENSE, "4500", "편의점 간식");
+    }
+
+    @Test
+    void blocksSpanningReadBufferBoundaries() throws IOException {
+        StringBuilder file = new StringBuilder("<OFX><BANKTRANLIST>");
+        int count = 2000;
+        for (int i = 1; i <= count; i++) {
+            file.append("<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20250301<TRNAMT>-").append(i)
+                    .append("<NAME>거래 ").append(i).append("</STMTTRN>\n");
+        }
+        file.append("</BANKTRANLIST></OFX>");
+
+        List<StatementRow> rows = parseAll(new OfxStatementParser(new StringReader(file.toString())));
+
+        assertThat(rows).hasSize(count);
+        assertThat(rows.get(count - 1).amount()).isEqualByComparingTo(String.valueOf(count));
+        assertThat(rows.get(count - 1).description()).isEqualTo("거래 " + count);
+    }
+
+    @Test
+    void blockWithoutDateOrAmountFails() {
+        OfxStatementParser parser = new OfxStatementParser(new StringReader(""));
+
+        assertThatThrownBy(() -> parser.parse("<TRNTYPE>DEBIT<TRNAMT>-1000<NAME>날짜 없음"))
+                .isInstanceOf(StatementParseException.class);
+        assertThatThrownBy(() -> parser.parse("<TRNTYPE>DEBIT<DTPOSTED>20250301<NAME>금액 없음"))
+                .isInstanceOf(StatementParseException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.devji.account_book.statement.service;
+
+import com.devji.account_book.balance.service.BalanceService;
+import com.devji.account_book.ledger.service.LedgerAccessService;
+import com.devji.account_book.statement.dto.ImportJobDto;
+import com.devji.account_book.statement.entity.ImportJobStatus;
+import com.devji.account_book.statement.entity.StatementFormat;
+import com.devji.account_book.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatementImportRunnerTest extends IntegrationTest {
+
+    // 같은 날 같은 금액/내용의 거래 두 건은 둘 다 들어가야 한다
+    private static final String FILE = """
+            date,amount,description,category
+            2025-01-05,-12000,점심,식비
+            2025-01-05,-4500,커피,
+            2025-01-05,-4500,커피,
+            2025-01-10,3200000,급여,급여
+            """;
+
+    @Autowired
+    private StatementImportService importService;
+
+    @Autowired
+    private LedgerAccessService ledgerAccessService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser().getId();
+        ledgerAccessService.ensurePersonalLedger(userId);
+    }
+
+    @Test
+    void reuploadingTheSameFileAddsNothing() throws Exception {
+        ImportJobDto first = awaitFinished(submit(FILE));
+        assertThat(first.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(first.getInsertedRows()).isEqualTo(4);
+        assertThat(first.getDuplicateRows()).isZero();
+
+        ImportJobDto second = awaitFinished(submit(FILE));
+        assertThat(second.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(second.getInsertedRows()).isZero();
+        assertThat(second.getDuplicateRows()).isEqualTo(4);
+
+        // 커피가 세 번 나오는 파일은 빠진 한 건만 추가
+        ImportJobDto third = awaitFinished(submit(FILE + "2025-01-05,-4500,커피,\n"));
+        assertThat(third.getInsertedRows()).isEqualTo(1);
+        assertThat(third.getDuplicateRows()).isEqualTo(4);
+
+        assertThat(transactionCount()).isEqualTo(5);
+        assertThat(balanceService.getBalance(userId).getBalance()).isEqualByComparingTo("3174500");
+    }
+
+    @Test
+    void concurrentUploadsOfTheSameFileInsertOnce() throws Exception {
+        // max-concurrent-jobs = 2, 두 작업이 동시에 돈다
+        long first = submit(FILE);
+        long second = submit(FILE);
+
+        ImportJobDto firstJob = awaitFinished(first);
+        ImportJobDto secondJob = awaitFinished(second);
+
+        assertThat(firstJob.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(secondJob.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(firstJob.getInsertedRows() + secondJob.getInsertedRows()).isEqualTo(4);
+        assertThat(transactionCount()).isEqualTo(4);
+        assertThat(balanceService.getBalance(userId).getBalance()).isEqualByComparingTo("3179000");
+    }
+
+    private long submit(String content) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                content.getBytes(StandardCharsets.UTF_8));
+        return importService.submit(userId, file, StatementFormat.CSV, null, null).getId();
+    }
+
+    private ImportJobDto awaitFinished(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        ImportJobDto job = importService.getJob(userId, jobId);
+        while (System.nanoTime() < deadline
+                && (job.getStatus() == ImportJobStatus.PENDING || job.getStatus() == ImportJobStatus.RUNNING)) {
+            Thread.sleep(100);
+            job = importService.getJob(userId, jobId);
+        }
+        return job;
+    }
+
+    private int transactionCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class, userId);
+    }
+}
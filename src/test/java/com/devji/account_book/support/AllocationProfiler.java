@@ -0,0 +1,117 @@
+package com.devji.account_book.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/*
+ * JFR로 특정 스레드들이 action 동안 할당한 바이트 수를 잰다
+ * - jdk.ThreadAllocationStatistics(스레드별 누적 할당량, 기록 시작/끝에 한 번씩)의 차이로 정확한 합계
+ * - jdk.ObjectAllocationSample(표본)은 상한을 넘었을 때 어디서 할당했는지 보여주는 용도
+ * 요청을 처리하는 스레드(Tomcat의 *-exec-*)만 세므로 같은 JVM에서 요청을 보내는 클라이언트의 할당은 빠진다.
+ */
+public final class AllocationProfiler {
+
+    private static final int TOP_SITES = 15;
+
+    private AllocationProfiler() {
+    }
+
+    // calls번 호출하는 action의 호출당 할당량이 maxBytesPerCall을 넘으면 실패
+    public static long assertMaxBytesPerCall(long maxBytesPerCall, int calls, Predicate<String> threadName, Runnable action) {
+        Result result = measure(threadName, action);
+        long perCall = result.allocatedBytes() / calls;
+        if (perCall > maxBytesPerCall) {
+            throw new AssertionError("Expected at most " + maxBytesPerCall + " bytes per call but " + perCall
+                    + " were allocated. Top allocation sites (sampled):\n" + result.topSites());
+        }
+        return perCall;
+    }
+
+    public static Result measure(Predicate<String> threadName, Runnable action) {
+        try {
+            Path file = Files.createTempFile("allocation-", ".jfr");
+            try {
+                try (Recording recording = new Recording()) {
+                    recording.enable("jdk.ThreadAllocationStatistics").with("period", "everyChunk");
+                    recording.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s").withStackTrace();
+                    recording.start();
+                    action.run();
+                    recording.stop();
+                    recording.dump(file);
+                }
+                return read(file, threadName);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Result read(Path file, Predicate<String> threadName) throws IOException {
+        // 스레드 id -> {처음 값, 마지막 값, 이벤트 수}
+        Map<Long, long[]> perThread = new HashMap<>();
+        Map<String, Long> sites = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String type = event.getEventType().getName();
+            if ("jdk.ThreadAllocationStatistics".equals(type)) {
+                RecordedThread thread = event.getThread("thread");
+                if (thread == null || thread.getJavaName() == null || !threadName.test(thread.getJavaName())) {
+                    continue;
+                }
+                long allocated = event.getLong("allocated");
+                long[] values = perThread.computeIfAbsent(thread.getJavaThreadId(), id -> new long[]{allocated, allocated, 0});
+                values[1] = allocated;
+                values[2]++;
+            } else if ("jdk.ObjectAllocationSample".equals(type)) {
+                RecordedThread thread = event.getThread();
+                if (thread != null && thread.getJavaName() != null && threadName.test(thread.getJavaName())) {
+                    sites.merge(site(event), event.getLong("weight"), Long::sum);
+                }
+            }
+        }
+        long total = 0;
+        for (long[] values : perThread.values()) {
+            // 기록 중에 생긴 스레드는 처음 값이 없으므로 누적값 전체를 센다 (크게 잡는 쪽)
+            total += values[2] >= 2 ? values[1] - values[0] : values[1];
+        }
+        String topSites = sites.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_SITES)
+                .map(entry -> String.format("%,12d  %s", entry.getValue(), entry.getKey()))
+                .collect(Collectors.joining("\n"));
+        return new Result(total, topSites);
+    }
+
+    // 할당한 타입 + JDK 밖의 첫 호출 위치
+    private static String site(RecordedEvent event) {
+        String objectClass = event.getClass("objectClass").getName();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return objectClass;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String owner = frame.getMethod().getType().getName();
+            if (!owner.startsWith("java.") && !owner.startsWith("jdk.") && !owner.startsWith("sun.")) {
+                return objectClass + " <- " + owner + "." + frame.getMethod().getName();
+            }
+        }
+        return objectClass;
+    }
+
+    public record Result(long allocatedBytes, String topSites) {
+    }
+}
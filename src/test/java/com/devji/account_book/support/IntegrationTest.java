@@ -0,0 +1,37 @@
+package com.devji.account_book.support;
+
+import com.devji.account_book.auth.entity.User;
+import com.devji.account_book.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.UUID;
+
+/*
+ * Postgres + Redis 통합 테스트 공통 부모
+ * 설정(프로필, properties, 추가 @DynamicPropertySource)이 같은 하위 클래스끼리는 컨텍스트 하나를 같이 쓴다
+ * 같은 DB를 여러 클래스가 쓰므로 테스트는 createUser()로 만든 자기 사용자 데이터만 본다
+ */
+@SpringBootTest
+public abstract class IntegrationTest {
+
+    @DynamicPropertySource
+    static void containerProperties(DynamicPropertyRegistry registry) {
+        TestContainers.registerPostgres(registry);
+        TestContainers.registerRedis(registry, TestContainers.REDIS);
+        TestContainers.registerJwt(registry);
+    }
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    protected User createUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.com")
+                .password("password")
+                .name("tester")
+                .build());
+    }
+}
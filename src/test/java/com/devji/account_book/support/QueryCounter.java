@@ -0,0 +1,64 @@
+package com.devji.account_book.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/*
+ * 애플리케이션 DataSource에서 실행되는 SQL 문장 수를 스레드별로 센다 (datasource-proxy)
+ * Hibernate뿐 아니라 JdbcTemplate 문장(잔액, 변경 버전 등)도 포함, 배치 실행은 왕복 한 번으로 센다
+ * 테스트 클래스에 @Import(QueryCounter.Config.class)로 등록해서 사용
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        COUNT.set(COUNT.get() + 1);
+    }
+
+    // action이 실행한 문장 수가 max를 넘으면 실패
+    public static <T> T assertMaxStatements(int max, Callable<T> action) throws Exception {
+        COUNT.set(0);
+        T result = action.call();
+        int count = COUNT.get();
+        if (count > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but " + count + " were executed");
+        }
+        return result;
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        // 라우팅/샤드 설정이 켜져 있어도 애플리케이션이 쓰는 DataSource는 "dataSource" 빈 하나
+        @Bean
+        static BeanPostProcessor queryCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name("query-count")
+                                .listener(new QueryCounter())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
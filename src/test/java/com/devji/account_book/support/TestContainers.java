@@ -0,0 +1,42 @@
+package com.devji.account_book.support;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/*
+ * 통합 테스트가 같이 쓰는 컨테이너. JVM에서 한 번만 띄우고 테스트가 끝나면 Testcontainers(Ryuk)가 정리한다
+ * 클래스마다 @Container로 띄우면 컨테이너 주소가 클래스마다 달라져 Spring 컨텍스트 캐시도 재사용되지 않는다
+ * DB를 따로 띄우는 테스트(샤드)나 Redis를 멈추는 테스트(장애)는 자기 컨테이너에 나머지 설정만 가져다 쓴다
+ */
+public final class TestContainers {
+
+    public static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    public static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static {
+        POSTGRES.start();
+        REDIS.start();
+    }
+
+    private TestContainers() {
+    }
+
+    public static void registerPostgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    // RedisConfig가 spring.data.redis.host/port로 직접 커넥션을 만들기 때문에 @ServiceConnection 대신 속성으로 지정
+    public static void registerRedis(DynamicPropertyRegistry registry, GenericContainer<?> redis) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    public static void registerJwt(DynamicPropertyRegistry registry) {
+        registry.add("jwt.secret", () -> "test-access-secret-test-access-secret-0123456789");
+        registry.add("jwt.refresh.secret", () -> "test-refresh-secret-test-refresh-secret-0123456789");
+    }
+}